@@ -0,0 +1,238 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee;
+
+import javax.slee.Address;
+import javax.slee.resource.ActivityHandle;
+import javax.slee.resource.EventFlags;
+import javax.slee.resource.FireableEventType;
+import javax.slee.resource.ReceivableService;
+
+/**
+ * A batch of events to fire through a {@link SleeEndpointExt}, for instance
+ * all messages decoded from a single socket read.
+ * 
+ * The batch may be reused, after firing its events, by invoking
+ * {@link #clear()}.
+ */
+public class EventBatch {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private ActivityHandle[] handles;
+	private FireableEventType[] eventTypes;
+	private Object[] events;
+	private Address[] addresses;
+	private ReceivableService[] receivableServices;
+	private int[] eventFlags;
+	private int size;
+
+	/**
+	 * Creates a new batch with the default initial capacity.
+	 */
+	public EventBatch() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new batch with the specified initial capacity.
+	 * 
+	 * @param initialCapacity
+	 * @throws IllegalArgumentException
+	 *             if the capacity is not positive
+	 */
+	public EventBatch(int initialCapacity) throws IllegalArgumentException {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException(
+					"initial capacity must be positive");
+		}
+		handles = new ActivityHandle[initialCapacity];
+		eventTypes = new FireableEventType[initialCapacity];
+		events = new Object[initialCapacity];
+		addresses = new Address[initialCapacity];
+		receivableServices = new ReceivableService[initialCapacity];
+		eventFlags = new int[initialCapacity];
+	}
+
+	/**
+	 * Adds an event to the batch, with normal event flags.
+	 * 
+	 * @param handle
+	 * @param eventType
+	 * @param event
+	 * @param address
+	 * @param receivableService
+	 */
+	public void add(ActivityHandle handle, FireableEventType eventType,
+			Object event, Address address, ReceivableService receivableService) {
+		add(handle, eventType, event, address, receivableService,
+				EventFlags.NO_FLAGS);
+	}
+
+	/**
+	 * Adds an event to the batch. The params have the same meaning of the
+	 * ones in
+	 * {@link javax.slee.resource.SleeEndpoint#fireEvent(ActivityHandle, FireableEventType, Object, Address, ReceivableService, int)}
+	 * 
+	 * @param handle
+	 * @param eventType
+	 * @param event
+	 * @param address
+	 * @param receivableService
+	 * @param eventFlags
+	 */
+	public void add(ActivityHandle handle, FireableEventType eventType,
+			Object event, Address address,
+			ReceivableService receivableService, int eventFlags) {
+		if (size == handles.length) {
+			grow();
+		}
+		handles[size] = handle;
+		eventTypes[size] = eventType;
+		events[size] = event;
+		addresses[size] = address;
+		receivableServices[size] = receivableService;
+		this.eventFlags[size] = eventFlags;
+		size++;
+	}
+
+	private void grow() {
+		final int capacity = handles.length * 2;
+		final ActivityHandle[] handles = new ActivityHandle[capacity];
+		System.arraycopy(this.handles, 0, handles, 0, size);
+		this.handles = handles;
+		final FireableEventType[] eventTypes = new FireableEventType[capacity];
+		System.arraycopy(this.eventTypes, 0, eventTypes, 0, size);
+		this.eventTypes = eventTypes;
+		final Object[] events = new Object[capacity];
+		System.arraycopy(this.events, 0, events, 0, size);
+		this.events = events;
+		final Address[] addresses = new Address[capacity];
+		System.arraycopy(this.addresses, 0, addresses, 0, size);
+		this.addresses = addresses;
+		final ReceivableService[] receivableServices = new ReceivableService[capacity];
+		System.arraycopy(this.receivableServices, 0, receivableServices, 0,
+				size);
+		this.receivableServices = receivableServices;
+		final int[] eventFlags = new int[capacity];
+		System.arraycopy(this.eventFlags, 0, eventFlags, 0, size);
+		this.eventFlags = eventFlags;
+	}
+
+	/**
+	 * Retrieves the number of events in the batch.
+	 * 
+	 * @return
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Retrieves the activity handle of the event with the specified index.
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public ActivityHandle getActivityHandle(int index) {
+		checkIndex(index);
+		return handles[index];
+	}
+
+	/**
+	 * Retrieves the event type of the event with the specified index.
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public FireableEventType getEventType(int index) {
+		checkIndex(index);
+		return eventTypes[index];
+	}
+
+	/**
+	 * Retrieves the event object of the event with the specified index.
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public Object getEvent(int index) {
+		checkIndex(index);
+		return events[index];
+	}
+
+	/**
+	 * Retrieves the address of the event with the specified index.
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public Address getAddress(int index) {
+		checkIndex(index);
+		return addresses[index];
+	}
+
+	/**
+	 * Retrieves the receivable service of the event with the specified index.
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public ReceivableService getReceivableService(int index) {
+		checkIndex(index);
+		return receivableServices[index];
+	}
+
+	/**
+	 * Retrieves the flags of the event with the specified index.
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public int getEventFlags(int index) {
+		checkIndex(index);
+		return eventFlags[index];
+	}
+
+	/**
+	 * Removes all events from the batch, keeping its capacity.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			handles[i] = null;
+			eventTypes[i] = null;
+			events[i] = null;
+			addresses[i] = null;
+			receivableServices[i] = null;
+		}
+		size = 0;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index " + index
+					+ " , size " + size);
+		}
+	}
+
+}
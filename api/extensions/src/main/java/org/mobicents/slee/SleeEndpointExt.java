@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee;
+
+import javax.slee.SLEEException;
+import javax.slee.TransactionRequiredLocalException;
+import javax.slee.resource.ActivityIsEndingException;
+import javax.slee.resource.FireEventException;
+import javax.slee.resource.IllegalEventException;
+import javax.slee.resource.SleeEndpoint;
+import javax.slee.resource.UnrecognizedActivityHandleException;
+
+/**
+ * JAIN SLEE 1.1 {@link SleeEndpoint} Extension, which allows high rate
+ * resource adaptors to fire a batch of events in a single invocation. The
+ * event types of the batch are validated once, and the events are handed off
+ * to the SLEE event routing executors in groups. The events fired on the same
+ * activity are routed in the order they have in the batch.
+ */
+public interface SleeEndpointExt extends SleeEndpoint {
+
+	/**
+	 * Fires the events in the batch, out of any transaction context, as if
+	 * {@link #fireEvent(javax.slee.resource.ActivityHandle, javax.slee.resource.FireableEventType, Object, javax.slee.Address, javax.slee.resource.ReceivableService, int)}
+	 * was invoked for each.
+	 * 
+	 * All events are validated before any is fired, if one is invalid no
+	 * event is fired. Failures of a single event, such as an unrecognized
+	 * activity handle or an ending activity, do not prevent the firing of the
+	 * other events in the batch, and are returned to the resource adaptor.
+	 * 
+	 * @param batch
+	 * @return null if all events were fired, otherwise an array with the size
+	 *         of the batch, with the failure which prevented the SLEE to fire
+	 *         each event, or null if the event was fired
+	 * @throws NullPointerException
+	 *             if the batch, or an activity handle, event type or event in
+	 *             the batch, is <code>null</code>.
+	 * @throws IllegalEventException
+	 *             if an event type in the batch is not installed, the event
+	 *             object is not assignable to its event class, or the event
+	 *             type is not allowed for the resource adaptor.
+	 * @throws SLEEException
+	 *             if the requested operation cannot be performed due to a
+	 *             system-level failure.
+	 */
+	public Throwable[] fireEvents(EventBatch batch)
+			throws NullPointerException, IllegalEventException, SLEEException;
+
+	/**
+	 * Fires the events in the batch, in the transaction context of the
+	 * invoking thread, as if
+	 * {@link #fireEventTransacted(javax.slee.resource.ActivityHandle, javax.slee.resource.FireableEventType, Object, javax.slee.Address, javax.slee.resource.ReceivableService, int)}
+	 * was invoked for each.
+	 * 
+	 * All events are validated before any is fired, if one is invalid no
+	 * event is fired. The firing stops at the first event which fails, and
+	 * the failure is thrown, the events already fired are only routed if the
+	 * transaction commits.
+	 * 
+	 * @param batch
+	 * @throws NullPointerException
+	 *             if the batch, or an activity handle, event type or event in
+	 *             the batch, is <code>null</code>.
+	 * @throws UnrecognizedActivityHandleException
+	 *             if an activity handle in the batch is not known by the SLEE.
+	 * @throws IllegalEventException
+	 *             if an event type in the batch is not installed, the event
+	 *             object is not assignable to its event class, or the event
+	 *             type is not allowed for the resource adaptor.
+	 * @throws TransactionRequiredLocalException
+	 *             if this method is invoked without a valid transaction
+	 *             context.
+	 * @throws ActivityIsEndingException
+	 *             if an activity in the batch is ending.
+	 * @throws FireEventException
+	 *             if an event could not be fired due to resource limits.
+	 * @throws SLEEException
+	 *             if the requested operation cannot be performed due to a
+	 *             system-level failure.
+	 */
+	public void fireEventsTransacted(EventBatch batch)
+			throws NullPointerException, UnrecognizedActivityHandleException,
+			IllegalEventException, TransactionRequiredLocalException,
+			ActivityIsEndingException, FireEventException, SLEEException;
+
+}
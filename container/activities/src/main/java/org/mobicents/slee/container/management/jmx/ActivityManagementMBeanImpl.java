@@ -30,8 +30,10 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.slee.SbbID;
 import javax.slee.facilities.TimerID;
@@ -51,6 +53,8 @@ import org.mobicents.slee.container.sbbentity.SbbEntityFactory;
 import org.mobicents.slee.container.sbbentity.SbbEntityID;
 import org.mobicents.slee.runtime.activity.ActivityContextFactoryImpl;
 import org.mobicents.slee.runtime.activity.ActivityContextImpl;
+import org.mobicents.slee.runtime.activity.ActivityIdleTimeWheel;
+import org.mobicents.slee.runtime.activity.ActivityManagementConfiguration;
 
 
 /**
@@ -127,6 +131,99 @@ public class ActivityManagementMBeanImpl extends MobicentsServiceMBeanSupport
 		return acFactory.getConfiguration().getMaxTimeIdle();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#getLivenessQueriesBatchSize()
+	 */
+	public int getLivenessQueriesBatchSize() {
+		return acFactory.getConfiguration().getLivenessQueriesBatchSize();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#setLivenessQueriesBatchSize(int)
+	 */
+	public void setLivenessQueriesBatchSize(int set) {
+		acFactory.getConfiguration().setLivenessQueriesBatchSize(set);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#getLivenessScanPeriod()
+	 */
+	public long getLivenessScanPeriod() {
+		return acFactory.getConfiguration().getLivenessScanPeriodInMs();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#setLivenessScanPeriod(long)
+	 */
+	public void setLivenessScanPeriod(long set) {
+		acFactory.getConfiguration().setLivenessScanPeriodInMs(set);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#getLivenessQueryCounts()
+	 */
+	public Map<String, Long> getLivenessQueryCounts() {
+		final Map<String, Long> result = new HashMap<String, Long>();
+		for (Map.Entry<String, AtomicLong> entry : livenessQueryCounts.entrySet()) {
+			result.put(entry.getKey(), Long.valueOf(entry.getValue().get()));
+		}
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#getLivenessQueryCount(java.lang.String)
+	 */
+	public long getLivenessQueryCount(String raEntityName) {
+		final AtomicLong count = livenessQueryCounts.get(raEntityName);
+		return count == null ? 0 : count.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#resetLivenessQueryCounts()
+	 */
+	public void resetLivenessQueryCounts() {
+		livenessQueryCounts.clear();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#isActivityContextStringIDIndexEnabled()
+	 */
+	public boolean isActivityContextStringIDIndexEnabled() {
+		return acFactory.getConfiguration().isStringIDIndexEnabled();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#setActivityContextStringIDIndexEnabled(boolean)
+	 */
+	public void setActivityContextStringIDIndexEnabled(boolean set) {
+		acFactory.getConfiguration().setStringIDIndexEnabled(set);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#isActivityContextInHeapStateStoreEnabled()
+	 */
+	public boolean isActivityContextInHeapStateStoreEnabled() {
+		return acFactory.getConfiguration().isInHeapStateStoreEnabled();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean#setActivityContextInHeapStateStoreEnabled(boolean)
+	 */
+	public void setActivityContextInHeapStateStoreEnabled(boolean set) {
+		acFactory.getConfiguration().setInHeapStateStoreEnabled(set);
+	}
+
 	// --- OPERATIONS
 
 	public void endActivity(ActivityContextHandle ach) throws ManagementException {
@@ -159,7 +256,7 @@ public class ActivityManagementMBeanImpl extends MobicentsServiceMBeanSupport
 		logger.info("Extorting liveliness query!!");
 		// prepareBean();
 		cancelLivenessQuery();
-		new PeriodicLivelinessScanner().run();
+		new PeriodicLivelinessScanner(true).run();
 		logger.info("Extortion complete");
 		// currentQuestioner=new PeriodicLivelinessScanner();
 
@@ -232,7 +329,10 @@ public class ActivityManagementMBeanImpl extends MobicentsServiceMBeanSupport
 		logger.info("Listing with criteria[" + criteria + "] with details["
 				+ inDetails + "] only IDS[" + listIDsOnly + "]");
 
-		Iterator<ActivityContextHandle> it = this.acFactory.getAllActivityContextsHandles().iterator();
+		// listing by ra entity only needs to go through the entity's acs
+		Iterator<ActivityContextHandle> it = criteria == LIST_BY_RAENTITY ? this.acFactory
+				.getResourceAdaptorEntityActivityContextsHandles(comparisonCriteria).iterator()
+				: this.acFactory.getAllActivityContextsHandles().iterator();
 		ArrayList<Object> lst = new ArrayList<Object>();
 
 		// Needed by LIST_BY_SBBID
@@ -480,11 +580,37 @@ public class ActivityManagementMBeanImpl extends MobicentsServiceMBeanSupport
 	// , depends on impl
 
 	/**
-	 * FIXME uncomment code when everything is commited
+	 * the number of liveness queries issued, per ra entity name
+	 */
+	private final ConcurrentHashMap<String, AtomicLong> livenessQueryCounts = new ConcurrentHashMap<String, AtomicLong>();
+
+	private void livenessQueryIssued(String raEntityName) {
+		AtomicLong count = livenessQueryCounts.get(raEntityName);
+		if (count == null) {
+			final AtomicLong newCount = new AtomicLong();
+			count = livenessQueryCounts.putIfAbsent(raEntityName, newCount);
+			if (count == null) {
+				count = newCount;
+			}
+		}
+		count.incrementAndGet();
+	}
+
+	/**
+	 * Queries the liveness of idle activities. If the idle time wheel of the
+	 * ac factory can be used, and a full scan is not requested, each run only
+	 * processes a bounded batch of the activity contexts idle for longer than
+	 * the max idle time, otherwise it goes through all activity contexts.
 	 */
 	private class PeriodicLivelinessScanner extends TimerTask {
 
-		private void queryLiveness(ActivityContextHandle ach,long currentTime) {
+		private final boolean fullScan;
+
+		public PeriodicLivelinessScanner(boolean fullScan) {
+			this.fullScan = fullScan;
+		}
+
+		private void queryLiveness(ActivityContextHandle ach,long currentTime, ActivityIdleTimeWheel idleTimeWheel) {
 			
 			if (ach.getActivityType() != ActivityType.RA)
 				return;
@@ -495,31 +621,69 @@ public class ActivityManagementMBeanImpl extends MobicentsServiceMBeanSupport
 			
 			ActivityContextImpl ac = acFactory.getActivityContext(ach);
 			if(ac == null) {
+				if (idleTimeWheel != null) {
+					idleTimeWheel.remove(ach);
+				}
 				return;
 			}
 			
-			if ((currentTime - ac.getLastAccessTime()) < acFactory.getConfiguration().getMaxTimeIdleInMs()) {
+			final ActivityManagementConfiguration configuration = acFactory.getConfiguration();
+			final long lastAccessTime = ac.getLastAccessTime();
+			if ((currentTime - lastAccessTime) < configuration.getMaxTimeIdleInMs()) {
 				// This one has been accessed in near past, so we dont
 				// want to query it
+				if (idleTimeWheel != null) {
+					idleTimeWheel.accessed(ach, lastAccessTime);
+				}
 				return;
 			}
 			
+			if (idleTimeWheel != null) {
+				// if still idle the activity is queried again after the time
+				// between liveness queries
+				idleTimeWheel.accessed(ach, currentTime
+						- configuration.getMaxTimeIdleInMs()
+						+ TimeUnit.MINUTES.toMillis(configuration.getTimeBetweenLivenessQueries()));
+			}
+			
 			final ResourceAdaptorActivityContextHandle raach = (ResourceAdaptorActivityContextHandle) ach; 
 			final ResourceAdaptorEntity raEntity = raach.getResourceAdaptorEntity();
 			if (logger.isDebugEnabled()) {
 				logger.debug("Invoking ra entity "+raEntity.getName()+" queryLiveness() for activity handle "+ach.getActivityHandle());
 			}
+			livenessQueryIssued(raEntity.getName());
 			raEntity.getResourceAdaptorObject().queryLiveness(
 								ach.getActivityHandle());								
 			
 		}
 		
 		public void run() {
-			long currentTime = System.currentTimeMillis();
-			for (ActivityContextHandle ach : acFactory.getAllActivityContextsHandles()) {
-				this.queryLiveness(ach,currentTime);										
+			final boolean incremental = !fullScan && acFactory.isIdleTimeWheelUsable();
+			try {
+				long currentTime = System.currentTimeMillis();
+				if (incremental) {
+					final ActivityIdleTimeWheel idleTimeWheel = acFactory.getIdleTimeWheel();
+					final int batchSize = acFactory.getConfiguration().getLivenessQueriesBatchSize();
+					final ArrayList<ActivityContextHandle> idleHandles = new ArrayList<ActivityContextHandle>(batchSize);
+					idleTimeWheel.getIdleSince(currentTime - acFactory.getConfiguration().getMaxTimeIdleInMs(), batchSize, idleHandles);
+					for (ActivityContextHandle ach : idleHandles) {
+						try {
+							this.queryLiveness(ach,currentTime,idleTimeWheel);
+						}
+						catch (Throwable e) {
+							logger.error("Failed to query liveness of AC "+ach, e);
+						}
+					}
+				}
+				else {
+					for (ActivityContextHandle ach : acFactory.getAllActivityContextsHandles()) {
+						this.queryLiveness(ach,currentTime,null);										
+					}
+				}
+			}
+			finally {
+				scheduleLivenessQuery();
 			}
-			scheduleLivenessQuery();
 		}
 
 	}
@@ -531,9 +695,18 @@ public class ActivityManagementMBeanImpl extends MobicentsServiceMBeanSupport
 	private void scheduleLivenessQuery() {
 		final long timeBetweenLivenessQueries = acFactory.getConfiguration().getTimeBetweenLivenessQueries();
 		if (timeBetweenLivenessQueries > 0) {
-			this.scheduledFuture = this.acFactory.getSleeContainer().getNonClusteredScheduler().schedule(new PeriodicLivelinessScanner(),timeBetweenLivenessQueries,TimeUnit.MINUTES);
-			if(logger.isDebugEnabled())
-				logger.debug("Periodic Liveliness Task scheduled to run in "+timeBetweenLivenessQueries+" minutes");
+			if (acFactory.isIdleTimeWheelUsable()) {
+				// incremental scan, runs often but only processes a batch of idle acs
+				final long livenessScanPeriod = acFactory.getConfiguration().getLivenessScanPeriodInMs();
+				this.scheduledFuture = this.acFactory.getSleeContainer().getNonClusteredScheduler().schedule(new PeriodicLivelinessScanner(false),livenessScanPeriod,TimeUnit.MILLISECONDS);
+				if(logger.isTraceEnabled())
+					logger.trace("Periodic Liveliness Task scheduled to run in "+livenessScanPeriod+" ms");
+			}
+			else {
+				this.scheduledFuture = this.acFactory.getSleeContainer().getNonClusteredScheduler().schedule(new PeriodicLivelinessScanner(true),timeBetweenLivenessQueries,TimeUnit.MINUTES);
+				if(logger.isDebugEnabled())
+					logger.debug("Periodic Liveliness Task scheduled to run in "+timeBetweenLivenessQueries+" minutes");
+			}
 		}
 		else {
 			this.scheduledFuture = null;
@@ -22,6 +22,8 @@
 
 package org.mobicents.slee.container.management.jmx;
 
+import java.util.Map;
+
 import javax.slee.management.ManagementException;
 
 import org.mobicents.slee.container.activity.ActivityContextHandle;
@@ -198,6 +200,93 @@ public interface ActivityManagementMBeanImplMBean
 	 */
 	public long getActivityContextMaxIdleTime();
 
+	/**
+	 * Indicates if activity contexts are retrieved by string id through an
+	 * index, instead of going through all activity contexts.
+	 * 
+	 * @return
+	 */
+	public boolean isActivityContextStringIDIndexEnabled();
+
+	/**
+	 * Enables or disables the index of activity context string ids. If called
+	 * with server running a stop and start is need to apply changes.
+	 * 
+	 * @param set
+	 */
+	public void setActivityContextStringIDIndexEnabled(boolean set);
+
+	/**
+	 * Indicates if activity context data is kept in an in heap state store,
+	 * instead of the cluster cache.
+	 * 
+	 * @return
+	 */
+	public boolean isActivityContextInHeapStateStoreEnabled();
+
+	/**
+	 * Enables or disables the in heap state store for activity context data,
+	 * which is only suitable for non clustered deployments. By default the
+	 * cluster cache is used. Changes are only applied on next server boot.
+	 * 
+	 * @param set
+	 */
+	public void setActivityContextInHeapStateStoreEnabled(boolean set);
+
+	/**
+	 * Retrieves the max number of idle activity contexts processed in each
+	 * run of the liveness scanner.
+	 * 
+	 * @return
+	 */
+	public int getLivenessQueriesBatchSize();
+
+	/**
+	 * Sets the max number of idle activity contexts processed in each run of
+	 * the liveness scanner.
+	 * 
+	 * @param set
+	 */
+	public void setLivenessQueriesBatchSize(int set);
+
+	/**
+	 * Retrieves the period between runs of the liveness scanner, in
+	 * milliseconds, when idle activity contexts are processed in batches.
+	 * 
+	 * @return
+	 */
+	public long getLivenessScanPeriod();
+
+	/**
+	 * Sets the period between runs of the liveness scanner, in milliseconds,
+	 * when idle activity contexts are processed in batches.
+	 * 
+	 * @param set
+	 */
+	public void setLivenessScanPeriod(long set);
+
+	/**
+	 * Retrieves the number of liveness queries issued, per resource adaptor
+	 * entity name.
+	 * 
+	 * @return
+	 */
+	public Map<String, Long> getLivenessQueryCounts();
+
+	/**
+	 * Retrieves the number of liveness queries issued to the resource adaptor
+	 * entity with the specified name.
+	 * 
+	 * @param raEntityName
+	 * @return
+	 */
+	public long getLivenessQueryCount(String raEntityName);
+
+	/**
+	 * Resets the counts of liveness queries issued.
+	 */
+	public void resetLivenessQueryCounts();
+
 	/**
 	 * List all activity context with details.
 	 * 
@@ -35,10 +35,12 @@ import org.mobicents.cache.CacheData;
 import org.mobicents.cluster.MobicentsCluster;
 import org.mobicents.slee.container.activity.ActivityContextHandle;
 import org.mobicents.slee.container.sbbentity.SbbEntityID;
+import org.mobicents.slee.container.state.StateStore;
 
 /**
  * 
- * Proxy object for activity context factory data management through JBoss Cache
+ * Proxy object for activity context factory data management through JBoss Cache,
+ * or through a {@link StateStore}, if one is provided.
  * 
  * @author martins
  * 
@@ -81,6 +83,13 @@ public class ActivityContextCacheData extends CacheData {
 
 	private static final String STRING_ID_ATTRIBUTE_MAP_KEY = "sid";
 	
+	/**
+	 * the state store used instead of the cache, if not null
+	 */
+	private final StateStore stateStore;
+	
+	private final ActivityContextHandle activityContextHandle;
+	
 	private Node _attachedSbbsNode;
 	
 	private Node getAttachedSbbsNode(boolean createIfNotExists) {
@@ -139,8 +148,71 @@ public class ActivityContextCacheData extends CacheData {
 	 */
 	public ActivityContextCacheData(ActivityContextHandle activityContextHandle,
 			MobicentsCluster cluster) {
+		this(activityContextHandle, cluster, null);
+	}
+
+	/**
+	 * 
+	 * @param activityContextHandle
+	 * @param cluster
+	 * @param stateStore
+	 *            the store of the ac data, if null the cluster cache is used
+	 */
+	public ActivityContextCacheData(ActivityContextHandle activityContextHandle,
+			MobicentsCluster cluster, StateStore stateStore) {
 		super(Fqn.fromElements(parentNodeFqn, activityContextHandle),
 				cluster.getMobicentsCache());
+		this.activityContextHandle = activityContextHandle;
+		this.stateStore = stateStore;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#exists()
+	 */
+	@Override
+	public boolean exists() {
+		if (stateStore != null) {
+			return stateStore.exists(activityContextHandle);
+		}
+		return super.exists();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#create()
+	 */
+	@Override
+	public boolean create() {
+		if (stateStore != null) {
+			return stateStore.create(activityContextHandle);
+		}
+		return super.create();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#remove()
+	 */
+	@Override
+	public boolean remove() {
+		if (stateStore != null) {
+			return stateStore.remove(activityContextHandle);
+		}
+		return super.remove();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#isRemoved()
+	 */
+	@Override
+	public boolean isRemoved() {
+		if (stateStore != null) {
+			// the store, unlike a flag, reflects a rollback of the removal
+			return !stateStore.exists(activityContextHandle);
+		}
+		return super.isRemoved();
 	}
 
 	/**
@@ -152,6 +224,9 @@ public class ActivityContextCacheData extends CacheData {
 	 */
 	@SuppressWarnings("unchecked")
 	public Object putObject(Object key, Object value) {
+		if (stateStore != null) {
+			return stateStore.put(activityContextHandle, key, value);
+		}
 		return getNode().put(key, value);
 	}
 
@@ -163,6 +238,9 @@ public class ActivityContextCacheData extends CacheData {
 	 */
 	@SuppressWarnings("unchecked")
 	public Object getObject(Object key) {
+		if (stateStore != null) {
+			return stateStore.get(activityContextHandle, key);
+		}
 		return getNode().get(key);
 	}
 
@@ -174,15 +252,29 @@ public class ActivityContextCacheData extends CacheData {
 	 */
 	@SuppressWarnings("unchecked")
 	public Object removeObject(Object key) {
+		if (stateStore != null) {
+			return stateStore.remove(activityContextHandle, key);
+		}
 		return getNode().remove(key);
 	}
 
 	public boolean isEnding() {
+		if (stateStore != null) {
+			return stateStore.get(activityContextHandle, IS_ENDING_NODE_NAME) != null;
+		}
 		return getNode().hasChild(IS_ENDING_NODE_NAME);
 	}
 	
 	
 	public boolean setEnding(boolean value) {
+		if (stateStore != null) {
+			if (value) {
+				return stateStore.put(activityContextHandle, IS_ENDING_NODE_NAME, Boolean.TRUE) == null;
+			}
+			else {
+				return stateStore.remove(activityContextHandle, IS_ENDING_NODE_NAME) != null;
+			}
+		}
 		if (value) {
 			if (!isEnding()) {
 				getNode().addChild(IS_ENDING_FQN);
@@ -210,6 +302,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @return true if it was attached, false if already was attached
 	 */
 	public boolean attachSbbEntity(SbbEntityID sbbEntityId) {
+		if (stateStore != null) {
+			return stateStore.addToSet(activityContextHandle, ATTACHED_SBBs_NODE_NAME, sbbEntityId);
+		}
 		final Node node = getAttachedSbbsNode(true);
 		if (!node.hasChild(sbbEntityId)) {
 			node.addChild(Fqn.fromElements(sbbEntityId));
@@ -225,6 +320,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @param sbbEntityId
 	 */
 	public boolean detachSbbEntity(SbbEntityID sbbEntityId) {
+		if (stateStore != null) {
+			return stateStore.removeFromSet(activityContextHandle, ATTACHED_SBBs_NODE_NAME, sbbEntityId);
+		}
 		final Node node  = getAttachedSbbsNode(false);
 		return node != null ? node.removeChild(sbbEntityId) : false;		
 	}
@@ -235,6 +333,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @return false is there are no sbb entities attached, true otherwise
 	 */
 	public boolean noSbbEntitiesAttached() {
+		if (stateStore != null) {
+			return stateStore.getSet(activityContextHandle, ATTACHED_SBBs_NODE_NAME).isEmpty();
+		}
 		final Node node  = getAttachedSbbsNode(false);
 		return node != null ? node.isLeaf() : true;		
 	}
@@ -246,6 +347,9 @@ public class ActivityContextCacheData extends CacheData {
 	 */
 	@SuppressWarnings("unchecked")
 	public Set<SbbEntityID> getSbbEntitiesAttached() {
+		if (stateStore != null) {
+			return (Set) stateStore.getSet(activityContextHandle, ATTACHED_SBBs_NODE_NAME);
+		}
 		final Node node  = getAttachedSbbsNode(false);
 		return node != null ? node.getChildrenNames() : Collections.emptySet();		
 	}
@@ -256,6 +360,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @param timerID
 	 */
 	public boolean attachTimer(TimerID timerID) {
+		if (stateStore != null) {
+			return stateStore.addToSet(activityContextHandle, ATTACHED_TIMERS_NODE_NAME, timerID);
+		}
 		final Node node = getAttachedTimersNode(true);
 		if (!node.hasChild(timerID)) {
 			node.addChild(Fqn.fromElements(timerID));
@@ -272,6 +379,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @param timerID
 	 */
 	public boolean detachTimer(TimerID timerID) {
+		if (stateStore != null) {
+			return stateStore.removeFromSet(activityContextHandle, ATTACHED_TIMERS_NODE_NAME, timerID);
+		}
 		final Node node = getAttachedTimersNode(false);
 		return node != null ? node.removeChild(timerID) : false;			
 	}
@@ -282,6 +392,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @return false is there are no timers attached, true otherwise
 	 */
 	public boolean noTimersAttached() {
+		if (stateStore != null) {
+			return stateStore.getSet(activityContextHandle, ATTACHED_TIMERS_NODE_NAME).isEmpty();
+		}
 		final Node node = getAttachedTimersNode(false);
 		return node != null ? node.isLeaf() : true;		
 	}
@@ -292,6 +405,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @return
 	 */
 	public Set getAttachedTimers() {
+		if (stateStore != null) {
+			return stateStore.getSet(activityContextHandle, ATTACHED_TIMERS_NODE_NAME);
+		}
 		final Node node = getAttachedTimersNode(false);
 		return node != null ? node.getChildrenNames() : Collections.EMPTY_SET;								
 	}
@@ -302,6 +418,10 @@ public class ActivityContextCacheData extends CacheData {
 	 * @param name
 	 */
 	public void nameBound(String name) {
+		if (stateStore != null) {
+			stateStore.addToSet(activityContextHandle, NAMES_BOUND_NODE_NAME, name);
+			return;
+		}
 		final Node node = getNamesBoundNode(true);
 		if (!node.hasChild(name)) {
 			node.addChild(Fqn.fromElements(name));
@@ -314,6 +434,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @param name
 	 */
 	public boolean nameUnbound(String name) {
+		if (stateStore != null) {
+			return stateStore.removeFromSet(activityContextHandle, NAMES_BOUND_NODE_NAME, name);
+		}
 		final Node node = getNamesBoundNode(false);
 		return node != null ? node.removeChild(name) : false;
 	}
@@ -324,6 +447,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @return false is there are no names bound, true otherwise
 	 */
 	public boolean noNamesBound() {
+		if (stateStore != null) {
+			return stateStore.getSet(activityContextHandle, NAMES_BOUND_NODE_NAME).isEmpty();
+		}
 		final Node node = getNamesBoundNode(false);
 		return node != null ? node.isLeaf() : true;
 	}
@@ -334,6 +460,9 @@ public class ActivityContextCacheData extends CacheData {
 	 * @return
 	 */
 	public Set getNamesBoundCopy() {
+		if (stateStore != null) {
+			return stateStore.getSet(activityContextHandle, NAMES_BOUND_NODE_NAME);
+		}
 		final Node node = getNamesBoundNode(false);
 		return node != null ? node.getChildrenNames() : Collections.EMPTY_SET;
 	}
@@ -346,6 +475,10 @@ public class ActivityContextCacheData extends CacheData {
 	 */
 	@SuppressWarnings("unchecked")
 	public void setCmpAttribute(String attrName, Object attrValue) {
+		if (stateStore != null) {
+			stateStore.putInMap(activityContextHandle, CMP_ATTRIBUTES_NODE_NAME, attrName, attrValue);
+			return;
+		}
 		final Node node = getCmpAttributesNode(true);
 		Node cmpNode = node.getChild(attrName);
 		if (cmpNode == null) {
@@ -362,6 +495,9 @@ public class ActivityContextCacheData extends CacheData {
 	 */
 	@SuppressWarnings("unchecked")
 	public Object getCmpAttribute(String attrName) {
+		if (stateStore != null) {
+			return stateStore.getFromMap(activityContextHandle, CMP_ATTRIBUTES_NODE_NAME, attrName);
+		}
 		final Node node = getCmpAttributesNode(false);
 		if(node == null) {
 			return null;
@@ -384,6 +520,9 @@ public class ActivityContextCacheData extends CacheData {
 	 */
 	@SuppressWarnings("unchecked")
 	public Map getCmpAttributesCopy() {
+		if (stateStore != null) {
+			return new HashMap(stateStore.getMap(activityContextHandle, CMP_ATTRIBUTES_NODE_NAME));
+		}
 		final Node node = getCmpAttributesNode(false);
 		if(node == null) {
 			return Collections.EMPTY_MAP;
@@ -402,11 +541,18 @@ public class ActivityContextCacheData extends CacheData {
 
 	@SuppressWarnings("unchecked")
 	public String getStringID() {
+		if (stateStore != null) {
+			return (String) stateStore.get(activityContextHandle, STRING_ID_ATTRIBUTE_MAP_KEY);
+		}
 		return (String) getNode().get(STRING_ID_ATTRIBUTE_MAP_KEY);
 	}
 
 	@SuppressWarnings("unchecked")
 	public void setStringID(String sid) {
+		if (stateStore != null) {
+			stateStore.put(activityContextHandle, STRING_ID_ATTRIBUTE_MAP_KEY, sid);
+			return;
+		}
 		getNode().put(STRING_ID_ATTRIBUTE_MAP_KEY, sid);
 	}
 
@@ -23,6 +23,7 @@
 package org.mobicents.slee.runtime.activity;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 
 import org.jboss.cache.Fqn;
@@ -30,10 +31,12 @@ import org.jboss.cache.Node;
 import org.mobicents.cache.CacheData;
 import org.mobicents.cluster.MobicentsCluster;
 import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.state.StateStore;
 
 /**
  * 
- * Proxy object for activity context factory data management through JBoss Cache
+ * Proxy object for activity context factory data management through JBoss Cache,
+ * or through a {@link StateStore}, if one is provided.
  * 
  * @author martins
  * 
@@ -46,12 +49,29 @@ public class ActivityContextFactoryCacheData extends CacheData {
 	 */
 	final static Fqn NODE_FQN = Fqn.fromElements(ActivityContextCacheData.parentNodeFqn);
 
+	/**
+	 * the state store used instead of the cache, if not null
+	 */
+	private final StateStore stateStore;
+	
 	/**
 	 * 
 	 * @param activityContextId
 	 */
 	public ActivityContextFactoryCacheData(MobicentsCluster cluster) {
+		this(cluster, null);
+	}
+
+	/**
+	 * 
+	 * @param cluster
+	 * @param stateStore
+	 *            the store of the ac data, if null the cluster cache is used
+	 */
+	public ActivityContextFactoryCacheData(MobicentsCluster cluster,
+			StateStore stateStore) {
 		super(NODE_FQN, cluster.getMobicentsCache());
+		this.stateStore = stateStore;
 	}
 
 	/**
@@ -62,6 +82,16 @@ public class ActivityContextFactoryCacheData extends CacheData {
 	 */
 	@SuppressWarnings("unchecked")
 	public Set<ActivityContextHandle> getActivityContextHandles() {
+		if (stateStore != null) {
+			// the store also holds the string id mappings
+			final Set<ActivityContextHandle> result = new HashSet<ActivityContextHandle>();
+			for (Object key : stateStore.getKeys()) {
+				if (key instanceof ActivityContextHandle) {
+					result.add((ActivityContextHandle) key);
+				}
+			}
+			return result;
+		}
 		final Node node = getNode();
 		return node != null ? node.getChildrenNames() : Collections.EMPTY_SET;
 	}
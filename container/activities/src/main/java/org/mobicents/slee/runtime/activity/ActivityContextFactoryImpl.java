@@ -22,6 +22,9 @@
 
 package org.mobicents.slee.runtime.activity;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -38,8 +41,11 @@ import org.mobicents.slee.container.activity.ActivityContextFactory;
 import org.mobicents.slee.container.activity.ActivityContextHandle;
 import org.mobicents.slee.container.activity.ActivityType;
 import org.mobicents.slee.container.eventrouter.EventRouterExecutor;
+import org.mobicents.slee.container.resource.ResourceAdaptorActivityContextHandle;
+import org.mobicents.slee.container.state.StateStore;
 import org.mobicents.slee.container.transaction.TransactionContext;
 import org.mobicents.slee.container.transaction.TransactionalAction;
+import org.mobicents.slee.runtime.state.InHeapStateStore;
 
 /**
  * Activity context factory -- return an activity context given an activity or
@@ -67,6 +73,26 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 	
 	private final ActivityManagementConfiguration configuration;
 	
+	/**
+	 * the store of the activity context data, if null the cluster cache is used
+	 */
+	private StateStore stateStore;
+	
+	/**
+	 * the indexes of handles per activity type and ra entity
+	 */
+	private final ActivityContextHandleIndex handleIndex = new ActivityContextHandleIndex();
+	
+	/**
+	 * the wheel of handles by last access time, used by the liveness scanner
+	 */
+	private final ActivityIdleTimeWheel idleTimeWheel = new ActivityIdleTimeWheel();
+	
+	/**
+	 * indicates if the string id index is used, set when the slee starts
+	 */
+	private boolean stringIDIndexEnabled;
+	
 	private final static boolean doTraceLogs = logger.isTraceEnabled();
 	
 	public ActivityContextFactoryImpl(ActivityManagementConfiguration configuration) {
@@ -83,13 +109,20 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 	
 	@Override
 	public void sleeInitialization() {
-		sleeContainer.getCluster().addDataRemovalListener(new DataRemovalClusterListener());		
+		sleeContainer.getCluster().addDataRemovalListener(new DataRemovalClusterListener());
+		if (configuration.isInHeapStateStoreEnabled()) {
+			// opt in, by default the data is kept in the cluster cache
+			stateStore = new InHeapStateStore("ac", sleeContainer.getTransactionManager());
+		}
 	}
 	
 	@Override
 	public void sleeStarting() {
-		cacheData = new ActivityContextFactoryCacheData(sleeContainer.getCluster());
+		cacheData = new ActivityContextFactoryCacheData(sleeContainer.getCluster(), stateStore);
 		cacheData.create();
+		handleIndex.clear();
+		idleTimeWheel.clear();
+		stringIDIndexEnabled = configuration.isStringIDIndexEnabled();
 	}
 	
 	/*
@@ -100,6 +133,27 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 		return sleeContainer;
 	}
 	
+	/**
+	 * Retrieves the wheel of activity context handles by last access time,
+	 * which only holds the activity contexts which track idle time, and were
+	 * accessed in this node.
+	 * 
+	 * @return
+	 */
+	public ActivityIdleTimeWheel getIdleTimeWheel() {
+		return idleTimeWheel;
+	}
+	
+	/**
+	 * Indicates if the idle time wheel may be used by the liveness scanner,
+	 * which is only true if all activity contexts are local to this node.
+	 * 
+	 * @return
+	 */
+	public boolean isIdleTimeWheelUsable() {
+		return useHandleIndex();
+	}
+	
 	LocalActivityContextImpl getLocalActivityContext(ActivityContextImpl ac) {
 		final ActivityContextHandle ach = ac.getActivityContextHandle();
 		LocalActivityContextImpl localActivityContext = localActivityContexts.get(ach);
@@ -152,12 +206,25 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 		}
 		
 		// create ac
-		ActivityContextCacheData activityContextCacheData = new ActivityContextCacheData(ach, sleeContainer.getCluster());
+		ActivityContextCacheData activityContextCacheData = new ActivityContextCacheData(ach, sleeContainer.getCluster(), stateStore);
 		if (activityContextCacheData.exists()) {
 			throw new ActivityAlreadyExistsException(ach.toString());
 		}
 				
 		ActivityContextImpl ac = new ActivityContextImpl(ach,activityContextCacheData,tracksIdleTime(ach,true),Integer.valueOf(activityFlags),this);
+		final TransactionContext txContext = sleeContainer.getTransactionManager().getTransactionContext();
+		storeActivityContextInTx(ac, txContext);
+		// index the handle, and remove it if the creation is rolled back
+		handleIndex.add(ach);
+		if (txContext != null) {
+			TransactionalAction txAction = new TransactionalAction() {
+				@Override
+				public void execute() {
+					handleIndex.remove(ach);
+				}
+			};
+			txContext.getAfterRollbackActions().add(txAction);
+		}
 		if (logger.isDebugEnabled()) {
 			logger.debug("Created activity context with handle "+ach);			
 		}
@@ -181,10 +248,27 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 	
 	@Override
 	public ActivityContextImpl getActivityContext(ActivityContextHandle ach, boolean updateLastAccessTime) {
-		ActivityContextCacheData activityContextCacheData = new ActivityContextCacheData(ach, sleeContainer.getCluster());
+		// check 1st if the ac was already materialized in the tx
+		final TransactionContext txContext = sleeContainer.getTransactionManager().getTransactionContext();
+		final Map<ActivityContextHandle, ActivityContextImpl> txActivityContexts = getActivityContextsInTx(txContext, false);
+		if (txActivityContexts != null) {
+			final ActivityContextImpl ac = txActivityContexts.get(ach);
+			if (ac != null) {
+				if (ac.isRemoved()) {
+					return null;
+				}
+				if (tracksIdleTime(ach, updateLastAccessTime)) {
+					ac.updateLastAccessTime();
+				}
+				return ac;
+			}
+		}
+		ActivityContextCacheData activityContextCacheData = new ActivityContextCacheData(ach, sleeContainer.getCluster(), stateStore);
 		if (activityContextCacheData.exists()) {
 			try {
-				return new ActivityContextImpl(ach,activityContextCacheData,tracksIdleTime(ach, updateLastAccessTime),this);
+				final ActivityContextImpl ac = new ActivityContextImpl(ach,activityContextCacheData,tracksIdleTime(ach, updateLastAccessTime),this);
+				storeActivityContextInTx(ac, txContext);
+				return ac;
 			}
 			catch (Throwable e) {
 				logger.error("Failed to load AC.",e);
@@ -194,6 +278,8 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 					localActivityContext.getExecutorService().activityUnmapped(ach);
 				}
 				activityContextCacheData.remove();
+				handleIndex.remove(ach);
+				idleTimeWheel.remove(ach);
 				return null;
 			}
 		}
@@ -202,6 +288,36 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 		}
 	}
 	
+	/**
+	 * Retrieves the map of the tx data, which holds the activity contexts
+	 * already materialized in the tx.
+	 * 
+	 * @param txContext
+	 * @param createIfNotExists
+	 * @return
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Map<ActivityContextHandle, ActivityContextImpl> getActivityContextsInTx(TransactionContext txContext, boolean createIfNotExists) {
+		if (txContext == null) {
+			return null;
+		}
+		// the handles are used as tx data keys by the ac references handler,
+		// thus the acs are kept in a map of their own, keyed by the factory
+		final Map txData = txContext.getData();
+		Map<ActivityContextHandle, ActivityContextImpl> txActivityContexts = (Map<ActivityContextHandle, ActivityContextImpl>) txData.get(this);
+		if (txActivityContexts == null && createIfNotExists) {
+			txActivityContexts = new HashMap<ActivityContextHandle, ActivityContextImpl>();
+			txData.put(this, txActivityContexts);
+		}
+		return txActivityContexts;
+	}
+
+	private void storeActivityContextInTx(ActivityContextImpl ac, TransactionContext txContext) {
+		if (txContext != null) {
+			getActivityContextsInTx(txContext, true).put(ac.getActivityContextHandle(), ac);
+		}
+	}
+	
 	@Override
 	public ActivityContext getActivityContext(String sid) {
 		return getActivityContext(sid, false);
@@ -210,16 +326,50 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 	@Override
 	public ActivityContext getActivityContext(String sid,
 			boolean updateLastAccessTime) {
-		// TODO add alternative strategy where there is a cache data mapping from sid to
-		// ach, and configuration option to select strategy
+		if (stringIDIndexEnabled) {
+			final ActivityContextHandle ach = new ActivityContextStringIDCacheData(sid, sleeContainer.getCluster(), stateStore).getActivityContextHandle();
+			if (ach == null) {
+				return null;
+			}
+			final ActivityContextImpl ac = getActivityContext(ach, updateLastAccessTime);
+			// the mapping is not removed if the ac fails to load, double check
+			return ac != null && sid.equals(ac.getStringID(false)) ? ac : null;
+		}
 		ActivityContextImpl ac = null;
 		for (ActivityContextHandle ach : getAllActivityContextsHandles()) {
 			ac = getActivityContext(ach, updateLastAccessTime);
-			if (sid.equals(ac.getStringID(false))) {
-				break;
+			if (ac != null && sid.equals(ac.getStringID(false))) {
+				return ac;
 			}
 		}
-		return ac;
+		return null;
+	}
+	
+	/**
+	 * Maps the string id, just created for the specified ac, to its handle, if
+	 * the string id index is enabled.
+	 * 
+	 * @param ac
+	 * @param sid
+	 */
+	void stringIDCreated(ActivityContextImpl ac, String sid) {
+		if (stringIDIndexEnabled) {
+			final ActivityContextStringIDCacheData sidCacheData = new ActivityContextStringIDCacheData(sid, sleeContainer.getCluster(), stateStore);
+			sidCacheData.create();
+			sidCacheData.setActivityContextHandle(ac.getActivityContextHandle());
+		}
+	}
+	
+	/**
+	 * Removes the mapping of the specified string id, if the string id index
+	 * is enabled.
+	 * 
+	 * @param sid
+	 */
+	void stringIDRemoved(String sid) {
+		if (stringIDIndexEnabled) {
+			new ActivityContextStringIDCacheData(sid, sleeContainer.getCluster(), stateStore).remove();
+		}
 	}
 	
 	/*
@@ -230,6 +380,66 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 		return cacheData.getActivityContextHandles();
 	}
 	
+	/**
+	 * Indicates if the handle index may be used, which only holds the
+	 * activity contexts created in this node.
+	 * 
+	 * @return
+	 */
+	private boolean useHandleIndex() {
+		return sleeContainer.getCluster().getMobicentsCache().isLocalMode();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.activity.ActivityContextFactory#getActivityContextsHandles(org.mobicents.slee.container.activity.ActivityType)
+	 */
+	public Set<ActivityContextHandle> getActivityContextsHandles(ActivityType activityType) {
+		if (useHandleIndex()) {
+			return handleIndex.getActivityContextHandles(activityType);
+		}
+		final Set<ActivityContextHandle> result = new HashSet<ActivityContextHandle>();
+		for (ActivityContextHandle ach : getAllActivityContextsHandles()) {
+			if (ach.getActivityType() == activityType) {
+				result.add(ach);
+			}
+		}
+		return result;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.activity.ActivityContextFactory#getActivityContextCount(org.mobicents.slee.container.activity.ActivityType)
+	 */
+	public int getActivityContextCount(ActivityType activityType) {
+		return getActivityContextsHandles(activityType).size();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.activity.ActivityContextFactory#getResourceAdaptorEntityActivityContextsHandles(java.lang.String)
+	 */
+	public Set<ActivityContextHandle> getResourceAdaptorEntityActivityContextsHandles(String raEntityName) {
+		if (useHandleIndex()) {
+			return handleIndex.getResourceAdaptorEntityActivityContextHandles(raEntityName);
+		}
+		final Set<ActivityContextHandle> result = new HashSet<ActivityContextHandle>();
+		for (ActivityContextHandle ach : getAllActivityContextsHandles()) {
+			if (ach.getActivityType() == ActivityType.RA && ((ResourceAdaptorActivityContextHandle) ach).getResourceAdaptorEntity().getName().equals(raEntityName)) {
+				result.add(ach);
+			}
+		}
+		return result;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.activity.ActivityContextFactory#getResourceAdaptorEntityActivityContextCount(java.lang.String)
+	 */
+	public int getResourceAdaptorEntityActivityContextCount(String raEntityName) {
+		return getResourceAdaptorEntityActivityContextsHandles(raEntityName).size();
+	}
+	
 	public void removeActivityContext(final ActivityContextImpl ac) {
 
 		if (doTraceLogs) {
@@ -241,6 +451,24 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 		if (localActivityContext != null) {
 			localActivityContext.getExecutorService().activityUnmapped(ac.getActivityContextHandle());
 		}
+		
+		// remove from handle index, once the removal is committed
+		final ActivityContextHandle ach = ac.getActivityContextHandle();
+		final TransactionContext txContext = sleeContainer.getTransactionManager().getTransactionContext();
+		if (txContext != null) {
+			TransactionalAction txAction = new TransactionalAction() {
+				@Override
+				public void execute() {
+					handleIndex.remove(ach);
+					idleTimeWheel.remove(ach);
+				}
+			};
+			txContext.getAfterCommitActions().add(txAction);
+		}
+		else {
+			handleIndex.remove(ach);
+			idleTimeWheel.remove(ach);
+		}
 				
 		if (logger.isDebugEnabled()) {
 			logger.debug("Removed activity context with handle "+ac.getActivityContextHandle());			
@@ -260,14 +488,16 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 	 * @see org.mobicents.slee.container.activity.ActivityContextFactory#activityContextExists(org.mobicents.slee.container.activity.ActivityContextHandle)
 	 */
 	public boolean activityContextExists(ActivityContextHandle ach) {
-		return new ActivityContextCacheData(ach, sleeContainer.getCluster()).exists();
+		return new ActivityContextCacheData(ach, sleeContainer.getCluster(), stateStore).exists();
 	}	
 	
 	@Override
 	public String toString() {
 		return "ActivityContext Factory: " 
 			+ "\n+-- Local ACs: " + (localActivityContexts.size() > 20 ? localActivityContexts.size() : localActivityContexts.keySet())
-			+ "\n+-- ACs: " + (getActivityContextCount() > 20 ? getActivityContextCount() : getAllActivityContextsHandles());
+			+ "\n+-- ACs: " + (getActivityContextCount() > 20 ? getActivityContextCount() : getAllActivityContextsHandles())
+			+ "\n+-- " + handleIndex
+			+ "\n+-- " + idleTimeWheel;
 	}
 	
 	private class DataRemovalClusterListener implements DataRemovalListener {
@@ -275,6 +505,8 @@ public class ActivityContextFactoryImpl extends AbstractSleeContainerModule impl
 		@SuppressWarnings("rawtypes")
 		public void dataRemoved(Fqn arg0) {
 			final ActivityContextHandle ach = (ActivityContextHandle) arg0.getLastElement();
+			handleIndex.remove(ach);
+			idleTimeWheel.remove(ach);
 			final LocalActivityContextImpl localActivityContext = localActivityContexts.remove(ach);
 			if(localActivityContext != null) {
 				final EventRouterExecutor executor = localActivityContext.getExecutorService(); 
@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.activity;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.activity.ActivityType;
+import org.mobicents.slee.container.resource.ResourceAdaptorActivityContextHandle;
+
+/**
+ * Secondary indexes of the local activity context handles, per activity type
+ * and per resource adaptor entity, which avoid scanning all activity contexts
+ * of the SLEE to find the ones of a specific entity.
+ */
+public class ActivityContextHandleIndex {
+
+	/**
+	 * the handles per activity type, the map is fully populated on creation
+	 * and never changes afterwards
+	 */
+	private final EnumMap<ActivityType, Set<ActivityContextHandle>> activityTypeIndex = new EnumMap<ActivityType, Set<ActivityContextHandle>>(ActivityType.class);
+
+	/**
+	 * the handles per ra entity name
+	 */
+	private final ConcurrentHashMap<String, Set<ActivityContextHandle>> raEntityIndex = new ConcurrentHashMap<String, Set<ActivityContextHandle>>();
+
+	public ActivityContextHandleIndex() {
+		for (ActivityType activityType : ActivityType.values()) {
+			activityTypeIndex.put(activityType, newHandleSet());
+		}
+	}
+
+	private static Set<ActivityContextHandle> newHandleSet() {
+		return Collections.newSetFromMap(new ConcurrentHashMap<ActivityContextHandle, Boolean>());
+	}
+
+	private static String getRAEntityName(ActivityContextHandle ach) {
+		return ((ResourceAdaptorActivityContextHandle) ach).getResourceAdaptorEntity().getName();
+	}
+
+	private Set<ActivityContextHandle> getRAEntityHandles(String raEntityName, boolean createIfNotExists) {
+		Set<ActivityContextHandle> handles = raEntityIndex.get(raEntityName);
+		if (handles == null && createIfNotExists) {
+			final Set<ActivityContextHandle> newHandles = newHandleSet();
+			handles = raEntityIndex.putIfAbsent(raEntityName, newHandles);
+			if (handles == null) {
+				handles = newHandles;
+			}
+		}
+		return handles;
+	}
+
+	/**
+	 * Indexes the specified handle.
+	 * 
+	 * @param ach
+	 */
+	public void add(ActivityContextHandle ach) {
+		final ActivityType activityType = ach.getActivityType();
+		activityTypeIndex.get(activityType).add(ach);
+		if (activityType == ActivityType.RA) {
+			getRAEntityHandles(getRAEntityName(ach), true).add(ach);
+		}
+	}
+
+	/**
+	 * Removes the specified handle from the indexes.
+	 * 
+	 * @param ach
+	 */
+	public void remove(ActivityContextHandle ach) {
+		final ActivityType activityType = ach.getActivityType();
+		activityTypeIndex.get(activityType).remove(ach);
+		if (activityType == ActivityType.RA) {
+			final Set<ActivityContextHandle> handles = getRAEntityHandles(getRAEntityName(ach), false);
+			if (handles != null) {
+				handles.remove(ach);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the handles of the specified activity type.
+	 * 
+	 * @param activityType
+	 * @return a read only view of the index, which reflects further changes
+	 */
+	public Set<ActivityContextHandle> getActivityContextHandles(ActivityType activityType) {
+		return Collections.unmodifiableSet(activityTypeIndex.get(activityType));
+	}
+
+	/**
+	 * Retrieves the handles of the ra entity with the specified name.
+	 * 
+	 * @param raEntityName
+	 * @return a read only view of the index, which reflects further changes,
+	 *         or an empty set if the ra entity never had activities
+	 */
+	public Set<ActivityContextHandle> getResourceAdaptorEntityActivityContextHandles(String raEntityName) {
+		final Set<ActivityContextHandle> handles = getRAEntityHandles(raEntityName, false);
+		if (handles == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(handles);
+	}
+
+	/**
+	 * Removes all handles from the indexes.
+	 */
+	public void clear() {
+		for (Set<ActivityContextHandle> handles : activityTypeIndex.values()) {
+			handles.clear();
+		}
+		raEntityIndex.clear();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("ActivityContextHandleIndex: ");
+		for (ActivityType activityType : ActivityType.values()) {
+			sb.append(activityType).append(" = ").append(activityTypeIndex.get(activityType).size()).append(", ");
+		}
+		return sb.append("ra entities = ").append(raEntityIndex.keySet()).toString();
+	}
+}
@@ -22,7 +22,6 @@
 
 package org.mobicents.slee.runtime.activity;
 
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -51,8 +50,6 @@ import org.mobicents.slee.container.sbbentity.SbbEntityID;
 import org.mobicents.slee.container.service.ServiceActivityHandle;
 import org.mobicents.slee.container.transaction.TransactionContext;
 import org.mobicents.slee.runtime.event.ActivityEndEventUnreferencedCallback;
-import org.mobicents.slee.runtime.event.CommitEventContextAction;
-import org.mobicents.slee.runtime.event.RollbackEventContextAction;
 
 /**
  * Create one of these when a new SipTransaction is seen by the stack. Call the
@@ -95,6 +92,11 @@ public class ActivityContextImpl implements ActivityContext {
 
 	private final ActivityContextReferencesHandler acReferencesHandler;
 
+	/**
+	 * the aci for this ac, created on first request
+	 */
+	private ActivityContextInterfaceImpl activityContextInterface;
+
 	public ActivityContextImpl(
 			final ActivityContextHandle activityContextHandle,
 			ActivityContextCacheData cacheData, boolean updateAccessTime,
@@ -324,11 +326,19 @@ public class ActivityContextImpl implements ActivityContext {
 	// have references to the Activity Context that the Activ-ity
 	// End Event has been delivered on the Activity Context.
 	private void removeFromTimers() {
-		TimerFacility timerFacility = sleeContainer.getTimerFacility();
-		// Iterate through the attached timers, telling the timer facility to
-		// remove them
-		for (Object obj : cacheData.getAttachedTimers()) {
-			timerFacility.cancelTimer((TimerID) obj, false);
+		final TimerFacility timerFacility = sleeContainer.getTimerFacility();
+		if (sleeContainer.getCluster().getMobicentsCache().isLocalMode()) {
+			// the timer facility indexes the timers by activity context, no
+			// need to iterate through the attached timers
+			timerFacility.cancelTimers(getActivityContextHandle());
+		}
+		else {
+			// the index only knows the timers set in this cluster node,
+			// iterate through the attached timers, telling the timer facility
+			// to remove them
+			for (Object obj : cacheData.getAttachedTimers()) {
+				timerFacility.cancelTimer((TimerID) obj, false);
+			}
 		}
 	}
 
@@ -338,7 +348,11 @@ public class ActivityContextImpl implements ActivityContext {
 	 * 
 	 */
 	private void removeFromCache(TransactionContext txContext) {
+		final String sid = cacheData.getStringID();
 		cacheData.remove();
+		if (sid != null) {
+			factory.stringIDRemoved(sid);
+		}
 	}
 
 	/**
@@ -354,6 +368,9 @@ public class ActivityContextImpl implements ActivityContext {
 
 		boolean attached = cacheData.attachSbbEntity(sbbEntityId);
 		if (attached) {
+			getLocalActivityContext().getSbbAttachmentIndex().changed(
+					sleeContainer.getTransactionManager()
+							.getTransactionContext(), false);
 			if (acReferencesHandler != null) {
 				acReferencesHandler.sbbeReferenceCreated(false);
 			}
@@ -376,6 +393,12 @@ public class ActivityContextImpl implements ActivityContext {
 
 		boolean detached = cacheData.detachSbbEntity(sbbEntityId);
 
+		if (detached) {
+			getLocalActivityContext().getSbbAttachmentIndex().changed(
+					sleeContainer.getTransactionManager()
+							.getTransactionContext(), false);
+		}
+		
 		if (detached && acReferencesHandler != null && !isEnding()) {
 			acReferencesHandler.sbbeReferenceRemoved();
 			if (logger.isTraceEnabled()) {
@@ -385,33 +408,42 @@ public class ActivityContextImpl implements ActivityContext {
 		}
 	}
 
-	/**
-	 * get an ordered copy of the set of SBBs attached to this ac. The ordering
-	 * is by SBB priority.
-	 * 
-	 * @return list of SbbEIDs
-	 * 
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.activity.ActivityContext#getSortedSbbAttachments()
 	 */
-	public Set<SbbEntityID> getSortedSbbAttachmentSet(
-			Set<SbbEntityID> excludeSet) {
-		final Set<SbbEntityID> sbbAttachementSet = cacheData
-				.getSbbEntitiesAttached();
-		Set<SbbEntityID> result = new HashSet<SbbEntityID>();
-		for (SbbEntityID sbbEntityId : sbbAttachementSet) {
-			if (!excludeSet.contains(sbbEntityId)) {
-				result.add(sbbEntityId);
-			}
+	public SbbEntityID[] getSortedSbbAttachments() {
+		final SbbAttachmentIndex index = getLocalActivityContext()
+				.getSbbAttachmentIndex();
+		if (!sleeContainer.getCluster().getMobicentsCache().isLocalMode()) {
+			// attachments may be changed in other cluster nodes
+			return index.sort(cacheData.getSbbEntitiesAttached());
 		}
-		if (result.size() > 1) {
-			result = sleeContainer.getSbbEntityFactory().sortByPriority(result);
+		final SbbEntityID[] sbbEntityIDs = index.getSortedSbbEntityIDs();
+		if (sbbEntityIDs != null) {
+			return sbbEntityIDs;
 		}
-		return result;
+		final int readVersion = index.attachmentSetRead(sleeContainer
+				.getTransactionManager().getTransactionContext());
+		return index.sort(cacheData.getSbbEntitiesAttached(), readVersion);
 	}
 
 	public Set<SbbEntityID> getSbbAttachmentSet() {
+		getLocalActivityContext().getSbbAttachmentIndex().attachmentSetRead(
+				sleeContainer.getTransactionManager().getTransactionContext());
 		return cacheData.getSbbEntitiesAttached();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.activity.ActivityContext#sbbEntityPriorityChanged()
+	 */
+	public void sbbEntityPriorityChanged() {
+		getLocalActivityContext().getSbbAttachmentIndex().changed(
+				sleeContainer.getTransactionManager().getTransactionContext(),
+				true);
+	}
+
 	/**
 	 * 
 	 * @return
@@ -421,12 +453,34 @@ public class ActivityContextImpl implements ActivityContext {
 		return time == null ? System.currentTimeMillis() : time.longValue();
 	}
 
+	/**
+	 * Updates the last access time of an ac which was already loaded, and is
+	 * now being retrieved again in the same transaction.
+	 */
+	void updateLastAccessTime() {
+		updateLastAccessTime(false);
+	}
+
+	/**
+	 * Indicates if the ac data was removed, through this ac object.
+	 * 
+	 * @return
+	 */
+	boolean isRemoved() {
+		return cacheData.isRemoved();
+	}
+
 	// --- private helpers
 
+	private void setLastAccessTime(long time) {
+		cacheData.putObject(NODE_MAP_KEY_LAST_ACCESS, Long.valueOf(time));
+		// keep the liveness scanner wheel in sync
+		factory.getIdleTimeWheel().accessed(activityContextHandle, time);
+	}
+
 	private void updateLastAccessTime(boolean creation) {
 		if (creation) {
-			cacheData.putObject(NODE_MAP_KEY_LAST_ACCESS,
-					Long.valueOf(System.currentTimeMillis()));
+			setLastAccessTime(System.currentTimeMillis());
 		} else {
 			ActivityManagementConfiguration configuration = factory
 					.getConfiguration();
@@ -441,8 +495,7 @@ public class ActivityContextImpl implements ActivityContext {
 						logger.trace("Updating access time for AC with handle "
 								+ getActivityContextHandle());
 					}
-					cacheData.putObject(NODE_MAP_KEY_LAST_ACCESS,
-							Long.valueOf(now));
+					setLastAccessTime(now);
 				} else {
 					if (logger.isDebugEnabled()) {
 						logger.debug("Skipping update of access time for AC with handle "
@@ -450,8 +503,7 @@ public class ActivityContextImpl implements ActivityContext {
 					}
 				}
 			} else {
-				cacheData.putObject(NODE_MAP_KEY_LAST_ACCESS,
-						Long.valueOf(System.currentTimeMillis()));
+				setLastAccessTime(System.currentTimeMillis());
 				if (logger.isTraceEnabled()) {
 					logger.trace("Updating access time for AC with handle "
 							+ getActivityContextHandle());
@@ -605,13 +657,9 @@ public class ActivityContextImpl implements ActivityContext {
 				.getEventQueueManager();
 		if (aeqm != null) {
 			if (txContext != null) {
-				// put event as pending in ac event queue manager
-				aeqm.pending(event);
-				// add tx actions to commit or rollback
-				txContext.getAfterCommitPriorityActions().add(
-						new CommitEventContextAction(event, aeqm));
-				txContext.getAfterRollbackActions().add(
-						new RollbackEventContextAction(event, aeqm));
+				// put event as pending in ac event queue manager, which adds
+				// the tx actions to commit or rollback it
+				aeqm.pending(event, txContext);
 			} else {
 				// commit event, there is no tx
 				aeqm.fireNotTransacted(event);
@@ -671,7 +719,10 @@ public class ActivityContextImpl implements ActivityContext {
 	 * getActivityContextInterface()
 	 */
 	public ActivityContextInterfaceImpl getActivityContextInterface() {
-		return new ActivityContextInterfaceImpl(this);
+		if (activityContextInterface == null) {
+			activityContextInterface = new ActivityContextInterfaceImpl(this);
+		}
+		return activityContextInterface;
 	}
 
 	public ActivityContextReferencesHandler getAcReferencesHandler() {
@@ -706,6 +757,7 @@ public class ActivityContextImpl implements ActivityContext {
 		if (sid == null && createIfNull) {
 			sid = sleeContainer.getUuidGenerator().createUUID();
 			cacheData.setStringID(sid);
+			factory.stringIDCreated(this, sid);
 		}
 		return sid;
 	}
@@ -0,0 +1,193 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.activity;
+
+import java.io.Serializable;
+
+import org.jboss.cache.Fqn;
+import org.mobicents.cache.CacheData;
+import org.mobicents.cluster.MobicentsCluster;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.state.StateStore;
+
+/**
+ * 
+ * Proxy object for the mapping of an activity context string id to its handle,
+ * managed through JBoss Cache, or through a {@link StateStore}, if one is
+ * provided.
+ */
+public class ActivityContextStringIDCacheData extends CacheData {
+
+	/**
+	 * the fqn of the node that holds all activity context string id cache
+	 * child nodes
+	 */
+	public final static String parentNodeFqn = "ac-sid";
+
+	private static final String HANDLE_NODE_MAP_KEY = "ach";
+
+	/**
+	 * the state store used instead of the cache, if not null
+	 */
+	private final StateStore stateStore;
+
+	/**
+	 * the key of the mapping record, in the state store
+	 */
+	private final StringIDKey stateStoreKey;
+
+	private boolean removed;
+
+	/**
+	 * 
+	 * @param sid
+	 * @param cluster
+	 * @param stateStore
+	 *            the store of the ac data, if null the cluster cache is used
+	 */
+	public ActivityContextStringIDCacheData(String sid,
+			MobicentsCluster cluster, StateStore stateStore) {
+		super(Fqn.fromElements(parentNodeFqn, sid), cluster.getMobicentsCache());
+		this.stateStore = stateStore;
+		this.stateStoreKey = stateStore != null ? new StringIDKey(sid) : null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#exists()
+	 */
+	@Override
+	public boolean exists() {
+		if (stateStore != null) {
+			return stateStore.exists(stateStoreKey);
+		}
+		return super.exists();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#create()
+	 */
+	@Override
+	public boolean create() {
+		if (stateStore != null) {
+			return stateStore.create(stateStoreKey);
+		}
+		return super.create();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#remove()
+	 */
+	@Override
+	public boolean remove() {
+		if (stateStore != null) {
+			if (stateStore.remove(stateStoreKey)) {
+				removed = true;
+				return true;
+			}
+			return false;
+		}
+		return super.remove();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#isRemoved()
+	 */
+	@Override
+	public boolean isRemoved() {
+		if (stateStore != null) {
+			return removed;
+		}
+		return super.isRemoved();
+	}
+
+	/**
+	 * Retrieves the handle of the activity context mapped to the string id.
+	 * 
+	 * @return null if there is no mapping
+	 */
+	public ActivityContextHandle getActivityContextHandle() {
+		if (stateStore != null) {
+			return (ActivityContextHandle) stateStore.get(stateStoreKey,
+					HANDLE_NODE_MAP_KEY);
+		}
+		if (!super.exists()) {
+			return null;
+		}
+		return (ActivityContextHandle) getNode().get(HANDLE_NODE_MAP_KEY);
+	}
+
+	/**
+	 * Maps the string id to the handle of the activity context. The mapping
+	 * must be created first.
+	 * 
+	 * @param ach
+	 */
+	@SuppressWarnings("unchecked")
+	public void setActivityContextHandle(ActivityContextHandle ach) {
+		if (stateStore != null) {
+			stateStore.put(stateStoreKey, HANDLE_NODE_MAP_KEY, ach);
+			return;
+		}
+		getNode().put(HANDLE_NODE_MAP_KEY, ach);
+	}
+
+	/**
+	 * The key of a string id mapping in the state store, which distinguishes
+	 * it from the activity context handles keys of the same store.
+	 */
+	private static class StringIDKey implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String sid;
+
+		public StringIDKey(String sid) {
+			this.sid = sid;
+		}
+
+		@Override
+		public int hashCode() {
+			return sid.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj != null && obj.getClass() == this.getClass()) {
+				return ((StringIDKey) obj).sid.equals(this.sid);
+			}
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return parentNodeFqn + "/" + sid;
+		}
+	}
+}
@@ -22,10 +22,14 @@
 
 package org.mobicents.slee.runtime.activity;
 
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.slee.resource.FailureReason;
 import javax.transaction.Transaction;
@@ -33,32 +37,57 @@ import javax.transaction.Transaction;
 import org.apache.log4j.Logger;
 import org.mobicents.slee.container.activity.ActivityEventQueueManager;
 import org.mobicents.slee.container.event.EventContext;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff;
+import org.mobicents.slee.container.transaction.TransactionContext;
+import org.mobicents.slee.container.transaction.TransactionalAction;
 
 /**
  * 
- * Manages the queuing of events for a specific activity. Note that this impl of
- * {@link ActivityEventQueueManager} is only thread safe if the local AC
- * executive service is single thread.
+ * Manages the queuing of events for a specific activity, as a state machine
+ * whose state is only changed in the activity's executor.
+ * 
+ * Each operation is queued as a transition in a lock free inbox, and the
+ * manager is only scheduled in the executor if it is not already, thus
+ * several transitions may be applied in a single executor turn. Events
+ * committed are routed in the same turn, and events are put pending without
+ * any executor handoff, which means a transacted event costs a single handoff
+ * in the common case.
  * 
  * @author Eduardo Martins
  * 
  */
-public class ActivityEventQueueManagerImpl implements ActivityEventQueueManager {
+public class ActivityEventQueueManagerImpl implements
+		ActivityEventQueueManager, Runnable {
 
 	private static final Logger logger = Logger
 			.getLogger(ActivityEventQueueManagerImpl.class);
 
 	private boolean doTraceLogs = logger.isTraceEnabled();
 
+	/**
+	 * the max number of transitions applied in a single executor turn, before
+	 * scheduling the manager again, so other activities mapped to the same
+	 * executor are not starved
+	 */
+	private static final int MAX_TRANSITIONS_PER_TURN = 32;
+
+	// transition types
+	private static final int COMMIT = 0;
+	private static final int FIRE_NOT_TRANSACTED = 1;
+	private static final int ROLLBACK = 2;
+	private static final int CREATE_BARRIER = 3;
+	private static final int REMOVE_BARRIER = 4;
+
 	/**
 	 * stores the activity end event when set
 	 */
 	private EventContext activityEndEvent;
 	private boolean activityEndEventRouted;
-	
+
 	/**
-	 * the set of pending events, i.e., events not committed yet, for this
-	 * activity
+	 * the pending events, i.e., events fired in a transaction which did not
+	 * end yet, for this activity, guarded by the manager's lock since events
+	 * are added by the firing threads
 	 */
 	private Set<EventContext> pendingEvents;
 
@@ -72,17 +101,46 @@ public class ActivityEventQueueManagerImpl implements ActivityEventQueueManager
 	 */
 	private Set<Transaction> eventBarriers;
 
+	/**
+	 * the stub node of the inbox, which is never applied
+	 */
+	private final Transition inboxStub = new Transition(-1, null, null);
+
+	/**
+	 * the last transition queued in the inbox, changed by producers
+	 */
+	private final AtomicReference<Transition> inboxTail = new AtomicReference<Transition>(
+			inboxStub);
+
+	/**
+	 * the next transition to apply, only accessed in the executor
+	 */
+	private Transition inboxHead = inboxStub;
+
+	/**
+	 * true if the manager is queued in the executor or applying transitions
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
 	/**
 	 * the local view of the related activity context
 	 */
 	private final LocalActivityContextImpl localAC;
 
+	/**
+	 * hands off the manager to the AC executor
+	 */
+	private final EventRouterExecutorHandoff executorHandoff;
+
 	/**
 	 * 
 	 * @param localAC
+	 * @param executorHandoff
 	 */
-	public ActivityEventQueueManagerImpl(LocalActivityContextImpl localAC) {
+	public ActivityEventQueueManagerImpl(LocalActivityContextImpl localAC,
+			EventRouterExecutorHandoff executorHandoff) {
 		this.localAC = localAC;
+		this.executorHandoff = executorHandoff;
 	}
 
 	@Override
@@ -94,73 +152,146 @@ public class ActivityEventQueueManagerImpl implements ActivityEventQueueManager
 		}	
 		// let the event know it was fired
 		event.fired();
-		// add event to pending set
-		Runnable r = new Runnable() {
-			@Override
-			public void run() {							
-				if (pendingEvents == null) {
-					pendingEvents = new HashSet<EventContext>(4);
-				}
-				pendingEvents.add(event);
-			}
-		};
-		localAC.getExecutorService().execute(r);
+		addPendingEvent(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.mobicents.slee.container.activity.ActivityEventQueueManager#pending(org.mobicents.slee.container.event.EventContext, org.mobicents.slee.container.transaction.TransactionContext)
+	 */
+	@Override
+	public void pending(final EventContext event, TransactionContext txContext) {
+		pending(event);
+		txContext.getAfterCommitPriorityActions().add(
+				new Transition(COMMIT, event, null));
+		txContext.getAfterRollbackActions().add(
+				new Transition(ROLLBACK, event, null));
 	}
 
 	@Override
 	public void commit(final EventContext event) {
-		Runnable r = new Runnable() {
-			@Override
-			public void run() {
-				if (activityEndEvent == null) {
-					commit(event, true);
-				} else {
-					// processing of the event failed
-					if (doTraceLogs) {
-						logger.trace("Unable to commit event of type "
-								+ event.getEventTypeId()
-								+ " in AC with handle "
-								+ event.getActivityContextHandle()
-								+ ", the activity end event is already committed");
-					}
-					event.eventProcessingFailed(FailureReason.OTHER_REASON);					
-				}
-			}
-		};
-		localAC.getExecutorService().execute(r);
+		offer(new Transition(COMMIT, event, null));
 	}
 
 	@Override
 	public void fireNotTransacted(final EventContext event) {
 		// let the event know it was fired
 		event.fired();
-		// commit event
-		Runnable r = new Runnable() {
-			@Override
-			public void run() {
-				if (activityEndEvent == null) {
-					// activity end event not set
-					// commit event
-					commit(event, false);
-				} else {
-					// processing of the event failed
-					if (doTraceLogs) {
-						logger.trace("Unable to commit event of type "
-								+ event.getEventTypeId()
-								+ " in AC with handle "
-								+ event.getActivityContextHandle()
-								+ ", the activity end event is already committed");
-					}
-					event.eventProcessingFailed(FailureReason.OTHER_REASON);					
-				}
+		offer(new Transition(FIRE_NOT_TRANSACTED, event, null));
+	}
+
+	@Override
+	public void rollback(final EventContext event) {
+		// let the event know it was canceled
+		event.canceled();
+		offer(new Transition(ROLLBACK, event, null));
+	}
+
+	@Override
+	public void createBarrier(final Transaction transaction) {
+		offer(new Transition(CREATE_BARRIER, null, transaction));
+	}
+
+	@Override
+	public void removeBarrier(final Transaction transaction) {
+		offer(new Transition(REMOVE_BARRIER, null, transaction));
+	}
+
+	/**
+	 * Queues the specified transition in the inbox, and schedules the
+	 * manager in the AC executor, if not scheduled already.
+	 * 
+	 * @param transition
+	 */
+	private void offer(Transition transition) {
+		final Transition previous = inboxTail.getAndSet(transition);
+		previous.next = transition;
+		if (scheduled.compareAndSet(false, true)) {
+			schedule();
+		}
+	}
+
+	private void schedule() {
+		executorHandoff.execute(localAC.getExecutorService(), this);
+	}
+
+	/**
+	 * Retrieves the next transition in the inbox, only invoked in the
+	 * executor.
+	 * 
+	 * @return null if there is no transition, or the next one is still being
+	 *         queued
+	 */
+	private Transition poll() {
+		Transition head = inboxHead;
+		Transition next = head.next;
+		if (head == inboxStub) {
+			if (next == null) {
+				return null;
 			}
-		};
-		localAC.getExecutorService().execute(r);
+			inboxHead = next;
+			head = next;
+			next = next.next;
+		}
+		if (next != null) {
+			inboxHead = next;
+			return head;
+		}
+		if (inboxTail.get() != head) {
+			// a producer is queueing a transition
+			return null;
+		}
+		// head is the last transition, put the stub after it
+		inboxStub.next = null;
+		final Transition previous = inboxTail.getAndSet(inboxStub);
+		previous.next = inboxStub;
+		next = head.next;
+		if (next != null) {
+			inboxHead = next;
+			return head;
+		}
+		return null;
+	}
+
+	private boolean hasTransitions() {
+		return inboxHead != inboxStub || inboxStub.next != null;
+	}
+
+	/**
+	 * Applies the transitions queued in the inbox, invoked in the AC
+	 * executor.
+	 */
+	public void run() {
+		Transition transition = null;
+		for (int i = 0; i < MAX_TRANSITIONS_PER_TURN; i++) {
+			transition = poll();
+			if (transition == null) {
+				break;
+			}
+			try {
+				apply(transition);
+			} catch (Throwable e) {
+				logger.error("Failure applying transition of type "
+						+ transition.type + " in AC with handle "
+						+ localAC.getActivityContextHandle(), e);
+			}
+		}
+		scheduled.set(false);
+		// transitions may have been queued after the last poll, but not
+		// scheduled
+		if (hasTransitions() && scheduled.compareAndSet(false, true)) {
+			schedule();
+		}
 	}
 
-	private void commit(EventContext event, boolean isPendingEvent) {
-		if (isPendingEvent) {
-			if (pendingEvents == null || !pendingEvents.remove(event)) {
+	private void apply(Transition transition) {
+		final EventContext event = transition.event;
+		switch (transition.type) {
+		case COMMIT:
+			if (removePendingEvent(event)) {
+				commitIfNotEnded(event, true);
+			} else {
 				// processing of the event failed
 				if (doTraceLogs) {
 					logger.trace("Unable to commit event of type "
@@ -170,9 +301,59 @@ public class ActivityEventQueueManagerImpl implements ActivityEventQueueManager
 							+ ", the event was not found in the pending events set.");
 				}
 				event.eventProcessingFailed(FailureReason.OTHER_REASON);
-				return;
+			}
+			break;
+		case FIRE_NOT_TRANSACTED:
+			commitIfNotEnded(event, false);
+			break;
+		case ROLLBACK:
+			if (doTraceLogs) {
+				logger.trace("Rolled back event of type "
+						+ event.getEventTypeId() + " in AC with handle "
+						+ event.getActivityContextHandle());
+			}
+			if (removePendingEvent(event)) {
+				// confirmed the event was pending
+				routeActivityEndEventIfNeeded();
+			}
+			break;
+		case CREATE_BARRIER:
+			// raise barrier
+			if (eventBarriers == null) {
+				eventBarriers = new HashSet<Transaction>(2);
+			}
+			eventBarriers.add(transition.transaction);
+			break;
+		case REMOVE_BARRIER:
+			removeBarrier0(transition.transaction);
+			break;
+		default:
+			throw new IllegalStateException("unknown transition type "
+					+ transition.type);
+		}
+	}
+
+	private void commitIfNotEnded(EventContext event, boolean isPendingEvent) {
+		if (activityEndEvent == null) {
+			commitOrFreeze(event);
+		} else {
+			// processing of the event failed
+			if (doTraceLogs) {
+				logger.trace("Unable to commit event of type "
+						+ event.getEventTypeId()
+						+ " in AC with handle "
+						+ event.getActivityContextHandle()
+						+ ", the activity end event is already committed");
+			}
+			event.eventProcessingFailed(FailureReason.OTHER_REASON);
+			if (isPendingEvent) {
+				// the activity end event may be waiting for this one
+				routeActivityEndEventIfNeeded();
 			}
 		}
+	}
+
+	private void commitOrFreeze(EventContext event) {
 		if (eventBarriers == null || eventBarriers.isEmpty()) {
 			// barriers are not set, proceed with commit of event
 			commitAndNotSuspended(event);
@@ -201,15 +382,15 @@ public class ActivityEventQueueManagerImpl implements ActivityEventQueueManager
 			// cancel any check for references possibly queued after commiting
 			// the event
 			localAC.setActivityReferencesCheck(null);
-			// route the event
-			localAC.getExecutorService().routeEvent(event);
+			// route the event, in this executor turn
+			localAC.getExecutorService().routeEventNow(event);
 			// perhaps we need to route a frozen activity end event too
 			routeActivityEndEventIfNeeded();
 		}
 	}
 
 	private void routeActivityEndEventIfNeeded() {
-		if (pendingEvents == null || pendingEvents.isEmpty()) {
+		if (!hasPendingEvents()) {
 			// no pending events
 			// now check if we have a frozen activity end event
 			if (activityEndEvent == null || activityEndEventRouted) {
@@ -217,75 +398,89 @@ public class ActivityEventQueueManagerImpl implements ActivityEventQueueManager
 			}
 			activityEndEventRouted = true;
 			// route the activity end event on hold
-			localAC.getExecutorService().routeEvent(activityEndEvent);			
+			localAC.getExecutorService().routeEventNow(activityEndEvent);			
 		}
 	}
 
-	@Override
-	public void rollback(final EventContext event) {
-		// let the event know it was canceled
-		event.canceled();
-		Runnable r = new Runnable() {
-			@Override
-			public void run() {
-				if (doTraceLogs) {
-					logger.trace("Rolled back event of type "
-							+ event.getEventTypeId() + " in AC with handle "
-							+ event.getActivityContextHandle());
-				}
-				if (pendingEvents != null && pendingEvents.remove(event)) {
-					// confirmed the event was pending
-					routeActivityEndEventIfNeeded();
-				}
-			}
-		};
-		localAC.getExecutorService().execute(r);
+	private synchronized void addPendingEvent(EventContext event) {
+		if (pendingEvents == null) {
+			pendingEvents = Collections
+					.newSetFromMap(new IdentityHashMap<EventContext, Boolean>(
+							4));
+		}
+		pendingEvents.add(event);
 	}
 
-	@Override
-	public void createBarrier(final Transaction transaction) {
-		Runnable r = new Runnable() {
-			@Override
-			public void run() {
-				// raise barrier
-				if (eventBarriers == null) {
-					eventBarriers = new HashSet<Transaction>(2);
-				}
-				eventBarriers.add(transaction);
-			}
-		};
-		localAC.getExecutorService().execute(r);
+	private synchronized boolean removePendingEvent(EventContext event) {
+		return pendingEvents != null && pendingEvents.remove(event);
 	}
 
-	@Override
-	public void removeBarrier(final Transaction transaction) {
-		Runnable r = new Runnable() {
-			@Override
-			public void run() {
-				if (eventBarriers != null && eventBarriers.remove(transaction)) {
-					if (eventBarriers.isEmpty()) {
-						// no barriers, proceed with commit of all events stored
-						if (eventsBarriered != null) {
-							EventContext e = null;
-							while (true) {
-								e = eventsBarriered.pollFirst();
-								if (e == null) {
-									break;
-								} else {
-									if (!e.isActivityEndEvent()) {
-										commitAndNotSuspended(e);
-									} else {
-										activityEndEvent = e;
-									}
-								}
+	private synchronized boolean hasPendingEvents() {
+		return pendingEvents != null && !pendingEvents.isEmpty();
+	}
+
+	private void removeBarrier0(Transaction transaction) {
+		if (eventBarriers != null && eventBarriers.remove(transaction)) {
+			if (eventBarriers.isEmpty()) {
+				// no barriers, proceed with commit of all events stored
+				if (eventsBarriered != null) {
+					EventContext e = null;
+					while (true) {
+						e = eventsBarriered.pollFirst();
+						if (e == null) {
+							break;
+						} else {
+							if (!e.isActivityEndEvent()) {
+								commitAndNotSuspended(e);
+							} else {
+								activityEndEvent = e;
 							}
 						}
-						routeActivityEndEventIfNeeded();
 					}
 				}
+				routeActivityEndEventIfNeeded();
 			}
-		};
-		localAC.getExecutorService().execute(r);
+		}
+	}
+
+	/**
+	 * A transition of the manager's state, queued in the inbox. Transitions of
+	 * pending events are also the tx actions which queue them, once the tx
+	 * ends.
+	 * 
+	 * @author martins
+	 * 
+	 */
+	private class Transition implements TransactionalAction {
+
+		private final int type;
+		private final EventContext event;
+		private final Transaction transaction;
+
+		/**
+		 * the next transition in the inbox
+		 */
+		private volatile Transition next;
+
+		Transition(int type, EventContext event, Transaction transaction) {
+			this.type = type;
+			this.event = event;
+			this.transaction = transaction;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see
+		 * org.mobicents.slee.container.transaction.TransactionalAction#execute()
+		 */
+		public void execute() {
+			if (type == ROLLBACK) {
+				// let the event know it was canceled
+				event.canceled();
+			}
+			offer(this);
+		}
 	}
 
 	@Override
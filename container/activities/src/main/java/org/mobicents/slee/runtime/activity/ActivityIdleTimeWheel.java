@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.activity;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+
+/**
+ * A wheel of activity context handles, bucketed by last access time, which
+ * allows the liveness scanner to retrieve the idle activity contexts, without
+ * going through all activity contexts.
+ * 
+ * A handle may be left behind in a bucket it no longer belongs, due to
+ * concurrent updates, such entries are discarded when the bucket is polled.
+ */
+public class ActivityIdleTimeWheel {
+
+	/**
+	 * the time period covered by each bucket, in ms
+	 */
+	public static final long BUCKET_DURATION = 1000;
+
+	/**
+	 * the current bucket of each handle
+	 */
+	private final ConcurrentHashMap<ActivityContextHandle, Long> handleBuckets = new ConcurrentHashMap<ActivityContextHandle, Long>();
+
+	/**
+	 * the buckets, sorted by time
+	 */
+	private final ConcurrentSkipListMap<Long, Set<ActivityContextHandle>> buckets = new ConcurrentSkipListMap<Long, Set<ActivityContextHandle>>();
+
+	private static Long getBucketKey(long time) {
+		return Long.valueOf(time / BUCKET_DURATION);
+	}
+
+	private void addToBucket(ActivityContextHandle ach, Long bucketKey) {
+		while (true) {
+			Set<ActivityContextHandle> bucket = buckets.get(bucketKey);
+			if (bucket == null) {
+				final Set<ActivityContextHandle> newBucket = Collections
+						.newSetFromMap(new ConcurrentHashMap<ActivityContextHandle, Boolean>());
+				bucket = buckets.putIfAbsent(bucketKey, newBucket);
+				if (bucket == null) {
+					bucket = newBucket;
+				}
+			}
+			bucket.add(ach);
+			if (buckets.get(bucketKey) == bucket) {
+				return;
+			}
+			// the bucket was concurrently emptied and removed, retry
+		}
+	}
+
+	private void removeFromBucket(ActivityContextHandle ach, Long bucketKey) {
+		final Set<ActivityContextHandle> bucket = buckets.get(bucketKey);
+		if (bucket != null) {
+			bucket.remove(ach);
+		}
+	}
+
+	/**
+	 * Updates the last access time of the specified handle, adding it to the
+	 * wheel if needed.
+	 * 
+	 * @param ach
+	 * @param time
+	 */
+	public void accessed(ActivityContextHandle ach, long time) {
+		final Long bucketKey = getBucketKey(time);
+		final Long previousBucketKey = handleBuckets.put(ach, bucketKey);
+		if (previousBucketKey != null) {
+			if (previousBucketKey.equals(bucketKey)) {
+				return;
+			}
+			removeFromBucket(ach, previousBucketKey);
+		}
+		addToBucket(ach, bucketKey);
+	}
+
+	/**
+	 * Removes the specified handle from the wheel.
+	 * 
+	 * @param ach
+	 */
+	public void remove(ActivityContextHandle ach) {
+		final Long bucketKey = handleBuckets.remove(ach);
+		if (bucketKey != null) {
+			removeFromBucket(ach, bucketKey);
+		}
+	}
+
+	/**
+	 * Retrieves handles which were last accessed before the specified time.
+	 * The handles are not removed from the wheel, the caller is expected to
+	 * either update their access time or remove them.
+	 * 
+	 * @param time
+	 * @param maxHandles
+	 *            the max number of handles to retrieve
+	 * @param result
+	 *            the collection where handles are added
+	 * @return the number of handles added to the result
+	 */
+	public int getIdleSince(long time, int maxHandles,
+			Collection<ActivityContextHandle> result) {
+		int added = 0;
+		// only buckets fully before the specified time
+		for (Map.Entry<Long, Set<ActivityContextHandle>> entry : buckets
+				.headMap(getBucketKey(time)).entrySet()) {
+			final Long bucketKey = entry.getKey();
+			final Set<ActivityContextHandle> bucket = entry.getValue();
+			for (Iterator<ActivityContextHandle> it = bucket.iterator(); it
+					.hasNext();) {
+				final ActivityContextHandle ach = it.next();
+				if (!bucketKey.equals(handleBuckets.get(ach))) {
+					// left behind by a concurrent update
+					it.remove();
+					continue;
+				}
+				result.add(ach);
+				if (++added == maxHandles) {
+					return added;
+				}
+			}
+			if (bucket.isEmpty()) {
+				buckets.remove(bucketKey, bucket);
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Retrieves the number of handles in the wheel.
+	 * 
+	 * @return
+	 */
+	public int size() {
+		return handleBuckets.size();
+	}
+
+	/**
+	 * Removes all handles from the wheel.
+	 */
+	public void clear() {
+		handleBuckets.clear();
+		buckets.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "ActivityIdleTimeWheel: handles = " + handleBuckets.size()
+				+ ", buckets = " + buckets.size();
+	}
+}
@@ -30,6 +30,14 @@ public class ActivityManagementConfiguration {
 	
 	private long minTimeBetweenUpdates;
 	
+	private boolean stringIDIndexEnabled = true;
+	
+	private int livenessQueriesBatchSize = 1000;
+	
+	private long livenessScanPeriod = 1000;
+	
+	private boolean inHeapStateStoreEnabled = false;
+	
 	public long getMaxTimeIdle() {
 		return maxTimeIdle/60000;
 	}
@@ -65,4 +73,78 @@ public class ActivityManagementConfiguration {
 			throw new IllegalArgumentException("time between liveness queries too low, must be at least 15 min, use 0 to turn off");
 		this.timeBetweenLivenessQueries = timeBetweenLivenessQueries;
 	}
+	
+	/**
+	 * Indicates if the mapping of activity context string ids to handles is
+	 * maintained, and used to lookup activity contexts by string id, instead
+	 * of going through all activity contexts.
+	 * 
+	 * @return
+	 */
+	public boolean isStringIDIndexEnabled() {
+		return stringIDIndexEnabled;
+	}
+	
+	/**
+	 * If called with server running a stop and start is need to apply
+	 * changes.
+	 * 
+	 * @param stringIDIndexEnabled
+	 */
+	public void setStringIDIndexEnabled(boolean stringIDIndexEnabled) {
+		this.stringIDIndexEnabled = stringIDIndexEnabled;
+	}
+	
+	/**
+	 * Retrieves the max number of idle activity contexts processed by the
+	 * liveness scanner, in each run.
+	 * 
+	 * @return
+	 */
+	public int getLivenessQueriesBatchSize() {
+		return livenessQueriesBatchSize;
+	}
+	
+	public void setLivenessQueriesBatchSize(int livenessQueriesBatchSize) {
+		if (livenessQueriesBatchSize < 1)
+			throw new IllegalArgumentException("liveness queries batch size must be at least 1");
+		this.livenessQueriesBatchSize = livenessQueriesBatchSize;
+	}
+	
+	/**
+	 * Retrieves the period between runs of the liveness scanner, in ms, when
+	 * idle activity contexts are retrieved incrementally. 
+	 * 
+	 * @return
+	 */
+	public long getLivenessScanPeriodInMs() {
+		return livenessScanPeriod;
+	}
+	
+	public void setLivenessScanPeriodInMs(long livenessScanPeriod) {
+		if (livenessScanPeriod < 10)
+			throw new IllegalArgumentException("liveness scan period too low, must be at least 10 ms");
+		this.livenessScanPeriod = livenessScanPeriod;
+	}
+	
+	/**
+	 * Indicates if activity context data is kept in an in heap state store,
+	 * instead of the cluster cache. Only suitable for non clustered
+	 * deployments.
+	 * 
+	 * @return
+	 */
+	public boolean isInHeapStateStoreEnabled() {
+		return inHeapStateStoreEnabled;
+	}
+	
+	/**
+	 * Only effective when the container is (re)initialized, changes with the
+	 * server running are only applied on next server boot.
+	 * 
+	 * @param inHeapStateStoreEnabled
+	 */
+	public void setInHeapStateStoreEnabled(boolean inHeapStateStoreEnabled) {
+		this.inHeapStateStoreEnabled = inHeapStateStoreEnabled;
+	}
 }
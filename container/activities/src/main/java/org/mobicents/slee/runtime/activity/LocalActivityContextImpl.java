@@ -25,7 +25,9 @@ package org.mobicents.slee.runtime.activity;
 import org.mobicents.slee.container.activity.ActivityContextHandle;
 import org.mobicents.slee.container.activity.LocalActivityContext;
 import org.mobicents.slee.container.eventrouter.EventRouterExecutor;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff;
 import org.mobicents.slee.container.eventrouter.EventRoutingTask;
+import org.mobicents.slee.container.sbbentity.SbbEntityFactory;
 
 public class LocalActivityContextImpl implements LocalActivityContext {
 	
@@ -64,11 +66,37 @@ public class LocalActivityContextImpl implements LocalActivityContext {
 	 */
 	private Runnable activityReferencesCheck;
 
+	/**
+	 * the priority ordered index of sbb entities attached
+	 */
+	private final SbbAttachmentIndex sbbAttachmentIndex;
+
 	public LocalActivityContextImpl(ActivityContextHandle ach, int activityFlags, ActivityContextFactoryImpl acFactory) {
+		this(ach, activityFlags, acFactory, acFactory.getSleeContainer()
+				.getEventRouter().getExecutorHandoff(), acFactory
+				.getSleeContainer().getSbbEntityFactory());
+	}
+
+	/**
+	 * Creates the local view with the specified container modules, instead
+	 * of retrieving these from the slee container.
+	 * 
+	 * @param ach
+	 * @param activityFlags
+	 * @param acFactory
+	 * @param executorHandoff
+	 * @param sbbEntityFactory
+	 */
+	LocalActivityContextImpl(ActivityContextHandle ach, int activityFlags,
+			ActivityContextFactoryImpl acFactory,
+			EventRouterExecutorHandoff executorHandoff,
+			SbbEntityFactory sbbEntityFactory) {
 		this.ach = ach;
-		this.eventQueueManager = new ActivityEventQueueManagerImpl(this);
+		this.eventQueueManager = new ActivityEventQueueManagerImpl(this,
+				executorHandoff);
 		this.activityFlags = activityFlags;
 		this.acFactory = acFactory;
+		this.sbbAttachmentIndex = new SbbAttachmentIndex(sbbEntityFactory);
 	}
 	
 	public ActivityEventQueueManagerImpl getEventQueueManager() {
@@ -121,6 +149,10 @@ public class LocalActivityContextImpl implements LocalActivityContext {
 		this.activityReferencesCheck = activityReferencesCheck;
 	}
 	
+	SbbAttachmentIndex getSbbAttachmentIndex() {
+		return sbbAttachmentIndex;
+	}
+	
 	@Override
 	public boolean equals(Object obj) {
 		if (obj != null && obj.getClass() == this.getClass()) {
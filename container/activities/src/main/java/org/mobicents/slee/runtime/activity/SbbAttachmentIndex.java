@@ -0,0 +1,271 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.activity;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.mobicents.slee.container.sbbentity.SbbEntityFactory;
+import org.mobicents.slee.container.sbbentity.SbbEntityID;
+import org.mobicents.slee.container.transaction.TransactionContext;
+import org.mobicents.slee.container.transaction.TransactionalAction;
+
+/**
+ * Index of the sbb entities attached to an activity context, ordered by
+ * priority. The ordered sbb entity ids are cached as an immutable array, so
+ * the event routing neither reads the attachment set nor sorts while it is
+ * valid, and the priority path of each sbb entity is kept, so a rebuild only
+ * computes the paths of sbb entities attached meanwhile.
+ * 
+ * The array is invalidated when an sbb entity is attached or detached, or when
+ * the priority of an attached sbb entity, or of one of its ancestors, is
+ * changed, and again when the tx which did the change ends. While such tx is
+ * running each tx sorts its own view of the attachment set, and nothing is
+ * cached. Attachments and priorities changed in other cluster nodes are not
+ * seen by the index, thus the cached state is only used in local mode.
+ */
+class SbbAttachmentIndex {
+
+	/**
+	 * An indexed sbb entity.
+	 */
+	private static class Entry implements Comparable<Entry> {
+
+		final SbbEntityID sbbEntityID;
+
+		/**
+		 * the priority path, null if the sbb entity did not exist when indexed
+		 */
+		final byte[] priorityPath;
+
+		final String sbbEntityIDString;
+
+		Entry(SbbEntityID sbbEntityID, byte[] priorityPath) {
+			this.sbbEntityID = sbbEntityID;
+			this.priorityPath = priorityPath;
+			this.sbbEntityIDString = sbbEntityID.toString();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		public int compareTo(Entry other) {
+			// entries without priority path go to the end
+			if (priorityPath == null) {
+				if (other.priorityPath != null) {
+					return 1;
+				}
+			} else {
+				if (other.priorityPath == null) {
+					return -1;
+				}
+				final int length = Math.min(priorityPath.length,
+						other.priorityPath.length);
+				for (int i = 0; i < length; i++) {
+					if (priorityPath[i] != other.priorityPath[i]) {
+						// higher priority first
+						return priorityPath[i] > other.priorityPath[i] ? -1 : 1;
+					}
+				}
+				if (priorityPath.length != other.priorityPath.length) {
+					// ancestors first
+					return priorityPath.length < other.priorityPath.length ? -1
+							: 1;
+				}
+			}
+			// same priority path, compare ids as string
+			return sbbEntityIDString.compareTo(other.sbbEntityIDString);
+		}
+	}
+
+	/**
+	 * the sorted sbb entity ids, null if not valid
+	 */
+	private volatile SbbEntityID[] sbbEntityIDs;
+
+	/**
+	 * the entries of sbb entities attached, by sbb entity id, only updated
+	 * when holding this object lock
+	 */
+	private final ConcurrentHashMap<SbbEntityID, Entry> entries = new ConcurrentHashMap<SbbEntityID, Entry>();
+
+	/**
+	 * incremented on each change, guarded by this object lock
+	 */
+	private int version;
+
+	/**
+	 * the number of changes done by txs which did not end yet, guarded by this
+	 * object lock
+	 */
+	private int pendingChanges;
+
+	private final SbbEntityFactory sbbEntityFactory;
+
+	/**
+	 * 
+	 * @param sbbEntityFactory
+	 */
+	SbbAttachmentIndex(SbbEntityFactory sbbEntityFactory) {
+		this.sbbEntityFactory = sbbEntityFactory;
+	}
+
+	/**
+	 * Retrieves the cached sorted sbb entity ids.
+	 * 
+	 * @return null if not valid, and {@link #sort(Set, int)} must be used
+	 */
+	SbbEntityID[] getSortedSbbEntityIDs() {
+		return sbbEntityIDs;
+	}
+
+	/**
+	 * Indicates the attachment set, or the priority of an attached sbb entity,
+	 * was changed in the specified tx context.
+	 * 
+	 * @param txContext
+	 * @param priorities
+	 *            if true the priority paths kept are no longer valid
+	 */
+	void changed(TransactionContext txContext, final boolean priorities) {
+		synchronized (this) {
+			invalidate(priorities);
+			if (txContext == null) {
+				return;
+			}
+			pendingChanges++;
+		}
+		final TransactionalAction action = new TransactionalAction() {
+			public void execute() {
+				synchronized (SbbAttachmentIndex.this) {
+					pendingChanges--;
+					invalidate(priorities);
+				}
+			}
+		};
+		txContext.getAfterCommitActions().add(action);
+		txContext.getAfterRollbackActions().add(action);
+	}
+
+	private void invalidate(boolean priorities) {
+		version++;
+		sbbEntityIDs = null;
+		if (priorities) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Indicates the specified tx is about to read the attachment set. The
+	 * version of the index is kept in the tx data, since the tx may keep
+	 * seeing the attachment set it reads first after further changes.
+	 * 
+	 * @param txContext
+	 * @return the version of the index when the tx first read the attachment
+	 *         set, to provide to {@link #sort(Set, int)}
+	 */
+	int attachmentSetRead(TransactionContext txContext) {
+		final Integer firstVersion = txContext != null ? (Integer) txContext
+				.getData().get(this) : null;
+		if (firstVersion != null) {
+			return firstVersion.intValue();
+		}
+		final int currentVersion;
+		synchronized (this) {
+			currentVersion = version;
+		}
+		if (txContext != null) {
+			txContext.getData().put(this, Integer.valueOf(currentVersion));
+		}
+		return currentVersion;
+	}
+
+	/**
+	 * Sorts the ids of the specified sbb entities attached, by priority. The
+	 * result is cached if there are no changes pending, and there were no
+	 * changes since the attachment set was read.
+	 * 
+	 * @param sbbEntitiesAttached
+	 * @param readVersion
+	 *            the version returned by
+	 *            {@link #attachmentSetRead(TransactionContext)}, before
+	 *            reading the attachment set
+	 * @return
+	 */
+	SbbEntityID[] sort(Set<SbbEntityID> sbbEntitiesAttached, int readVersion) {
+		final Entry[] sorted = sort(sbbEntitiesAttached, true);
+		final SbbEntityID[] result = toSbbEntityIDs(sorted);
+		synchronized (this) {
+			if (pendingChanges == 0 && version == readVersion) {
+				entries.keySet().retainAll(sbbEntitiesAttached);
+				for (Entry entry : sorted) {
+					if (entry.priorityPath != null) {
+						entries.putIfAbsent(entry.sbbEntityID, entry);
+					}
+				}
+				sbbEntityIDs = result;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sorts the ids of the specified sbb entities attached, by priority,
+	 * without using or updating the cached state, e.g. when the attachment
+	 * set, or the priorities, may be changed in other cluster nodes.
+	 * 
+	 * @param sbbEntitiesAttached
+	 * @return
+	 */
+	SbbEntityID[] sort(Set<SbbEntityID> sbbEntitiesAttached) {
+		return toSbbEntityIDs(sort(sbbEntitiesAttached, false));
+	}
+
+	private Entry[] sort(Set<SbbEntityID> sbbEntitiesAttached,
+			boolean useEntries) {
+		final Entry[] sorted = new Entry[sbbEntitiesAttached.size()];
+		int i = 0;
+		for (SbbEntityID sbbEntityID : sbbEntitiesAttached) {
+			Entry entry = useEntries ? entries.get(sbbEntityID) : null;
+			if (entry == null) {
+				entry = new Entry(sbbEntityID, sbbEntityFactory
+						.getPriorityPath(sbbEntityID));
+			}
+			sorted[i++] = entry;
+		}
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	private static SbbEntityID[] toSbbEntityIDs(Entry[] sorted) {
+		final SbbEntityID[] sbbEntityIDs = new SbbEntityID[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			sbbEntityIDs[i] = sorted[i].sbbEntityID;
+		}
+		return sbbEntityIDs;
+	}
+
+}
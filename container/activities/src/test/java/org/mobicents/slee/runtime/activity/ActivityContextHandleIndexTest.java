@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.activity;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.activity.ActivityType;
+import org.mobicents.slee.container.resource.ResourceAdaptorActivityContextHandle;
+import org.mobicents.slee.container.resource.ResourceAdaptorEntity;
+import org.mobicents.slee.runtime.facilities.nullactivity.NullActivityContextHandle;
+import org.mobicents.slee.runtime.facilities.nullactivity.NullActivityHandleImpl;
+
+public class ActivityContextHandleIndexTest extends TestCase {
+
+	private ActivityContextHandleIndex index;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		index = new ActivityContextHandleIndex();
+	}
+
+	public void testIndexesPerActivityTypeAndRAEntity() {
+		final ActivityContextHandle nullAch = new NullActivityContextHandle(
+				new NullActivityHandleImpl("null1"));
+		final ActivityContextHandle ach1 = newRAActivityContextHandle("ra1");
+		final ActivityContextHandle ach2 = newRAActivityContextHandle("ra1");
+		final ActivityContextHandle ach3 = newRAActivityContextHandle("ra2");
+		index.add(nullAch);
+		index.add(ach1);
+		index.add(ach2);
+		index.add(ach3);
+		assertEquals(1, index.getActivityContextHandles(ActivityType.NULL)
+				.size());
+		assertTrue(index.getActivityContextHandles(ActivityType.NULL)
+				.contains(nullAch));
+		assertEquals(3, index.getActivityContextHandles(ActivityType.RA)
+				.size());
+		assertTrue(index.getActivityContextHandles(ActivityType.SERVICE)
+				.isEmpty());
+		final Set<ActivityContextHandle> ra1 = index
+				.getResourceAdaptorEntityActivityContextHandles("ra1");
+		assertEquals(2, ra1.size());
+		assertTrue(ra1.contains(ach1));
+		assertTrue(ra1.contains(ach2));
+		assertEquals(1, index.getResourceAdaptorEntityActivityContextHandles(
+				"ra2").size());
+		assertTrue(index.getResourceAdaptorEntityActivityContextHandles("ra3")
+				.isEmpty());
+	}
+
+	public void testRemove() {
+		final ActivityContextHandle nullAch = new NullActivityContextHandle(
+				new NullActivityHandleImpl("null1"));
+		final ActivityContextHandle ach = newRAActivityContextHandle("ra1");
+		index.add(nullAch);
+		index.add(ach);
+		index.remove(nullAch);
+		index.remove(ach);
+		assertTrue(index.getActivityContextHandles(ActivityType.NULL)
+				.isEmpty());
+		assertTrue(index.getActivityContextHandles(ActivityType.RA).isEmpty());
+		assertTrue(index.getResourceAdaptorEntityActivityContextHandles("ra1")
+				.isEmpty());
+		// removing a handle not indexed is a noop
+		index.remove(newRAActivityContextHandle("ra2"));
+	}
+
+	public void testViewsReflectChangesAndAreReadOnly() {
+		final Set<ActivityContextHandle> nullHandles = index
+				.getActivityContextHandles(ActivityType.NULL);
+		final ActivityContextHandle nullAch = new NullActivityContextHandle(
+				new NullActivityHandleImpl("null1"));
+		index.add(nullAch);
+		assertTrue(nullHandles.contains(nullAch));
+		final ActivityContextHandle ach = newRAActivityContextHandle("ra1");
+		index.add(ach);
+		final Set<ActivityContextHandle> ra1 = index
+				.getResourceAdaptorEntityActivityContextHandles("ra1");
+		index.remove(ach);
+		assertTrue(ra1.isEmpty());
+		try {
+			nullHandles.remove(nullAch);
+			fail("view of the index is not read only");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	public void testClear() {
+		index.add(new NullActivityContextHandle(new NullActivityHandleImpl(
+				"null1")));
+		index.add(newRAActivityContextHandle("ra1"));
+		index.clear();
+		for (ActivityType activityType : ActivityType.values()) {
+			assertTrue(index.getActivityContextHandles(activityType).isEmpty());
+		}
+		assertTrue(index.getResourceAdaptorEntityActivityContextHandles("ra1")
+				.isEmpty());
+	}
+
+	// --- helpers
+
+	private static ActivityContextHandle newRAActivityContextHandle(
+			String raEntityName) {
+		final ResourceAdaptorEntity raEntity = (ResourceAdaptorEntity) newProxy(
+				ResourceAdaptorEntity.class, "getName", raEntityName);
+		return (ActivityContextHandle) newProxy(
+				ResourceAdaptorActivityContextHandle.class,
+				"getResourceAdaptorEntity", raEntity);
+	}
+
+	/**
+	 * Creates a proxy with identity equality, which returns the specified
+	 * value for the specified method, and RA as activity type.
+	 */
+	private static Object newProxy(Class<?> type, final String methodName,
+			final Object value) {
+		return Proxy.newProxyInstance(
+				ActivityContextHandleIndexTest.class.getClassLoader(),
+				new Class[] { type }, new InvocationHandler() {
+					public Object invoke(Object proxy, Method method,
+							Object[] args) throws Throwable {
+						final String name = method.getName();
+						if (name.equals(methodName)) {
+							return value;
+						}
+						if (name.equals("getActivityType")) {
+							return ActivityType.RA;
+						}
+						if (name.equals("equals")) {
+							return proxy == args[0];
+						}
+						if (name.equals("hashCode")) {
+							return System.identityHashCode(proxy);
+						}
+						if (name.equals("toString")) {
+							return "proxy" + System.identityHashCode(proxy);
+						}
+						throw new UnsupportedOperationException(name);
+					}
+				});
+	}
+
+}
@@ -0,0 +1,419 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.activity;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.slee.resource.FailureReason;
+import javax.transaction.Transaction;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.event.EventContext;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutor;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff;
+import org.mobicents.slee.container.sbbentity.SbbEntityFactory;
+import org.mobicents.slee.container.transaction.TransactionContext;
+import org.mobicents.slee.container.transaction.TransactionalAction;
+import org.mobicents.slee.runtime.facilities.nullactivity.NullActivityContextHandle;
+import org.mobicents.slee.runtime.facilities.nullactivity.NullActivityHandleImpl;
+
+public class ActivityEventQueueManagerImplTest extends TestCase {
+
+	/**
+	 * the tasks handed off to the executor, run by the test thread
+	 */
+	private final LinkedList<Runnable> tasks = new LinkedList<Runnable>();
+
+	/**
+	 * the events routed by the manager, in the executor
+	 */
+	private final List<EventContext> routed = Collections
+			.synchronizedList(new ArrayList<EventContext>());
+
+	/**
+	 * where the executor hands off tasks, the test thread by default
+	 */
+	private ExecutorService executorService;
+
+	private ActivityEventQueueManagerImpl aeqm;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		final EventRouterExecutor executor = (EventRouterExecutor) newProxy(
+				EventRouterExecutor.class, new InvocationHandler() {
+					public Object invoke(Object proxy, Method method,
+							Object[] args) throws Throwable {
+						if (method.getName().equals("execute")) {
+							if (executorService != null) {
+								executorService.execute((Runnable) args[0]);
+							} else {
+								tasks.add((Runnable) args[0]);
+							}
+							return null;
+						}
+						if (method.getName().equals("routeEventNow")) {
+							routed.add((EventContext) args[0]);
+							return null;
+						}
+						throw new UnsupportedOperationException(method
+								.getName());
+					}
+				});
+		final EventRouterExecutorHandoff executorHandoff = new EventRouterExecutorHandoff() {
+			public boolean openBatch() {
+				return false;
+			}
+
+			public void closeBatch() {
+			}
+
+			public void execute(EventRouterExecutor executor, Runnable task) {
+				executor.execute(task);
+			}
+		};
+		final SbbEntityFactory sbbEntityFactory = (SbbEntityFactory) newProxy(
+				SbbEntityFactory.class, new InvocationHandler() {
+					public Object invoke(Object proxy, Method method,
+							Object[] args) throws Throwable {
+						throw new UnsupportedOperationException(method
+								.getName());
+					}
+				});
+		final LocalActivityContextImpl localAC = new LocalActivityContextImpl(
+				new NullActivityContextHandle(new NullActivityHandleImpl("1")),
+				0, null, executorHandoff, sbbEntityFactory);
+		localAC.setExecutorService(executor);
+		aeqm = localAC.getEventQueueManager();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (executorService != null) {
+			executorService.shutdownNow();
+		}
+		super.tearDown();
+	}
+
+	public void testNotTransactedEventsAreRoutedInOrder() {
+		final TestEvent e1 = new TestEvent(false);
+		final TestEvent e2 = new TestEvent(false);
+		final TestEvent e3 = new TestEvent(false);
+		aeqm.fireNotTransacted(e1.context);
+		aeqm.fireNotTransacted(e2.context);
+		aeqm.fireNotTransacted(e3.context);
+		// a single handoff for all events
+		assertEquals(1, tasks.size());
+		runTasks();
+		assertRouted(e1, e2, e3);
+		assertTrue(e1.fired && e2.fired && e3.fired);
+	}
+
+	public void testTurnIsLimited() {
+		final List<TestEvent> events = new ArrayList<TestEvent>();
+		for (int i = 0; i < 40; i++) {
+			final TestEvent event = new TestEvent(false);
+			events.add(event);
+			aeqm.fireNotTransacted(event.context);
+		}
+		assertEquals(1, tasks.size());
+		tasks.removeFirst().run();
+		// other activities get a turn before the remaining events
+		assertEquals(32, routed.size());
+		assertEquals(1, tasks.size());
+		runTasks();
+		assertRouted(events.toArray(new TestEvent[events.size()]));
+	}
+
+	public void testPendingEventIsRoutedOnCommit() {
+		final TestTransactionContext txContext = new TestTransactionContext();
+		final TestEvent event = new TestEvent(false);
+		aeqm.pending(event.context, txContext.context);
+		assertTrue(event.fired);
+		// nothing handed off until the tx ends
+		assertTrue(tasks.isEmpty());
+		txContext.commit();
+		assertEquals(1, tasks.size());
+		runTasks();
+		assertRouted(event);
+		assertNull(event.failureReason);
+	}
+
+	public void testRolledBackEventIsNotRouted() {
+		final TestTransactionContext txContext = new TestTransactionContext();
+		final TestEvent event = new TestEvent(false);
+		aeqm.pending(event.context, txContext.context);
+		txContext.rollback();
+		assertTrue(event.canceled);
+		runTasks();
+		assertRouted();
+	}
+
+	public void testActivityEndEventWaitsForPendingEvents() {
+		final TestTransactionContext txContext1 = new TestTransactionContext();
+		final TestTransactionContext txContext2 = new TestTransactionContext();
+		final TestEvent event1 = new TestEvent(false);
+		final TestEvent event2 = new TestEvent(false);
+		final TestEvent endEvent = new TestEvent(true);
+		aeqm.pending(event1.context, txContext1.context);
+		aeqm.pending(event2.context, txContext2.context);
+		aeqm.fireNotTransacted(endEvent.context);
+		runTasks();
+		assertRouted();
+		txContext1.commit();
+		runTasks();
+		// the event was committed after the activity end one
+		assertEquals(FailureReason.OTHER_REASON, event1.failureReason);
+		assertRouted();
+		txContext2.rollback();
+		runTasks();
+		assertRouted(endEvent);
+	}
+
+	public void testEventAfterActivityEndEventFails() {
+		final TestEvent endEvent = new TestEvent(true);
+		final TestEvent event = new TestEvent(false);
+		aeqm.fireNotTransacted(endEvent.context);
+		aeqm.fireNotTransacted(event.context);
+		runTasks();
+		assertRouted(endEvent);
+		assertEquals(FailureReason.OTHER_REASON, event.failureReason);
+	}
+
+	public void testCommitOfEventNotPendingFails() {
+		final TestEvent event = new TestEvent(false);
+		aeqm.commit(event.context);
+		runTasks();
+		assertRouted();
+		assertEquals(FailureReason.OTHER_REASON, event.failureReason);
+	}
+
+	public void testBarrierHoldsEvents() {
+		final Transaction tx1 = (Transaction) newProxy(Transaction.class, null);
+		final Transaction tx2 = (Transaction) newProxy(Transaction.class, null);
+		final TestEvent event1 = new TestEvent(false);
+		final TestEvent event2 = new TestEvent(false);
+		aeqm.createBarrier(tx1);
+		aeqm.createBarrier(tx2);
+		aeqm.fireNotTransacted(event1.context);
+		aeqm.fireNotTransacted(event2.context);
+		runTasks();
+		assertRouted();
+		aeqm.removeBarrier(tx1);
+		runTasks();
+		assertRouted();
+		aeqm.removeBarrier(tx2);
+		runTasks();
+		assertRouted(event1, event2);
+	}
+
+	public void testConcurrentProducers() throws Exception {
+		executorService = Executors.newSingleThreadExecutor();
+		final int producers = 4;
+		final int events = 2000;
+		final List<List<TestEvent>> fired = new ArrayList<List<TestEvent>>();
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < producers; i++) {
+			final List<TestEvent> list = new ArrayList<TestEvent>();
+			for (int j = 0; j < events; j++) {
+				list.add(new TestEvent(false));
+			}
+			fired.add(list);
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (TestEvent event : list) {
+						aeqm.fireNotTransacted(event.context);
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		// wait for the executor to apply all transitions
+		final long timeout = System.currentTimeMillis() + 10000;
+		while (routed.size() < producers * events
+				&& System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertEquals(producers * events, routed.size());
+		// the events of each producer are routed in the order fired
+		for (List<TestEvent> list : fired) {
+			int last = -1;
+			for (TestEvent event : list) {
+				final int index = indexOf(event);
+				assertTrue(index > last);
+				last = index;
+			}
+		}
+	}
+
+	// --- helpers
+
+	private void runTasks() {
+		while (!tasks.isEmpty()) {
+			tasks.removeFirst().run();
+		}
+	}
+
+	private void assertRouted(TestEvent... events) {
+		assertEquals(events.length, routed.size());
+		for (int i = 0; i < events.length; i++) {
+			assertSame(events[i].context, routed.get(i));
+		}
+	}
+
+	private int indexOf(TestEvent event) {
+		for (int i = 0; i < routed.size(); i++) {
+			if (routed.get(i) == event.context) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static Object newProxy(Class<?> type, InvocationHandler handler) {
+		return Proxy.newProxyInstance(
+				ActivityEventQueueManagerImplTest.class.getClassLoader(),
+				new Class[] { type }, handler != null ? handler
+						: new IdentityInvocationHandler());
+	}
+
+	private static class IdentityInvocationHandler implements
+			InvocationHandler {
+
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			if (method.getName().equals("equals")) {
+				return proxy == args[0];
+			}
+			if (method.getName().equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+			throw new UnsupportedOperationException(method.getName());
+		}
+	}
+
+	/**
+	 * An event context which records the callbacks of the manager.
+	 */
+	private static class TestEvent extends IdentityInvocationHandler {
+
+		final EventContext context = (EventContext) newProxy(
+				EventContext.class, this);
+
+		final boolean activityEndEvent;
+
+		volatile boolean fired;
+
+		volatile boolean canceled;
+
+		volatile FailureReason failureReason;
+
+		TestEvent(boolean activityEndEvent) {
+			this.activityEndEvent = activityEndEvent;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			final String name = method.getName();
+			if (name.equals("isActivityEndEvent")) {
+				return activityEndEvent;
+			}
+			if (name.equals("fired")) {
+				fired = true;
+				return null;
+			}
+			if (name.equals("canceled")) {
+				canceled = true;
+				return null;
+			}
+			if (name.equals("eventProcessingFailed")) {
+				failureReason = (FailureReason) args[0];
+				return null;
+			}
+			return super.invoke(proxy, method, args);
+		}
+	}
+
+	/**
+	 * A tx context which only holds the actions added by the manager.
+	 */
+	private static class TestTransactionContext extends
+			IdentityInvocationHandler {
+
+		final List<TransactionalAction> afterCommitPriorityActions = new ArrayList<TransactionalAction>();
+
+		final List<TransactionalAction> afterRollbackActions = new ArrayList<TransactionalAction>();
+
+		final TransactionContext context = (TransactionContext) newProxy(
+				TransactionContext.class, this);
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			if (method.getName().equals("getAfterCommitPriorityActions")) {
+				return afterCommitPriorityActions;
+			}
+			if (method.getName().equals("getAfterRollbackActions")) {
+				return afterRollbackActions;
+			}
+			return super.invoke(proxy, method, args);
+		}
+
+		void commit() {
+			for (TransactionalAction action : afterCommitPriorityActions) {
+				action.execute();
+			}
+		}
+
+		void rollback() {
+			for (TransactionalAction action : afterRollbackActions) {
+				action.execute();
+			}
+		}
+	}
+
+}
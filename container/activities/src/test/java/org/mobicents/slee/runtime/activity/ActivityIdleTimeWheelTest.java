@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.activity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.runtime.facilities.nullactivity.NullActivityContextHandle;
+import org.mobicents.slee.runtime.facilities.nullactivity.NullActivityHandleImpl;
+
+public class ActivityIdleTimeWheelTest extends TestCase {
+
+	private static final long BUCKET = ActivityIdleTimeWheel.BUCKET_DURATION;
+
+	/**
+	 * the start of a bucket
+	 */
+	private static final long TIME = 1000 * BUCKET;
+
+	private ActivityIdleTimeWheel wheel;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		wheel = new ActivityIdleTimeWheel();
+	}
+
+	public void testOnlyFullBucketsBeforeTimeAreIdle() {
+		final ActivityContextHandle ach = newActivityContextHandle("1");
+		wheel.accessed(ach, TIME);
+		assertEquals(1, wheel.size());
+		assertEquals(0, getIdleSince(TIME + BUCKET - 1).size());
+		final List<ActivityContextHandle> idle = getIdleSince(TIME + BUCKET);
+		assertEquals(1, idle.size());
+		assertEquals(ach, idle.get(0));
+		// the handle is not removed
+		assertEquals(1, wheel.size());
+		assertEquals(1, getIdleSince(TIME + BUCKET).size());
+	}
+
+	public void testAccessMovesHandle() {
+		final ActivityContextHandle ach = newActivityContextHandle("1");
+		wheel.accessed(ach, TIME);
+		wheel.accessed(ach, TIME + BUCKET);
+		assertEquals(1, wheel.size());
+		assertEquals(0, getIdleSince(TIME + BUCKET).size());
+		assertEquals(1, getIdleSince(TIME + 2 * BUCKET).size());
+		// an access within the same bucket changes nothing
+		wheel.accessed(ach, TIME + BUCKET + 1);
+		assertEquals(1, getIdleSince(TIME + 2 * BUCKET).size());
+	}
+
+	public void testRemove() {
+		final ActivityContextHandle ach = newActivityContextHandle("1");
+		wheel.accessed(ach, TIME);
+		wheel.remove(ach);
+		assertEquals(0, wheel.size());
+		assertEquals(0, getIdleSince(TIME + BUCKET).size());
+		// removing a handle not in the wheel is a noop
+		wheel.remove(ach);
+	}
+
+	public void testMaxHandlesAndOrder() {
+		for (int i = 0; i < 10; i++) {
+			wheel.accessed(newActivityContextHandle(Integer.toString(i)), TIME
+					+ i * BUCKET);
+		}
+		final List<ActivityContextHandle> result = new ArrayList<ActivityContextHandle>();
+		assertEquals(3, wheel.getIdleSince(TIME + 10 * BUCKET, 3, result));
+		// the oldest first
+		for (int i = 0; i < 3; i++) {
+			assertEquals(newActivityContextHandle(Integer.toString(i)), result
+					.get(i));
+		}
+		assertEquals(10, getIdleSince(TIME + 10 * BUCKET).size());
+	}
+
+	public void testClear() {
+		wheel.accessed(newActivityContextHandle("1"), TIME);
+		wheel.accessed(newActivityContextHandle("2"), TIME + BUCKET);
+		wheel.clear();
+		assertEquals(0, wheel.size());
+		assertEquals(0, getIdleSince(TIME + 2 * BUCKET).size());
+	}
+
+	// --- helpers
+
+	private List<ActivityContextHandle> getIdleSince(long time) {
+		final List<ActivityContextHandle> result = new ArrayList<ActivityContextHandle>();
+		wheel.getIdleSince(time, Integer.MAX_VALUE, result);
+		return result;
+	}
+
+	private static ActivityContextHandle newActivityContextHandle(String id) {
+		return new NullActivityContextHandle(new NullActivityHandleImpl(id));
+	}
+
+}
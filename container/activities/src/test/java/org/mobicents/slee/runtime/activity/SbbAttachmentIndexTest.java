@@ -0,0 +1,269 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.activity;
+
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.slee.ServiceID;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.sbbentity.SbbEntityFactory;
+import org.mobicents.slee.container.sbbentity.SbbEntityID;
+import org.mobicents.slee.container.transaction.TransactionContext;
+import org.mobicents.slee.container.transaction.TransactionalAction;
+
+public class SbbAttachmentIndexTest extends TestCase {
+
+	private final Map<SbbEntityID, byte[]> priorityPaths = new HashMap<SbbEntityID, byte[]>();
+
+	private int priorityPathsComputed;
+
+	private SbbAttachmentIndex index;
+
+	private final SbbEntityID a = new TestSbbEntityID("a");
+
+	private final SbbEntityID b = new TestSbbEntityID("b");
+
+	private final SbbEntityID c = new TestSbbEntityID("c");
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		priorityPaths.put(a, new byte[] { 1 });
+		priorityPaths.put(b, new byte[] { 5 });
+		priorityPaths.put(c, new byte[] { 3 });
+		index = new SbbAttachmentIndex((SbbEntityFactory) Proxy
+				.newProxyInstance(getClass().getClassLoader(),
+						new Class[] { SbbEntityFactory.class },
+						new InvocationHandler() {
+							public Object invoke(Object proxy, Method method,
+									Object[] args) throws Throwable {
+								if (method.getName().equals("getPriorityPath")) {
+									priorityPathsComputed++;
+									return priorityPaths.get(args[0]);
+								}
+								throw new UnsupportedOperationException(method
+										.getName());
+							}
+						}));
+	}
+
+	public void testSortedByPriorityAndCached() {
+		assertNull(index.getSortedSbbEntityIDs());
+		final SbbEntityID[] sorted = sort(null, a, b);
+		assertOrder(sorted, b, a);
+		assertSame(sorted, index.getSortedSbbEntityIDs());
+	}
+
+	public void testNotCachedUntilChangeTxEnds() {
+		sort(null, a, b);
+		final TestTransactionContext tx = new TestTransactionContext();
+		index.changed(tx.context, false);
+		assertNull(index.getSortedSbbEntityIDs());
+		// the tx sees its own change, but it is not cached
+		assertOrder(sort(tx.context, a, b, c), b, c, a);
+		assertNull(index.getSortedSbbEntityIDs());
+		tx.commit();
+		assertNull(index.getSortedSbbEntityIDs());
+		assertOrder(sort(new TestTransactionContext().context, a, b, c), b,
+				c, a);
+		assertNotNull(index.getSortedSbbEntityIDs());
+	}
+
+	public void testRollbackInvalidates() {
+		sort(null, a, b);
+		final TestTransactionContext tx = new TestTransactionContext();
+		index.changed(tx.context, false);
+		sort(tx.context, a, b, c);
+		tx.rollback();
+		assertNull(index.getSortedSbbEntityIDs());
+		assertOrder(sort(null, a, b), b, a);
+		assertNotNull(index.getSortedSbbEntityIDs());
+	}
+
+	public void testNotCachedIfReadBeforeChange() {
+		final TestTransactionContext reader = new TestTransactionContext();
+		final int readVersion = index.attachmentSetRead(reader.context);
+		final TestTransactionContext writer = new TestTransactionContext();
+		index.changed(writer.context, false);
+		writer.commit();
+		// the reader keeps its first view of the attachment set
+		index.sort(set(a), index.attachmentSetRead(reader.context));
+		assertEquals(readVersion, index.attachmentSetRead(reader.context));
+		assertNull(index.getSortedSbbEntityIDs());
+	}
+
+	public void testPriorityPathsKeptUntilPriorityChange() {
+		sort(null, a, b);
+		assertEquals(2, priorityPathsComputed);
+		TestTransactionContext tx = new TestTransactionContext();
+		index.changed(tx.context, false);
+		tx.commit();
+		sort(null, a, b, c);
+		assertEquals(3, priorityPathsComputed);
+		priorityPaths.put(a, new byte[] { 9 });
+		tx = new TestTransactionContext();
+		index.changed(tx.context, true);
+		tx.commit();
+		assertOrder(sort(null, a, b, c), a, b, c);
+		assertEquals(6, priorityPathsComputed);
+	}
+
+	public void testUncachedSort() {
+		assertOrder(index.sort(set(a, b, c)), b, c, a);
+		assertNull(index.getSortedSbbEntityIDs());
+		assertOrder(index.sort(set(a, b, c)), b, c, a);
+		assertEquals(6, priorityPathsComputed);
+	}
+
+	// --- helpers
+
+	private SbbEntityID[] sort(TransactionContext txContext,
+			SbbEntityID... sbbEntityIDs) {
+		final int readVersion = index.attachmentSetRead(txContext);
+		return index.sort(set(sbbEntityIDs), readVersion);
+	}
+
+	private static Set<SbbEntityID> set(SbbEntityID... sbbEntityIDs) {
+		final Set<SbbEntityID> set = new HashSet<SbbEntityID>();
+		for (SbbEntityID sbbEntityID : sbbEntityIDs) {
+			set.add(sbbEntityID);
+		}
+		return set;
+	}
+
+	private static void assertOrder(SbbEntityID[] sorted,
+			SbbEntityID... expected) {
+		assertEquals(expected.length, sorted.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertSame(expected[i], sorted[i]);
+		}
+	}
+
+	/**
+	 * A root sbb entity id which only has a name.
+	 */
+	private static class TestSbbEntityID implements SbbEntityID {
+
+		private final String name;
+
+		TestSbbEntityID(String name) {
+			this.name = name;
+		}
+
+		public SbbEntityID getParentSBBEntityID() {
+			return null;
+		}
+
+		public String getParentChildRelation() {
+			return null;
+		}
+
+		public ServiceID getServiceID() {
+			return null;
+		}
+
+		public String getServiceConvergenceName() {
+			return null;
+		}
+
+		public boolean isRootSbbEntity() {
+			return true;
+		}
+
+		public SbbEntityID getRootSBBEntityID() {
+			return this;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void writeExternal(ObjectOutput out) {
+			throw new UnsupportedOperationException();
+		}
+
+		public void readExternal(ObjectInput in) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	/**
+	 * A tx context which only holds the actions and data.
+	 */
+	private static class TestTransactionContext implements InvocationHandler {
+
+		final List<TransactionalAction> afterCommitActions = new ArrayList<TransactionalAction>();
+
+		final List<TransactionalAction> afterRollbackActions = new ArrayList<TransactionalAction>();
+
+		final Map<Object, Object> data = new HashMap<Object, Object>();
+
+		final TransactionContext context = (TransactionContext) Proxy
+				.newProxyInstance(getClass().getClassLoader(),
+						new Class[] { TransactionContext.class }, this);
+
+		public Object invoke(Object proxy, Method method, Object[] args)
+				throws Throwable {
+			if (method.getName().equals("getAfterCommitActions")) {
+				return afterCommitActions;
+			}
+			if (method.getName().equals("getAfterRollbackActions")) {
+				return afterRollbackActions;
+			}
+			if (method.getName().equals("getData")) {
+				return data;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		}
+
+		void commit() {
+			for (TransactionalAction action : afterCommitActions) {
+				action.execute();
+			}
+		}
+
+		void rollback() {
+			for (TransactionalAction action : afterRollbackActions) {
+				action.execute();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mobicents.slee.container.activity.ActivityContext;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the retrieval of an activity context by its string id, as done
+ * when resolving an activity context interface from its string id, for an
+ * increasing number of activity contexts. With the string id index enabled
+ * the lookup cost should not depend on the number of activity contexts, while
+ * without it each lookup goes through all activity contexts.
+ * 
+ * Run with: java -jar target/benchmarks.jar ActivityContextStringIDLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public class ActivityContextStringIDLookupBenchmark {
+
+	@Param( { "100", "1000", "10000" })
+	private int activities;
+
+	@Param( { "true", "false" })
+	private boolean stringIDIndexEnabled;
+
+	private BenchmarkSleeContainer container;
+
+	private String[] sids;
+
+	private int nextActivity;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		container = new BenchmarkSleeContainer(1, false, stringIDIndexEnabled);
+		final ActivityContextHandle[] handles = container.createActivities(
+				activities, false);
+		sids = container.createStringIDs(handles);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		container.shutdown();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public ActivityContext lookup() throws Exception {
+		final ActivityContext ac = container
+				.getActivityContext(sids[nextActivity]);
+		if (ac == null) {
+			throw new IllegalStateException("no activity context for sid "
+					+ sids[nextActivity]);
+		}
+		nextActivity = (nextActivity + 1) % activities;
+		return ac;
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+
+import javax.slee.resource.ActivityHandle;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.activity.ActivityType;
+
+/**
+ * Handle of an activity created by the benchmarks, behaves as a null
+ * activity.
+ */
+public class BenchmarkActivityContextHandle implements ActivityContextHandle {
+
+	private static final long serialVersionUID = 1L;
+
+	public static class BenchmarkActivityHandle implements ActivityHandle,
+			Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int id;
+
+		public BenchmarkActivityHandle(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return id;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj != null && obj.getClass() == this.getClass()
+					&& ((BenchmarkActivityHandle) obj).id == this.id;
+		}
+
+		@Override
+		public String toString() {
+			return "BenchmarkActivity#" + id;
+		}
+	}
+
+	private BenchmarkActivityHandle activityHandle;
+
+	/**
+	 * not to be used, needed due to externalizable
+	 */
+	public BenchmarkActivityContextHandle() {
+
+	}
+
+	public BenchmarkActivityContextHandle(int id) {
+		this.activityHandle = new BenchmarkActivityHandle(id);
+	}
+
+	public BenchmarkActivityHandle getActivityHandle() {
+		return activityHandle;
+	}
+
+	public Object getActivityObject() {
+		return activityHandle;
+	}
+
+	public ActivityType getActivityType() {
+		return ActivityType.NULL;
+	}
+
+	@Override
+	public int hashCode() {
+		return activityHandle.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj != null
+				&& obj.getClass() == this.getClass()
+				&& ((BenchmarkActivityContextHandle) obj).activityHandle
+						.equals(this.activityHandle);
+	}
+
+	@Override
+	public String toString() {
+		return activityHandle.toString();
+	}
+
+	public void readExternal(ObjectInput in) throws IOException,
+			ClassNotFoundException {
+		activityHandle = new BenchmarkActivityHandle(in.readInt());
+	}
+
+	public void writeExternal(ObjectOutput out) throws IOException {
+		out.writeInt(activityHandle.id);
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.slee.ComponentID;
+import javax.slee.EventTypeID;
+import javax.slee.SbbID;
+import javax.slee.ServiceID;
+
+import org.mobicents.slee.container.AbstractSleeContainerModule;
+import org.mobicents.slee.container.component.ComponentDescriptorFactory;
+import org.mobicents.slee.container.component.ComponentRepository;
+import org.mobicents.slee.container.component.classloading.ClassLoaderFactory;
+import org.mobicents.slee.container.component.classloading.ComponentClassLoader;
+import org.mobicents.slee.container.component.classloading.ReplicationClassLoader;
+import org.mobicents.slee.container.component.classloading.URLClassLoaderDomain;
+import org.mobicents.slee.container.component.du.DeployableUnitManagement;
+import org.mobicents.slee.container.component.event.EventTypeComponent;
+import org.mobicents.slee.container.component.sbb.EventEntryDescriptor;
+import org.mobicents.slee.container.component.sbb.InitialEventSelectorVariables;
+import org.mobicents.slee.container.component.sbb.SbbComponent;
+import org.mobicents.slee.container.component.sbb.SbbDescriptor;
+import org.mobicents.slee.container.component.service.ServiceComponent;
+import org.mobicents.slee.container.component.service.ServiceDescriptor;
+import org.mobicents.slee.container.management.ComponentManagement;
+
+/**
+ * {@link ComponentManagement} stand-in, with a repository holding a single
+ * event type, and a service with a root sbb which receives such event. The
+ * service may define the event type as initial, with the activity context
+ * initial event selector variable.
+ */
+public class BenchmarkComponentManagement extends AbstractSleeContainerModule
+		implements ComponentManagement {
+
+	public static final EventTypeID EVENT_TYPE_ID = new EventTypeID(
+			"BenchmarkEvent", "org.mobicents", "1.0");
+
+	public static final ServiceID SERVICE_ID = new ServiceID(
+			"BenchmarkService", "org.mobicents", "1.0");
+
+	public static final SbbID SBB_ID = new SbbID("BenchmarkSbb",
+			"org.mobicents", "1.0");
+
+	private final SbbComponent sbbComponent;
+
+	private final ServiceComponent serviceComponent;
+
+	private final EventTypeComponent eventTypeComponent;
+
+	private final ComponentRepository componentRepository;
+
+	private final ClassLoaderFactory classLoaderFactory;
+
+	/**
+	 * 
+	 * @param initialEventProcessing
+	 *            if true the benchmark service defines the benchmark event as
+	 *            initial
+	 */
+	public BenchmarkComponentManagement(boolean initialEventProcessing) {
+		// sbb
+		final Map<String, Object> iesVariables = new HashMap<String, Object>();
+		iesVariables.put("isActivityContextSelected", Boolean.TRUE);
+		iesVariables.put("isActivityContextOnlySelected", Boolean.TRUE);
+		final Map<String, Object> eventEntry = new HashMap<String, Object>();
+		eventEntry.put("getEventReference", EVENT_TYPE_ID);
+		eventEntry.put("getEventName", "BenchmarkEvent");
+		eventEntry.put("isReceived", Boolean.TRUE);
+		eventEntry.put("isInitialEvent", Boolean.valueOf(initialEventProcessing));
+		eventEntry.put("getInitialEventSelectVariables", StandIns.newStandIn(
+				InitialEventSelectorVariables.class, iesVariables));
+		final Map<String, Object> sbbDescriptor = new HashMap<String, Object>();
+		sbbDescriptor.put("getSbbID", SBB_ID);
+		sbbDescriptor.put("getEventEntries", Collections.singletonMap(
+				EVENT_TYPE_ID, StandIns.newStandIn(EventEntryDescriptor.class,
+						eventEntry)));
+		final Map<String, Object> sbb = new HashMap<String, Object>();
+		sbb.put("getSbbID", SBB_ID);
+		sbb.put("getDescriptor", StandIns.newStandIn(SbbDescriptor.class,
+				sbbDescriptor));
+		sbbComponent = StandIns.newStandIn(SbbComponent.class, sbb);
+		// service
+		final Map<String, Object> serviceDescriptor = new HashMap<String, Object>();
+		serviceDescriptor.put("getServiceID", SERVICE_ID);
+		serviceDescriptor.put("getDefaultPriority", Byte.valueOf((byte) 0));
+		final Map<String, Object> service = new HashMap<String, Object>();
+		service.put("getServiceID", SERVICE_ID);
+		service.put("getRootSbbComponent", sbbComponent);
+		service.put("getDescriptor", StandIns.newStandIn(
+				ServiceDescriptor.class, serviceDescriptor));
+		serviceComponent = StandIns.newStandIn(ServiceComponent.class, service);
+		// event type
+		final Set<ServiceComponent> servicesWhichDefineEventAsInitial = initialEventProcessing ? Collections
+				.singleton(serviceComponent)
+				: Collections.<ServiceComponent> emptySet();
+		final Map<String, Object> eventType = new HashMap<String, Object>();
+		eventType.put("getEventTypeID", EVENT_TYPE_ID);
+		eventType.put("getActiveServicesWhichDefineEventAsInitial",
+				servicesWhichDefineEventAsInitial);
+		eventTypeComponent = StandIns.newStandIn(EventTypeComponent.class,
+				eventType);
+		// repository
+		final Map<String, Object> repository = new HashMap<String, Object>();
+		repository.put("getComponentByID", new StandIns.Answer() {
+			public Object answer(Object[] args) {
+				final Object id = args[0];
+				if (EVENT_TYPE_ID.equals(id)) {
+					return eventTypeComponent;
+				}
+				if (SERVICE_ID.equals(id)) {
+					return serviceComponent;
+				}
+				if (SBB_ID.equals(id)) {
+					return sbbComponent;
+				}
+				return null;
+			}
+		});
+		componentRepository = StandIns.newStandIn(ComponentRepository.class,
+				repository);
+		// class loading
+		classLoaderFactory = new ClassLoaderFactory() {
+			public ReplicationClassLoader newReplicationClassLoader(
+					ClassLoader sleeClassLoader) {
+				return new ReplicationClassLoader(sleeClassLoader) {
+					@Override
+					public void addDomain(URLClassLoaderDomain domain) {
+					}
+
+					@Override
+					public void removeDomain(URLClassLoaderDomain domain) {
+					}
+				};
+			}
+
+			public URLClassLoaderDomain newClassLoaderDomain(URL[] urls,
+					ClassLoader sleeClassLoader) {
+				throw new UnsupportedOperationException();
+			}
+
+			public ComponentClassLoader newComponentClassLoader(
+					ComponentID componentID, URLClassLoaderDomain parent) {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	public SbbComponent getSbbComponent() {
+		return sbbComponent;
+	}
+
+	public ServiceComponent getServiceComponent() {
+		return serviceComponent;
+	}
+
+	public ClassLoaderFactory getClassLoaderFactory() {
+		return classLoaderFactory;
+	}
+
+	public ComponentDescriptorFactory getComponentDescriptorFactory() {
+		return null;
+	}
+
+	public ComponentRepository getComponentRepository() {
+		return componentRepository;
+	}
+
+	public DeployableUnitManagement getDeployableUnitManagement() {
+		return null;
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.slee.ActivityContextInterface;
+import javax.slee.EventTypeID;
+import javax.slee.SbbID;
+
+import org.mobicents.slee.container.activity.ActivityContext;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.component.sbb.SbbComponent;
+import org.mobicents.slee.container.event.EventContext;
+import org.mobicents.slee.container.sbb.SbbLocalObject;
+import org.mobicents.slee.container.sbb.SbbObject;
+import org.mobicents.slee.container.sbb.SbbObjectPool;
+import org.mobicents.slee.container.sbbentity.ChildRelation;
+import org.mobicents.slee.container.sbbentity.SbbEntity;
+import org.mobicents.slee.container.sbbentity.SbbEntityID;
+
+/**
+ * In memory {@link SbbEntity}, its event handler only counts the events
+ * received, so the benchmarks measure the SLEE overhead, and suspends the
+ * delivery of {@link SuspendingEvent}s.
+ */
+public class BenchmarkSbbEntity implements SbbEntity {
+
+	private static final SbbObject SBB_OBJECT = StandIns.newStandIn(
+			SbbObject.class, new HashMap<String, Object>());
+
+	private final BenchmarkSbbEntityID sbbEntityID;
+
+	private final SbbComponent sbbComponent;
+
+	private final AtomicInteger attachments = new AtomicInteger(0);
+
+	private final AtomicInteger eventsHandled;
+
+	private volatile boolean created = true;
+
+	private volatile byte priority;
+
+	public BenchmarkSbbEntity(BenchmarkSbbEntityID sbbEntityID,
+			SbbComponent sbbComponent, AtomicInteger eventsHandled) {
+		this.sbbEntityID = sbbEntityID;
+		this.sbbComponent = sbbComponent;
+		this.eventsHandled = eventsHandled;
+	}
+
+	void loaded() {
+		created = false;
+	}
+
+	public SbbEntityID getSbbEntityId() {
+		return sbbEntityID;
+	}
+
+	public SbbID getSbbId() {
+		return sbbComponent.getSbbID();
+	}
+
+	public SbbComponent getSbbComponent() {
+		return sbbComponent;
+	}
+
+	public Set<ActivityContextHandle> getActivityContexts() {
+		return Collections.emptySet();
+	}
+
+	public String[] getEventMask(ActivityContextHandle ach) {
+		return null;
+	}
+
+	public boolean isAttached(ActivityContextHandle ach) {
+		return attachments.get() > 0;
+	}
+
+	public SbbLocalObject getSbbLocalObject() {
+		return null;
+	}
+
+	public void setEventMask(ActivityContextHandle ach, String[] eventNames) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void afterACDetach(ActivityContextHandle ach) {
+		attachments.decrementAndGet();
+	}
+
+	public void afterACAttach(ActivityContextHandle ach) {
+		attachments.incrementAndGet();
+	}
+
+	public int getAttachmentCount() {
+		return attachments.get();
+	}
+
+	public void remove() {
+		// not removed by the benchmarks
+	}
+
+	public SbbObjectPool getObjectPool() {
+		return null;
+	}
+
+	public SbbObject getSbbObject() {
+		return SBB_OBJECT;
+	}
+
+	public void assignSbbObject() throws Exception {
+		// stateless, always uses the same sbb object stand-in
+	}
+
+	public byte getPriority() {
+		return priority;
+	}
+
+	public void setPriority(byte priority) {
+		this.priority = priority;
+	}
+
+	public boolean isCreated() {
+		return created;
+	}
+
+	public Set<EventTypeID> getMaskedEventTypes(ActivityContextHandle ach) {
+		return null;
+	}
+
+	public void invokeEventHandler(EventContext sleeEvent, ActivityContext ac,
+			EventContext eventContextImpl) throws Exception {
+		final Object event = sleeEvent.getEvent();
+		if (event instanceof SuspendingEvent) {
+			// resumed by the suspension timeout
+			sleeEvent.suspendDelivery(((SuspendingEvent) event).getTimeout());
+		}
+		eventsHandled.incrementAndGet();
+	}
+
+	public boolean isRemoved() {
+		return false;
+	}
+
+	public void passivateAndReleaseSbbObject() {
+		// stateless, nothing to do
+	}
+
+	public ChildRelation getChildRelation(String accessorName) {
+		return null;
+	}
+
+	public void trashObject() {
+		// stateless, nothing to do
+	}
+
+	public void sbbRolledBack(Object event,
+			ActivityContextInterface activityContextInterface,
+			boolean removeRollback) {
+		// nothing to do
+	}
+
+	public void removeAndReleaseSbbObject() throws Exception {
+		// stateless, nothing to do
+	}
+
+	public void setCMPField(String cmpFieldName, Object cmpFieldValue) {
+		throw new UnsupportedOperationException();
+	}
+
+	public Object getCMPField(String cmpFieldName) {
+		throw new UnsupportedOperationException();
+	}
+
+	public boolean isReentrant() {
+		return false;
+	}
+
+	public ActivityContextInterface asSbbActivityContextInterface(
+			ActivityContextInterface aci) {
+		return aci;
+	}
+
+	@Override
+	public String toString() {
+		return "BenchmarkSbbEntity[" + sbbEntityID + "]";
+	}
+}
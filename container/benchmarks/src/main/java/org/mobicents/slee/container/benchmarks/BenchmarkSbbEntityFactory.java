@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.slee.CreateException;
+import javax.slee.ServiceID;
+
+import org.mobicents.slee.container.AbstractSleeContainerModule;
+import org.mobicents.slee.container.component.sbb.SbbComponent;
+import org.mobicents.slee.container.sbbentity.SbbEntity;
+import org.mobicents.slee.container.sbbentity.SbbEntityFactory;
+import org.mobicents.slee.container.sbbentity.SbbEntityID;
+
+/**
+ * In memory {@link SbbEntityFactory}, only root sbb entities of the benchmark
+ * service are supported.
+ */
+public class BenchmarkSbbEntityFactory extends AbstractSleeContainerModule
+		implements SbbEntityFactory {
+
+	private final ConcurrentHashMap<SbbEntityID, BenchmarkSbbEntity> sbbEntities = new ConcurrentHashMap<SbbEntityID, BenchmarkSbbEntity>();
+
+	private final SbbComponent sbbComponent;
+
+	private static final byte[] ROOT_PRIORITY_PATH = { 0 };
+
+	private final AtomicInteger eventsHandled = new AtomicInteger(0);
+
+	public BenchmarkSbbEntityFactory(SbbComponent sbbComponent) {
+		this.sbbComponent = sbbComponent;
+	}
+
+	/**
+	 * Retrieves the number of events handled by all sbb entities.
+	 * 
+	 * @return
+	 */
+	public int getEventsHandled() {
+		return eventsHandled.get();
+	}
+
+	public SbbEntity createRootSbbEntity(ServiceID serviceID,
+			String convergenceName) {
+		final BenchmarkSbbEntityID sbbEntityID = new BenchmarkSbbEntityID(
+				serviceID, convergenceName);
+		BenchmarkSbbEntity sbbEntity = sbbEntities.get(sbbEntityID);
+		if (sbbEntity == null) {
+			final BenchmarkSbbEntity newSbbEntity = new BenchmarkSbbEntity(
+					sbbEntityID, sbbComponent, eventsHandled);
+			sbbEntity = sbbEntities.putIfAbsent(sbbEntityID, newSbbEntity);
+			if (sbbEntity == null) {
+				return newSbbEntity;
+			}
+		}
+		sbbEntity.loaded();
+		return sbbEntity;
+	}
+
+	public SbbEntity createNonRootSbbEntity(SbbEntityID parentSbbEntityID,
+			String parentChildRelation, String childName)
+			throws CreateException {
+		throw new CreateException("child relations not supported");
+	}
+
+	public SbbEntity getSbbEntity(SbbEntityID sbbEntityID, boolean lock) {
+		final BenchmarkSbbEntity sbbEntity = sbbEntities.get(sbbEntityID);
+		if (sbbEntity != null) {
+			sbbEntity.loaded();
+		}
+		return sbbEntity;
+	}
+
+	public Set<SbbEntityID> getRootSbbEntityIDs(ServiceID serviceID) {
+		return getSbbEntityIDs();
+	}
+
+	public Set<SbbEntityID> getSbbEntityIDs() {
+		return Collections.unmodifiableSet(new HashSet<SbbEntityID>(
+				sbbEntities.keySet()));
+	}
+
+	public void removeSbbEntity(SbbEntity sbbEntity,
+			boolean useCurrentClassLoader) {
+		sbbEntities.remove(sbbEntity.getSbbEntityId());
+	}
+
+	public void purgeSbbEntities(ServiceID serviceID) {
+		sbbEntities.clear();
+	}
+
+	public byte[] getPriorityPath(SbbEntityID sbbEntityID) {
+		// all benchmark sbb entities are root and have the same priority
+		return sbbEntities.containsKey(sbbEntityID) ? ROOT_PRIORITY_PATH
+				: null;
+	}
+
+}
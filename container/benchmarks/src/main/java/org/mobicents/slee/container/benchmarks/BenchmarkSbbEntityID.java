@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import javax.slee.ServiceID;
+
+import org.mobicents.slee.container.sbbentity.SbbEntityID;
+
+/**
+ * Root {@link SbbEntityID} of the benchmark sbb entities.
+ */
+public class BenchmarkSbbEntityID implements SbbEntityID {
+
+	private static final long serialVersionUID = 1L;
+
+	private ServiceID serviceID;
+
+	private String convergenceName;
+
+	/**
+	 * not to be used, needed due to externalizable
+	 */
+	public BenchmarkSbbEntityID() {
+
+	}
+
+	public BenchmarkSbbEntityID(ServiceID serviceID, String convergenceName) {
+		this.serviceID = serviceID;
+		this.convergenceName = convergenceName;
+	}
+
+	public SbbEntityID getParentSBBEntityID() {
+		return null;
+	}
+
+	public String getParentChildRelation() {
+		return null;
+	}
+
+	public ServiceID getServiceID() {
+		return serviceID;
+	}
+
+	public String getServiceConvergenceName() {
+		return convergenceName;
+	}
+
+	public boolean isRootSbbEntity() {
+		return true;
+	}
+
+	public SbbEntityID getRootSBBEntityID() {
+		return this;
+	}
+
+	public String getName() {
+		return convergenceName;
+	}
+
+	@Override
+	public int hashCode() {
+		return convergenceName.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != this.getClass()) {
+			return false;
+		}
+		final BenchmarkSbbEntityID other = (BenchmarkSbbEntityID) obj;
+		return other.convergenceName.equals(this.convergenceName)
+				&& other.serviceID.equals(this.serviceID);
+	}
+
+	@Override
+	public String toString() {
+		return serviceID + ":" + convergenceName;
+	}
+
+	public void readExternal(ObjectInput in) throws IOException,
+			ClassNotFoundException {
+		serviceID = new ServiceID(in.readUTF(), in.readUTF(), in.readUTF());
+		convergenceName = in.readUTF();
+	}
+
+	public void writeExternal(ObjectOutput out) throws IOException {
+		out.writeUTF(serviceID.getName());
+		out.writeUTF(serviceID.getVendor());
+		out.writeUTF(serviceID.getVersion());
+		out.writeUTF(convergenceName);
+	}
+
+}
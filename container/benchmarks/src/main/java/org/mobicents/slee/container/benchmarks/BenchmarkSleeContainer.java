@@ -0,0 +1,331 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.MBeanServerFactory;
+import javax.slee.facilities.AlarmFacility;
+import javax.slee.management.SleeState;
+import javax.slee.resource.ActivityFlags;
+
+import org.jboss.cache.config.Configuration;
+import org.jboss.cache.config.RuntimeConfig;
+import org.mobicents.cache.MobicentsCache;
+import org.mobicents.cluster.DefaultMobicentsCluster;
+import org.mobicents.cluster.MobicentsCluster;
+import org.mobicents.slee.container.SleeContainer;
+import org.mobicents.slee.container.activity.ActivityContext;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.congestion.CongestionControlImpl;
+import org.mobicents.slee.container.event.DefaultEventContextFactoryDataSource;
+import org.mobicents.slee.container.event.EventContextFactoryImpl;
+import org.mobicents.slee.container.management.AlarmManagement;
+import org.mobicents.slee.container.management.SleeStateChangeRequest;
+import org.mobicents.slee.container.management.jmx.CongestionControlConfiguration;
+import org.mobicents.slee.container.management.jmx.EventContextFactoryConfiguration;
+import org.mobicents.slee.container.management.jmx.EventRouterConfiguration;
+import org.mobicents.slee.runtime.activity.ActivityContextFactoryImpl;
+import org.mobicents.slee.runtime.activity.ActivityManagementConfiguration;
+import org.mobicents.slee.runtime.eventrouter.EventRouterImpl;
+import org.mobicents.slee.runtime.eventrouter.mapping.ActivityHashingEventRouterExecutorMapper;
+import org.mobicents.slee.runtime.transaction.SleeTransactionManagerImpl;
+
+/**
+ * Builds and runs a {@link SleeContainer} with the real event router,
+ * activity context factory, event context factory, transaction manager and
+ * (local mode) cache, and in memory stand-ins for the component repository and
+ * sbb entities. Modules not needed to route events are not created.
+ */
+public class BenchmarkSleeContainer {
+
+	private final BenchmarkTransactionManager transactionManager = new BenchmarkTransactionManager();
+
+	private final BenchmarkComponentManagement componentManagement;
+
+	private final BenchmarkSbbEntityFactory sbbEntityFactory;
+
+	private final SleeContainer sleeContainer;
+
+	/**
+	 * 
+	 * @param eventRouterThreads
+	 *            the number of event router executors
+	 * @param initialEventProcessing
+	 *            if true the benchmark event is initial for the benchmark
+	 *            service, and sbb entities are created and attached by the
+	 *            event router, otherwise sbb entities must be attached with
+	 *            {@link #createActivities(int, boolean)}
+	 * @throws Exception
+	 */
+	public BenchmarkSleeContainer(int eventRouterThreads,
+			boolean initialEventProcessing) throws Exception {
+		this(eventRouterThreads, initialEventProcessing, true);
+	}
+
+	/**
+	 * 
+	 * @param eventRouterThreads
+	 *            the number of event router executors
+	 * @param initialEventProcessing
+	 *            if true the benchmark event is initial for the benchmark
+	 *            service, and sbb entities are created and attached by the
+	 *            event router, otherwise sbb entities must be attached with
+	 *            {@link #createActivities(int, boolean)}
+	 * @param stringIDIndexEnabled
+	 *            if true activity contexts are retrieved by string id through
+	 *            an index
+	 * @throws Exception
+	 */
+	public BenchmarkSleeContainer(int eventRouterThreads,
+			boolean initialEventProcessing, boolean stringIDIndexEnabled)
+			throws Exception {
+
+		final MobicentsCache cache = initCache();
+		final MobicentsCluster cluster = new DefaultMobicentsCluster(cache,
+				transactionManager, null);
+
+		componentManagement = new BenchmarkComponentManagement(
+				initialEventProcessing);
+		sbbEntityFactory = new BenchmarkSbbEntityFactory(componentManagement
+				.getSbbComponent());
+
+		final EventRouterConfiguration eventRouterConfiguration = new EventRouterConfiguration();
+		eventRouterConfiguration.setEventRouterThreads(eventRouterThreads);
+		eventRouterConfiguration.setCollectStats(false);
+		eventRouterConfiguration.setConfirmSbbEntityAttachement(true);
+		eventRouterConfiguration
+				.setExecutorMapperClassName(ActivityHashingEventRouterExecutorMapper.class
+						.getName());
+
+		final ActivityManagementConfiguration activityManagementConfiguration = new ActivityManagementConfiguration();
+		activityManagementConfiguration.setTimeBetweenLivenessQueries(60);
+		activityManagementConfiguration.setMaxTimeIdle(60);
+		activityManagementConfiguration.setMinTimeBetweenUpdates(15);
+		activityManagementConfiguration
+				.setStringIDIndexEnabled(stringIDIndexEnabled);
+
+		final EventContextFactoryConfiguration eventContextFactoryConfiguration = new EventContextFactoryConfiguration();
+		eventContextFactoryConfiguration
+				.setDefaultEventContextSuspensionTimeout(10000);
+
+		final CongestionControlConfiguration congestionControlConfiguration = new CongestionControlConfiguration();
+		congestionControlConfiguration.setPeriodBetweenChecks(0);
+
+		final Map<String, Object> alarmManagement = new HashMap<String, Object>();
+		alarmManagement.put("newAlarmFacility", StandIns.newStandIn(
+				AlarmFacility.class, new HashMap<String, Object>()));
+
+		sleeContainer = new SleeContainer(null, MBeanServerFactory
+				.newMBeanServer(), componentManagement, null, null, null,
+				null, new EventContextFactoryImpl(
+						new DefaultEventContextFactoryDataSource(),
+						eventContextFactoryConfiguration), new EventRouterImpl(
+						eventRouterConfiguration), null,
+				new ActivityContextFactoryImpl(activityManagementConfiguration),
+				null, null, null, null, new SleeTransactionManagerImpl(
+						transactionManager), cluster, StandIns.newStandIn(
+						AlarmManagement.class, alarmManagement), null, null,
+				sbbEntityFactory, new CongestionControlImpl(
+						congestionControlConfiguration), null, null, null);
+
+		sleeContainer.initSlee();
+		setSleeState(SleeState.STARTING);
+		setSleeState(SleeState.RUNNING);
+	}
+
+	private MobicentsCache initCache() {
+		RuntimeConfig runtimeConfig = new RuntimeConfig();
+		runtimeConfig.setTransactionManager(transactionManager);
+		Configuration configuration = new Configuration();
+		configuration.setRuntimeConfig(runtimeConfig);
+		configuration.setCacheMode("LOCAL");
+		configuration.setLockAcquisitionTimeout(3000);
+		configuration.setUseLockStriping(false);
+		configuration.setExposeManagementStatistics(false);
+		configuration.setShutdownHookBehavior("DONT_REGISTER");
+		return new MobicentsCache(configuration);
+	}
+
+	private void setSleeState(final SleeState newState) throws Exception {
+		sleeContainer.setSleeState(new SleeStateChangeRequest() {
+			public SleeState getNewState() {
+				return newState;
+			}
+
+			public boolean isBlockingRequest() {
+				return true;
+			}
+
+			public void stateChanged(SleeState oldState) {
+			}
+
+			public void requestCompleted() {
+			}
+		});
+	}
+
+	public SleeContainer getSleeContainer() {
+		return sleeContainer;
+	}
+
+	public BenchmarkSbbEntityFactory getSbbEntityFactory() {
+		return sbbEntityFactory;
+	}
+
+	/**
+	 * Creates the specified number of activity contexts, each on its own
+	 * transaction.
+	 * 
+	 * @param activities
+	 * @param attachSbbEntity
+	 *            if true a root sbb entity of the benchmark service is created
+	 *            and attached to each activity context
+	 * @return the handles of the activity contexts created
+	 * @throws Exception
+	 */
+	public ActivityContextHandle[] createActivities(int activities,
+			boolean attachSbbEntity) throws Exception {
+		final ActivityContextHandle[] handles = new ActivityContextHandle[activities];
+		for (int i = 0; i < activities; i++) {
+			handles[i] = new BenchmarkActivityContextHandle(i);
+			transactionManager.begin();
+			try {
+				final ActivityContext ac = sleeContainer
+						.getActivityContextFactory().createActivityContext(
+								handles[i], ActivityFlags.NO_FLAGS);
+				if (attachSbbEntity) {
+					final BenchmarkSbbEntity sbbEntity = (BenchmarkSbbEntity) sbbEntityFactory
+							.createRootSbbEntity(
+									BenchmarkComponentManagement.SERVICE_ID,
+									Integer.toString(i));
+					if (ac.attachSbbEntity(sbbEntity.getSbbEntityId())) {
+						sbbEntity.afterACAttach(handles[i]);
+					}
+				}
+				transactionManager.commit();
+			} catch (Exception e) {
+				transactionManager.rollback();
+				throw e;
+			}
+		}
+		return handles;
+	}
+
+	/**
+	 * Creates the string ids of the specified activity contexts, each on its
+	 * own transaction.
+	 * 
+	 * @param handles
+	 * @return the string ids, in the same order of the handles
+	 * @throws Exception
+	 */
+	public String[] createStringIDs(ActivityContextHandle[] handles)
+			throws Exception {
+		final String[] sids = new String[handles.length];
+		for (int i = 0; i < handles.length; i++) {
+			transactionManager.begin();
+			try {
+				sids[i] = sleeContainer.getActivityContextFactory()
+						.getActivityContext(handles[i]).getStringID();
+				transactionManager.commit();
+			} catch (Exception e) {
+				transactionManager.rollback();
+				throw e;
+			}
+		}
+		return sids;
+	}
+
+	/**
+	 * Retrieves the activity context with the specified string id, in a new
+	 * transaction.
+	 * 
+	 * @param sid
+	 * @return
+	 * @throws Exception
+	 */
+	public ActivityContext getActivityContext(String sid) throws Exception {
+		transactionManager.begin();
+		try {
+			final ActivityContext ac = sleeContainer
+					.getActivityContextFactory().getActivityContext(sid);
+			transactionManager.commit();
+			return ac;
+		} catch (Exception e) {
+			transactionManager.rollback();
+			throw e;
+		}
+	}
+
+	/**
+	 * Fires the benchmark event on the specified activity context, in a new
+	 * transaction, thus the event routing only starts after the commit.
+	 * 
+	 * @param ach
+	 * @param event
+	 * @param tracker
+	 * @throws Exception
+	 */
+	public void fireEvent(ActivityContextHandle ach, Object event,
+			EventCompletionTracker tracker) throws Exception {
+		transactionManager.begin();
+		try {
+			sleeContainer.getActivityContextFactory().getActivityContext(ach)
+					.fireEvent(BenchmarkComponentManagement.EVENT_TYPE_ID,
+							event, null, null, tracker, tracker, null);
+			transactionManager.commit();
+		} catch (Exception e) {
+			transactionManager.rollback();
+			throw e;
+		}
+	}
+
+	/**
+	 * Fires the benchmark event on the specified activity context, without a
+	 * transaction, thus the event routing may start right away.
+	 * 
+	 * @param ach
+	 * @param event
+	 * @param tracker
+	 */
+	public void fireEventNotTransacted(ActivityContextHandle ach,
+			Object event, EventCompletionTracker tracker) {
+		sleeContainer.getActivityContextFactory().getActivityContext(ach)
+				.fireEvent(BenchmarkComponentManagement.EVENT_TYPE_ID, event,
+						null, null, tracker, tracker, null);
+	}
+
+	/**
+	 * Stops and shutdowns the container.
+	 * 
+	 * @throws Exception
+	 */
+	public void shutdown() throws Exception {
+		setSleeState(SleeState.STOPPING);
+		setSleeState(SleeState.STOPPED);
+		sleeContainer.shutdownSlee();
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.xa.XAResource;
+
+/**
+ * In memory {@link Transaction}, which only supports {@link Synchronization}s,
+ * that is all the SLEE and a local mode cache need.
+ */
+public class BenchmarkTransaction implements Transaction {
+
+	private final BenchmarkTransactionManager transactionManager;
+
+	private final List<Synchronization> synchronizations = new ArrayList<Synchronization>(4);
+
+	private int status = Status.STATUS_ACTIVE;
+
+	BenchmarkTransaction(BenchmarkTransactionManager transactionManager) {
+		this.transactionManager = transactionManager;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#commit()
+	 */
+	public void commit() throws RollbackException, SecurityException,
+			IllegalStateException, SystemException {
+		if (status == Status.STATUS_MARKED_ROLLBACK) {
+			rollback();
+			throw new RollbackException("transaction marked for rollback");
+		}
+		if (status != Status.STATUS_ACTIVE) {
+			throw new IllegalStateException("transaction in state " + status);
+		}
+		status = Status.STATUS_PREPARING;
+		// synchronizations may be added while running the before completion ones
+		for (int i = 0; i < synchronizations.size(); i++) {
+			synchronizations.get(i).beforeCompletion();
+		}
+		if (status == Status.STATUS_MARKED_ROLLBACK) {
+			rollback();
+			throw new RollbackException("transaction marked for rollback");
+		}
+		status = Status.STATUS_COMMITTED;
+		transactionManager.disassociate(this);
+		afterCompletion();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#rollback()
+	 */
+	public void rollback() throws IllegalStateException, SystemException {
+		if (status != Status.STATUS_ACTIVE
+				&& status != Status.STATUS_MARKED_ROLLBACK
+				&& status != Status.STATUS_PREPARING) {
+			throw new IllegalStateException("transaction in state " + status);
+		}
+		status = Status.STATUS_ROLLEDBACK;
+		transactionManager.disassociate(this);
+		afterCompletion();
+	}
+
+	private void afterCompletion() {
+		for (int i = 0; i < synchronizations.size(); i++) {
+			synchronizations.get(i).afterCompletion(status);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#delistResource(javax.transaction.xa.XAResource, int)
+	 */
+	public boolean delistResource(XAResource xaRes, int flag)
+			throws IllegalStateException, SystemException {
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#enlistResource(javax.transaction.xa.XAResource)
+	 */
+	public boolean enlistResource(XAResource xaRes) throws RollbackException,
+			IllegalStateException, SystemException {
+		throw new SystemException("XA resources are not supported");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#getStatus()
+	 */
+	public int getStatus() throws SystemException {
+		return status;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#registerSynchronization(javax.transaction.Synchronization)
+	 */
+	public void registerSynchronization(Synchronization sync)
+			throws RollbackException, IllegalStateException, SystemException {
+		if (status == Status.STATUS_MARKED_ROLLBACK) {
+			throw new RollbackException("transaction marked for rollback");
+		}
+		if (status != Status.STATUS_ACTIVE && status != Status.STATUS_PREPARING) {
+			throw new IllegalStateException("transaction in state " + status);
+		}
+		synchronizations.add(sync);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#setRollbackOnly()
+	 */
+	public void setRollbackOnly() throws IllegalStateException,
+			SystemException {
+		if (status != Status.STATUS_ACTIVE && status != Status.STATUS_PREPARING) {
+			throw new IllegalStateException("transaction in state " + status);
+		}
+		status = Status.STATUS_MARKED_ROLLBACK;
+	}
+
+	@Override
+	public String toString() {
+		return "BenchmarkTransaction[" + System.identityHashCode(this) + "]";
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import javax.transaction.HeuristicMixedException;
+import javax.transaction.HeuristicRollbackException;
+import javax.transaction.InvalidTransactionException;
+import javax.transaction.NotSupportedException;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+/**
+ * In memory stand-in for the JTA {@link TransactionManager} of the
+ * application server, which associates {@link BenchmarkTransaction}s to the
+ * current thread and has no coordinator nor recovery overhead.
+ */
+public class BenchmarkTransactionManager implements TransactionManager {
+
+	private final ThreadLocal<BenchmarkTransaction> transactions = new ThreadLocal<BenchmarkTransaction>();
+
+	/**
+	 * Removes the association of the specified tx with the current thread, if
+	 * exists.
+	 * 
+	 * @param transaction
+	 */
+	void disassociate(BenchmarkTransaction transaction) {
+		if (transactions.get() == transaction) {
+			transactions.remove();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#begin()
+	 */
+	public void begin() throws NotSupportedException, SystemException {
+		if (transactions.get() != null) {
+			throw new NotSupportedException("nested transactions not supported");
+		}
+		transactions.set(new BenchmarkTransaction(this));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#commit()
+	 */
+	public void commit() throws RollbackException, HeuristicMixedException,
+			HeuristicRollbackException, SecurityException,
+			IllegalStateException, SystemException {
+		getExistentTransaction().commit();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#getStatus()
+	 */
+	public int getStatus() throws SystemException {
+		final BenchmarkTransaction transaction = transactions.get();
+		return transaction == null ? Status.STATUS_NO_TRANSACTION : transaction
+				.getStatus();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#getTransaction()
+	 */
+	public Transaction getTransaction() throws SystemException {
+		return transactions.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#resume(javax.transaction.Transaction)
+	 */
+	public void resume(Transaction transaction)
+			throws InvalidTransactionException, IllegalStateException,
+			SystemException {
+		if (!(transaction instanceof BenchmarkTransaction)) {
+			throw new InvalidTransactionException();
+		}
+		if (transactions.get() != null) {
+			throw new IllegalStateException("thread already associated with a transaction");
+		}
+		transactions.set((BenchmarkTransaction) transaction);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#rollback()
+	 */
+	public void rollback() throws IllegalStateException, SecurityException,
+			SystemException {
+		getExistentTransaction().rollback();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#setRollbackOnly()
+	 */
+	public void setRollbackOnly() throws IllegalStateException,
+			SystemException {
+		getExistentTransaction().setRollbackOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#setTransactionTimeout(int)
+	 */
+	public void setTransactionTimeout(int seconds) throws SystemException {
+		// timeouts are not supported
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#suspend()
+	 */
+	public Transaction suspend() throws SystemException {
+		final BenchmarkTransaction transaction = transactions.get();
+		transactions.remove();
+		return transaction;
+	}
+
+	private BenchmarkTransaction getExistentTransaction() {
+		final BenchmarkTransaction transaction = transactions.get();
+		if (transaction == null) {
+			throw new IllegalStateException("no transaction");
+		}
+		return transaction;
+	}
+
+}
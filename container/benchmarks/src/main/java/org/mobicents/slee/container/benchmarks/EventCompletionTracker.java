@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.slee.resource.FailureReason;
+
+import org.mobicents.slee.container.event.EventProcessingFailedCallback;
+import org.mobicents.slee.container.event.EventProcessingSucceedCallback;
+
+/**
+ * Callback which allows a benchmark to wait for the routing of a number of
+ * fired events to complete.
+ */
+public class EventCompletionTracker implements EventProcessingSucceedCallback,
+		EventProcessingFailedCallback {
+
+	private final CountDownLatch latch;
+
+	private final AtomicInteger failures = new AtomicInteger(0);
+
+	/**
+	 * 
+	 * @param events
+	 *            the number of events to track
+	 */
+	public EventCompletionTracker(int events) {
+		this.latch = new CountDownLatch(events);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.event.EventProcessingSucceedCallback#eventProcessingSucceed(boolean)
+	 */
+	public void eventProcessingSucceed(boolean sbbProcessedEvent) {
+		if (!sbbProcessedEvent) {
+			failures.incrementAndGet();
+		}
+		latch.countDown();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.event.EventProcessingFailedCallback#eventProcessingFailed(javax.slee.resource.FailureReason)
+	 */
+	public void eventProcessingFailed(FailureReason failureReason) {
+		failures.incrementAndGet();
+		latch.countDown();
+	}
+
+	/**
+	 * Waits till all tracked events are routed.
+	 * 
+	 * @param timeout
+	 *            in seconds
+	 * @throws IllegalStateException
+	 *             if the timeout expires or some event was not handled by an
+	 *             sbb
+	 * @throws InterruptedException
+	 */
+	public void await(long timeout) throws InterruptedException {
+		if (!latch.await(timeout, TimeUnit.SECONDS)) {
+			throw new IllegalStateException(latch.getCount()
+					+ " event(s) not routed after " + timeout + " seconds");
+		}
+		if (failures.get() != 0) {
+			throw new IllegalStateException(failures.get()
+					+ " event(s) not handled by an sbb");
+		}
+	}
+
+}
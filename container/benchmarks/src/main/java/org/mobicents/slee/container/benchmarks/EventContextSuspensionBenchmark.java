@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the event router executors throughput when some of the events
+ * routed have their event context suspended, and later resumed by the
+ * suspension timeout. Suspended and resumed event contexts should not stall
+ * the routing of events in other activities mapped to the same executor.
+ * 
+ * Run with: java -jar target/benchmarks.jar EventContextSuspensionBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public class EventContextSuspensionBenchmark {
+
+	private static final int ACTIVITIES = 1024;
+
+	private static final long ROUTING_TIMEOUT = 30;
+
+	private static final Object EVENT = new Object();
+
+	/**
+	 * the suspension timeout, in milliseconds
+	 */
+	private static final SuspendingEvent SUSPENDING_EVENT = new SuspendingEvent(1);
+
+	@Param( { "1", "8" })
+	private int executors;
+
+	/**
+	 * the percentage of events suspended
+	 */
+	@Param( { "0", "1", "10" })
+	private int suspendedEvents;
+
+	private BenchmarkSleeContainer container;
+
+	private ActivityContextHandle[] activities;
+
+	private Object[] events;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		container = new BenchmarkSleeContainer(executors, false);
+		activities = container.createActivities(ACTIVITIES, true);
+		events = new Object[ACTIVITIES];
+		for (int i = 0; i < ACTIVITIES; i++) {
+			events[i] = (i % 100) < suspendedEvents ? SUSPENDING_EVENT : EVENT;
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		container.shutdown();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@OperationsPerInvocation(ACTIVITIES)
+	public void throughput() throws Exception {
+		final EventCompletionTracker tracker = new EventCompletionTracker(
+				ACTIVITIES);
+		for (int i = 0; i < ACTIVITIES; i++) {
+			container.fireEvent(activities[i], events[i], tracker);
+		}
+		tracker.await(ROUTING_TIMEOUT);
+	}
+
+}
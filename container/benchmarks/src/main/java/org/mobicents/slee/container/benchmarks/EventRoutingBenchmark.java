@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the event routing hot path: fire (on a transaction) -> commit ->
+ * route -> sbb event handler -> commit of the routing transaction.
+ * 
+ * {@link #throughput()} fires one event on each activity and waits till all are
+ * routed, and is reported as events/sec, while {@link #latency()} measures the
+ * routing of a single event, and is reported as a latency distribution (p99
+ * included).
+ * 
+ * Run with: java -jar target/benchmarks.jar EventRoutingBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public class EventRoutingBenchmark {
+
+	/**
+	 * the number of activities, each event burst fires one event in each
+	 */
+	private static final int ACTIVITIES = 1024;
+
+	/**
+	 * max time to wait for the routing of fired events, in seconds
+	 */
+	private static final long ROUTING_TIMEOUT = 30;
+
+	private static final Object EVENT = new Object();
+
+	@Param( { "1", "8", "64" })
+	private int executors;
+
+	@Param( { "false", "true" })
+	private boolean initialEventProcessing;
+
+	private BenchmarkSleeContainer container;
+
+	private ActivityContextHandle[] activities;
+
+	private int nextActivity;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		container = new BenchmarkSleeContainer(executors,
+				initialEventProcessing);
+		// if initial event processing is off then sbb entities are attached
+		// upfront, otherwise the first event on each activity creates and
+		// attaches the sbb entity, and following ones reuse it
+		activities = container.createActivities(ACTIVITIES,
+				!initialEventProcessing);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		container.shutdown();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@OperationsPerInvocation(ACTIVITIES)
+	public void throughput() throws Exception {
+		final EventCompletionTracker tracker = new EventCompletionTracker(
+				ACTIVITIES);
+		for (ActivityContextHandle ach : activities) {
+			container.fireEvent(ach, EVENT, tracker);
+		}
+		tracker.await(ROUTING_TIMEOUT);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void latency() throws Exception {
+		final EventCompletionTracker tracker = new EventCompletionTracker(1);
+		container.fireEvent(activities[nextActivity], EVENT, tracker);
+		nextActivity = (nextActivity + 1) % ACTIVITIES;
+		tracker.await(ROUTING_TIMEOUT);
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Factory of dynamic stand-ins for the big SLEE component interfaces, of which
+ * the benchmarks only need a couple of methods.
+ */
+public class StandIns {
+
+	/**
+	 * Computes the result of a stand-in method invocation from its arguments.
+	 */
+	public interface Answer {
+
+		public Object answer(Object[] args);
+
+	}
+
+	/**
+	 * Creates a stand-in for the specified interface, where each method
+	 * returns the value mapped to its name, or the result of the mapped
+	 * {@link Answer}. Unmapped methods return null or the primitive default.
+	 * 
+	 * @param type
+	 * @param returns
+	 * @return
+	 */
+	public static <T> T newStandIn(final Class<T> type,
+			final Map<String, Object> returns) {
+		final InvocationHandler handler = new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args)
+					throws Throwable {
+				final String name = method.getName();
+				final Object value = returns.get(name);
+				if (value != null) {
+					return value instanceof Answer ? ((Answer) value)
+							.answer(args) : value;
+				}
+				if (name.equals("hashCode") && args == null) {
+					return System.identityHashCode(proxy);
+				}
+				if (name.equals("equals") && args != null && args.length == 1) {
+					return proxy == args[0];
+				}
+				if (name.equals("toString") && args == null) {
+					return type.getSimpleName() + "StandIn";
+				}
+				return defaultValue(method.getReturnType());
+			}
+		};
+		return type.cast(Proxy.newProxyInstance(StandIns.class
+				.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (!type.isPrimitive() || type == Void.TYPE) {
+			return null;
+		}
+		if (type == Boolean.TYPE) {
+			return Boolean.FALSE;
+		}
+		if (type == Byte.TYPE) {
+			return Byte.valueOf((byte) 0);
+		}
+		if (type == Short.TYPE) {
+			return Short.valueOf((short) 0);
+		}
+		if (type == Character.TYPE) {
+			return Character.valueOf((char) 0);
+		}
+		if (type == Integer.TYPE) {
+			return Integer.valueOf(0);
+		}
+		if (type == Long.TYPE) {
+			return Long.valueOf(0L);
+		}
+		if (type == Float.TYPE) {
+			return Float.valueOf(0f);
+		}
+		return Double.valueOf(0d);
+	}
+}
@@ -1,56 +1,49 @@
-/*
- * JBoss, Home of Professional Open Source
- * Copyright 2011, Red Hat, Inc. and individual contributors
- * by the @authors tag. See the copyright.txt in the distribution for a
- * full listing of individual contributors.
- *
- * This is free software; you can redistribute it and/or modify it
- * under the terms of the GNU Lesser General Public License as
- * published by the Free Software Foundation; either version 2.1 of
- * the License, or (at your option) any later version.
- *
- * This software is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
- * Lesser General Public License for more details.
- *
- * You should have received a copy of the GNU Lesser General Public
- * License along with this software; if not, write to the Free
- * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
- * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
- */
-
-package org.mobicents.slee.runtime.event;
-
-import java.io.Serializable;
-
-import org.mobicents.slee.container.activity.ActivityEventQueueManager;
-import org.mobicents.slee.container.event.EventContext;
-import org.mobicents.slee.container.transaction.TransactionalAction;
-
-/**
- * Tx action to rollback slee event.
- * 
- * @author eduardomartins
- *
- */
-public class RollbackEventContextAction implements TransactionalAction, Serializable {
-	
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = 8427380358783989321L;
-	
-	private final EventContext e;
-	private final ActivityEventQueueManager aeqm; 
-	
-	public RollbackEventContextAction(EventContext e, ActivityEventQueueManager aeqm) {
-		this.e = e;
-		this.aeqm = aeqm;
-	}
-	
-	public void execute() {				
-		aeqm.rollback(e);						
-	}
-	
-}
\ No newline at end of file
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+/**
+ * An event which the benchmark sbb suspends, the event context is resumed by
+ * the suspension timeout.
+ * 
+ * @author martins
+ * 
+ */
+public class SuspendingEvent {
+
+	private final int timeout;
+
+	/**
+	 * 
+	 * @param timeout
+	 *            the suspension timeout, in milliseconds
+	 */
+	public SuspendingEvent(int timeout) {
+		this.timeout = timeout;
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+}
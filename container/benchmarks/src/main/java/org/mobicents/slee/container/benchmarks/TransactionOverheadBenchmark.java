@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.transaction.Synchronization;
+
+import org.mobicents.slee.container.management.jmx.AsyncTransactionConfiguration;
+import org.mobicents.slee.container.transaction.SleeTransactionManager;
+import org.mobicents.slee.container.transaction.TransactionContext;
+import org.mobicents.slee.container.transaction.TransactionalAction;
+import org.mobicents.slee.runtime.transaction.LocalSleeTransactionManagerImpl;
+import org.mobicents.slee.runtime.transaction.SleeTransactionManagerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the per event transaction overhead of the SLEE tx managers,
+ * that is, what the event router does with the tx manager for each event
+ * routed: begin a tx, retrieve it and its context a few times, add a
+ * transactional action, have the local mode cache register a
+ * synchronization, and commit.
+ * 
+ * The jta manager is the {@link SleeTransactionManagerImpl} on top of the
+ * in memory {@link BenchmarkTransactionManager}, which has no coordinator,
+ * thus the results measure the SLEE layer only, the overhead of the JTA
+ * coordinator of the server comes on top of it. The local manager is the
+ * {@link LocalSleeTransactionManagerImpl}.
+ * 
+ * Run with: java -jar target/benchmarks.jar TransactionOverheadBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public class TransactionOverheadBenchmark {
+
+	private static final TransactionalAction ACTION = new TransactionalAction() {
+		public void execute() {
+		}
+	};
+
+	private static final Synchronization SYNCHRONIZATION = new Synchronization() {
+		public void beforeCompletion() {
+		}
+
+		public void afterCompletion(int status) {
+		}
+	};
+
+	@Param( { "jta", "local" })
+	private String manager;
+
+	private SleeTransactionManager txManager;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		if ("local".equals(manager)) {
+			txManager = new LocalSleeTransactionManagerImpl(
+					new AsyncTransactionConfiguration());
+		} else {
+			txManager = new SleeTransactionManagerImpl(
+					new BenchmarkTransactionManager());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		txManager.sleeShutdown();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public void eventTransaction() throws Exception {
+		txManager.begin();
+		// the cache enlists in the tx
+		txManager.getRealTransactionManager().getTransaction()
+				.registerSynchronization(SYNCHRONIZATION);
+		// the event router and sbb invocations lookup the tx and its context
+		txManager.mandateTransaction();
+		final TransactionContext txContext = txManager
+				.getTransactionContext();
+		txContext.getAfterCommitActions().add(ACTION);
+		txManager.getTransaction();
+		if (!txManager.getRollbackOnly()) {
+			txManager.commit();
+		} else {
+			txManager.rollback();
+		}
+	}
+
+}
@@ -1,8 +1,10 @@
 package org.telestax.slee.container.build.as7.extension;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.ExtensionContext;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SubsystemRegistration;
 import org.jboss.as.controller.descriptions.StandardResourceDescriptionResolver;
 import org.jboss.as.controller.operations.common.GenericSubsystemDescribeHandler;
@@ -90,6 +92,10 @@ public class SleeExtension implements Extension {
         @Override
         public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
             context.startSubsystemElement(SleeExtension.NAMESPACE, false);
+            final ModelNode model = context.getModelNode();
+            for (AttributeDefinition attribute : SleeSubsystemDefinition.ATTRIBUTES) {
+                attribute.marshallAsAttribute(model, writer);
+            }
             writer.writeEndElement();
         }
 
@@ -98,9 +104,28 @@ public class SleeExtension implements Extension {
          */
         @Override
         public void readElement(XMLExtendedStreamReader reader, List<ModelNode> list) throws XMLStreamException {
+            final ModelNode subsystem = createAddSubsystemOperation();
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                ParseUtils.requireNoNamespaceAttribute(reader, i);
+                final String name = reader.getAttributeLocalName(i);
+                final SimpleAttributeDefinition attribute = getAttribute(name);
+                if (attribute == null) {
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+                }
+                attribute.parseAndSetParameter(reader.getAttributeValue(i), subsystem, reader);
+            }
             // Require no content
             ParseUtils.requireNoContent(reader);
-            list.add(createAddSubsystemOperation());
+            list.add(subsystem);
+        }
+
+        private SimpleAttributeDefinition getAttribute(String xmlName) {
+            for (AttributeDefinition attribute : SleeSubsystemDefinition.ATTRIBUTES) {
+                if (attribute.getXmlName().equals(xmlName)) {
+                    return (SimpleAttributeDefinition) attribute;
+                }
+            }
+            return null;
         }
     }
 
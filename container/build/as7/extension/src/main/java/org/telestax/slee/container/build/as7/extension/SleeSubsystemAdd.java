@@ -6,6 +6,7 @@ import javax.management.MBeanServer;
 import javax.transaction.TransactionManager;
 
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.ServiceVerificationHandler;
@@ -37,6 +38,9 @@ class SleeSubsystemAdd extends AbstractBoottimeAddStepHandler {
     protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
         log.info("Populating the model");
         model.setEmptyObject();
+        for (AttributeDefinition attribute : SleeSubsystemDefinition.ATTRIBUTES) {
+            attribute.validateAndSet(operation, model);
+        }
     }
 
     /** {@inheritDoc} */
@@ -58,6 +62,10 @@ class SleeSubsystemAdd extends AbstractBoottimeAddStepHandler {
     	// installs the msc service which builds the SleeContainer instance and its modules
         final ServiceTarget target = context.getServiceTarget();
         final SleeContainerService sleeContainerService = new SleeContainerService();
+        sleeContainerService.setTimingWheelInLocalMode(SleeSubsystemDefinition.TIMING_WHEEL_IN_LOCAL_MODE
+                .resolveModelAttribute(context, model).asBoolean());
+        sleeContainerService.setLocalTransactionManager(SleeSubsystemDefinition.LOCAL_TRANSACTION_MANAGER
+                .resolveModelAttribute(context, model).asBoolean());
         newControllers.add(target.addService(SleeServiceNames.SLEE_CONTAINER, sleeContainerService)
                 //.addDependency(PathManagerService.SERVICE_NAME, PathManager.class, service.getPathManagerInjector())
                 .addDependency(MBeanServerService.SERVICE_NAME, MBeanServer.class, sleeContainerService.getMbeanServer())
@@ -1,11 +1,46 @@
 package org.telestax.slee.container.build.as7.extension;
 
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 public class SleeSubsystemDefinition extends SimpleResourceDefinition {
     public static final SleeSubsystemDefinition INSTANCE = new SleeSubsystemDefinition();
 
+    /**
+     * if true the timer facility uses the timing wheel scheduler when the
+     * cache runs in local mode
+     */
+    public static final SimpleAttributeDefinition TIMING_WHEEL_IN_LOCAL_MODE = new SimpleAttributeDefinitionBuilder(
+            "timing-wheel-in-local-mode", ModelType.BOOLEAN, true)
+            .setDefaultValue(new ModelNode(false))
+            .setAllowExpression(true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .build();
+
+    /**
+     * if true the SLEE local tx manager replaces the server JTA tx manager in
+     * SLEE transactions, including the cache ones, XA resources are then not
+     * supported
+     */
+    public static final SimpleAttributeDefinition LOCAL_TRANSACTION_MANAGER = new SimpleAttributeDefinitionBuilder(
+            "local-transaction-manager", ModelType.BOOLEAN, true)
+            .setDefaultValue(new ModelNode(false))
+            .setAllowExpression(true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .build();
+
+    /**
+     * the subsystem attributes, all are applied when the server reloads
+     */
+    static final AttributeDefinition[] ATTRIBUTES = { TIMING_WHEEL_IN_LOCAL_MODE, LOCAL_TRANSACTION_MANAGER };
+
     private SleeSubsystemDefinition() {
         super(SleeExtension.SUBSYSTEM_PATH,
                 SleeExtension.getResourceDescriptionResolver(null),
@@ -23,6 +58,9 @@ public class SleeSubsystemDefinition extends SimpleResourceDefinition {
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
-        //you can register attributes here
+        final ReloadRequiredWriteAttributeHandler writeHandler = new ReloadRequiredWriteAttributeHandler(ATTRIBUTES);
+        for (AttributeDefinition attribute : ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attribute, null, writeHandler);
+        }
     }
 }
@@ -50,11 +50,14 @@ import org.mobicents.slee.container.management.ResourceManagementImpl;
 import org.mobicents.slee.container.management.SbbManagement;
 import org.mobicents.slee.container.management.SbbManagementImpl;
 import org.mobicents.slee.container.management.ServiceManagementImpl;
-import org.mobicents.slee.container.management.UsageParametersManagement;
 import org.mobicents.slee.container.management.UsageParametersManagementImpl;
 import org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImpl;
 import org.mobicents.slee.container.management.jmx.ActivityManagementMBeanImplMBean;
 import org.mobicents.slee.container.management.jmx.AlarmMBeanImpl;
+import org.mobicents.slee.container.management.jmx.AsyncTransactionConfiguration;
+import org.mobicents.slee.container.management.jmx.AsyncTransactionConfigurationMBean;
+import org.mobicents.slee.container.management.jmx.AsyncTransactionStatistics;
+import org.mobicents.slee.container.management.jmx.AsyncTransactionStatisticsMBean;
 import org.mobicents.slee.container.management.jmx.CongestionControlConfiguration;
 import org.mobicents.slee.container.management.jmx.CongestionControlConfigurationMBean;
 import org.mobicents.slee.container.management.jmx.DeploymentMBeanImpl;
@@ -69,14 +72,21 @@ import org.mobicents.slee.container.management.jmx.MobicentsManagementMBean;
 import org.mobicents.slee.container.management.jmx.ResourceManagementMBeanImpl;
 import org.mobicents.slee.container.management.jmx.SbbEntitiesMBeanImpl;
 import org.mobicents.slee.container.management.jmx.SbbEntitiesMBeanImplMBean;
+import org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfiguration;
+import org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfigurationMBean;
+import org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatistics;
+import org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatisticsMBean;
 import org.mobicents.slee.container.management.jmx.ServiceManagementMBeanImpl;
 import org.mobicents.slee.container.management.jmx.SleeManagementMBeanImpl;
 import org.mobicents.slee.container.management.jmx.SleeManagementMBeanImplMBean;
 import org.mobicents.slee.container.management.jmx.TimerFacilityConfiguration;
 import org.mobicents.slee.container.management.jmx.TimerFacilityConfigurationMBean;
 import org.mobicents.slee.container.management.jmx.TraceMBeanImpl;
+import org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfiguration;
+import org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfigurationMBean;
+import org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherStatistics;
+import org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherStatisticsMBean;
 import org.mobicents.slee.container.rmi.RmiServerInterface;
-import org.mobicents.slee.container.sbbentity.SbbEntityFactory;
 import org.mobicents.slee.container.transaction.SleeTransactionManager;
 import org.mobicents.slee.runtime.activity.ActivityContextFactoryImpl;
 import org.mobicents.slee.runtime.activity.ActivityManagementConfiguration;
@@ -87,6 +97,8 @@ import org.mobicents.slee.runtime.facilities.TimerFacilityImpl;
 import org.mobicents.slee.runtime.facilities.nullactivity.NullActivityContextInterfaceFactoryImpl;
 import org.mobicents.slee.runtime.facilities.nullactivity.NullActivityFactoryImpl;
 import org.mobicents.slee.runtime.sbbentity.SbbEntityFactoryImpl;
+import org.mobicents.slee.runtime.transaction.AsyncTransactionExecutor;
+import org.mobicents.slee.runtime.transaction.LocalSleeTransactionManagerImpl;
 import org.mobicents.slee.runtime.transaction.SleeTransactionManagerImpl;
 import org.telestax.slee.container.build.as7.deployment.ExternalDeployerImpl;
 import org.telestax.slee.container.build.as7.naming.JndiManagementImpl;
@@ -106,6 +118,19 @@ public class SleeContainerService implements Service<SleeContainer> {
 	
 	private SleeContainer sleeContainer;
 
+	/**
+	 * if true the timer facility uses the timing wheel scheduler when the
+	 * cache runs in local mode, set from the subsystem configuration
+	 */
+	private boolean timingWheelInLocalMode;
+
+	/**
+	 * if true the SLEE local tx manager replaces the server JTA tx manager in
+	 * SLEE transactions, including the cache ones, and XA resources are not
+	 * supported, set from the subsystem configuration
+	 */
+	private boolean localTransactionManager;
+
 	@Override
 	public SleeContainer getValue() throws IllegalStateException,
 			IllegalArgumentException {
@@ -118,14 +143,30 @@ public class SleeContainerService implements Service<SleeContainer> {
 
 		final String deployPath = System.getProperty(TEMP_DIR) + "/slee";
 
+		// init the tx manager
+		final AsyncTransactionConfiguration asyncTransactionConfiguration = new AsyncTransactionConfiguration();
+		asyncTransactionConfiguration.setAsyncThreads(4);
+		asyncTransactionConfiguration.setAsyncQueueSize(10000);
+		final SleeTransactionManager sleeTransactionManager;
+		final AsyncTransactionExecutor asyncTransactionExecutor;
+		if (localTransactionManager) {
+			log.info("Using SLEE local transaction manager");
+			final LocalSleeTransactionManagerImpl localSleeTransactionManager = new LocalSleeTransactionManagerImpl(
+					asyncTransactionConfiguration);
+			asyncTransactionExecutor = localSleeTransactionManager.getAsyncTransactionExecutor();
+			sleeTransactionManager = localSleeTransactionManager;
+		}
+		else {
+			final SleeTransactionManagerImpl jtaSleeTransactionManager = new SleeTransactionManagerImpl(
+					getTransactionManager().getValue(), asyncTransactionConfiguration);
+			asyncTransactionExecutor = jtaSleeTransactionManager.getAsyncTransactionExecutor();
+			sleeTransactionManager = jtaSleeTransactionManager;
+		}
+
 		// inits the SLEE cache and cluster
-		final MobicentsCache cache = initCache();
+		final MobicentsCache cache = initCache(sleeTransactionManager.getRealTransactionManager());
 		final MobicentsCluster cluster = new DefaultMobicentsCluster(cache,
-				getTransactionManager().getValue(), null);
-
-		// init the tx manager
-		final SleeTransactionManager sleeTransactionManager = new SleeTransactionManagerImpl(
-				getTransactionManager().getValue());
+				sleeTransactionManager.getRealTransactionManager(), null);
 
 		final TraceMBeanImpl traceMBean = new TraceMBeanImpl();
 		
@@ -164,6 +205,7 @@ public class SleeContainerService implements Service<SleeContainer> {
 		timerFacilityConfiguration.setPurgePeriod(0);
 		timerFacilityConfiguration
 				.setTaskExecutionWaitsForTxCommitConfirmation(true);
+		timerFacilityConfiguration.setTimingWheelInLocalMode(timingWheelInLocalMode);
 		final TimerFacility timerFacility = new TimerFacilityImpl(
 				timerFacilityConfiguration);
 
@@ -184,9 +226,13 @@ public class SleeContainerService implements Service<SleeContainer> {
 		final MobicentsSleeConnectionFactory sleeConnectionFactory = null;
 		final RmiServerInterface rmiServerInterface = null;
 
-		final UsageParametersManagement usageParametersManagement = new UsageParametersManagementImpl();
+		final UsageNotificationDispatcherConfiguration usageNotificationDispatcherConfiguration = new UsageNotificationDispatcherConfiguration();
+		final UsageParametersManagementImpl usageParametersManagement = new UsageParametersManagementImpl(
+				usageNotificationDispatcherConfiguration);
 
-		final SbbEntityFactory sbbEntityFactory = new SbbEntityFactoryImpl();
+		final SbbEntityFactoryConfiguration sbbEntityFactoryConfiguration = new SbbEntityFactoryConfiguration();
+		final SbbEntityFactoryImpl sbbEntityFactory = new SbbEntityFactoryImpl(
+				sbbEntityFactoryConfiguration);
 
 		final EventContextFactoryDataSource eventContextFactoryDataSource = new DefaultEventContextFactoryDataSource();
 		final EventContextFactoryConfiguration eventContextFactoryConfiguration = new EventContextFactoryConfiguration();
@@ -238,8 +284,14 @@ public class SleeContainerService implements Service<SleeContainer> {
 		registerMBean(eventRouterConfiguration, EventRouterConfigurationMBean.OBJECT_NAME);		
 		registerMBean(new EventRouterStatistics(eventRouter), EventRouterStatisticsMBean.OBJECT_NAME);
 		registerMBean(timerFacilityConfiguration, TimerFacilityConfigurationMBean.OBJECT_NAME);
+		registerMBean(asyncTransactionConfiguration, AsyncTransactionConfigurationMBean.OBJECT_NAME);
+		registerMBean(new AsyncTransactionStatistics(asyncTransactionExecutor), AsyncTransactionStatisticsMBean.OBJECT_NAME);
 		registerMBean(eventContextFactoryConfiguration, EventContextFactoryConfigurationMBean.OBJECT_NAME);
 		registerMBean(congestionControlConfiguration, CongestionControlConfigurationMBean.OBJECT_NAME);
+		registerMBean(sbbEntityFactoryConfiguration, SbbEntityFactoryConfigurationMBean.OBJECT_NAME);
+		registerMBean(new SbbEntityLockFacilityStatistics(sbbEntityFactory), SbbEntityLockFacilityStatisticsMBean.OBJECT_NAME);
+		registerMBean(usageNotificationDispatcherConfiguration, UsageNotificationDispatcherConfigurationMBean.OBJECT_NAME);
+		registerMBean(new UsageNotificationDispatcherStatistics(usageParametersManagement.getUsageNotificationDispatcher()), UsageNotificationDispatcherStatisticsMBean.OBJECT_NAME);
 		registerMBean(new DeploymentManagerMBeanImpl(internalDeployer), DeploymentManagerMBeanImplMBean.OBJECT_NAME);
 		registerMBean(new DeploymentMBeanImpl(internalDeployer), DeploymentMBean.OBJECT_NAME);		
 		registerMBean(new ServiceManagementMBeanImpl(serviceManagement), ServiceManagementMBean.OBJECT_NAME);		
@@ -254,9 +306,9 @@ public class SleeContainerService implements Service<SleeContainer> {
 
 	}
 
-	private MobicentsCache initCache() {
+	private MobicentsCache initCache(TransactionManager txManager) {
 		RuntimeConfig runtimeConfig = new RuntimeConfig();
-		runtimeConfig.setTransactionManager(getTransactionManager().getValue());
+		runtimeConfig.setTransactionManager(txManager);
 		Configuration configuration = new Configuration();
 		configuration.setRuntimeConfig(runtimeConfig);
 		configuration.setCacheMode("LOCAL");
@@ -300,4 +352,12 @@ public class SleeContainerService implements Service<SleeContainer> {
 	public InjectedValue<TransactionManager> getTransactionManager() {
 		return transactionManager;
 	}
+
+	public void setTimingWheelInLocalMode(boolean timingWheelInLocalMode) {
+		this.timingWheelInLocalMode = timingWheelInLocalMode;
+	}
+
+	public void setLocalTransactionManager(boolean localTransactionManager) {
+		this.localTransactionManager = localTransactionManager;
+	}
 }
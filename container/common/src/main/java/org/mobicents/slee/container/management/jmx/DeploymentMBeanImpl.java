@@ -173,6 +173,8 @@ public class DeploymentMBeanImpl extends MobicentsServiceMBeanSupport implements
 					for (EventTypeComponent component : deployableUnit
 							.getEventTypeComponents().values()) {
 						componentRepositoryImpl.putComponent(component);
+						sleeContainer.getEventRouter().eventTypeInstalled(
+								component);
 						logger.info("Installed " + component);
 					}
 					for (ResourceAdaptorTypeComponent component : deployableUnit
@@ -265,6 +267,7 @@ public class DeploymentMBeanImpl extends MobicentsServiceMBeanSupport implements
 								for (EventTypeComponent component : deployableUnit
 										.getEventTypeComponents().values()) {
 									componentRepositoryImpl.removeComponent(component.getEventTypeID());
+									sleeContainer.getEventRouter().eventTypeUninstalled(component);
 									logger.info("Uninstalled " + component
 											+ " due to tx rollback");
 								}
@@ -455,10 +458,13 @@ public class DeploymentMBeanImpl extends MobicentsServiceMBeanSupport implements
 						logger.info("Uninstalled " + component);
 					}
 					
-					for (EventTypeID componentID : deployableUnit
-							.getEventTypeComponents().keySet()) {
-						componentRepositoryImpl.removeComponent(componentID);
-						logger.info("Uninstalled " + componentID);
+					for (EventTypeComponent component : deployableUnit
+							.getEventTypeComponents().values()) {
+						componentRepositoryImpl.removeComponent(component
+								.getEventTypeID());
+						sleeContainer.getEventRouter().eventTypeUninstalled(
+								component);
+						logger.info("Uninstalled " + component.getEventTypeID());
 					}
 					
 					for (LibraryID componentID : deployableUnit
@@ -506,6 +512,7 @@ public class DeploymentMBeanImpl extends MobicentsServiceMBeanSupport implements
 								for (EventTypeComponent component : deployableUnit
 										.getEventTypeComponents().values()) {
 									if (componentRepositoryImpl.putComponent(component)) {
+									sleeContainer.getEventRouter().eventTypeInstalled(component);
 									logger.info("Reinstalled " + component
 											+ " due to tx rollback");
 									}
@@ -0,0 +1,722 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.state;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.slee.SLEEException;
+
+import org.apache.log4j.Logger;
+import org.mobicents.slee.container.state.StateStore;
+import org.mobicents.slee.container.transaction.SleeTransactionManager;
+import org.mobicents.slee.container.transaction.TransactionContext;
+import org.mobicents.slee.container.transaction.TransactionalAction;
+
+/**
+ * A {@link StateStore} which keeps all records in the local heap, intended
+ * for single node deployments, where a replicated cache is not needed.
+ * 
+ * Each record is a flat map of fields, committed records are never changed,
+ * the first write of a transaction to a record locks it and copies its
+ * fields, and collection fields are copied on their first write too. When the
+ * transaction commits the copies replace the committed record, and the lock is
+ * released, on rollback the copies are simply discarded. Reads are not
+ * blocked, a transaction reads its own copies and other transactions read the
+ * committed records.
+ */
+public class InHeapStateStore implements StateStore {
+
+	private static final Logger logger = Logger
+			.getLogger(InHeapStateStore.class);
+
+	/**
+	 * the default max time, in milliseconds, to wait for a record lock
+	 */
+	public static final long DEFAULT_LOCK_TIMEOUT = 3000;
+
+	private final String name;
+
+	private final SleeTransactionManager txManager;
+
+	private final long lockTimeout;
+
+	private final ConcurrentHashMap<Object, Record> records = new ConcurrentHashMap<Object, Record>();
+
+	/**
+	 * 
+	 * @param name
+	 * @param txManager
+	 */
+	public InHeapStateStore(String name, SleeTransactionManager txManager) {
+		this(name, txManager, DEFAULT_LOCK_TIMEOUT);
+	}
+
+	/**
+	 * 
+	 * @param name
+	 * @param txManager
+	 * @param lockTimeout
+	 */
+	public InHeapStateStore(String name, SleeTransactionManager txManager,
+			long lockTimeout) {
+		this.name = name;
+		this.txManager = txManager;
+		this.lockTimeout = lockTimeout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#exists(java.lang.Object)
+	 */
+	public boolean exists(Object key) {
+		return read(key) != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#create(java.lang.Object)
+	 */
+	public boolean create(Object key) {
+		final TransactionContext txContext = txManager.getTransactionContext();
+		final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(txContext);
+		boolean done = false;
+		try {
+			final WorkingRecord workingRecord = getWorkingRecord(key,
+					workingRecords);
+			final boolean created = workingRecord.data == null;
+			if (created) {
+				workingRecord.data = new HashMap<Object, Object>();
+				workingRecord.privateFields = null;
+			}
+			done = true;
+			return created;
+		} finally {
+			if (txContext == null) {
+				end(workingRecords, done);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#remove(java.lang.Object)
+	 */
+	public boolean remove(Object key) {
+		if (read(key) == null) {
+			return false;
+		}
+		final TransactionContext txContext = txManager.getTransactionContext();
+		final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(txContext);
+		boolean done = false;
+		try {
+			final WorkingRecord workingRecord = getWorkingRecord(key,
+					workingRecords);
+			final boolean removed = workingRecord.data != null;
+			workingRecord.data = null;
+			workingRecord.privateFields = null;
+			done = true;
+			return removed;
+		} finally {
+			if (txContext == null) {
+				end(workingRecords, done);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#getKeys()
+	 */
+	public Set<Object> getKeys() {
+		final Set<Object> result = new HashSet<Object>();
+		for (Map.Entry<Object, Record> entry : records.entrySet()) {
+			if (entry.getValue().data != null) {
+				result.add(entry.getKey());
+			}
+		}
+		final TransactionContext txContext = txManager.getTransactionContext();
+		if (txContext != null) {
+			final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(
+					txContext, false);
+			if (workingRecords != null) {
+				for (Map.Entry<Object, WorkingRecord> entry : workingRecords
+						.entrySet()) {
+					if (entry.getValue().data != null) {
+						result.add(entry.getKey());
+					} else {
+						result.remove(entry.getKey());
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#get(java.lang.Object, java.lang.Object)
+	 */
+	public Object get(Object key, Object field) {
+		final Map<Object, Object> data = read(key);
+		return data != null ? data.get(field) : null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#put(java.lang.Object, java.lang.Object, java.lang.Object)
+	 */
+	public Object put(Object key, Object field, Object value)
+			throws IllegalStateException {
+		final TransactionContext txContext = txManager.getTransactionContext();
+		final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(txContext);
+		boolean done = false;
+		try {
+			final WorkingRecord workingRecord = getExistingWorkingRecord(key,
+					workingRecords);
+			if (workingRecord.privateFields != null) {
+				workingRecord.privateFields.remove(field);
+			}
+			final Object result = workingRecord.data.put(field, value);
+			done = true;
+			return result;
+		} finally {
+			if (txContext == null) {
+				end(workingRecords, done);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#remove(java.lang.Object, java.lang.Object)
+	 */
+	public Object remove(Object key, Object field) {
+		final Map<Object, Object> visibleData = read(key);
+		if (visibleData == null || !visibleData.containsKey(field)) {
+			return null;
+		}
+		final TransactionContext txContext = txManager.getTransactionContext();
+		final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(txContext);
+		boolean done = false;
+		try {
+			final WorkingRecord workingRecord = getWorkingRecord(key,
+					workingRecords);
+			Object result = null;
+			if (workingRecord.data != null) {
+				if (workingRecord.privateFields != null) {
+					workingRecord.privateFields.remove(field);
+				}
+				result = workingRecord.data.remove(field);
+			}
+			done = true;
+			return result;
+		} finally {
+			if (txContext == null) {
+				end(workingRecords, done);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#addToSet(java.lang.Object, java.lang.Object, java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean addToSet(Object key, Object field, Object element)
+			throws IllegalStateException {
+		final Map<Object, Object> visibleData = read(key);
+		if (visibleData != null) {
+			final Set<Object> set = (Set<Object>) visibleData.get(field);
+			if (set != null && set.contains(element)) {
+				return false;
+			}
+		}
+		final TransactionContext txContext = txManager.getTransactionContext();
+		final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(txContext);
+		boolean done = false;
+		try {
+			final WorkingRecord workingRecord = getExistingWorkingRecord(key,
+					workingRecords);
+			final boolean result = workingRecord.getPrivateSet(field, true)
+					.add(element);
+			done = true;
+			return result;
+		} finally {
+			if (txContext == null) {
+				end(workingRecords, done);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#removeFromSet(java.lang.Object, java.lang.Object, java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean removeFromSet(Object key, Object field, Object element) {
+		final Map<Object, Object> visibleData = read(key);
+		if (visibleData == null) {
+			return false;
+		}
+		final Set<Object> visibleSet = (Set<Object>) visibleData.get(field);
+		if (visibleSet == null || !visibleSet.contains(element)) {
+			return false;
+		}
+		final TransactionContext txContext = txManager.getTransactionContext();
+		final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(txContext);
+		boolean done = false;
+		try {
+			final WorkingRecord workingRecord = getWorkingRecord(key,
+					workingRecords);
+			boolean result = false;
+			if (workingRecord.data != null) {
+				final Set<Object> set = workingRecord.getPrivateSet(field,
+						false);
+				result = set != null && set.remove(element);
+			}
+			done = true;
+			return result;
+		} finally {
+			if (txContext == null) {
+				end(workingRecords, done);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#getSet(java.lang.Object, java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	public Set<Object> getSet(Object key, Object field) {
+		final Set<Object> set = (Set<Object>) readCollection(key, field);
+		return set != null ? Collections.unmodifiableSet(set) : Collections
+				.emptySet();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#putInMap(java.lang.Object, java.lang.Object, java.lang.Object, java.lang.Object)
+	 */
+	public Object putInMap(Object key, Object field, Object mapKey,
+			Object value) throws IllegalStateException {
+		final TransactionContext txContext = txManager.getTransactionContext();
+		final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(txContext);
+		boolean done = false;
+		try {
+			final WorkingRecord workingRecord = getExistingWorkingRecord(key,
+					workingRecords);
+			final Object result = workingRecord.getPrivateMap(field, true)
+					.put(mapKey, value);
+			done = true;
+			return result;
+		} finally {
+			if (txContext == null) {
+				end(workingRecords, done);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#getFromMap(java.lang.Object, java.lang.Object, java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	public Object getFromMap(Object key, Object field, Object mapKey) {
+		final Map<Object, Object> data = read(key);
+		if (data == null) {
+			return null;
+		}
+		final Map<Object, Object> map = (Map<Object, Object>) data.get(field);
+		return map != null ? map.get(mapKey) : null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#removeFromMap(java.lang.Object, java.lang.Object, java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	public Object removeFromMap(Object key, Object field, Object mapKey) {
+		final Map<Object, Object> visibleData = read(key);
+		if (visibleData == null) {
+			return null;
+		}
+		final Map<Object, Object> visibleMap = (Map<Object, Object>) visibleData
+				.get(field);
+		if (visibleMap == null || !visibleMap.containsKey(mapKey)) {
+			return null;
+		}
+		final TransactionContext txContext = txManager.getTransactionContext();
+		final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(txContext);
+		boolean done = false;
+		try {
+			final WorkingRecord workingRecord = getWorkingRecord(key,
+					workingRecords);
+			Object result = null;
+			if (workingRecord.data != null) {
+				final Map<Object, Object> map = workingRecord.getPrivateMap(
+						field, false);
+				if (map != null) {
+					result = map.remove(mapKey);
+				}
+			}
+			done = true;
+			return result;
+		} finally {
+			if (txContext == null) {
+				end(workingRecords, done);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.state.StateStore#getMap(java.lang.Object, java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<Object, Object> getMap(Object key, Object field) {
+		final Map<Object, Object> map = (Map<Object, Object>) readCollection(
+				key, field);
+		return map != null ? Collections.unmodifiableMap(map) : Collections
+				.emptyMap();
+	}
+
+	@Override
+	public String toString() {
+		return "InHeapStateStore[ name = " + name + " , records = "
+				+ records.size() + " ]";
+	}
+
+	// --- reads
+
+	/**
+	 * Retrieves the record fields visible to the current transaction.
+	 * 
+	 * @param key
+	 * @return null if the record does not exists
+	 */
+	private Map<Object, Object> read(Object key) {
+		final TransactionContext txContext = txManager.getTransactionContext();
+		if (txContext != null) {
+			final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(
+					txContext, false);
+			if (workingRecords != null) {
+				final WorkingRecord workingRecord = workingRecords.get(key);
+				if (workingRecord != null) {
+					return workingRecord.data;
+				}
+			}
+		}
+		final Record record = records.get(key);
+		return record != null ? record.data : null;
+	}
+
+	/**
+	 * Retrieves a collection field visible to the current transaction, which
+	 * is not changed after returned.
+	 * 
+	 * @param key
+	 * @param field
+	 * @return
+	 */
+	private Object readCollection(Object key, Object field) {
+		final TransactionContext txContext = txManager.getTransactionContext();
+		if (txContext != null) {
+			final Map<Object, WorkingRecord> workingRecords = getWorkingRecords(
+					txContext, false);
+			if (workingRecords != null) {
+				final WorkingRecord workingRecord = workingRecords.get(key);
+				if (workingRecord != null) {
+					if (workingRecord.data == null) {
+						return null;
+					}
+					// the collection is now shared with the caller, a further
+					// write must copy it again
+					if (workingRecord.privateFields != null) {
+						workingRecord.privateFields.remove(field);
+					}
+					return workingRecord.data.get(field);
+				}
+			}
+		}
+		final Record record = records.get(key);
+		if (record == null) {
+			return null;
+		}
+		final Map<Object, Object> data = record.data;
+		return data != null ? data.get(field) : null;
+	}
+
+	// --- writes
+
+	/**
+	 * Retrieves the working records of the specified transaction, creating
+	 * these if needed, or new working records, to be ended by the caller, if
+	 * there is no transaction.
+	 * 
+	 * @param txContext
+	 * @return
+	 */
+	private Map<Object, WorkingRecord> getWorkingRecords(
+			TransactionContext txContext) {
+		return txContext != null ? getWorkingRecords(txContext, true)
+				: new HashMap<Object, WorkingRecord>(2);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Object, WorkingRecord> getWorkingRecords(
+			TransactionContext txContext, boolean create) {
+		Map<Object, WorkingRecord> workingRecords = (Map<Object, WorkingRecord>) txContext
+				.getData().get(this);
+		if (workingRecords == null && create) {
+			final Map<Object, WorkingRecord> newWorkingRecords = new HashMap<Object, WorkingRecord>();
+			txContext.getData().put(this, newWorkingRecords);
+			// publish before any other after commit action runs, including
+			// the priority actions added before the first write, e.g. the
+			// routing of events fired in the tx
+			txContext.getAfterCommitPriorityActions().add(0,
+					new TransactionalAction() {
+						public void execute() {
+							end(newWorkingRecords, true);
+						}
+					});
+			txContext.getAfterRollbackActions().add(new TransactionalAction() {
+				public void execute() {
+					end(newWorkingRecords, false);
+				}
+			});
+			workingRecords = newWorkingRecords;
+		}
+		return workingRecords;
+	}
+
+	/**
+	 * Retrieves the working record for the specified key, locking and copying
+	 * the committed record if needed.
+	 * 
+	 * @param key
+	 * @param workingRecords
+	 * @return
+	 */
+	private WorkingRecord getWorkingRecord(Object key,
+			Map<Object, WorkingRecord> workingRecords) {
+		WorkingRecord workingRecord = workingRecords.get(key);
+		if (workingRecord == null) {
+			final Record record = lock(key);
+			workingRecord = new WorkingRecord(record);
+			workingRecords.put(key, workingRecord);
+		}
+		return workingRecord;
+	}
+
+	private WorkingRecord getExistingWorkingRecord(Object key,
+			Map<Object, WorkingRecord> workingRecords)
+			throws IllegalStateException {
+		final WorkingRecord workingRecord = getWorkingRecord(key,
+				workingRecords);
+		if (workingRecord.data == null) {
+			throw new IllegalStateException("record " + key
+					+ " does not exists in " + this);
+		}
+		return workingRecord;
+	}
+
+	/**
+	 * Acquires the lock of the record with the specified key, creating the
+	 * record if needed.
+	 * 
+	 * @param key
+	 * @return
+	 * @throws SLEEException
+	 *             if the lock was not acquired in time
+	 */
+	private Record lock(Object key) throws SLEEException {
+		final long deadline = System.currentTimeMillis() + lockTimeout;
+		for (;;) {
+			Record record = records.get(key);
+			if (record == null) {
+				final Record newRecord = new Record();
+				record = records.putIfAbsent(key, newRecord);
+				if (record == null) {
+					record = newRecord;
+				}
+			}
+			if (!record.lock.tryAcquire()) {
+				boolean locked;
+				try {
+					locked = record.lock.tryAcquire(deadline
+							- System.currentTimeMillis(),
+							TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SLEEException(e.getMessage(), e);
+				}
+				if (!locked) {
+					throw new SLEEException("timeout while acquiring lock of record "
+							+ key + " in " + this);
+				}
+			}
+			if (records.get(key) == record) {
+				return record;
+			}
+			// the record was removed meanwhile, retry
+			record.lock.release();
+		}
+	}
+
+	/**
+	 * Ends the specified working records, on commit these replace the
+	 * committed records, then all locks are released.
+	 * 
+	 * @param workingRecords
+	 * @param commit
+	 */
+	private void end(Map<Object, WorkingRecord> workingRecords, boolean commit) {
+		for (Map.Entry<Object, WorkingRecord> entry : workingRecords.entrySet()) {
+			final WorkingRecord workingRecord = entry.getValue();
+			final Record record = workingRecord.record;
+			if (commit) {
+				record.data = workingRecord.data;
+			}
+			if (record.data == null) {
+				records.remove(entry.getKey(), record);
+			}
+			record.lock.release();
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace((commit ? "Committed " : "Discarded ")
+					+ workingRecords.keySet() + " in " + this);
+		}
+	}
+
+	/**
+	 * A record, whose fields are never changed once set.
+	 */
+	private static final class Record {
+
+		final Semaphore lock = new Semaphore(1);
+
+		/**
+		 * the committed fields, null if the record was not yet created
+		 */
+		volatile Map<Object, Object> data;
+
+	}
+
+	/**
+	 * The copy of a record being changed by a transaction.
+	 */
+	private static final class WorkingRecord {
+
+		final Record record;
+
+		/**
+		 * the fields, null if the record does not exists
+		 */
+		Map<Object, Object> data;
+
+		/**
+		 * the collection fields which are already a copy
+		 */
+		Set<Object> privateFields;
+
+		WorkingRecord(Record record) {
+			this.record = record;
+			final Map<Object, Object> committedData = record.data;
+			if (committedData != null) {
+				data = new HashMap<Object, Object>(committedData);
+			}
+		}
+
+		/**
+		 * Retrieves a set field which may be changed.
+		 * 
+		 * @param field
+		 * @param create
+		 *            if the set should be created if it does not exists
+		 * @return
+		 */
+		@SuppressWarnings("unchecked")
+		Set<Object> getPrivateSet(Object field, boolean create) {
+			Set<Object> set = (Set<Object>) data.get(field);
+			if (isPrivate(field)) {
+				return set;
+			}
+			if (set != null) {
+				set = new HashSet<Object>(set);
+			} else if (create) {
+				set = new HashSet<Object>();
+			} else {
+				return null;
+			}
+			setPrivate(field, set);
+			return set;
+		}
+
+		/**
+		 * Retrieves a map field which may be changed.
+		 * 
+		 * @param field
+		 * @param create
+		 *            if the map should be created if it does not exists
+		 * @return
+		 */
+		@SuppressWarnings("unchecked")
+		Map<Object, Object> getPrivateMap(Object field, boolean create) {
+			Map<Object, Object> map = (Map<Object, Object>) data.get(field);
+			if (isPrivate(field)) {
+				return map;
+			}
+			if (map != null) {
+				map = new HashMap<Object, Object>(map);
+			} else if (create) {
+				map = new HashMap<Object, Object>();
+			} else {
+				return null;
+			}
+			setPrivate(field, map);
+			return map;
+		}
+
+		private boolean isPrivate(Object field) {
+			return privateFields != null && privateFields.contains(field);
+		}
+
+		private void setPrivate(Object field, Object collection) {
+			data.put(field, collection);
+			if (privateFields == null) {
+				privateFields = new HashSet<Object>(4);
+			}
+			privateFields.add(field);
+		}
+
+	}
+
+}
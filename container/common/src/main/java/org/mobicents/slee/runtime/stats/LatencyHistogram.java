@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A latency histogram with log linear buckets, as in HdrHistogram: values are
+ * grouped by their power of two, and each power of two is split in
+ * {@link #SUB_BUCKETS} linear sub buckets, which bounds the error of
+ * reported percentiles to less than 2%, with a fixed footprint. Values
+ * lower than {@link #SUB_BUCKETS} are exact, values above 2^37 are recorded
+ * in the last bucket.
+ * 
+ * Recording is lock free and safe for concurrent use.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int MAX_MAGNITUDE = 36;
+
+	/**
+	 * the number of buckets of an histogram
+	 */
+	public static final int BUCKETS = SUB_BUCKETS
+			+ (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * Retrieves the bucket for the specified value.
+	 * 
+	 * @param value
+	 * @return
+	 */
+	static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return value < 0 ? 0 : (int) value;
+		}
+		final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		if (magnitude > MAX_MAGNITUDE) {
+			return BUCKETS - 1;
+		}
+		final int shift = magnitude - SUB_BUCKET_BITS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS
+				+ (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * Retrieves the value which represents the specified bucket, the middle
+	 * of the range of values recorded in it.
+	 * 
+	 * @param bucket
+	 * @return
+	 */
+	static long value(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		final int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+		final long lowest = ((long) (SUB_BUCKETS + (bucket - SUB_BUCKETS)
+				% SUB_BUCKETS)) << shift;
+		return lowest + ((1L << shift) >>> 1);
+	}
+
+	/**
+	 * Records a value.
+	 * 
+	 * @param value
+	 */
+	public void record(long value) {
+		counts.incrementAndGet(bucket(value));
+	}
+
+	/**
+	 * Adds the counts of this histogram to the specified ones.
+	 * 
+	 * @param totals
+	 *            an array with {@link #BUCKETS} counts
+	 */
+	public void addTo(long[] totals) {
+		for (int i = 0; i < BUCKETS; i++) {
+			totals[i] += counts.get(i);
+		}
+	}
+
+	/**
+	 * Retrieves the specified percentile of the values recorded.
+	 * 
+	 * @param percentile
+	 *            the percentile, e.g. 99.9
+	 * @return 0 if no value was recorded
+	 */
+	public long getPercentile(double percentile) {
+		final long[] totals = new long[BUCKETS];
+		addTo(totals);
+		return getPercentile(totals, percentile);
+	}
+
+	/**
+	 * Retrieves the specified percentile of the values recorded in the
+	 * specified counts, e.g. the result of adding several histograms.
+	 * 
+	 * @param totals
+	 *            an array with {@link #BUCKETS} counts
+	 * @param percentile
+	 *            the percentile, e.g. 99.9
+	 * @return 0 if no value was recorded
+	 * @throws IllegalArgumentException
+	 *             if the percentile is not in ]0,100]
+	 */
+	public static long getPercentile(long[] totals, double percentile)
+			throws IllegalArgumentException {
+		if (percentile <= 0 || percentile > 100) {
+			throw new IllegalArgumentException("invalid percentile "
+					+ percentile);
+		}
+		long total = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			total += totals[i];
+		}
+		if (total == 0L) {
+			return 0L;
+		}
+		final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0
+				* total));
+		long seen = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += totals[i];
+			if (seen >= rank) {
+				return value(i);
+			}
+		}
+		return value(BUCKETS - 1);
+	}
+
+	/**
+	 * Resets the histogram.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0L);
+		}
+	}
+
+}
@@ -0,0 +1,447 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.state;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.slee.SLEEException;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.eventrouter.EventRoutingTransactionData;
+import org.mobicents.slee.container.sbbentity.SbbEntityID;
+import org.mobicents.slee.container.transaction.SleeTransactionManager;
+import org.mobicents.slee.container.transaction.TransactionContext;
+import org.mobicents.slee.container.transaction.TransactionalAction;
+
+public class InHeapStateStoreTest extends TestCase {
+
+	private static final long LOCK_TIMEOUT = 200;
+
+	/**
+	 * the tx of each thread, the store only needs the tx manager to provide
+	 * the current tx context
+	 */
+	private final ThreadLocal<TestTransactionContext> transactions = new ThreadLocal<TestTransactionContext>();
+
+	private InHeapStateStore store;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		final SleeTransactionManager txManager = (SleeTransactionManager) Proxy
+				.newProxyInstance(getClass().getClassLoader(),
+						new Class[] { SleeTransactionManager.class },
+						new InvocationHandler() {
+							public Object invoke(Object proxy, Method method,
+									Object[] args) throws Throwable {
+								if (method.getName().equals(
+										"getTransactionContext")) {
+									return transactions.get();
+								}
+								throw new UnsupportedOperationException(
+										method.getName());
+							}
+						});
+		store = new InHeapStateStore("test", txManager, LOCK_TIMEOUT);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		transactions.remove();
+		super.tearDown();
+	}
+
+	public void testWritesWithoutTransaction() {
+		assertFalse(store.exists("a"));
+		assertTrue(store.create("a"));
+		assertFalse(store.create("a"));
+		assertTrue(store.exists("a"));
+		assertNull(store.put("a", "f", "1"));
+		assertEquals("1", store.put("a", "f", "2"));
+		assertEquals("2", store.get("a", "f"));
+		assertEquals("2", store.remove("a", "f"));
+		assertNull(store.get("a", "f"));
+		assertTrue(store.remove("a"));
+		assertFalse(store.remove("a"));
+		assertFalse(store.exists("a"));
+		try {
+			store.put("a", "f", "1");
+			fail("put in a record which does not exists");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	public void testCommitPublishesChanges() {
+		begin();
+		store.create("a");
+		store.put("a", "f", "1");
+		store.addToSet("a", "s", "x");
+		store.putInMap("a", "m", "k", "v");
+		assertTrue(store.exists("a"));
+		assertFalse(readOutsideTx("a"));
+		commit();
+		assertTrue(store.exists("a"));
+		assertEquals("1", store.get("a", "f"));
+		assertTrue(store.getSet("a", "s").contains("x"));
+		assertEquals("v", store.getFromMap("a", "m", "k"));
+	}
+
+	public void testPublishBeforeActionsAddedByEarlierOperations() {
+		store.create("a");
+		begin();
+		// e.g. an event fired before the first write of the tx, which is
+		// routed after commit and must see the changes, with the locks
+		// released
+		final List<Object> routed = new ArrayList<Object>();
+		transactions.get().getAfterCommitPriorityActions().add(
+				new TransactionalAction() {
+					public void execute() {
+						routed.add(store.get("a", "f"));
+						routed.add(store.put("a", "f", "2"));
+					}
+				});
+		store.put("a", "f", "1");
+		commit();
+		assertEquals(2, routed.size());
+		assertEquals("1", routed.get(0));
+		assertEquals("1", routed.get(1));
+		assertEquals("2", store.get("a", "f"));
+	}
+
+	public void testRollbackDiscardsChanges() {
+		store.create("a");
+		store.put("a", "f", "1");
+		begin();
+		store.put("a", "f", "2");
+		store.create("b");
+		store.remove("a");
+		assertFalse(store.exists("a"));
+		assertTrue(store.exists("b"));
+		rollback();
+		assertTrue(store.exists("a"));
+		assertEquals("1", store.get("a", "f"));
+		assertFalse(store.exists("b"));
+		// the locks were released
+		assertEquals("1", store.put("a", "f", "3"));
+	}
+
+	public void testReadOnlyCollectionsAreNotChangedByWrites() {
+		store.create("a");
+		store.addToSet("a", "s", "x");
+		final Set<Object> set = store.getSet("a", "s");
+		begin();
+		store.addToSet("a", "s", "y");
+		assertEquals(2, store.getSet("a", "s").size());
+		assertEquals(1, set.size());
+		commit();
+		assertEquals(1, set.size());
+		assertEquals(2, store.getSet("a", "s").size());
+		try {
+			set.add("z");
+			fail("set retrieved from the store is not read only");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	public void testLockTimeout() throws Exception {
+		store.create("a");
+		begin();
+		store.put("a", "f", "1");
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				begin();
+				try {
+					store.put("a", "f", "2");
+				} catch (Throwable e) {
+					failure.set(e);
+				} finally {
+					rollback();
+				}
+			}
+		};
+		final long start = System.currentTimeMillis();
+		thread.start();
+		thread.join();
+		assertTrue(failure.get() instanceof SLEEException);
+		assertTrue(System.currentTimeMillis() - start >= LOCK_TIMEOUT);
+		commit();
+		// once the lock is released other txs may write
+		failure.set(null);
+		thread = new Thread() {
+			@Override
+			public void run() {
+				begin();
+				try {
+					store.put("a", "f", "2");
+					commit();
+				} catch (Throwable e) {
+					failure.set(e);
+					rollback();
+				}
+			}
+		};
+		thread.start();
+		thread.join();
+		assertNull(failure.get());
+		assertEquals("2", store.get("a", "f"));
+	}
+
+	public void testWriterWaitsForLockRelease() throws Exception {
+		store.create("a");
+		store.put("a", "f", new Integer(0));
+		final int threads = 8;
+		final int iterations = 200;
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final List<Thread> list = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			final int thread = i;
+			list.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int j = 0; j < iterations; j++) {
+							begin();
+							try {
+								// a read then write, which is only safe if the
+								// lock is taken first
+								store.addToSet("a", "s", thread + "-" + j);
+								final Integer value = (Integer) store.get("a", "f");
+								store.put("a", "f", new Integer(value.intValue() + 1));
+								commit();
+							} catch (Throwable e) {
+								rollback();
+								throw e;
+							}
+						}
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				}
+			});
+		}
+		for (Thread thread : list) {
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : list) {
+			thread.join();
+		}
+		assertNull(failure.get());
+		assertEquals(threads * iterations, store.getSet("a", "s").size());
+		assertEquals(new Integer(threads * iterations), store.get("a", "f"));
+	}
+
+	public void testConcurrentPutAndRemove() throws Exception {
+		final int threads = 8;
+		final int iterations = 500;
+		final int keys = 16;
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final List<Thread> list = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			final int thread = i;
+			list.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int j = 0; j < iterations; j++) {
+							final String key = "k" + ((thread + j) % keys);
+							begin();
+							try {
+								if ((j & 1) == 0) {
+									store.create(key);
+									store.put(key, "f", Integer.valueOf(thread));
+									assertEquals(Integer.valueOf(thread), store.get(key, "f"));
+								} else {
+									store.remove(key);
+									assertFalse(store.exists(key));
+								}
+								commit();
+							} catch (Throwable e) {
+								rollback();
+								throw e;
+							}
+						}
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				}
+			});
+		}
+		for (Thread thread : list) {
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : list) {
+			thread.join();
+		}
+		assertNull(failure.get());
+		// every key left is complete
+		for (Object key : store.getKeys()) {
+			assertNotNull(store.get(key, "f"));
+		}
+		// and all locks were released
+		for (int i = 0; i < keys; i++) {
+			store.remove("k" + i);
+		}
+		assertTrue(store.getKeys().isEmpty());
+	}
+
+	public void testKeyScans() {
+		store.create("a");
+		store.create("b");
+		assertEquals(keys("a", "b"), store.getKeys());
+		begin();
+		store.create("c");
+		store.remove("a");
+		assertEquals(keys("b", "c"), store.getKeys());
+		assertEquals(keys("a", "b"), keysOutsideTx());
+		commit();
+		assertEquals(keys("b", "c"), store.getKeys());
+		try {
+			store.getKeys().add("d");
+			fail("keys retrieved from the store are not read only");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	// --- helpers
+
+	private Set<Object> keys(Object... keys) {
+		final Set<Object> result = new HashSet<Object>();
+		for (Object key : keys) {
+			result.add(key);
+		}
+		return result;
+	}
+
+	private boolean readOutsideTx(Object key) {
+		final TestTransactionContext txContext = transactions.get();
+		transactions.remove();
+		try {
+			return store.exists(key);
+		} finally {
+			transactions.set(txContext);
+		}
+	}
+
+	private Set<Object> keysOutsideTx() {
+		final TestTransactionContext txContext = transactions.get();
+		transactions.remove();
+		try {
+			return store.getKeys();
+		} finally {
+			transactions.set(txContext);
+		}
+	}
+
+	private void begin() {
+		transactions.set(new TestTransactionContext());
+	}
+
+	private void commit() {
+		final TestTransactionContext txContext = transactions.get();
+		transactions.remove();
+		execute(txContext.afterCommitPriorityActions);
+		execute(txContext.afterCommitActions);
+	}
+
+	private void rollback() {
+		final TestTransactionContext txContext = transactions.get();
+		transactions.remove();
+		execute(txContext.afterRollbackActions);
+	}
+
+	private static void execute(List<TransactionalAction> actions) {
+		for (TransactionalAction action : actions) {
+			action.execute();
+		}
+	}
+
+	private static class TestTransactionContext implements TransactionContext {
+
+		final List<TransactionalAction> afterCommitActions = new ArrayList<TransactionalAction>();
+		final List<TransactionalAction> afterCommitPriorityActions = new ArrayList<TransactionalAction>();
+		final List<TransactionalAction> afterRollbackActions = new ArrayList<TransactionalAction>();
+		final List<TransactionalAction> beforeCommitActions = new ArrayList<TransactionalAction>();
+		final List<TransactionalAction> beforeCommitPriorityActions = new ArrayList<TransactionalAction>();
+		final Map data = new HashMap();
+
+		public List<TransactionalAction> getAfterCommitActions() {
+			return afterCommitActions;
+		}
+
+		public List<TransactionalAction> getAfterCommitPriorityActions() {
+			return afterCommitPriorityActions;
+		}
+
+		public List<TransactionalAction> getAfterRollbackActions() {
+			return afterRollbackActions;
+		}
+
+		public List<TransactionalAction> getBeforeCommitActions() {
+			return beforeCommitActions;
+		}
+
+		public List<TransactionalAction> getBeforeCommitPriorityActions() {
+			return beforeCommitPriorityActions;
+		}
+
+		public Map getData() {
+			return data;
+		}
+
+		public EventRoutingTransactionData getEventRoutingTransactionData() {
+			return null;
+		}
+
+		public void setEventRoutingTransactionData(
+				EventRoutingTransactionData eventRoutingTransactionData) {
+		}
+
+		public Set<SbbEntityID> getInvokedNonReentrantSbbEntities() {
+			return null;
+		}
+
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.stats;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class LatencyHistogramTest extends TestCase {
+
+	public void testSmallValuesAreExact() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 32; i++) {
+			histogram.record(i);
+		}
+		assertEquals(0, histogram.getPercentile(1));
+		assertEquals(15, histogram.getPercentile(50));
+		assertEquals(31, histogram.getPercentile(100));
+	}
+
+	public void testBucketsAreOrderedAndBounded() {
+		assertEquals(0, LatencyHistogram.bucket(-5));
+		assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram
+				.bucket(Long.MAX_VALUE));
+		int previous = 0;
+		for (long value = 0; value < 1L << 20; value++) {
+			final int bucket = LatencyHistogram.bucket(value);
+			assertTrue(bucket >= previous);
+			assertTrue(bucket < LatencyHistogram.BUCKETS);
+			previous = bucket;
+		}
+	}
+
+	public void testRelativeErrorIsBelowTwoPercent() {
+		final Random random = new Random(0);
+		for (int i = 0; i < 100000; i++) {
+			// up to 2^37
+			final long value = (long) (random.nextDouble() * (1L << 37));
+			final long represented = LatencyHistogram.value(LatencyHistogram
+					.bucket(value));
+			assertTrue(value + " represented by " + represented, Math
+					.abs(represented - value) <= value * 0.02);
+		}
+	}
+
+	public void testPercentileOfSeveralHistograms() {
+		final LatencyHistogram histogram1 = new LatencyHistogram();
+		final LatencyHistogram histogram2 = new LatencyHistogram();
+		for (int i = 0; i < 99; i++) {
+			histogram1.record(10);
+		}
+		histogram2.record(1000000);
+		final long[] totals = new long[LatencyHistogram.BUCKETS];
+		histogram1.addTo(totals);
+		histogram2.addTo(totals);
+		assertEquals(10, LatencyHistogram.getPercentile(totals, 99));
+		final long max = LatencyHistogram.getPercentile(totals, 99.9);
+		assertTrue(Math.abs(max - 1000000) <= 1000000 * 0.02);
+	}
+
+	public void testEmptyAndReset() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getPercentile(99));
+		histogram.record(100);
+		histogram.reset();
+		assertEquals(0, histogram.getPercentile(99));
+		try {
+			histogram.getPercentile(0);
+			fail("percentile 0 accepted");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			histogram.getPercentile(100.1);
+			fail("percentile above 100 accepted");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	public void testConcurrentRecording() throws Exception {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		final int threads = 4;
+		final int iterations = 100000;
+		final Thread[] list = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			list[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < iterations; j++) {
+						histogram.record(j & 63);
+					}
+				}
+			};
+			list[i].start();
+		}
+		for (Thread thread : list) {
+			thread.join();
+		}
+		final long[] totals = new long[LatencyHistogram.BUCKETS];
+		histogram.addTo(totals);
+		long total = 0;
+		for (long count : totals) {
+			total += count;
+		}
+		assertEquals((long) threads * iterations, total);
+	}
+
+}
@@ -77,6 +77,11 @@ public class EventTypeComponentImpl extends AbstractSleeComponent implements Eve
 	 */
 	private SortedSet<ServiceComponent> activeServicesWhichDefineEventAsInitial = new TreeSet<ServiceComponent>(new ActiveServicesWhichDefineEventAsInitialComparator());
 	
+	/**
+	 * the dense index of the event type, assigned by the event router
+	 */
+	private volatile int statisticsIndex = -1;
+	
 	private static class ActiveServicesWhichDefineEventAsInitialComparator implements Comparator<ServiceComponent> {
 		public int compare(ServiceComponent o1, ServiceComponent o2) {
 			if (o1 == o2) {
@@ -133,6 +138,22 @@ public class EventTypeComponentImpl extends AbstractSleeComponent implements Eve
 	public EventTypeDescriptorImpl getDescriptor() {
 		return descriptor;
 	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.component.event.EventTypeComponent#getStatisticsIndex()
+	 */
+	public int getStatisticsIndex() {
+		return statisticsIndex;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.component.event.EventTypeComponent#setStatisticsIndex(int)
+	 */
+	public void setStatisticsIndex(int statisticsIndex) {
+		this.statisticsIndex = statisticsIndex;
+	}
 
 	@Override
 	public boolean addToDeployableUnit() {
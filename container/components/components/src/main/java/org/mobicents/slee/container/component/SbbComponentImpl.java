@@ -57,6 +57,7 @@ import org.mobicents.slee.container.component.deployment.jaxb.descriptors.SbbDes
 import org.mobicents.slee.container.component.sbb.AbstractSbbClassInfo;
 import org.mobicents.slee.container.component.sbb.AbstractSbbClassInfoImpl;
 import org.mobicents.slee.container.component.sbb.EventEntryDescriptor;
+import org.mobicents.slee.container.component.sbb.EventHandlerInvoker;
 import org.mobicents.slee.container.component.sbb.ResourceAdaptorEntityBindingDescriptor;
 import org.mobicents.slee.container.component.sbb.ResourceAdaptorTypeBindingDescriptor;
 import org.mobicents.slee.container.component.sbb.SbbRefDescriptor;
@@ -117,6 +118,11 @@ public class SbbComponentImpl extends AbstractSleeComponentWithUsageParametersIn
 	 * the event handler methods for this sbb component
 	 */
 	private Map<EventTypeID, EventHandlerMethod> eventHandlerMethods = null;
+
+	/**
+	 * the SLEE generated invoker of the event handler methods
+	 */
+	private EventHandlerInvoker eventHandlerInvoker;
 	
 	/**
 	 * the event handler methods for this sbb component
@@ -368,6 +374,22 @@ public class SbbComponentImpl extends AbstractSleeComponentWithUsageParametersIn
 	public Map<EventTypeID, EventHandlerMethod> getEventHandlerMethods() {
 		return eventHandlerMethods;
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.component.sbb.SbbComponent#getEventHandlerInvoker()
+	 */
+	public EventHandlerInvoker getEventHandlerInvoker() {
+		return eventHandlerInvoker;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.component.sbb.SbbComponent#setEventHandlerInvoker(org.mobicents.slee.container.component.sbb.EventHandlerInvoker)
+	 */
+	public void setEventHandlerInvoker(EventHandlerInvoker eventHandlerInvoker) {
+		this.eventHandlerInvoker = eventHandlerInvoker;
+	}
 	
 	/**
 	 * Retrieves the evetn handler methods for this sbb component, mapped by
@@ -409,6 +431,7 @@ public class SbbComponentImpl extends AbstractSleeComponentWithUsageParametersIn
 			eventHandlerMethods.clear();
 			eventHandlerMethods = null;
 		}
+		eventHandlerInvoker = null;
 		sbbLocalInterfaceClass = null;
 		sbbLocalInterfaceConcreteClass = null;
 		sbbLocalObjectClassConstructor = null;
@@ -25,6 +25,8 @@
  */
 package org.mobicents.slee.container.event;
 
+import org.mobicents.slee.container.MobicentsUUID;
+
 /**
  * @author martins
  *
@@ -36,12 +38,12 @@ public class EventContextHandleImpl implements EventContextHandle {
 	 */
 	private static final long serialVersionUID = 1L;
 	
-	private final String id;
+	private final MobicentsUUID id;
 
 	/**
 	 * @param id
 	 */
-	public EventContextHandleImpl(String id) {
+	public EventContextHandleImpl(MobicentsUUID id) {
 		this.id = id;
 	}
 
@@ -49,7 +51,7 @@ public class EventContextHandleImpl implements EventContextHandle {
 	 * @return the id
 	 */
 	public String getId() {
-		return id;
+		return id.toString();
 	}
 	
 	/* (non-Javadoc)
@@ -66,9 +66,9 @@ public class EventContextImpl extends LazyStoredEventContext implements EventCon
 	/* (non-Javadoc)
 	 * @see org.mobicents.slee.container.event.EventContext#barrierEvent(org.mobicents.slee.container.event.EventContext)
 	 */
-	public void barrierEvent(EventContext event) {
+	public boolean barrierEvent(EventContext event) {
 		suspensionHandlerLazyInit();
-		suspensionHandler.barrierEvent(event);
+		return suspensionHandler.barrierEvent(event);
 	}
 	
 	/* (non-Javadoc)
@@ -36,6 +36,7 @@ import javax.transaction.Transaction;
 
 import org.apache.log4j.Logger;
 import org.mobicents.slee.container.SleeContainer;
+import org.mobicents.slee.container.eventrouter.EventRoutingTask;
 import org.mobicents.slee.container.transaction.TransactionContext;
 import org.mobicents.slee.container.transaction.TransactionalAction;
 
@@ -64,28 +65,59 @@ public class EventContextSuspensionHandler {
 
 	/**
 	 * a queue of {@link EventContext}s barried due to this context become
-	 * suspended
+	 * suspended, null if the context is not suspended, guarded by this
+	 * handler's monitor
 	 */
 	private LinkedList<EventContext> barriedEvents;
 
 	
 	/**
-	 * indicates if the context is suspended or not
+	 * indicates if the context is suspended or not, volatile since it is
+	 * changed by the activity executor and read by sbbs in other threads,
+	 * which may resume the context, it is set only once all other suspension
+	 * state is set, so that state is visible to whoever sees the context
+	 * suspended
 	 */
-	private boolean suspended;
+	private volatile boolean suspended;
 	
 	/**
 	 * the scheduled future for the task controlling the suspension timeout
 	 */
-	private ScheduledFuture<?> scheduledFuture;
+	private volatile ScheduledFuture<?> scheduledFuture;
 	
 	/**
 	 * transactional action action to change state
 	 */
-	private EventContextStateChange transactionalAction;
+	private volatile EventContextStateChange transactionalAction;
 
-	public void barrierEvent(EventContext eventContext) {
-		barriedEvents.add(eventContext);		
+	/**
+	 * Bars the specified event till the context is resumed.
+	 * 
+	 * @param eventContext
+	 * @return false if the context was resumed, which is signaled by the
+	 *         removal of the barred events queue, and the event was not
+	 *         barred
+	 */
+	public synchronized boolean barrierEvent(EventContext eventContext) {
+		if (barriedEvents == null) {
+			return false;
+		}
+		barriedEvents.add(eventContext);
+		return true;
+	}
+	
+	/**
+	 * Signals the resume of the context, taking the events barred.
+	 * 
+	 * @return the events barred, null if the context was already resumed
+	 */
+	private synchronized LinkedList<EventContext> resumed() {
+		final LinkedList<EventContext> result = barriedEvents;
+		if (result != null) {
+			barriedEvents = null;
+			suspended = false;
+		}
+		return result;
 	}
 	
 	public boolean isSuspended() throws TransactionRequiredLocalException,
@@ -180,31 +212,39 @@ public class EventContextSuspensionHandler {
 	}
 	
 	/**
-	 * the real logic to resume the event context
+	 * the real logic to resume the event context, the resume is signaled to
+	 * the event router by running the activity's current routing task, which
+	 * is suspended, in the activity executor, thus it never blocks waiting
+	 * for the resume
 	 */
 	private void resume() {
 
 		// create runnable to resume the event context
 		Runnable runnable = new Runnable() {
 			public void run() {
-				if (scheduledFuture == null) {
+				final LinkedList<EventContext> events = resumed();
+				if (events == null) {
 					// already resumed
 					return;
 				}
-				// cancel timer task
-				scheduledFuture.cancel(false);
-				scheduledFuture = null;
+				// cancel timer task, if a concurrent suspension action did
+				// not schedule it yet, it will do nothing once it runs
+				final ScheduledFuture<?> future = scheduledFuture;
+				if (future != null) {
+					future.cancel(false);
+					scheduledFuture = null;
+				}
 				// send events frozen to event router again, will be processed only after this one ends (this one is already being executed)
-				for (EventContext ec : barriedEvents) {
+				for (EventContext ec : events) {
 					ec.getLocalActivityContext().getExecutorService().routeEvent(ec);
 				}
-				barriedEvents = null;
 				// remove barrier on activity event queue
 				event.getLocalActivityContext().getEventQueueManager().removeBarrier(transaction);
-				// remove suspension
-				suspended = false;
 				// continue routing the event related with this context
-				event.getLocalActivityContext().getCurrentEventRoutingTask().run();				
+				final EventRoutingTask routingTask = event.getLocalActivityContext().getCurrentEventRoutingTask();
+				if (routingTask != null && routingTask.getEventContext() == event) {
+					routingTask.run();
+				}
 			}
 		};
 		// run it using the activity executor service to avoid thread concurrency
@@ -242,16 +282,18 @@ public class EventContextSuspensionHandler {
 				transactionalAction = null;
 				switch (op) {
 				case suspend:
-					suspended = true;		
 					transaction = tx;
 					// put a barrier in the event queue manager for this activity, to
 					// freeze the event routing on this activity at that level
 					event.getLocalActivityContext().getEventQueueManager().createBarrier(tx);
-					// init queue to store events about to be routed (after this one),
-					// which may have passed the barrier
-					barriedEvents = new LinkedList<EventContext>();
-					// set state as suspended
-					suspended = true;
+					synchronized (EventContextSuspensionHandler.this) {
+						// init queue to store events about to be routed (after this one),
+						// which may have passed the barrier
+						barriedEvents = new LinkedList<EventContext>();
+						// set state as suspended, last so all state above is
+						// visible to who sees the context suspended
+						suspended = true;
+					}
 					// schedule task 
 					scheduledFuture = sleeContainer.getNonClusteredScheduler().schedule(new SuspensionTimerTask(),timeout,TimeUnit.MILLISECONDS);
 					break;
@@ -25,7 +25,7 @@
  */
 package org.mobicents.slee.container.event;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import org.mobicents.slee.container.activity.ActivityContextHandle;
 
@@ -36,7 +36,13 @@ import org.mobicents.slee.container.activity.ActivityContextHandle;
  */
 public class EventReferencesHandlerImpl implements ReferencesHandler {
 
-	private final AtomicInteger references = new AtomicInteger(0);
+	/**
+	 * updates the references field, avoiding an {@link java.util.concurrent.atomic.AtomicInteger} instance per event 
+	 */
+	private static final AtomicIntegerFieldUpdater<EventReferencesHandlerImpl> REFERENCES_UPDATER = AtomicIntegerFieldUpdater
+			.newUpdater(EventReferencesHandlerImpl.class, "references");
+
+	private volatile int references;
 	private EventContextImpl eventContext;
 	
 	/**
@@ -51,7 +57,7 @@ public class EventReferencesHandlerImpl implements ReferencesHandler {
 	 * @see org.mobicents.slee.container.event.EventReferencesHandler#add(org.mobicents.slee.container.activity.ActivityContextHandle)
 	 */
 	public void add(ActivityContextHandle ach) {
-		references.incrementAndGet();
+		REFERENCES_UPDATER.incrementAndGet(this);
 	}
 
 	/*
@@ -59,7 +65,7 @@ public class EventReferencesHandlerImpl implements ReferencesHandler {
 	 * @see org.mobicents.slee.container.event.EventReferencesHandler#remove(org.mobicents.slee.container.activity.ActivityContextHandle)
 	 */
 	public void remove(ActivityContextHandle ach) {
-		if (references.decrementAndGet() == 0) {
+		if (REFERENCES_UPDATER.decrementAndGet(this) == 0) {
 			eventContext.eventUnreferenced();
 		}
 	}
@@ -48,7 +48,7 @@ public abstract class LazyStoredEventContext implements EventContext {
 	 */
 	public EventContextHandle getEventContextHandle() {
 		if (handle == null) {
-			handle = new EventContextHandleImpl(factory.getSleeContainer().getUuidGenerator().createUUID());
+			handle = new EventContextHandleImpl(factory.getSleeContainer().getUuidGenerator().createBinaryUUID());
 			factory.getDataSource().addEventContext(handle, this);
 		}
 		return handle;
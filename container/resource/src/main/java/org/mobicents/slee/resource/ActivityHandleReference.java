@@ -25,6 +25,7 @@ package org.mobicents.slee.resource;
 import javax.slee.resource.ActivityHandle;
 
 import org.jgroups.Address;
+import org.mobicents.slee.container.MobicentsUUID;
 
 /**
  * A reference activity handle, which is used instead of the real handle when this one is not replicated.
@@ -34,10 +35,10 @@ import org.jgroups.Address;
 public class ActivityHandleReference implements ActivityHandle {
 	
 	private ActivityHandle reference;
-	private final String id;
+	private final MobicentsUUID id;
 	private final Address address;
 	
-	public ActivityHandleReference(ActivityHandle reference, Address address, String id) {
+	public ActivityHandleReference(ActivityHandle reference, Address address, MobicentsUUID id) {
 		this.reference = reference;
 		this.address = address;
 		this.id = id;
@@ -55,7 +56,7 @@ public class ActivityHandleReference implements ActivityHandle {
 		this.reference = reference;
 	}
 	
-	public String getId() {
+	public MobicentsUUID getId() {
 		return id;
 	}
 
@@ -22,7 +22,6 @@
 
 package org.mobicents.slee.resource;
 
-import java.rmi.dgc.VMID;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -35,6 +34,7 @@ import org.jboss.cache.Fqn;
 import org.jgroups.Address;
 import org.mobicents.cluster.MobicentsCluster;
 import org.mobicents.cluster.election.ClientLocalListenerElector;
+import org.mobicents.slee.container.MobicentsUUID;
 import org.mobicents.slee.container.activity.ActivityContext;
 import org.mobicents.slee.container.activity.ActivityContextFactory;
 import org.mobicents.slee.container.activity.ActivityContextHandle;
@@ -128,10 +128,10 @@ public class ActivityHandleReferenceFactory {
 	
 	private static class PendingId {
 		
-		private final String id;
+		private final MobicentsUUID id;
 		private final AtomicInteger txs = new AtomicInteger(1);
 		
-		public PendingId(String id) {
+		public PendingId(MobicentsUUID id) {
 			this.id = id;
 		}
 		
@@ -185,7 +185,7 @@ public class ActivityHandleReferenceFactory {
 			throw new ActivityAlreadyExistsException(handle.toString());
 		}
 		
-		String id = null;
+		MobicentsUUID id = null;
 		final TransactionContext txContext = getTxManager().getTransactionContext();
 		if (txContext != null) {
 			// check 1st in the tx
@@ -196,7 +196,7 @@ public class ActivityHandleReferenceFactory {
 				throw new ActivityAlreadyExistsException(handle.toString());
 			}
 			else {
-				id = new VMID().toString();
+				id = resourceManagement.getSleeContainer().getUuidGenerator().createBinaryUUID();
 				// a ref to generated ids are kept while tx exists, so concurrent invocations use the same id
 				final PendingId otherPendingId = pendingIds.putIfAbsent(handle, new PendingId(id));
 				if (otherPendingId != null) {
@@ -236,7 +236,7 @@ public class ActivityHandleReferenceFactory {
 			}
 		}
 		else {
-			reference = new ActivityHandleReference(handle, getLocalAddress(), new VMID().toString());
+			reference = new ActivityHandleReference(handle, getLocalAddress(), resourceManagement.getSleeContainer().getUuidGenerator().createBinaryUUID());
 			handle2ref.put(handle, reference);
 			ref2handle.put(reference, handle);
 		}
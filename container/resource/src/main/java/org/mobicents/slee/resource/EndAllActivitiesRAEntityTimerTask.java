@@ -29,10 +29,8 @@ import org.apache.log4j.Logger;
 import org.mobicents.slee.container.SleeContainer;
 import org.mobicents.slee.container.activity.ActivityContext;
 import org.mobicents.slee.container.activity.ActivityContextHandle;
-import org.mobicents.slee.container.activity.ActivityType;
 import org.mobicents.slee.container.event.EventContext;
 import org.mobicents.slee.container.eventrouter.EventRoutingTask;
-import org.mobicents.slee.container.resource.ResourceAdaptorActivityContextHandle;
 import org.mobicents.slee.container.resource.ResourceAdaptorEntity;
 import org.mobicents.slee.container.sbbentity.SbbEntityID;
 
@@ -64,33 +62,28 @@ public class EndAllActivitiesRAEntityTimerTask implements Runnable {
 		boolean noActivitiesFound = true;
 		for (ActivityContextHandle handle : sleeContainer
 				.getActivityContextFactory()
-				.getAllActivityContextsHandles()) {
-			if (handle.getActivityType() == ActivityType.RA) {
-				final ResourceAdaptorActivityContextHandle raHandle = (ResourceAdaptorActivityContextHandle) handle;
-				if (raHandle.getResourceAdaptorEntity().equals(raEntity)) {
-					noActivitiesFound = false;
-					try {
-						if (logger.isDebugEnabled()) {
-							logger.debug("Forcing the end of activity " + handle+" Pt.1");
-						}
-						ActivityContext ac = sleeContainer
-						.getActivityContextFactory()
-						.getActivityContext(handle);
-						if (ac != null) {
-							// if it has a suspended event context then resume it
-							EventRoutingTask routingTask = ac.getLocalActivityContext().getCurrentEventRoutingTask();
-							EventContext eventContext = routingTask != null ? routingTask.getEventContext() : null;
-							if (eventContext != null && eventContext.isSuspended()) {
-								eventContext.resumeDelivery();
-							}
-							// end activity
-							ac.endActivity();							
-						}
-					} catch (Exception e) {
-						if (logger.isDebugEnabled()) {
-							logger.debug("Failed to end activity " + handle+" Pt.1", e);
-						}
+				.getResourceAdaptorEntityActivityContextsHandles(raEntity.getName())) {
+			noActivitiesFound = false;
+			try {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Forcing the end of activity " + handle+" Pt.1");
+				}
+				ActivityContext ac = sleeContainer
+				.getActivityContextFactory()
+				.getActivityContext(handle);
+				if (ac != null) {
+					// if it has a suspended event context then resume it
+					EventRoutingTask routingTask = ac.getLocalActivityContext().getCurrentEventRoutingTask();
+					EventContext eventContext = routingTask != null ? routingTask.getEventContext() : null;
+					if (eventContext != null && eventContext.isSuspended()) {
+						eventContext.resumeDelivery();
 					}
+					// end activity
+					ac.endActivity();							
+				}
+			} catch (Exception e) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to end activity " + handle+" Pt.1", e);
 				}
 			}
 		}
@@ -108,29 +101,24 @@ public class EndAllActivitiesRAEntityTimerTask implements Runnable {
 			noActivitiesFound = true; 
 			for (ActivityContextHandle handle : sleeContainer
 					.getActivityContextFactory()
-					.getAllActivityContextsHandles()) {
-				if (handle.getActivityType() == ActivityType.RA) {
-					final ResourceAdaptorActivityContextHandle raHandle = (ResourceAdaptorActivityContextHandle) handle;
-					if (raHandle.getResourceAdaptorEntity().equals(raEntity)) {
-						noActivitiesFound = false;
-						try {
-							if (logger.isDebugEnabled()) {
-								logger.debug("Forcing the end of activity " + handle+" Pt.2");
-							}
-							ActivityContext ac = sleeContainer
-							.getActivityContextFactory()
-							.getActivityContext(handle);
-							if (ac != null) {
-								for(SbbEntityID sbbEntityId : ac.getSbbAttachmentSet()) {
-									ac.detachSbbEntity(sbbEntityId);
-								}
-								ac.activityEnded();							
-							}
-						} catch (Exception e) {
-							if (logger.isDebugEnabled()) {
-								logger.debug("Failed to end activity " + handle+" Pt.2", e);
-							}
+					.getResourceAdaptorEntityActivityContextsHandles(raEntity.getName())) {
+				noActivitiesFound = false;
+				try {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Forcing the end of activity " + handle+" Pt.2");
+					}
+					ActivityContext ac = sleeContainer
+					.getActivityContextFactory()
+					.getActivityContext(handle);
+					if (ac != null) {
+						for(SbbEntityID sbbEntityId : ac.getSbbAttachmentSet()) {
+							ac.detachSbbEntity(sbbEntityId);
 						}
+						ac.activityEnded();							
+					}
+				} catch (Exception e) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Failed to end activity " + handle+" Pt.2", e);
 					}
 				}
 			}
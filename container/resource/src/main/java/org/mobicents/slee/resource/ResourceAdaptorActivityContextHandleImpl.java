@@ -33,6 +33,7 @@ import javax.slee.resource.ActivityHandle;
 import javax.slee.resource.Marshaler;
 
 import org.jgroups.Address;
+import org.mobicents.slee.container.MobicentsUUID;
 import org.mobicents.slee.container.SleeContainer;
 import org.mobicents.slee.container.activity.ActivityType;
 import org.mobicents.slee.container.resource.ResourceAdaptorActivityContextHandle;
@@ -153,7 +154,7 @@ public class ResourceAdaptorActivityContextHandleImpl implements ResourceAdaptor
 		boolean handleReference = in.readBoolean();
 		if (handleReference) {
 			// a reference
-			activityHandle = new ActivityHandleReference(null, (Address) in.readObject(), in.readUTF());
+			activityHandle = new ActivityHandleReference(null, (Address) in.readObject(), MobicentsUUID.read(in));
 		} else {
 			final Marshaler marshaler = raEntity.getMarshaler();
 			if (marshaler != null) {
@@ -178,7 +179,7 @@ public class ResourceAdaptorActivityContextHandleImpl implements ResourceAdaptor
 			out.writeBoolean(true);
 			final ActivityHandleReference reference = (ActivityHandleReference) activityHandle;
 			out.writeObject(reference.getAddress());
-			out.writeUTF(reference.getId());
+			reference.getId().write(out);
 		}
 		else {
 			out.writeBoolean(false);
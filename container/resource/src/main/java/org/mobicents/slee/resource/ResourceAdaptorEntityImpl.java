@@ -25,6 +25,7 @@ package org.mobicents.slee.resource;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.slee.EventTypeID;
 import javax.slee.InvalidArgumentException;
@@ -51,12 +52,10 @@ import javax.slee.resource.ResourceAdaptorTypeID;
 import org.apache.log4j.Logger;
 import org.mobicents.slee.container.SleeContainer;
 import org.mobicents.slee.container.activity.ActivityContextHandle;
-import org.mobicents.slee.container.activity.ActivityType;
 import org.mobicents.slee.container.component.ra.ResourceAdaptorComponent;
 import org.mobicents.slee.container.component.ratype.ResourceAdaptorTypeComponent;
 import org.mobicents.slee.container.management.ResourceManagementImpl;
 import org.mobicents.slee.container.management.jmx.ResourceUsageMBean;
-import org.mobicents.slee.container.resource.ResourceAdaptorActivityContextHandle;
 import org.mobicents.slee.container.resource.ResourceAdaptorEntity;
 import org.mobicents.slee.container.resource.ResourceAdaptorObjectState;
 import org.mobicents.slee.resource.cluster.FaultTolerantResourceAdaptor;
@@ -133,6 +132,13 @@ public class ResourceAdaptorEntityImpl implements ResourceAdaptorEntity {
 	@SuppressWarnings("rawtypes")
 	private FaultTolerantResourceAdaptorContextImpl ftResourceAdaptorContext;
 	
+	/**
+	 * the AC handles of the entity's activities started in this node, cached
+	 * so the slee endpoint does not create a new handle for each operation on
+	 * an activity, null if the cache is not in local mode
+	 */
+	private final ConcurrentHashMap<ActivityHandle, ResourceAdaptorActivityContextHandleImpl> activityContextHandles;
+	
 	/**
 	 * Creates a new entity with the specified name, for the specified ra
 	 * component and with the provided entity config properties. The entity
@@ -158,6 +164,9 @@ public class ResourceAdaptorEntityImpl implements ResourceAdaptorEntity {
 		this.notificationSource = notificationSource;
 		this.usageMbean = usageMbean;
 		this.alarmFacility = sleeContainer.getAlarmManagement().newAlarmFacility(notificationSource);
+		this.activityContextHandles = sleeContainer.getCluster()
+				.getMobicentsCache().isLocalMode() ? new ConcurrentHashMap<ActivityHandle, ResourceAdaptorActivityContextHandleImpl>()
+				: null;
 		// create ra object
 		ClassLoader currentClassLoader = Thread.currentThread()
 				.getContextClassLoader();
@@ -448,16 +457,11 @@ public class ResourceAdaptorEntityImpl implements ResourceAdaptorEntity {
 		try {	
 			for (ActivityContextHandle handle : sleeContainer
 					.getActivityContextFactory()
-					.getAllActivityContextsHandles()) {
-				if (handle.getActivityType() == ActivityType.RA) {
-					ResourceAdaptorActivityContextHandle raHandle = (ResourceAdaptorActivityContextHandle) handle;
-					if (raHandle.getResourceAdaptorEntity().equals(this)) {
-						if (logger.isDebugEnabled()) {
-							logger.debug("RA entity "+name+" has (at least) activity "+handle.getActivityHandle());
-						}
-						return true;											
-					}
+					.getResourceAdaptorEntityActivityContextsHandles(name)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("RA entity "+name+" has (at least) activity "+handle.getActivityHandle());
 				}
+				return true;
 			}			
 		} catch (Throwable e) {
 			logger.error(e.getMessage(), e);
@@ -670,6 +674,7 @@ public class ResourceAdaptorEntityImpl implements ResourceAdaptorEntity {
 	 * @param activityFlags
 	 */
 	public void activityEnded(final ActivityHandle handle, int activityFlags) {
+		activityContextHandleRemoved(handle);
 		ActivityHandle ah = null;
 		if (handle instanceof ActivityHandleReference) {
 			// handle is a ref, derrefer and remove the ref
@@ -701,7 +706,49 @@ public class ResourceAdaptorEntityImpl implements ResourceAdaptorEntity {
 	 */
 	public ActivityContextHandle getActivityContextHandle(
 			ActivityHandle activityHandle) {
-		return new ResourceAdaptorActivityContextHandleImpl(this, activityHandle);
+		return getResourceAdaptorActivityContextHandle(activityHandle);
+	}
+	
+	/**
+	 * Retrieves the AC handle for the specified activity handle, reusing the
+	 * cached one if the activity was started in this node.
+	 * 
+	 * @param activityHandle
+	 * @return
+	 */
+	ResourceAdaptorActivityContextHandleImpl getResourceAdaptorActivityContextHandle(
+			ActivityHandle activityHandle) {
+		if (activityContextHandles != null) {
+			final ResourceAdaptorActivityContextHandleImpl ach = activityContextHandles
+					.get(activityHandle);
+			if (ach != null) {
+				return ach;
+			}
+		}
+		return new ResourceAdaptorActivityContextHandleImpl(this,
+				activityHandle);
+	}
+	
+	/**
+	 * Caches the specified AC handle, of an activity started in this node.
+	 * 
+	 * @param ach
+	 */
+	void activityContextHandleCreated(ResourceAdaptorActivityContextHandleImpl ach) {
+		if (activityContextHandles != null) {
+			activityContextHandles.put(ach.getActivityHandle(), ach);
+		}
+	}
+	
+	/**
+	 * Removes the AC handle cached for the specified activity handle.
+	 * 
+	 * @param activityHandle
+	 */
+	void activityContextHandleRemoved(ActivityHandle activityHandle) {
+		if (activityContextHandles != null) {
+			activityContextHandles.remove(activityHandle);
+		}
 	}
 	
 	/**
@@ -22,6 +22,9 @@
 
 package org.mobicents.slee.resource;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import javax.slee.Address;
 import javax.slee.SLEEException;
 import javax.slee.TransactionRequiredLocalException;
@@ -39,6 +42,7 @@ import javax.slee.resource.UnrecognizedActivityHandleException;
 import javax.transaction.SystemException;
 
 import org.apache.log4j.Logger;
+import org.mobicents.slee.EventBatch;
 import org.mobicents.slee.container.SleeContainer;
 import org.mobicents.slee.container.activity.ActivityContext;
 import org.mobicents.slee.container.activity.ActivityContextFactory;
@@ -49,6 +53,7 @@ import org.mobicents.slee.container.component.event.EventTypeComponent;
 import org.mobicents.slee.container.event.EventProcessingFailedCallback;
 import org.mobicents.slee.container.event.EventProcessingSucceedCallback;
 import org.mobicents.slee.container.event.EventUnreferencedCallback;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff;
 import org.mobicents.slee.container.resource.ResourceAdaptorObjectState;
 import org.mobicents.slee.container.resource.SleeEndpoint;
 import org.mobicents.slee.container.transaction.SleeTransaction;
@@ -67,6 +72,7 @@ public class SleeEndpointImpl implements SleeEndpoint {
 	private final SleeTransactionManager txManager;
 	private final ActivityContextFactory acFactory;
 	private final ComponentRepository componentRepository;
+	private final EventRouterExecutorHandoff executorHandoff;
 
 	private static Logger logger = Logger.getLogger(SleeEndpointImpl.class);
 
@@ -83,6 +89,7 @@ public class SleeEndpointImpl implements SleeEndpoint {
 		this.txManager = container.getTransactionManager();
 		this.acFactory = container.getActivityContextFactory();
 		this.componentRepository = container.getComponentRepository();
+		this.executorHandoff = container.getEventRouter().getExecutorHandoff();
 		this.raEntity = raEntity;
 		this.fireEventNotTransactedExecutor = new SleeEndpointFireEventNotTransactedExecutor(
 				container, this);
@@ -134,8 +141,8 @@ public class SleeEndpointImpl implements SleeEndpoint {
 				.getHandleReferenceFactory().getReferenceTransacted(handle)
 				: handle;
 
-		final ActivityContextHandle ach = new ResourceAdaptorActivityContextHandleImpl(
-				raEntity, ah);
+		final ActivityContextHandle ach = raEntity
+				.getResourceAdaptorActivityContextHandle(ah);
 
 		return acFactory.activityContextExists(ach);
 
@@ -290,6 +297,7 @@ public class SleeEndpointImpl implements SleeEndpoint {
 			int activityFlags, final SleeTransaction barrierTx) {
 
 		ActivityContext ac = null;
+		ResourceAdaptorActivityContextHandleImpl ach = null;
 		if (raEntity.getHandleReferenceFactory() != null
 				&& !ActivityFlags.hasSleeMayMarshal(activityFlags)) {
 			final ActivityHandleReference reference = raEntity
@@ -297,9 +305,9 @@ public class SleeEndpointImpl implements SleeEndpoint {
 							handle);
 			try {
 				// create activity context with ref instead
-				ac = acFactory.createActivityContext(
-						new ResourceAdaptorActivityContextHandleImpl(raEntity,
-								reference), activityFlags);				
+				ach = new ResourceAdaptorActivityContextHandleImpl(raEntity,
+						reference);
+				ac = acFactory.createActivityContext(ach, activityFlags);				
 			} catch (ActivityAlreadyExistsException e) {
 				throw e;
 			} catch (RuntimeException e) {
@@ -309,9 +317,20 @@ public class SleeEndpointImpl implements SleeEndpoint {
 			}
 		} else {
 			// create activity context
-			ac = acFactory.createActivityContext(
-					new ResourceAdaptorActivityContextHandleImpl(raEntity,
-							handle), activityFlags);			
+			ach = new ResourceAdaptorActivityContextHandleImpl(raEntity,
+					handle);
+			ac = acFactory.createActivityContext(ach, activityFlags);			
+		}
+		// cache the ac handle, for further operations on the activity
+		raEntity.activityContextHandleCreated(ach);
+		final TransactionContext txContext = txManager.getTransactionContext();
+		if (txContext != null) {
+			final ActivityHandle cachedHandle = ach.getActivityHandle();
+			txContext.getAfterRollbackActions().add(new TransactionalAction() {
+				public void execute() {
+					raEntity.activityContextHandleRemoved(cachedHandle);
+				}
+			});
 		}
 		// suspend activity if needed
 		if (barrierTx != null && ac != null) {
@@ -432,8 +451,8 @@ public class SleeEndpointImpl implements SleeEndpoint {
 	 */
 	void _endActivity(ActivityHandle handle, final SleeTransaction barrierTx)
 			throws UnrecognizedActivityHandleException {
-		final ActivityContextHandle ach = new ResourceAdaptorActivityContextHandleImpl(
-				raEntity, handle);
+		final ActivityContextHandle ach = raEntity
+				.getResourceAdaptorActivityContextHandle(handle);
 		// get ac
 		final ActivityContext ac = acFactory.getActivityContext(ach);
 		if (ac != null) {
@@ -686,6 +705,20 @@ public class SleeEndpointImpl implements SleeEndpoint {
 		if (eventType == null) {
 			throw new NullPointerException("eventType is null");
 		}
+
+		checkEventClass(checkEventType(eventType), event);
+	}
+
+	/**
+	 * Checks that events of the specified type can be fired.
+	 * 
+	 * @param eventType
+	 * @return the component of the event type
+	 * @throws IllegalEventException
+	 */
+	private EventTypeComponent checkEventType(FireableEventType eventType)
+			throws IllegalEventException {
+
 		final EventTypeComponent eventTypeComponent = componentRepository
 				.getComponentByID(eventType.getEventType());
 		if (eventTypeComponent == null) {
@@ -693,12 +726,6 @@ public class SleeEndpointImpl implements SleeEndpoint {
 					"event type not installed (more on SLEE 1.1 specs 15.14.8)");
 		}
 
-		if (!eventTypeComponent.getEventTypeClass().isAssignableFrom(
-				event.getClass())) {
-			throw new IllegalEventException(
-					"the class of the event object fired is not assignable to the event class of the event type (more on SLEE 1.1 specs 15.14.8) ");
-		}
-
 		if (eventType.getClass() != FireableEventTypeImpl.class) {
 			throw new IllegalEventException(
 					"unknown implementation of FireableEventType");
@@ -712,6 +739,167 @@ public class SleeEndpointImpl implements SleeEndpoint {
 							+ eventType.getEventType()
 							+ " does not belongs to any of the ra types implemented by the resource adaptor");
 		}
+		return eventTypeComponent;
+	}
+
+	/**
+	 * Checks that the event object is assignable to the event class of its
+	 * type.
+	 * 
+	 * @param eventTypeComponent
+	 * @param event
+	 * @throws IllegalEventException
+	 */
+	private void checkEventClass(EventTypeComponent eventTypeComponent,
+			Object event) throws IllegalEventException {
+		if (!eventTypeComponent.getEventTypeClass().isAssignableFrom(
+				event.getClass())) {
+			throw new IllegalEventException(
+					"the class of the event object fired is not assignable to the event class of the event type (more on SLEE 1.1 specs 15.14.8) ");
+		}
+	}
+
+	/**
+	 * Checks that the events of the specified batch can be fired. Each event
+	 * type is only checked once.
+	 * 
+	 * @param batch
+	 * @throws NullPointerException
+	 * @throws IllegalEventException
+	 */
+	private void checkFireEventsPreconditions(EventBatch batch)
+			throws NullPointerException, IllegalEventException {
+
+		if (batch == null)
+			throw new NullPointerException("batch is null");
+
+		FireableEventType lastEventType = null;
+		EventTypeComponent lastEventTypeComponent = null;
+		Map<FireableEventType, EventTypeComponent> eventTypeComponents = null;
+		for (int i = 0; i < batch.size(); i++) {
+			final Object event = batch.getEvent(i);
+			if (event == null)
+				throw new NullPointerException("event " + i + " is null");
+
+			if (batch.getActivityHandle(i) == null)
+				throw new NullPointerException("handle " + i + " is null");
+
+			final FireableEventType eventType = batch.getEventType(i);
+			if (eventType == null) {
+				throw new NullPointerException("eventType " + i + " is null");
+			}
+			if (eventType != lastEventType) {
+				// not the same type of the previous event, lookup the types
+				// already checked
+				EventTypeComponent eventTypeComponent = null;
+				if (eventTypeComponents == null) {
+					eventTypeComponents = new IdentityHashMap<FireableEventType, EventTypeComponent>();
+				} else {
+					eventTypeComponent = eventTypeComponents.get(eventType);
+				}
+				if (eventTypeComponent == null) {
+					eventTypeComponent = checkEventType(eventType);
+					eventTypeComponents.put(eventType, eventTypeComponent);
+				}
+				lastEventType = eventType;
+				lastEventTypeComponent = eventTypeComponent;
+			}
+			checkEventClass(lastEventTypeComponent, event);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.mobicents.slee.SleeEndpointExt#fireEvents(org.mobicents.slee.EventBatch)
+	 */
+	public Throwable[] fireEvents(EventBatch batch)
+			throws NullPointerException, IllegalEventException, SLEEException {
+
+		if (doTraceLogs) {
+			logger.trace("fireEvents( batch size = "
+					+ (batch == null ? null : batch.size()) + " )");
+		}
+
+		checkFireEventsPreconditions(batch);
+
+		Throwable[] failures = null;
+		// suspend the tx once for the whole batch
+		final SleeTransaction tx = fireEventNotTransactedExecutor
+				.suspendTransaction();
+		final boolean handoffBatchOpened = executorHandoff.openBatch();
+		try {
+			for (int i = 0; i < batch.size(); i++) {
+				final ActivityHandle handle = batch.getActivityHandle(i);
+				try {
+					// get ref handle if we are in cluster
+					final ActivityHandle refHandle = raEntity
+							.getHandleReferenceFactory() != null ? raEntity
+							.getHandleReferenceFactory().getReference(handle)
+							: handle;
+					_fireEvent(handle, refHandle, batch.getEventType(i), batch
+							.getEvent(i), batch.getAddress(i), batch
+							.getReceivableService(i), batch.getEventFlags(i),
+							tx);
+				} catch (Exception e) {
+					if (doTraceLogs) {
+						logger.trace("Failed to fire event " + i
+								+ " of batch", e);
+					}
+					if (failures == null) {
+						failures = new Throwable[batch.size()];
+					}
+					failures[i] = e;
+				}
+			}
+		} finally {
+			// hand off the events fired, then resume the tx
+			if (handoffBatchOpened) {
+				executorHandoff.closeBatch();
+			}
+			if (tx != null) {
+				fireEventNotTransactedExecutor.resumeTransaction(tx);
+			}
+		}
+		return failures;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.mobicents.slee.SleeEndpointExt#fireEventsTransacted(org.mobicents.slee.EventBatch)
+	 */
+	public void fireEventsTransacted(EventBatch batch)
+			throws NullPointerException, UnrecognizedActivityHandleException,
+			IllegalEventException, TransactionRequiredLocalException,
+			ActivityIsEndingException, FireEventException, SLEEException {
+
+		if (doTraceLogs) {
+			logger.trace("fireEventsTransacted( batch size = "
+					+ (batch == null ? null : batch.size()) + " )");
+		}
+
+		checkFireEventsPreconditions(batch);
+		txManager.mandateTransaction();
+
+		final boolean handoffBatchOpened = executorHandoff.openBatch();
+		try {
+			for (int i = 0; i < batch.size(); i++) {
+				final ActivityHandle handle = batch.getActivityHandle(i);
+				// get ref handle if we are in cluster
+				final ActivityHandle refHandle = raEntity
+						.getHandleReferenceFactory() != null ? raEntity
+						.getHandleReferenceFactory().getReferenceTransacted(
+								handle) : handle;
+				_fireEvent(handle, refHandle, batch.getEventType(i), batch
+						.getEvent(i), batch.getAddress(i), batch
+						.getReceivableService(i), batch.getEventFlags(i), null);
+			}
+		} finally {
+			if (handoffBatchOpened) {
+				executorHandoff.closeBatch();
+			}
+		}
 	}
 
 	/**
@@ -732,8 +920,8 @@ public class SleeEndpointImpl implements SleeEndpoint {
 			FireableEventType eventType, Object event, Address address,
 			ReceivableService receivableService, int eventFlags, final SleeTransaction barrierTx)
 			throws ActivityIsEndingException, SLEEException {
-		final ActivityContextHandle ach = new ResourceAdaptorActivityContextHandleImpl(
-				raEntity, refHandle);
+		final ActivityContextHandle ach = raEntity
+				.getResourceAdaptorActivityContextHandle(refHandle);
 		// get ac
 		final ActivityContext ac = acFactory.getActivityContext(ach);
 		if (ac == null) {
@@ -755,18 +943,28 @@ public class SleeEndpointImpl implements SleeEndpoint {
 				tc.getAfterCommitActions().add(action);
 				tc.getAfterRollbackActions().add(action);
 			}
-			final EventProcessingCallbacks callbacks = new EventProcessingCallbacks(
-					realHandle, eventType, event, address, receivableService,
-					eventFlags, raEntity);
-			final EventProcessingSucceedCallback succeedCallback = EventFlags
-					.hasRequestProcessingSuccessfulCallback(eventFlags) ? callbacks
-					: null;
-			final EventProcessingFailedCallback failedCallback = EventFlags
-					.hasRequestProcessingFailedCallback(eventFlags) ? callbacks
-					: null;
-			final EventUnreferencedCallback unreferencedCallback = EventFlags
-					.hasRequestEventReferenceReleasedCallback(eventFlags) ? callbacks
-					: null;
+			EventProcessingSucceedCallback succeedCallback = null;
+			EventProcessingFailedCallback failedCallback = null;
+			EventUnreferencedCallback unreferencedCallback = null;
+			// only create the callbacks if the ra requested any
+			if (EventFlags.hasRequestProcessingSuccessfulCallback(eventFlags)
+					|| EventFlags.hasRequestProcessingFailedCallback(eventFlags)
+					|| EventFlags
+							.hasRequestEventReferenceReleasedCallback(eventFlags)) {
+				final EventProcessingCallbacks callbacks = new EventProcessingCallbacks(
+						realHandle, eventType, event, address,
+						receivableService, eventFlags, raEntity);
+				if (EventFlags.hasRequestProcessingSuccessfulCallback(eventFlags)) {
+					succeedCallback = callbacks;
+				}
+				if (EventFlags.hasRequestProcessingFailedCallback(eventFlags)) {
+					failedCallback = callbacks;
+				}
+				if (EventFlags
+						.hasRequestEventReferenceReleasedCallback(eventFlags)) {
+					unreferencedCallback = callbacks;
+				}
+			}
 			ac.fireEvent(eventType.getEventType(), event, address,
 					receivableService == null ? null : receivableService
 							.getService(), succeedCallback, failedCallback,
@@ -824,8 +1022,8 @@ public class SleeEndpointImpl implements SleeEndpoint {
 				.getHandleReferenceFactory().getReferenceTransacted(handle)
 				: handle;
 
-		final ActivityContextHandle ach = new ResourceAdaptorActivityContextHandleImpl(
-				raEntity, ah);
+		final ActivityContextHandle ach = raEntity
+				.getResourceAdaptorActivityContextHandle(ah);
 
 		// get ac
 		final ActivityContext ac = acFactory.getActivityContext(ach);
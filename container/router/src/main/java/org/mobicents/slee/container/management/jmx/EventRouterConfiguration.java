@@ -39,6 +39,7 @@ public class EventRouterConfiguration implements
 
 	private Integer eventRouterThreads;
 	private String executorMapperClassName;
+	private String executorClassName;
 	private Boolean collectStats;
 	private boolean confirmSbbEntityAttachement;
 	
@@ -113,6 +114,28 @@ public class EventRouterConfiguration implements
 				
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterConfigurationMBean#getExecutorClassName()
+	 */
+	public String getExecutorClassName() {
+		return executorClassName;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterConfigurationMBean#setExecutorClassName(java.lang.String)
+	 */
+	public void setExecutorClassName(String className)
+			throws ClassNotFoundException {
+		Class.forName(className);
+		if (this.executorClassName != null) {
+			logger
+			.warn("Setting executorClassName property to "
+					+ className
+					+ ". If called with server running a stop and start is need to apply changes.");
+		}
+		this.executorClassName = className;
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -120,7 +143,8 @@ public class EventRouterConfiguration implements
 	public String toString() {
 		return "Event Router Executors: "
 			+ eventRouterThreads+", Collect Stats: "+collectStats+", Executor<->Activity Mapper Class: "
-			+ executorMapperClassName;
+			+ executorMapperClassName+", Executor Class: "
+			+ (executorClassName != null ? executorClassName : "default");
 	}
 }
 
@@ -76,6 +76,27 @@ public interface EventRouterConfigurationMBean {
 	public void setExecutorMapperClassName(String className)
 			throws ClassNotFoundException;
 
+	/**
+	 * Retrieves the class name of the event router executors.
+	 * 
+	 * @return null if the default executor is used
+	 */
+	public String getExecutorClassName();
+
+	/**
+	 * Sets the class name of the event router executors, which must provide a
+	 * public constructor with (boolean collectStats, SleeContainer
+	 * sleeContainer) as parameters.
+	 * 
+	 * Note that setting a different value for this method will only be
+	 * effective on server (re)start.
+	 * 
+	 * @param className
+	 * @throws ClassNotFoundException
+	 */
+	public void setExecutorClassName(String className)
+			throws ClassNotFoundException;
+
 	/**
 	 * 
 	 * @return
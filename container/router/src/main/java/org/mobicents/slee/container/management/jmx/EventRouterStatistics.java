@@ -108,6 +108,87 @@ public class EventRouterStatistics implements
 			throws ManagementException {
 		return getEventRouterStatistics().getAverageEventRoutingTime(executor,eventTypeID);
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterStatisticsMBean#getEventRoutingTimePercentile(javax.slee.EventTypeID, double)
+	 */
+	public long getEventRoutingTimePercentile(EventTypeID eventTypeID, double percentile)
+			throws ManagementException {
+		return getEventRouterStatistics().getEventRoutingTimePercentile(eventTypeID,percentile);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterStatisticsMBean#getEventRoutingTimePercentile(int, double)
+	 */
+	public long getEventRoutingTimePercentile(int executor, double percentile)
+			throws ManagementException {
+		return getEventRouterStatistics().getEventRoutingTimePercentile(executor,percentile);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterStatisticsMBean#getEventRoutingTimePercentile(int, javax.slee.EventTypeID, double)
+	 */
+	public long getEventRoutingTimePercentile(int executor, EventTypeID eventTypeID, double percentile)
+			throws ManagementException {
+		return getEventRouterStatistics().getEventRoutingTimePercentile(executor,eventTypeID,percentile);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterStatisticsMBean#getEventRoutingTimeP50(javax.slee.EventTypeID)
+	 */
+	public long getEventRoutingTimeP50(EventTypeID eventTypeID)
+			throws ManagementException {
+		return getEventRoutingTimePercentile(eventTypeID,50);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterStatisticsMBean#getEventRoutingTimeP99(javax.slee.EventTypeID)
+	 */
+	public long getEventRoutingTimeP99(EventTypeID eventTypeID)
+			throws ManagementException {
+		return getEventRoutingTimePercentile(eventTypeID,99);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterStatisticsMBean#getEventRoutingTimeP999(javax.slee.EventTypeID)
+	 */
+	public long getEventRoutingTimeP999(EventTypeID eventTypeID)
+			throws ManagementException {
+		return getEventRoutingTimePercentile(eventTypeID,99.9);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterStatisticsMBean#getEventRoutingTimeP50(int)
+	 */
+	public long getEventRoutingTimeP50(int executor)
+			throws ManagementException {
+		return getEventRoutingTimePercentile(executor,50);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterStatisticsMBean#getEventRoutingTimeP99(int)
+	 */
+	public long getEventRoutingTimeP99(int executor)
+			throws ManagementException {
+		return getEventRoutingTimePercentile(executor,99);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.EventRouterStatisticsMBean#getEventRoutingTimeP999(int)
+	 */
+	public long getEventRoutingTimeP999(int executor)
+			throws ManagementException {
+		return getEventRoutingTimePercentile(executor,99.9);
+	}
 	
 	/*
 	 * (non-Javadoc)
@@ -52,6 +52,42 @@ public interface EventRouterStatisticsMBean {
 	 * Return avg routing time for particular event type in specific executor.
 	 */
 	public long getAverageEventRoutingTime(int executor, EventTypeID eventTypeID) throws ManagementException;
+	/**
+	 * Return the percentile (e.g. 99.9) of routing time of particular event type. This includes routing in all executors.
+	 */
+	public long getEventRoutingTimePercentile(EventTypeID eventTypeID, double percentile) throws ManagementException;
+	/**
+	 * Return the percentile (e.g. 99.9) of routing time for executor with passed index.
+	 */
+	public long getEventRoutingTimePercentile(int executor, double percentile) throws ManagementException;
+	/**
+	 * Return the percentile (e.g. 99.9) of routing time for particular event type in specific executor.
+	 */
+	public long getEventRoutingTimePercentile(int executor, EventTypeID eventTypeID, double percentile) throws ManagementException;
+	/**
+	 * Return the median routing time of particular event type. This includes routing in all executors.
+	 */
+	public long getEventRoutingTimeP50(EventTypeID eventTypeID) throws ManagementException;
+	/**
+	 * Return the 99th percentile of routing time of particular event type. This includes routing in all executors.
+	 */
+	public long getEventRoutingTimeP99(EventTypeID eventTypeID) throws ManagementException;
+	/**
+	 * Return the 99.9th percentile of routing time of particular event type. This includes routing in all executors.
+	 */
+	public long getEventRoutingTimeP999(EventTypeID eventTypeID) throws ManagementException;
+	/**
+	 * Return the median routing time for executor with passed index.
+	 */
+	public long getEventRoutingTimeP50(int executor) throws ManagementException;
+	/**
+	 * Return the 99th percentile of routing time for executor with passed index.
+	 */
+	public long getEventRoutingTimeP99(int executor) throws ManagementException;
+	/**
+	 * Return the 99.9th percentile of routing time for executor with passed index.
+	 */
+	public long getEventRoutingTimeP999(int executor) throws ManagementException;
 	/**
 	 * Return number of events routed of this event type.
 	 */
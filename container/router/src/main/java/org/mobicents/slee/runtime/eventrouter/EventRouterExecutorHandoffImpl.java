@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutor;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff;
+
+/**
+ * Implementation of the {@link EventRouterExecutorHandoff}, with the batch of
+ * each thread in a thread local owned by the event router.
+ */
+public class EventRouterExecutorHandoffImpl implements
+		EventRouterExecutorHandoff {
+
+	private static final Logger logger = Logger
+			.getLogger(EventRouterExecutorHandoffImpl.class);
+
+	private final ThreadLocal<Map<EventRouterExecutor, List<Runnable>>> batch = new ThreadLocal<Map<EventRouterExecutor, List<Runnable>>>();
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff#openBatch()
+	 */
+	public boolean openBatch() {
+		if (batch.get() != null) {
+			return false;
+		}
+		batch.set(new IdentityHashMap<EventRouterExecutor, List<Runnable>>(4));
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff#closeBatch()
+	 */
+	public void closeBatch() {
+		final Map<EventRouterExecutor, List<Runnable>> tasks = batch.get();
+		if (tasks == null) {
+			return;
+		}
+		batch.remove();
+		for (Iterator<Map.Entry<EventRouterExecutor, List<Runnable>>> it = tasks
+				.entrySet().iterator(); it.hasNext();) {
+			final Map.Entry<EventRouterExecutor, List<Runnable>> entry = it
+					.next();
+			final List<Runnable> group = entry.getValue();
+			if (group.size() == 1) {
+				entry.getKey().execute(group.get(0));
+			} else {
+				entry.getKey().execute(new TaskGroup(group));
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff#execute(org.mobicents.slee.container.eventrouter.EventRouterExecutor, java.lang.Runnable)
+	 */
+	public void execute(EventRouterExecutor executor, Runnable task) {
+		final Map<EventRouterExecutor, List<Runnable>> tasks = batch.get();
+		if (tasks == null) {
+			executor.execute(task);
+			return;
+		}
+		List<Runnable> group = tasks.get(executor);
+		if (group == null) {
+			group = new ArrayList<Runnable>();
+			tasks.put(executor, group);
+		}
+		group.add(task);
+	}
+
+	/**
+	 * A group of tasks handed off as a single task.
+	 */
+	private static class TaskGroup implements Runnable {
+
+		private final List<Runnable> tasks;
+
+		TaskGroup(List<Runnable> tasks) {
+			this.tasks = tasks;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Runnable#run()
+		 */
+		public void run() {
+			for (Runnable task : tasks) {
+				try {
+					task.run();
+				} catch (Throwable e) {
+					// keep executing the group, as if each task was handed
+					// off on its own
+					logger.error("Failure executing " + task, e);
+				}
+			}
+		}
+	}
+
+}
@@ -60,9 +60,9 @@ public class EventRouterExecutorImpl implements EventRouterExecutor {
 	 */
 	private class EventRoutingTaskStatsCollector implements Runnable {
 
-		private final EventRoutingTask eventRoutingTask;
+		private final EventRoutingTaskImpl eventRoutingTask;
 
-		public EventRoutingTaskStatsCollector(EventRoutingTask eventRoutingTask) {
+		public EventRoutingTaskStatsCollector(EventRoutingTaskImpl eventRoutingTask) {
 			this.eventRoutingTask = eventRoutingTask;
 		}
 
@@ -74,9 +74,9 @@ public class EventRouterExecutorImpl implements EventRouterExecutor {
 		public void run() {
 			final long startTime = System.nanoTime();
 			eventRoutingTask.run();
-			stats.eventRouted(eventRoutingTask.getEventContext().getEventTypeId(), System
-					.nanoTime()
-					- startTime);
+			stats.eventRouted(eventRoutingTask.getEventContext().getEventTypeId(),
+					eventRoutingTask.getEventTypeComponent(), System.nanoTime()
+							- startTime);
 		}
 	}
 
@@ -114,7 +114,10 @@ public class EventRouterExecutorImpl implements EventRouterExecutor {
 		this.executor = new ThreadPoolExecutor(1, 1,
                         0L, TimeUnit.MILLISECONDS,
                         executorQueue);
-		stats = collectStats ? new EventRouterExecutorStatisticsImpl(Collections.unmodifiableCollection(executorQueue)) : null;
+		stats = collectStats ? new EventRouterExecutorStatisticsImpl(
+				Collections.unmodifiableCollection(executorQueue),
+				((EventRouterImpl) sleeContainer.getEventRouter())
+						.getEventTypeStatisticsIndex()) : null;
 		this.sleeContainer = sleeContainer;
 	}
 
@@ -196,4 +199,16 @@ public class EventRouterExecutorImpl implements EventRouterExecutor {
 		}
 	}
 
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#routeEventNow(org.mobicents.slee.container.event.EventContext)
+	 */
+	public void routeEventNow(EventContext event) {
+		final EventRoutingTaskImpl eventRoutingTask = new EventRoutingTaskImpl(event,sleeContainer);
+		if (stats == null) {
+			eventRoutingTask.run();
+		} else {
+			new EventRoutingTaskStatsCollector(eventRoutingTask).run();
+		}
+	}
+
 }
@@ -22,14 +22,25 @@
 
 package org.mobicents.slee.runtime.eventrouter;
 
+import java.lang.reflect.Constructor;
+
+import javax.slee.EventTypeID;
+import javax.slee.ServiceID;
+
 import org.apache.log4j.Logger;
+import org.mobicents.slee.container.SleeContainer;
 import org.mobicents.slee.container.AbstractSleeContainerModule;
+import org.mobicents.slee.container.component.event.EventTypeComponent;
 import org.mobicents.slee.container.eventrouter.EventRouter;
 import org.mobicents.slee.container.eventrouter.EventRouterExecutor;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff;
 import org.mobicents.slee.container.eventrouter.EventRouterExecutorMapper;
+import org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatistics;
 import org.mobicents.slee.container.eventrouter.stats.EventRouterStatistics;
 import org.mobicents.slee.container.management.jmx.EventRouterConfiguration;
+import org.mobicents.slee.runtime.eventrouter.routingtask.EventRoutingTaskImpl;
 import org.mobicents.slee.runtime.eventrouter.stats.EventRouterStatisticsImpl;
+import org.mobicents.slee.runtime.eventrouter.stats.EventTypeStatisticsIndex;
 
 /**
  * 
@@ -55,6 +66,17 @@ public class EventRouterImpl extends AbstractSleeContainerModule implements Even
 	 */
 	private EventRouterStatistics statistics;
 	
+	/**
+	 * Groups the tasks submitted to the executors by threads firing batches.
+	 */
+	private final EventRouterExecutorHandoff executorHandoff = new EventRouterExecutorHandoffImpl();
+	
+	/**
+	 * Assigns the indexes of the installed event types in the executors stats,
+	 * kept across executors re-creation.
+	 */
+	private final EventTypeStatisticsIndex eventTypeStatisticsIndex = new EventTypeStatisticsIndex();
+	
 	private final EventRouterConfiguration configuration;
 	
 	/**
@@ -80,9 +102,24 @@ public class EventRouterImpl extends AbstractSleeContainerModule implements Even
 		}
 		// create new ones
 		this.executors = new EventRouterExecutor[configuration.getEventRouterThreads()];
-		for (int i = 0; i < configuration.getEventRouterThreads(); i++) {
-			this.executors[i] = new EventRouterExecutorImpl(configuration.isCollectStats(),sleeContainer);
-		}	
+		if (configuration.getExecutorClassName() == null) {
+			for (int i = 0; i < configuration.getEventRouterThreads(); i++) {
+				this.executors[i] = new EventRouterExecutorImpl(configuration.isCollectStats(),sleeContainer);
+			}
+		}
+		else {
+			try {
+				Constructor<? extends EventRouterExecutor> executorConstructor = Class
+						.forName(configuration.getExecutorClassName())
+						.asSubclass(EventRouterExecutor.class).getConstructor(
+								boolean.class, SleeContainer.class);
+				for (int i = 0; i < configuration.getEventRouterThreads(); i++) {
+					this.executors[i] = executorConstructor.newInstance(configuration.isCollectStats(),sleeContainer);
+				}
+			} catch (Throwable e) {
+				throw new IllegalStateException("Unable to create event router executor class instance",e);
+			}
+		}
 		// create mapper
 		try {
 			Class<?> executorMapperClass = Class.forName(configuration.getExecutorMapperClassName());
@@ -122,6 +159,54 @@ public class EventRouterImpl extends AbstractSleeContainerModule implements Even
 		return executorMapper;
 	}
 
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouter#getExecutorHandoff()
+	 */
+	public EventRouterExecutorHandoff getExecutorHandoff() {
+		return executorHandoff;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouter#serviceInactive(javax.slee.ServiceID)
+	 */
+	public void serviceInactive(ServiceID serviceID) {
+		EventRoutingTaskImpl.serviceInactive(serviceID);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouter#eventTypeInstalled(org.mobicents.slee.container.component.event.EventTypeComponent)
+	 */
+	public void eventTypeInstalled(EventTypeComponent eventTypeComponent) {
+		eventTypeStatisticsIndex.add(eventTypeComponent);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouter#eventTypeUninstalled(org.mobicents.slee.container.component.event.EventTypeComponent)
+	 */
+	public void eventTypeUninstalled(EventTypeComponent eventTypeComponent) {
+		final EventTypeID eventTypeID = eventTypeComponent.getEventTypeID();
+		final EventRouterExecutor[] executors = this.executors;
+		if (executors != null) {
+			for (EventRouterExecutor executor : executors) {
+				final EventRouterExecutorStatistics executorStats = executor.getStatistics();
+				if (executorStats != null) {
+					executorStats.removeEventTypeRoutingStatistics(eventTypeID);
+				}
+			}
+		}
+		eventTypeStatisticsIndex.remove(eventTypeComponent);
+	}
+
+	/**
+	 * Retrieves the index of the installed event types, used by the executors
+	 * stats.
+	 * 
+	 * @return
+	 */
+	public EventTypeStatisticsIndex getEventTypeStatisticsIndex() {
+		return eventTypeStatisticsIndex;
+	}
+
 	public EventRouterConfiguration getConfiguration() {
 		return configuration;
 	}	
@@ -0,0 +1,162 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock free, multiple producers single consumer ring buffer. Each
+ * slot has a sequence, which tells producers if the slot is free for the
+ * position they claimed, and the consumer if the slot was published for the
+ * position it reads.
+ * 
+ * Only {@link #offer(Object)} and {@link #size()} may be used concurrently,
+ * all other methods must be invoked by the single consumer thread.
+ */
+class MpscRingBuffer {
+
+	private final int capacity;
+
+	private final int mask;
+
+	private final AtomicReferenceArray<Object> elements;
+
+	private final AtomicLongArray sequences;
+
+	/**
+	 * the next position to be claimed by producers
+	 */
+	private final AtomicLong tail = new AtomicLong(0L);
+
+	/**
+	 * the next position to be read by the consumer, only accessed by the
+	 * consumer
+	 */
+	private long head = 0L;
+
+	/**
+	 * the head, as seen by other threads
+	 */
+	private final AtomicLong publishedHead = new AtomicLong(0L);
+
+	/**
+	 * 
+	 * @param capacity
+	 *            rounded up to the next power of two
+	 */
+	MpscRingBuffer(int capacity) {
+		int actualCapacity = 1;
+		while (actualCapacity < capacity) {
+			actualCapacity <<= 1;
+		}
+		this.capacity = actualCapacity;
+		this.mask = actualCapacity - 1;
+		this.elements = new AtomicReferenceArray<Object>(actualCapacity);
+		this.sequences = new AtomicLongArray(actualCapacity);
+		for (int i = 0; i < actualCapacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Inserts the specified element, if there is space.
+	 * 
+	 * @param element
+	 * @return false if the ring buffer is full
+	 */
+	boolean offer(Object element) {
+		long position = tail.get();
+		int index;
+		long difference;
+		while (true) {
+			index = (int) position & mask;
+			difference = sequences.get(index) - position;
+			if (difference == 0L) {
+				// slot free for this position, try to claim it
+				if (tail.compareAndSet(position, position + 1)) {
+					break;
+				}
+				position = tail.get();
+			} else if (difference < 0L) {
+				// slot still holds an element of the previous lap
+				return false;
+			} else {
+				// another producer claimed the position
+				position = tail.get();
+			}
+		}
+		elements.lazySet(index, element);
+		// a full fence, so the consumer wake up flag may be read right after
+		sequences.set(index, position + 1);
+		return true;
+	}
+
+	/**
+	 * Moves the published elements to the specified array, up to its length.
+	 * 
+	 * @param batch
+	 * @return the number of elements drained
+	 */
+	int drain(Object[] batch) {
+		int count = 0;
+		int index;
+		while (count < batch.length) {
+			index = (int) head & mask;
+			if (sequences.get(index) != head + 1) {
+				// nothing published for this position
+				break;
+			}
+			batch[count++] = elements.get(index);
+			elements.lazySet(index, null);
+			// frees the slot for next lap
+			sequences.lazySet(index, head + capacity);
+			head++;
+		}
+		if (count > 0) {
+			publishedHead.lazySet(head);
+		}
+		return count;
+	}
+
+	/**
+	 * Indicates if there is no published element to be drained.
+	 * 
+	 * @return
+	 */
+	boolean isEmpty() {
+		return sequences.get((int) head & mask) != head + 1;
+	}
+
+	/**
+	 * Retrieves the approximate number of elements in the ring buffer.
+	 * 
+	 * @return
+	 */
+	int size() {
+		final long size = tail.get() - publishedHead.get();
+		return size < 0L ? 0 : (int) Math.min(size, capacity);
+	}
+
+}
@@ -0,0 +1,319 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.log4j.Logger;
+import org.mobicents.slee.container.SleeContainer;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.event.EventContext;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutor;
+import org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatistics;
+import org.mobicents.slee.runtime.eventrouter.routingtask.EventRoutingTaskImpl;
+import org.mobicents.slee.runtime.eventrouter.stats.EventRouterExecutorStatisticsImpl;
+
+/**
+ * An {@link EventRouterExecutor} which queues work in a lock free
+ * {@link MpscRingBuffer}, consumed by a single thread which drains the queued
+ * work in batches, and reuses {@link EventRoutingTaskImpl} instances. Events to
+ * route are queued as is, so routing an event does not allocate objects in the
+ * thread requesting it.
+ * 
+ * If the ring buffer is full, work is queued in an unbounded overflow queue,
+ * which is only drained when the ring buffer is empty, and until it is empty
+ * all new work goes to the overflow queue too, which preserves FIFO order. Note
+ * that most events are routed by the executor's own thread, thus blocking
+ * producers when full is not an option.
+ */
+public class RingBufferEventRouterExecutor implements EventRouterExecutor {
+
+	private static final Logger logger = Logger
+			.getLogger(RingBufferEventRouterExecutor.class);
+
+	/**
+	 * the ring buffer capacity
+	 */
+	private static final int RING_BUFFER_CAPACITY = 8192;
+
+	/**
+	 * the max number of tasks drained at once
+	 */
+	private static final int BATCH_SIZE = 64;
+
+	/**
+	 * how many times the consumer thread yields, when there is no work, before
+	 * parking
+	 */
+	private static final int IDLE_SPINS = 64;
+
+	/**
+	 * the max number of idle routing tasks kept for reuse
+	 */
+	private static final int MAX_IDLE_ROUTING_TASKS = 16;
+
+	private static final AtomicInteger threadNumber = new AtomicInteger(0);
+
+	private final MpscRingBuffer ringBuffer = new MpscRingBuffer(
+			RING_BUFFER_CAPACITY);
+
+	private final ConcurrentLinkedQueue<Object> overflowQueue = new ConcurrentLinkedQueue<Object>();
+
+	/**
+	 * routing tasks which may be reused, only accessed by the consumer thread
+	 */
+	private final ArrayDeque<EventRoutingTaskImpl> idleRoutingTasks = new ArrayDeque<EventRoutingTaskImpl>(
+			MAX_IDLE_ROUTING_TASKS);
+
+	private final Thread thread;
+
+	private volatile boolean parked;
+
+	private volatile boolean shutdown;
+
+	private final EventRouterExecutorStatisticsImpl stats;
+
+	private final SleeContainer sleeContainer;
+
+	/**
+	 * 
+	 * @param collectStats
+	 * @param sleeContainer
+	 */
+	public RingBufferEventRouterExecutor(boolean collectStats,
+			SleeContainer sleeContainer) {
+		this.sleeContainer = sleeContainer;
+		this.stats = collectStats ? new EventRouterExecutorStatisticsImpl(null,
+				((EventRouterImpl) sleeContainer.getEventRouter())
+						.getEventTypeStatisticsIndex()) {
+			@Override
+			public int getWorkingQueueSize() {
+				return ringBuffer.size() + overflowQueue.size();
+			}
+		} : null;
+		this.thread = new Thread(new Consumer(),
+				"SLEE-RingBufferEventRouterExecutor-"
+						+ threadNumber.incrementAndGet());
+		this.thread.start();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#getStatistics()
+	 */
+	public EventRouterExecutorStatistics getStatistics() {
+		return stats;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#shutdown()
+	 */
+	public void shutdown() {
+		shutdown = true;
+		LockSupport.unpark(thread);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#execute(java.lang.Runnable)
+	 */
+	public void execute(Runnable task) {
+		enqueue(task);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#executeNow(java.lang.Runnable)
+	 */
+	public void executeNow(Runnable task) throws InterruptedException,
+			ExecutionException {
+		final FutureTask<Object> futureTask = new FutureTask<Object>(task,
+				null);
+		enqueue(futureTask);
+		futureTask.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#activityMapped(org.mobicents.slee.container.activity.ActivityContextHandle)
+	 */
+	public void activityMapped(ActivityContextHandle ach) {
+		if (stats != null) {
+			stats.activityMapped(ach);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#activityUnmapped(org.mobicents.slee.container.activity.ActivityContextHandle)
+	 */
+	public void activityUnmapped(ActivityContextHandle ach) {
+		if (stats != null) {
+			stats.activityUnmapped(ach);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#routeEvent(org.mobicents.slee.container.event.EventContext)
+	 */
+	public void routeEvent(EventContext event) {
+		enqueue(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#routeEventNow(org.mobicents.slee.container.event.EventContext)
+	 */
+	public void routeEventNow(EventContext event) {
+		route(event);
+	}
+
+	/**
+	 * Routes an event, reusing an idle routing task if possible. Only invoked
+	 * by the consumer thread.
+	 * 
+	 * @param eventContext
+	 */
+	private void route(EventContext eventContext) {
+		EventRoutingTaskImpl routingTask = idleRoutingTasks.poll();
+		if (routingTask == null) {
+			routingTask = new EventRoutingTaskImpl(sleeContainer);
+		}
+		routingTask.reset(eventContext);
+		if (stats == null) {
+			routingTask.run();
+		} else {
+			final long startTime = System.nanoTime();
+			routingTask.run();
+			stats.eventRouted(eventContext.getEventTypeId(), routingTask
+					.getEventTypeComponent(), System.nanoTime() - startTime);
+		}
+		if (!routingTask.isRoutingPending()) {
+			// done with the task, may be reused
+			routingTask.reset(null);
+			if (idleRoutingTasks.size() < MAX_IDLE_ROUTING_TASKS) {
+				idleRoutingTasks.offer(routingTask);
+			}
+		}
+	}
+
+	/**
+	 * Queues a {@link Runnable} or an {@link EventContext} to route.
+	 * 
+	 * @param work
+	 */
+	private void enqueue(Object work) {
+		if (shutdown) {
+			throw new RejectedExecutionException("executor is shutdown");
+		}
+		if (!overflowQueue.isEmpty() || !ringBuffer.offer(work)) {
+			overflowQueue.offer(work);
+		}
+		if (parked) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	/**
+	 * The logic of the executor's thread.
+	 */
+	private class Consumer implements Runnable {
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		public void run() {
+			final Object[] batch = new Object[BATCH_SIZE];
+			int idleSpins = 0;
+			int drained;
+			while (true) {
+				drained = ringBuffer.drain(batch);
+				if (drained == 0) {
+					drained = drainOverflowQueue(batch);
+				}
+				if (drained > 0) {
+					idleSpins = 0;
+					for (int i = 0; i < drained; i++) {
+						process(batch[i]);
+						batch[i] = null;
+					}
+					continue;
+				}
+				if (shutdown) {
+					// all queued work done
+					break;
+				}
+				if (idleSpins < IDLE_SPINS) {
+					idleSpins++;
+					Thread.yield();
+					continue;
+				}
+				parked = true;
+				if (ringBuffer.isEmpty() && overflowQueue.isEmpty()
+						&& !shutdown) {
+					LockSupport.park(this);
+				}
+				parked = false;
+				idleSpins = 0;
+			}
+		}
+
+		private int drainOverflowQueue(Object[] batch) {
+			int count = 0;
+			Object work;
+			while (count < batch.length
+					&& (work = overflowQueue.poll()) != null) {
+				batch[count++] = work;
+			}
+			return count;
+		}
+
+		private void process(Object work) {
+			try {
+				if (work instanceof EventContext) {
+					route((EventContext) work);
+				} else {
+					if (stats == null) {
+						((Runnable) work).run();
+					} else {
+						final long startTime = System.nanoTime();
+						((Runnable) work).run();
+						stats.miscTaskExecuted(System.nanoTime() - startTime);
+					}
+				}
+			} catch (Throwable e) {
+				logger.error("Failure executing " + work, e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,214 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.event.EventContext;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutor;
+import org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatistics;
+import org.mobicents.slee.runtime.eventrouter.stats.EventRouterExecutorStatisticsImpl;
+
+/**
+ * The FIFO queue of an activity, owned by a
+ * {@link WorkStealingEventRouterExecutor}, which may change if another
+ * executor steals it. The queue is scheduled in at most one executor at a
+ * time, which ensures the activity's work is serialized.
+ */
+class WorkStealingActivityExecutor implements EventRouterExecutor {
+
+	/**
+	 * the max number of tasks processed each time the queue is scheduled,
+	 * before going back to the end of the owner's ready queue
+	 */
+	private static final int BATCH_SIZE = 32;
+
+	private final ActivityContextHandle ach;
+
+	private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<Object>();
+
+	private final AtomicInteger queueSize = new AtomicInteger(0);
+
+	/**
+	 * true if the queue is in an executor's ready queue or being processed
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+	private volatile WorkStealingEventRouterExecutor owner;
+
+	private volatile boolean mapped;
+
+	/**
+	 * 
+	 * @param ach
+	 *            null for the queue of misc tasks of an executor
+	 * @param owner
+	 */
+	WorkStealingActivityExecutor(ActivityContextHandle ach,
+			WorkStealingEventRouterExecutor owner) {
+		this.ach = ach;
+		this.owner = owner;
+	}
+
+	int getQueueSize() {
+		return queueSize.get();
+	}
+
+	/**
+	 * Changes the owner, invoked by the thief after stealing the queue.
+	 * 
+	 * @param newOwner
+	 */
+	void setOwner(WorkStealingEventRouterExecutor newOwner) {
+		final WorkStealingEventRouterExecutor oldOwner = this.owner;
+		this.owner = newOwner;
+		if (mapped) {
+			final EventRouterExecutorStatisticsImpl oldStats = oldOwner
+					.getStatisticsImpl();
+			if (oldStats != null) {
+				oldStats.activityUnmapped(ach);
+			}
+			final EventRouterExecutorStatisticsImpl newStats = newOwner
+					.getStatisticsImpl();
+			if (newStats != null) {
+				newStats.activityMapped(ach);
+			}
+		}
+	}
+
+	private void enqueue(Object work) {
+		final WorkStealingEventRouterExecutor owner = this.owner;
+		if (owner.isShutdown()) {
+			throw new RejectedExecutionException("executor is shutdown");
+		}
+		queue.offer(work);
+		queueSize.incrementAndGet();
+		if (scheduled.compareAndSet(false, true)) {
+			owner.schedule(this);
+		}
+	}
+
+	/**
+	 * Processes queued work, invoked by the owner's thread.
+	 * 
+	 * @param executor
+	 */
+	void processBatch(WorkStealingEventRouterExecutor executor) {
+		Object work;
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			work = queue.poll();
+			if (work == null) {
+				break;
+			}
+			queueSize.decrementAndGet();
+			executor.process(work);
+		}
+		scheduled.set(false);
+		// work may have been queued after last poll, but not scheduled
+		if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+			executor.schedule(this);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#execute(java.lang.Runnable)
+	 */
+	public void execute(Runnable task) {
+		enqueue(task);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#executeNow(java.lang.Runnable)
+	 */
+	public void executeNow(Runnable task) throws InterruptedException,
+			ExecutionException {
+		final FutureTask<Object> futureTask = new FutureTask<Object>(task,
+				null);
+		enqueue(futureTask);
+		futureTask.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#routeEvent(org.mobicents.slee.container.event.EventContext)
+	 */
+	public void routeEvent(EventContext event) {
+		enqueue(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#routeEventNow(org.mobicents.slee.container.event.EventContext)
+	 */
+	public void routeEventNow(EventContext event) {
+		owner.process(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#activityMapped(org.mobicents.slee.container.activity.ActivityContextHandle)
+	 */
+	public void activityMapped(ActivityContextHandle ach) {
+		mapped = true;
+		owner.activityMapped(ach);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#activityUnmapped(org.mobicents.slee.container.activity.ActivityContextHandle)
+	 */
+	public void activityUnmapped(ActivityContextHandle ach) {
+		mapped = false;
+		owner.activityUnmapped(ach);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#getStatistics()
+	 */
+	public EventRouterExecutorStatistics getStatistics() {
+		return owner.getStatistics();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#shutdown()
+	 */
+	public void shutdown() {
+		// the activity queue is shutdown with its owner
+	}
+
+	@Override
+	public String toString() {
+		return "WorkStealingActivityExecutor[" + ach + "]";
+	}
+
+}
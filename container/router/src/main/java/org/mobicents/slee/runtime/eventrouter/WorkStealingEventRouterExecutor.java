@@ -0,0 +1,386 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.log4j.Logger;
+import org.mobicents.slee.container.SleeContainer;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.event.EventContext;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutor;
+import org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatistics;
+import org.mobicents.slee.runtime.eventrouter.routingtask.EventRoutingTaskImpl;
+import org.mobicents.slee.runtime.eventrouter.stats.EventRouterExecutorStatisticsImpl;
+
+/**
+ * An {@link EventRouterExecutor} which does not queue work directly, instead
+ * each activity gets its own FIFO queue, a {@link WorkStealingActivityExecutor}
+ * , and the executor's thread processes the queues of activities with pending
+ * work, which ensures per activity serialized execution. When idle, the
+ * executor steals queues of activities from busy executors, thus one hot
+ * activity does not hold the processing of other activities mapped to the
+ * same executor.
+ * 
+ * An idle executor parks its thread, and is unparked when work is scheduled
+ * in its own queue, or in the queue of a busy peer, which it may steal. If
+ * no work shows up the executor also looks for work to steal when the park
+ * times out, with the timeout doubling up to {@link #MAX_IDLE_WAIT}.
+ * 
+ * Must be used together with
+ * {@link org.mobicents.slee.runtime.eventrouter.mapping.WorkStealingEventRouterExecutorMapper}
+ * .
+ */
+public class WorkStealingEventRouterExecutor implements EventRouterExecutor {
+
+	private static final Logger logger = Logger
+			.getLogger(WorkStealingEventRouterExecutor.class);
+
+	/**
+	 * how long an idle executor parks at first, before trying to steal
+	 * again, in nanoseconds
+	 */
+	private static final long MIN_IDLE_WAIT = TimeUnit.MILLISECONDS
+			.toNanos(1);
+
+	/**
+	 * the max time an idle executor parks, before trying to steal again, in
+	 * nanoseconds
+	 */
+	private static final long MAX_IDLE_WAIT = TimeUnit.MILLISECONDS
+			.toNanos(64);
+
+	private static final AtomicInteger threadNumber = new AtomicInteger(0);
+
+	/**
+	 * the queues of activities with pending work, the executor's thread takes
+	 * from the head, thieves from the tail
+	 */
+	private final LinkedBlockingDeque<WorkStealingActivityExecutor> readyQueue = new LinkedBlockingDeque<WorkStealingActivityExecutor>();
+
+	/**
+	 * the queue for misc work submitted directly to this executor
+	 */
+	private final WorkStealingActivityExecutor ownQueue;
+
+	private final Thread thread;
+
+	private final EventRouterExecutorStatisticsImpl stats;
+
+	private final SleeContainer sleeContainer;
+
+	private WorkStealingEventRouterExecutor[] peers = new WorkStealingEventRouterExecutor[0];
+
+	/**
+	 * the activity queue being processed, null if idle
+	 */
+	private volatile WorkStealingActivityExecutor current;
+
+	/**
+	 * true if the executor's thread is parked, or about to park
+	 */
+	private volatile boolean idle;
+
+	private volatile boolean shutdown;
+
+	/**
+	 * 
+	 * @param collectStats
+	 * @param sleeContainer
+	 */
+	public WorkStealingEventRouterExecutor(boolean collectStats,
+			SleeContainer sleeContainer) {
+		this.sleeContainer = sleeContainer;
+		this.stats = collectStats ? new EventRouterExecutorStatisticsImpl(null,
+				((EventRouterImpl) sleeContainer.getEventRouter())
+						.getEventTypeStatisticsIndex()) {
+			@Override
+			public int getWorkingQueueSize() {
+				return getQueueDepth();
+			}
+		} : null;
+		this.ownQueue = new WorkStealingActivityExecutor(null, this);
+		this.thread = new Thread(new Worker(),
+				"SLEE-WorkStealingEventRouterExecutor-"
+						+ threadNumber.incrementAndGet());
+		this.thread.start();
+	}
+
+	/**
+	 * Sets the executors this executor may steal from.
+	 * 
+	 * @param peers
+	 */
+	public void setPeers(WorkStealingEventRouterExecutor[] peers) {
+		this.peers = peers;
+	}
+
+	/**
+	 * Creates the FIFO queue for an activity, initially owned by this
+	 * executor. The queue must be used as the activity's executor.
+	 * 
+	 * @param ach
+	 * @return
+	 */
+	public EventRouterExecutor newActivityExecutor(ActivityContextHandle ach) {
+		return new WorkStealingActivityExecutor(ach, this);
+	}
+
+	EventRouterExecutorStatisticsImpl getStatisticsImpl() {
+		return stats;
+	}
+
+	boolean isShutdown() {
+		return shutdown;
+	}
+
+	/**
+	 * Retrieves the number of tasks queued in activities owned by this
+	 * executor.
+	 * 
+	 * @return
+	 */
+	private int getQueueDepth() {
+		int result = 0;
+		for (WorkStealingActivityExecutor activityExecutor : readyQueue) {
+			result += activityExecutor.getQueueSize();
+		}
+		final WorkStealingActivityExecutor current = this.current;
+		if (current != null) {
+			result += current.getQueueSize();
+		}
+		return result;
+	}
+
+	/**
+	 * Indicates the specified activity queue has work to be processed.
+	 * 
+	 * @param activityExecutor
+	 */
+	void schedule(WorkStealingActivityExecutor activityExecutor) {
+		readyQueue.offerLast(activityExecutor);
+		if (idle) {
+			LockSupport.unpark(thread);
+		} else if (current != null) {
+			// busy, let an idle peer steal the work
+			for (WorkStealingEventRouterExecutor peer : peers) {
+				if (peer != this && peer.idle) {
+					LockSupport.unpark(peer.thread);
+					break;
+				}
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#getStatistics()
+	 */
+	public EventRouterExecutorStatistics getStatistics() {
+		return stats;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#shutdown()
+	 */
+	public void shutdown() {
+		shutdown = true;
+		LockSupport.unpark(thread);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#execute(java.lang.Runnable)
+	 */
+	public void execute(Runnable task) {
+		ownQueue.execute(task);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#executeNow(java.lang.Runnable)
+	 */
+	public void executeNow(Runnable task) throws InterruptedException,
+			ExecutionException {
+		ownQueue.executeNow(task);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#activityMapped(org.mobicents.slee.container.activity.ActivityContextHandle)
+	 */
+	public void activityMapped(ActivityContextHandle ach) {
+		if (stats != null) {
+			stats.activityMapped(ach);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#activityUnmapped(org.mobicents.slee.container.activity.ActivityContextHandle)
+	 */
+	public void activityUnmapped(ActivityContextHandle ach) {
+		if (stats != null) {
+			stats.activityUnmapped(ach);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#routeEvent(org.mobicents.slee.container.event.EventContext)
+	 */
+	public void routeEvent(EventContext event) {
+		ownQueue.routeEvent(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.EventRouterExecutor#routeEventNow(org.mobicents.slee.container.event.EventContext)
+	 */
+	public void routeEventNow(EventContext event) {
+		process(event);
+	}
+
+	/**
+	 * Executes a misc task or routes an event, queued in an activity owned by
+	 * this executor.
+	 * 
+	 * @param work
+	 */
+	void process(Object work) {
+		try {
+			if (work instanceof EventContext) {
+				final EventContext eventContext = (EventContext) work;
+				final EventRoutingTaskImpl routingTask = new EventRoutingTaskImpl(
+						eventContext, sleeContainer);
+				if (stats == null) {
+					routingTask.run();
+				} else {
+					final long startTime = System.nanoTime();
+					routingTask.run();
+					stats.eventRouted(eventContext.getEventTypeId(),
+							routingTask.getEventTypeComponent(), System
+									.nanoTime()
+									- startTime);
+				}
+			} else {
+				if (stats == null) {
+					((Runnable) work).run();
+				} else {
+					final long startTime = System.nanoTime();
+					((Runnable) work).run();
+					stats.miscTaskExecuted(System.nanoTime() - startTime);
+				}
+			}
+		} catch (Throwable e) {
+			logger.error("Failure executing " + work, e);
+		}
+	}
+
+	/**
+	 * Tries to take the queue of an activity waiting for a busy executor, the
+	 * one with most activities waiting.
+	 * 
+	 * @return null if there is nothing to steal
+	 */
+	private WorkStealingActivityExecutor steal() {
+		WorkStealingEventRouterExecutor victim = null;
+		int victimReadyQueueSize = 0;
+		int readyQueueSize;
+		for (WorkStealingEventRouterExecutor peer : peers) {
+			if (peer == this || peer.current == null) {
+				// an idle executor will process its own work
+				continue;
+			}
+			readyQueueSize = peer.readyQueue.size();
+			if (readyQueueSize > victimReadyQueueSize) {
+				victim = peer;
+				victimReadyQueueSize = readyQueueSize;
+			}
+		}
+		if (victim == null) {
+			return null;
+		}
+		final WorkStealingActivityExecutor activityExecutor = victim.readyQueue
+				.pollLast();
+		if (activityExecutor != null) {
+			activityExecutor.setOwner(this);
+			if (stats != null) {
+				stats.activityStolen();
+			}
+		}
+		return activityExecutor;
+	}
+
+	/**
+	 * The logic of the executor's thread.
+	 */
+	private class Worker implements Runnable {
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		public void run() {
+			WorkStealingActivityExecutor activityExecutor;
+			long idleWait = MIN_IDLE_WAIT;
+			while (true) {
+				activityExecutor = readyQueue.pollFirst();
+				if (activityExecutor == null) {
+					if (shutdown) {
+						// all queued work done
+						break;
+					}
+					activityExecutor = steal();
+				}
+				if (activityExecutor == null) {
+					idle = true;
+					// check again after flagging idle, work scheduled before
+					// did not unpark the thread
+					activityExecutor = readyQueue.pollFirst();
+					if (activityExecutor == null) {
+						activityExecutor = steal();
+					}
+					if (activityExecutor == null && !shutdown) {
+						LockSupport.parkNanos(this, idleWait);
+						idleWait = Math.min(idleWait * 2, MAX_IDLE_WAIT);
+					}
+					idle = false;
+					if (activityExecutor == null) {
+						continue;
+					}
+				}
+				idleWait = MIN_IDLE_WAIT;
+				current = activityExecutor;
+				activityExecutor.processBatch(WorkStealingEventRouterExecutor.this);
+				current = null;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter.mapping;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutor;
+import org.mobicents.slee.runtime.eventrouter.WorkStealingEventRouterExecutor;
+
+/**
+ * {@link EventRouterExecutor} to {@link ActivityContextHandle} mapping for
+ * {@link WorkStealingEventRouterExecutor}s. Each activity gets its own FIFO
+ * queue, initially owned by the executor selected using the hashcode of the
+ * activity handle, and which may be stolen by idle executors afterwards.
+ */
+public class WorkStealingEventRouterExecutorMapper extends
+		AbstractEventRouterExecutorMapper {
+
+	private WorkStealingEventRouterExecutor[] workStealingExecutors;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.runtime.eventrouter.mapping.AbstractEventRouterExecutorMapper#setExecutors(org.mobicents.slee.container.eventrouter.EventRouterExecutor[])
+	 */
+	@Override
+	public void setExecutors(EventRouterExecutor[] executors) {
+		final WorkStealingEventRouterExecutor[] workStealingExecutors = new WorkStealingEventRouterExecutor[executors.length];
+		for (int i = 0; i < executors.length; i++) {
+			if (!(executors[i] instanceof WorkStealingEventRouterExecutor)) {
+				throw new IllegalArgumentException(
+						"executors must be instances of "
+								+ WorkStealingEventRouterExecutor.class
+										.getName());
+			}
+			workStealingExecutors[i] = (WorkStealingEventRouterExecutor) executors[i];
+		}
+		for (WorkStealingEventRouterExecutor executor : workStealingExecutors) {
+			executor.setPeers(workStealingExecutors);
+		}
+		super.setExecutors(executors);
+		this.workStealingExecutors = workStealingExecutors;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.runtime.eventrouter.mapping.AbstractEventRouterExecutorMapper#getExecutor(org.mobicents.slee.container.activity.ActivityContextHandle)
+	 */
+	@Override
+	public EventRouterExecutor getExecutor(
+			ActivityContextHandle activityContextHandle) {
+		return workStealingExecutors[(activityContextHandle.hashCode() & Integer.MAX_VALUE)
+				% workStealingExecutors.length]
+				.newActivityExecutor(activityContextHandle);
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter.routingtask;
+
+import javax.slee.Address;
+import javax.slee.EventTypeID;
+import javax.slee.profile.ProfileID;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+
+/**
+ * The structured key of a convergence name, made of the initial event
+ * selector variables selected. Equality and hash are computed over the
+ * variables, and not over the convergence name string, which is only built
+ * when needed.
+ * 
+ * The string renders the ac variable through the activity context handle
+ * itself, and not its hash code, since two activities may have handles with
+ * the same hash code, and then would share the root sbb entity.
+ */
+public final class ConvergenceName {
+
+	private static final char NOT_SELECTED = '_';
+
+	private final ActivityContextHandle activityContextHandle;
+
+	private final Address address;
+
+	private final EventTypeID eventTypeID;
+
+	private final String eventID;
+
+	private final ProfileID addressProfileID;
+
+	private final String customName;
+
+	private final int hashCode;
+
+	/**
+	 * 
+	 * @param activityContextHandle
+	 *            the ac variable, null if not selected
+	 * @param address
+	 *            the address variable, null if not selected
+	 * @param eventTypeID
+	 *            the event type variable, null if not selected
+	 * @param eventID
+	 *            the event variable, null if not selected
+	 * @param addressProfileID
+	 *            the address profile variable, null if not selected
+	 * @param customName
+	 *            the custom name, null if not set
+	 */
+	public ConvergenceName(ActivityContextHandle activityContextHandle,
+			Address address, EventTypeID eventTypeID, String eventID,
+			ProfileID addressProfileID, String customName) {
+		this.activityContextHandle = activityContextHandle;
+		this.address = address;
+		this.eventTypeID = eventTypeID;
+		this.eventID = eventID;
+		this.addressProfileID = addressProfileID;
+		this.customName = customName;
+		int result = hashCode(activityContextHandle);
+		result = result * 31 + hashCode(address);
+		result = result * 31 + hashCode(eventTypeID);
+		result = result * 31 + hashCode(eventID);
+		result = result * 31 + hashCode(addressProfileID);
+		result = result * 31 + hashCode(customName);
+		this.hashCode = result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != this.getClass()) {
+			return false;
+		}
+		final ConvergenceName other = (ConvergenceName) obj;
+		return hashCode == other.hashCode
+				&& equals(activityContextHandle, other.activityContextHandle)
+				&& equals(address, other.address)
+				&& equals(eventTypeID, other.eventTypeID)
+				&& equals(eventID, other.eventID)
+				&& equals(addressProfileID, other.addressProfileID)
+				&& equals(customName, other.customName);
+	}
+
+	/**
+	 * Indicates if the ac variable is the only one selected.
+	 * 
+	 * @return
+	 */
+	public boolean isActivityContextOnly() {
+		return activityContextHandle != null && address == null
+				&& eventTypeID == null && eventID == null
+				&& addressProfileID == null && customName == null;
+	}
+
+	/**
+	 * Builds the convergence name string.
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		append(sb, activityContextHandle);
+		append(sb, address);
+		append(sb, eventTypeID);
+		append(sb, eventID);
+		append(sb, addressProfileID);
+		if (customName != null) {
+			sb.append(customName);
+		}
+		return sb.toString();
+	}
+
+	private static void append(StringBuilder sb, Object variable) {
+		if (variable != null) {
+			sb.append(variable);
+		} else {
+			sb.append(NOT_SELECTED);
+		}
+	}
+
+	private static int hashCode(Object variable) {
+		return variable != null ? variable.hashCode() : 0;
+	}
+
+	private static boolean equals(Object variable, Object otherVariable) {
+		return variable == null ? otherVariable == null : variable
+				.equals(otherVariable);
+	}
+
+}
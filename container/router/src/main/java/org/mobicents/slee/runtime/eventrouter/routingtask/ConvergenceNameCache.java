@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter.routingtask;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning cache of convergence names of a service, which maps each
+ * {@link ConvergenceName} to a single convergence name string instance, so
+ * the string is built, and its hash computed, only once.
+ * 
+ * The strings are weakly referenced, they are kept alive by the ids of the
+ * root sbb entities which use them, once these are gone the strings are
+ * garbage collected and the cache entries expunged.
+ */
+public class ConvergenceNameCache {
+
+	/**
+	 * A weak reference to an interned convergence name string, which knows
+	 * its key, to expunge the entry once the string is collected.
+	 */
+	private static class NameReference extends WeakReference<String> {
+
+		final ConvergenceName key;
+
+		NameReference(ConvergenceName key, String name,
+				ReferenceQueue<String> queue) {
+			super(name, queue);
+			this.key = key;
+		}
+	}
+
+	private final ConcurrentHashMap<ConvergenceName, NameReference> names = new ConcurrentHashMap<ConvergenceName, NameReference>();
+
+	private final ReferenceQueue<String> queue = new ReferenceQueue<String>();
+
+	/**
+	 * Retrieves the interned convergence name string for the specified key.
+	 * 
+	 * @param convergenceName
+	 * @return
+	 */
+	public String intern(ConvergenceName convergenceName) {
+		expunge();
+		NameReference reference = names.get(convergenceName);
+		String name = reference != null ? reference.get() : null;
+		if (name != null) {
+			return name;
+		}
+		name = convergenceName.toString();
+		final NameReference newReference = new NameReference(convergenceName,
+				name, queue);
+		while (true) {
+			if (reference == null) {
+				reference = names.putIfAbsent(convergenceName, newReference);
+				if (reference == null) {
+					return name;
+				}
+			} else {
+				if (names.replace(convergenceName, reference, newReference)) {
+					return name;
+				}
+				reference = names.get(convergenceName);
+			}
+			// concurrent update, use the interned string if still alive
+			if (reference != null) {
+				final String otherName = reference.get();
+				if (otherName != null) {
+					return otherName;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the entries of strings which were garbage collected.
+	 */
+	private void expunge() {
+		NameReference reference = null;
+		while ((reference = (NameReference) queue.poll()) != null) {
+			names.remove(reference.key, reference);
+		}
+	}
+
+}
@@ -29,6 +29,7 @@ import java.util.Set;
 
 import javax.slee.EventTypeID;
 import javax.slee.SLEEException;
+import javax.slee.ServiceID;
 import javax.slee.resource.FailureReason;
 import javax.transaction.SystemException;
 import javax.transaction.Transaction;
@@ -84,13 +85,18 @@ public class EventRoutingTaskImpl implements EventRoutingTask {
 	/**
 	 * 
 	 */
-	private final EventContext eventContext;
+	private EventContext eventContext;
 	
 	/**
 	 * indicates which phase we are in routing of event
 	 */
 	private RoutingPhase routingPhase = RoutingPhase.DELIVERING;
 	
+	/**
+	 * the component of the event type, resolved when the routing starts
+	 */
+	private EventTypeComponent eventTypeComponent;
+	
 	/**
 	 * 
 	 * @param eventContext
@@ -100,6 +106,51 @@ public class EventRoutingTaskImpl implements EventRoutingTask {
 		this.container = sleeContainer;
 	}
 	
+	/**
+	 * Creates a task without event context, which may be reused to route
+	 * multiple events, see {@link #reset(EventContext)}.
+	 * 
+	 * @param sleeContainer
+	 */
+	public EventRoutingTaskImpl(SleeContainer sleeContainer) {
+		this(null, sleeContainer);
+	}
+	
+	/**
+	 * Drops the routing data kept for the specified service, which is now
+	 * inactive.
+	 * 
+	 * @param serviceID
+	 */
+	public static void serviceInactive(ServiceID serviceID) {
+		initialEventProcessor.removeConvergenceNameCache(serviceID);
+	}
+	
+	/**
+	 * Prepares the task to route the specified event. Must only be invoked
+	 * if the task is not routing an event, or the routing completed, see
+	 * {@link #isRoutingPending()}.
+	 * 
+	 * @param eventContext
+	 */
+	public void reset(EventContext eventContext) {
+		this.eventContext = eventContext;
+		this.routingPhase = RoutingPhase.DELIVERING;
+		this.eventTypeComponent = null;
+	}
+	
+	/**
+	 * Indicates if the routing of the event is not finished, after the task
+	 * execution returned, which happens when the event context is suspended.
+	 * In such case the task is still the activity's current event routing
+	 * task and can not be reused.
+	 * 
+	 * @return
+	 */
+	public boolean isRoutingPending() {
+		return eventContext.getLocalActivityContext().getCurrentEventRoutingTask() == this;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.mobicents.slee.container.eventrouter.EventRoutingTask#getEventContext()
 	 */
@@ -107,6 +158,18 @@ public class EventRoutingTaskImpl implements EventRoutingTask {
 		return eventContext;
 	}
 	
+	/**
+	 * Retrieves the component of the event type, resolved when the task
+	 * started the routing of the event, so that the executors read the event
+	 * type statistics index without a lookup.
+	 * 
+	 * @return null if the task did not start the routing, e.g. if the event
+	 *         was frozen behind a suspended event context
+	 */
+	public EventTypeComponent getEventTypeComponent() {
+		return eventTypeComponent;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Runnable#run()
@@ -154,7 +217,7 @@ public class EventRoutingTaskImpl implements EventRoutingTask {
 				// activity has no event routing task set 
 				lac.setCurrentEventRoutingTask(this);
 				
-				EventTypeComponent eventTypeComponent = container.getComponentRepository().getComponentByID(eventContext.getEventTypeId());
+				eventTypeComponent = container.getComponentRepository().getComponentByID(eventContext.getEventTypeId());
 				if (eventTypeComponent == null) {
 					logger.error("Unable to route event, the related component is not installed");
 					eventContext.eventProcessingFailed(FailureReason.OTHER_REASON);
@@ -176,18 +239,20 @@ public class EventRoutingTaskImpl implements EventRoutingTask {
 				}
 			}
 			else {
-				if (activityCurrentEventContext.isSuspendedNotTransacted()) {
+				if (activityCurrentEventContext.isSuspendedNotTransacted()
+						&& activityCurrentEventContext.barrierEvent(eventContext)) {
 					if (debugLogging)
 						logger.debug("\n\n\nFreezing (due to suspended context) the routing for "+eventContext);						
-					activityCurrentEventContext.barrierEvent(eventContext);
 					return;
 				}
 				else {
+					// the suspension handler resumed the event context, and
+					// signaled the resume by running the activity's current
+					// routing task again, in the activity executor, after the
+					// resuming transaction committed, a barrier refused by the
+					// context means the same
 					if (debugLogging)
-						logger.debug("\n\n\nResuming the routing for"+eventContext);
-					// needed to ensure tests/events/eventcontext/Test1108039Test.xml passes
-					// the test must be fixed
-					Thread.sleep(10);
+						logger.debug("\n\n\nResuming the routing for "+eventContext);
 				}
 			}
 			
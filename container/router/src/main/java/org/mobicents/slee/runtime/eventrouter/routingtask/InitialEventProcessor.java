@@ -24,9 +24,11 @@ package org.mobicents.slee.runtime.eventrouter.routingtask;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.slee.Address;
 import javax.slee.SLEEException;
+import javax.slee.ServiceID;
 import javax.slee.profile.AttributeNotIndexedException;
 import javax.slee.profile.AttributeTypeMismatchException;
 import javax.slee.profile.ProfileID;
@@ -52,9 +54,10 @@ public class InitialEventProcessor {
 
 	private static final Logger logger = Logger.getLogger(InitialEventProcessor.class);
 
-	private static final char NOT_SELECTED = '_';
-	private static final String NOT_SELECTED_STRING = "_";
-	private static final String ALL_NOT_SELECTED_EXCEPT_AC = "____";
+	/**
+	 * the convergence name caches, per service
+	 */
+	private final ConcurrentHashMap<ServiceID, ConvergenceNameCache> convergenceNameCaches = new ConcurrentHashMap<ServiceID, ConvergenceNameCache>();
 	
 	/**
 	 * Compute a convergence name for the Sbb for the given Slee event.
@@ -71,7 +74,7 @@ public class InitialEventProcessor {
 
 		final SbbComponent sbbComponent = serviceComponent.getRootSbbComponent();
 		final EventEntryDescriptor eventEntryDescriptor = sbbComponent.getDescriptor().getEventEntries().get(eventContext.getEventTypeId());
-		StringBuilder buff = null;
+		ConvergenceName convergenceName = null;
 		
 		/*
 		 * An initial-event-selector-method-name element. This element is
@@ -109,106 +112,92 @@ public class InitialEventProcessor {
 				pool.returnObject(sbbObject);
 			}
 			// build convergence name
-			// AC VARIABLE
-			if (selector.isActivityContextSelected()) {
-				buff = new StringBuilder(Integer.toString(eventContext.getActivityContextHandle().hashCode()));
-			} else {
-				buff = new StringBuilder(NOT_SELECTED_STRING);
-			}
-			// ADDRESS VARIABLE
-			if (selector.isAddressSelected() && selector.getAddress() != null) {
-				buff.append(selector.getAddress().toString());
-			}
-			else {
-				buff.append(NOT_SELECTED);
-			}
-			// EVENT TYPE
-			if (selector.isEventTypeSelected()) {
-				buff.append(eventContext.getEventTypeId());
-			}
-			else {
-				buff.append(NOT_SELECTED);
-			}
-			// EVENT
-			if (selector.isEventSelected()) {
-				buff.append(eventContext.getEventContextHandle().getId());
-			}
-			else {
-				buff.append(NOT_SELECTED);
-			}
 			// ADDRESS PROFILE
+			ProfileID addressProfileID = null;
 			if (selector.isAddressProfileSelected() && selector.getAddress() != null) {
 				final Collection<ProfileID> profileIDs = getAddressProfilesMatching(selector.getAddress(), serviceComponent, sbbComponent, sleeContainer);
 				if (profileIDs.isEmpty())
 					// no profiles located
 					return null;
 				else {
-					buff.append(profileIDs.iterator().next());
+					addressProfileID = profileIDs.iterator().next();
 				}
 			}
-			else {
-				buff.append(NOT_SELECTED);
-			}
-			// CUSTOM NAME
-			if (selector.getCustomName() != null) {
-				buff.append(selector.getCustomName());
-			}
-
+			convergenceName = new ConvergenceName(
+					// AC VARIABLE
+					selector.isActivityContextSelected() ? eventContext.getActivityContextHandle() : null,
+					// ADDRESS VARIABLE
+					selector.isAddressSelected() ? selector.getAddress() : null,
+					// EVENT TYPE
+					selector.isEventTypeSelected() ? eventContext.getEventTypeId() : null,
+					// EVENT
+					selector.isEventSelected() ? eventContext.getEventContextHandle().getId() : null,
+					addressProfileID,
+					// CUSTOM NAME
+					selector.getCustomName());
 		}
 		else {
 			// NO IES METHOD DEFINED
 			// build convergence name considering the variabes selected in sbb's xml descriptor
-			// AC VARIABLE
 			final InitialEventSelectorVariables initialEventSelectorVariables = eventEntryDescriptor.getInitialEventSelectVariables();
-			if(initialEventSelectorVariables.isActivityContextSelected()) {
-				if (initialEventSelectorVariables.isActivityContextOnlySelected()) {
-					// special most used case where convergence name is only bound to activity context
-					return new StringBuilder(Integer.toString(eventContext.getActivityContextHandle().hashCode())).append(ALL_NOT_SELECTED_EXCEPT_AC).toString();
-				}
-				else {
-					buff = new StringBuilder(Integer.toString(eventContext.getActivityContextHandle().hashCode()));
-				}
-			}
-			else {
-				buff = new StringBuilder(NOT_SELECTED_STRING);
-			}
-			// ADDRESS VARIABLE
-			if(initialEventSelectorVariables.isAddressSelected() && eventContext.getAddress() != null) {
-				buff.append(eventContext.getAddress().toString());
-			}
-			else {
-				buff.append(NOT_SELECTED);
-			}
-			// EVENT TYPE
-			if(initialEventSelectorVariables.isEventTypeSelected()) {
-				buff.append(eventContext.getEventTypeId());
-			}
-			else {
-				buff.append(NOT_SELECTED);
-			}
-			// EVENT
-			if(initialEventSelectorVariables.isEventSelected()) {
-				buff.append(eventContext.getEventContextHandle().getId());
-			}
-			else {
-				buff.append(NOT_SELECTED);
-			}
-			// ADDRESS PROFILE
-			if(initialEventSelectorVariables.isAddressProfileSelected() && eventContext.getAddress() != null) {
-				final Collection<ProfileID> profileIDs = getAddressProfilesMatching(eventContext.getAddress(), serviceComponent, sbbComponent, sleeContainer);
-				if (profileIDs.isEmpty())
-					// no profiles located
-					return null;
-				else {
-					buff.append(profileIDs.iterator().next());
-				} 
+			if (initialEventSelectorVariables.isActivityContextOnlySelected()) {
+				// special most used case where convergence name is only bound to activity context
+				convergenceName = new ConvergenceName(eventContext.getActivityContextHandle(), null, null, null, null, null);
 			}
 			else {
-				buff.append(NOT_SELECTED);
+				// ADDRESS PROFILE
+				ProfileID addressProfileID = null;
+				if(initialEventSelectorVariables.isAddressProfileSelected() && eventContext.getAddress() != null) {
+					final Collection<ProfileID> profileIDs = getAddressProfilesMatching(eventContext.getAddress(), serviceComponent, sbbComponent, sleeContainer);
+					if (profileIDs.isEmpty())
+						// no profiles located
+						return null;
+					else {
+						addressProfileID = profileIDs.iterator().next();
+					} 
+				}
+				convergenceName = new ConvergenceName(
+						// AC VARIABLE
+						initialEventSelectorVariables.isActivityContextSelected() ? eventContext.getActivityContextHandle() : null,
+						// ADDRESS VARIABLE
+						initialEventSelectorVariables.isAddressSelected() ? eventContext.getAddress() : null,
+						// EVENT TYPE
+						initialEventSelectorVariables.isEventTypeSelected() ? eventContext.getEventTypeId() : null,
+						// EVENT
+						initialEventSelectorVariables.isEventSelected() ? eventContext.getEventContextHandle().getId() : null,
+						addressProfileID,
+						null);
 			}
 		}
 		
-		return buff.toString();
+		if (convergenceName.isActivityContextOnly()) {
+			// only one sbb entity of the service uses the name, there is
+			// nothing to gain in interning it
+			return convergenceName.toString();
+		}
+		return getConvergenceNameCache(serviceComponent.getServiceID()).intern(convergenceName);
+	}
+
+	private ConvergenceNameCache getConvergenceNameCache(ServiceID serviceID) {
+		ConvergenceNameCache cache = convergenceNameCaches.get(serviceID);
+		if (cache == null) {
+			final ConvergenceNameCache newCache = new ConvergenceNameCache();
+			cache = convergenceNameCaches.putIfAbsent(serviceID, newCache);
+			if (cache == null) {
+				cache = newCache;
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Removes the convergence name cache of the specified service, once it
+	 * is inactive, no more initial events are processed for it.
+	 * 
+	 * @param serviceID
+	 */
+	void removeConvergenceNameCache(ServiceID serviceID) {
+		convergenceNameCaches.remove(serviceID);
 	}
 
 	private Collection<ProfileID> getAddressProfilesMatching(Address address, ServiceComponent serviceComponent, SbbComponent sbbComponent, SleeContainer sleeContainer) throws NullPointerException, UnrecognizedProfileTableNameException, SLEEException, UnrecognizedAttributeException, AttributeNotIndexedException, AttributeTypeMismatchException {
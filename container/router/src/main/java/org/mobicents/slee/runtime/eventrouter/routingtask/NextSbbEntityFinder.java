@@ -22,7 +22,6 @@
 
 package org.mobicents.slee.runtime.eventrouter.routingtask;
 
-import java.util.Iterator;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
@@ -83,9 +82,12 @@ public class NextSbbEntityFinder {
 		EventEntryDescriptor mEventEntry = null;
 				
 		// get the highest priority sbb from sbb entities attached to AC
-		for (Iterator<SbbEntityID> iter = ac.getSortedSbbAttachmentSet(sbbEntitiesThatHandledCurrentEvent).iterator(); iter
-				.hasNext();) {
-			sbbEntityId = iter.next();
+		final SbbEntityID[] sbbEntitiesAttached = ac.getSortedSbbAttachments();
+		for (int i = 0; i < sbbEntitiesAttached.length; i++) {
+			sbbEntityId = sbbEntitiesAttached[i];
+			if (sbbEntitiesThatHandledCurrentEvent.contains(sbbEntityId)) {
+				continue;
+			}
 			sbbEntity = sleeContainer.getSbbEntityFactory().getSbbEntity(sbbEntityId,true);
 			if (sbbEntity == null) {
 				// ignore, sbb entity has been removed
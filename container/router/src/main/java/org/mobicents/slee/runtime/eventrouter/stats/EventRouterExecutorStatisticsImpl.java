@@ -26,21 +26,25 @@
 package org.mobicents.slee.runtime.eventrouter.stats;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.slee.EventTypeID;
 
 import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.component.event.EventTypeComponent;
 import org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatistics;
 import org.mobicents.slee.container.eventrouter.stats.EventTypeRoutingStatistics;
+import org.mobicents.slee.runtime.stats.LatencyHistogram;
 
 /**
- * Impl of {@link EventRouterExecutorStatistics}. This class is not thread safe
- * due to performance overhead introduced when collecting stats, i.e., errors in
- * values due to multiple threads accessing the statistics state are not
- * important.
+ * Impl of {@link EventRouterExecutorStatistics}. The statistics for each event
+ * type are kept in an array, indexed by the event router's
+ * {@link EventTypeStatisticsIndex}, which is copied on write, so that
+ * collecting and reading the stats needs no locks. Event types without index,
+ * i.e. not installed, are only accounted in the totals.
+ * Counters are atomic, but not contended, since each instance is updated by
+ * the executor's thread.
  * 
  * @author martins
  * 
@@ -50,25 +54,65 @@ public class EventRouterExecutorStatisticsImpl implements
 
 	private AtomicInteger activitiesMapped = new AtomicInteger(0);
 	
-	private final Map<EventTypeID, EventTypeRoutingStatisticsImpl> eventTypeRoutingStatisticsMap = new HashMap<EventTypeID, EventTypeRoutingStatisticsImpl>();
+	private volatile EventTypeRoutingStatisticsImpl[] eventTypeRoutingStatistics = new EventTypeRoutingStatisticsImpl[16];
 
-	private long miscTasksExecuted = 0L;
-	private long miscTaskExecutingTime = 0L;
+	private final AtomicLong miscTasksExecuted = new AtomicLong(0L);
+	private final AtomicLong miscTaskExecutingTime = new AtomicLong(0L);
 
-	private long tasksExecuted = 0L;
-	private long taskExecutingTime = 0L;
+	private final AtomicLong activitiesStolen = new AtomicLong(0L);
+	
+	private final AtomicLong tasksExecuted = new AtomicLong(0L);
+	private final AtomicLong taskExecutingTime = new AtomicLong(0L);
 
 	private final long startTime = System.nanoTime();
 
 	private final Collection<Runnable> executorWorkingQueue; 
 	
-	public EventRouterExecutorStatisticsImpl(Collection<Runnable> executorWorkingQueue) {
+	private final EventTypeStatisticsIndex eventTypeStatisticsIndex;
+	
+	public EventRouterExecutorStatisticsImpl(Collection<Runnable> executorWorkingQueue, EventTypeStatisticsIndex eventTypeStatisticsIndex) {
 		this.executorWorkingQueue = executorWorkingQueue;
+		this.eventTypeStatisticsIndex = eventTypeStatisticsIndex;
 	}
 	
 	private void taskExecuted(long executionTime) {
-		tasksExecuted++;
-		taskExecutingTime += executionTime;
+		tasksExecuted.incrementAndGet();
+		taskExecutingTime.addAndGet(executionTime);
+	}
+
+	/**
+	 * Retrieves the statistics for the event type with the specified index,
+	 * creating these if needed. Stats found in the index slot for another
+	 * event type, which was uninstalled and had the index released, are
+	 * replaced.
+	 * 
+	 * @param index
+	 * @param eventTypeID
+	 * @return
+	 */
+	private EventTypeRoutingStatisticsImpl getOrCreateEventTypeRoutingStatistics(
+			int index, EventTypeID eventTypeID) {
+		final EventTypeRoutingStatisticsImpl[] array = eventTypeRoutingStatistics;
+		if (index < array.length && array[index] != null
+				&& array[index].getEventType().equals(eventTypeID)) {
+			return array[index];
+		}
+		synchronized (this) {
+			EventTypeRoutingStatisticsImpl[] newArray = eventTypeRoutingStatistics;
+			if (index < newArray.length && newArray[index] != null
+					&& newArray[index].getEventType().equals(eventTypeID)) {
+				return newArray[index];
+			}
+			final EventTypeRoutingStatisticsImpl result = new EventTypeRoutingStatisticsImpl(
+					eventTypeID);
+			final int length = index < newArray.length ? newArray.length : Math
+					.max(newArray.length * 2, index + 1);
+			final EventTypeRoutingStatisticsImpl[] copy = new EventTypeRoutingStatisticsImpl[length];
+			System.arraycopy(newArray, 0, copy, 0, newArray.length);
+			copy[index] = result;
+			eventTypeRoutingStatistics = copy;
+			return result;
+		}
 	}
 
 	/**
@@ -92,18 +136,22 @@ public class EventRouterExecutorStatisticsImpl implements
 	 * 
 	 * @param eventTypeID
 	 *            the id of the event type
+	 * @param eventTypeComponent
+	 *            the component of the event type, as resolved by the routing
+	 *            task, which holds the statistics index of the event type,
+	 *            if null the index is looked up by the event type id
 	 * @param routingTime
 	 *            the time spent to route the event, in milliseconds
 	 */
-	public void eventRouted(EventTypeID eventTypeID, long routingTime) {
-		EventTypeRoutingStatisticsImpl eventTypeRoutingStatistics = eventTypeRoutingStatisticsMap.get(eventTypeID);
-		if (eventTypeRoutingStatistics == null) {
-			synchronized (eventTypeRoutingStatisticsMap) {
-				eventTypeRoutingStatistics = new EventTypeRoutingStatisticsImpl(eventTypeID);
-				eventTypeRoutingStatisticsMap.put(eventTypeID, eventTypeRoutingStatistics); 
-			}
+	public void eventRouted(EventTypeID eventTypeID,
+			EventTypeComponent eventTypeComponent, long routingTime) {
+		final int index = eventTypeComponent != null ? eventTypeComponent
+				.getStatisticsIndex() : eventTypeStatisticsIndex
+				.getIndex(eventTypeID);
+		if (index >= 0) {
+			getOrCreateEventTypeRoutingStatistics(index, eventTypeID)
+					.eventRouted(routingTime);
 		}
-		eventTypeRoutingStatistics.eventRouted(routingTime);
 		taskExecuted(routingTime);
 	}
 
@@ -115,8 +163,10 @@ public class EventRouterExecutorStatisticsImpl implements
 	 * #addEventTypeRoutingStatistics(javax.slee.EventTypeID)
 	 */
 	public void addEventTypeRoutingStatistics(EventTypeID eventTypeID) {
-		eventTypeRoutingStatisticsMap.put(eventTypeID,
-				new EventTypeRoutingStatisticsImpl(eventTypeID));
+		final int index = eventTypeStatisticsIndex.getIndex(eventTypeID);
+		if (index >= 0) {
+			getOrCreateEventTypeRoutingStatistics(index, eventTypeID);
+		}
 	}
 
 	/* (non-Javadoc)
@@ -133,11 +183,72 @@ public class EventRouterExecutorStatisticsImpl implements
 	public long getAverageEventRoutingTime() {
 		long time = 0L;
 		long events = 0L;
-		for(EventTypeRoutingStatistics eventTypeRoutingStatistics : eventTypeRoutingStatisticsMap.values()) {
-			time += eventTypeRoutingStatistics.getRoutingTime();
-			events += eventTypeRoutingStatistics.getEventsRouted();
+		for(EventTypeRoutingStatistics eventTypeRoutingStatistics : eventTypeRoutingStatistics) {
+			if (eventTypeRoutingStatistics != null) {
+				time += eventTypeRoutingStatistics.getRoutingTime();
+				events += eventTypeRoutingStatistics.getEventsRouted();
+			}
+		}
+		return events == 0L ? 0L : time / events;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatistics#getEventRoutingTimePercentile(double)
+	 */
+	public long getEventRoutingTimePercentile(double percentile) {
+		final long[] totals = new long[LatencyHistogram.BUCKETS];
+		addEventRoutingTimes(totals);
+		return LatencyHistogram.getPercentile(totals, percentile);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatistics#getEventRoutingTimePercentile(javax.slee.EventTypeID, double)
+	 */
+	public long getEventRoutingTimePercentile(EventTypeID eventTypeID,
+			double percentile) {
+		final EventTypeRoutingStatistics eventTypeRoutingStatistics = getEventTypeRoutingStatistics(eventTypeID);
+		return eventTypeRoutingStatistics == null ? 0L
+				: eventTypeRoutingStatistics.getEventRoutingTimePercentile(percentile);
+	}
+
+	/**
+	 * Adds the routing times histogram counts of all event types to the
+	 * specified ones.
+	 * 
+	 * @param totals
+	 */
+	void addEventRoutingTimes(long[] totals) {
+		for (EventTypeRoutingStatisticsImpl eventTypeRoutingStatistics : this.eventTypeRoutingStatistics) {
+			if (eventTypeRoutingStatistics != null) {
+				addTo(eventTypeRoutingStatistics, totals);
+			}
+		}
+	}
+
+	/**
+	 * Adds the routing times histogram counts of the specified event type to
+	 * the specified ones.
+	 * 
+	 * @param eventTypeID
+	 * @param totals
+	 */
+	void addEventRoutingTimes(EventTypeID eventTypeID, long[] totals) {
+		final EventTypeRoutingStatisticsImpl eventTypeRoutingStatistics = getEventTypeRoutingStatistics(eventTypeID);
+		if (eventTypeRoutingStatistics != null) {
+			addTo(eventTypeRoutingStatistics, totals);
+		}
+	}
+
+	private static void addTo(
+			EventTypeRoutingStatisticsImpl eventTypeRoutingStatistics,
+			long[] totals) {
+		final LatencyHistogram routingTimeHistogram = eventTypeRoutingStatistics
+				.getRoutingTimeHistogram();
+		if (routingTimeHistogram != null) {
+			routingTimeHistogram.addTo(totals);
 		}
-		return time == 0L ? 0L : time / events;
 	}
 	
 	/*
@@ -159,7 +270,15 @@ public class EventRouterExecutorStatisticsImpl implements
 	 */
 	public EventTypeRoutingStatisticsImpl getEventTypeRoutingStatistics(
 			EventTypeID eventTypeID) {
-		return eventTypeRoutingStatisticsMap.get(eventTypeID);
+		final int index = eventTypeStatisticsIndex.getIndex(eventTypeID);
+		if (index < 0) {
+			return null;
+		}
+		final EventTypeRoutingStatisticsImpl[] array = eventTypeRoutingStatistics;
+		final EventTypeRoutingStatisticsImpl result = index < array.length ? array[index]
+				: null;
+		return result != null && result.getEventType().equals(eventTypeID) ? result
+				: null;
 	}
 
 	/*
@@ -170,7 +289,19 @@ public class EventRouterExecutorStatisticsImpl implements
 	 * #removeEventTypeRoutingStatistics(javax.slee.EventTypeID)
 	 */
 	public void removeEventTypeRoutingStatistics(EventTypeID eventTypeID) {
-		eventTypeRoutingStatisticsMap.remove(eventTypeID);
+		final int index = eventTypeStatisticsIndex.getIndex(eventTypeID);
+		if (index < 0) {
+			return;
+		}
+		synchronized (this) {
+			final EventTypeRoutingStatisticsImpl[] array = eventTypeRoutingStatistics;
+			if (index < array.length && array[index] != null
+					&& array[index].getEventType().equals(eventTypeID)) {
+				final EventTypeRoutingStatisticsImpl[] copy = array.clone();
+				copy[index] = null;
+				eventTypeRoutingStatistics = copy;
+			}
+		}
 	}
 
 	/*
@@ -194,7 +325,7 @@ public class EventRouterExecutorStatisticsImpl implements
 	 * #getExecutedTasks()
 	 */
 	public long getExecutedTasks() {
-		return tasksExecuted;
+		return tasksExecuted.get();
 	}
 
 	/*
@@ -205,7 +336,7 @@ public class EventRouterExecutorStatisticsImpl implements
 	 * #getExecutingTime()
 	 */
 	public long getExecutingTime() {
-		return taskExecutingTime;
+		return taskExecutingTime.get();
 	}
 
 	/*
@@ -227,7 +358,7 @@ public class EventRouterExecutorStatisticsImpl implements
 	 * #getMiscTasksExecuted()
 	 */
 	public long getMiscTasksExecuted() {
-		return miscTasksExecuted;
+		return miscTasksExecuted.get();
 	}
 
 	/*
@@ -238,7 +369,7 @@ public class EventRouterExecutorStatisticsImpl implements
 	 * #getMiscTasksExecutingTime()
 	 */
 	public long getMiscTasksExecutingTime() {
-		return miscTaskExecutingTime;
+		return miscTaskExecutingTime.get();
 	}
 
 	/*
@@ -261,8 +392,8 @@ public class EventRouterExecutorStatisticsImpl implements
 	 *            the time spent to execute the misc task
 	 */
 	public void miscTaskExecuted(long executionTime) {
-		miscTasksExecuted++;
-		miscTaskExecutingTime += executionTime;
+		miscTasksExecuted.incrementAndGet();
+		miscTaskExecutingTime.addAndGet(executionTime);
 		taskExecuted(executionTime);
 	}
 
@@ -271,6 +402,21 @@ public class EventRouterExecutorStatisticsImpl implements
 		return executorWorkingQueue.size();
 	}
 	
+	/**
+	 * Indicates that the executor took an activity from another executor.
+	 */
+	public void activityStolen() {
+		activitiesStolen.incrementAndGet();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatistics#getActivitiesStolen()
+	 */
+	public long getActivitiesStolen() {
+		return activitiesStolen.get();
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
@@ -279,16 +425,22 @@ public class EventRouterExecutorStatisticsImpl implements
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("Activities mapped: ").append(getActivitiesMapped()).append('\n');
-		for (EventTypeRoutingStatistics eventTypeRoutingStatistics : eventTypeRoutingStatisticsMap.values()) {
-			sb.append(eventTypeRoutingStatistics).append('\n');
+		for (EventTypeRoutingStatistics eventTypeRoutingStatistics : this.eventTypeRoutingStatistics) {
+			if (eventTypeRoutingStatistics != null) {
+				sb.append(eventTypeRoutingStatistics).append('\n');
+			}
 		}
 		sb.append("Average event routing time: ").append(getAverageEventRoutingTime()).append('\n');
+		sb.append("Event routing time P50: ").append(getEventRoutingTimePercentile(50)).append('\n');
+		sb.append("Event routing time P99: ").append(getEventRoutingTimePercentile(99)).append('\n');
+		sb.append("Event routing time P999: ").append(getEventRoutingTimePercentile(99.9)).append('\n');
 		sb.append("Executed Tasks: ").append(getExecutedTasks()).append('\n');
 		sb.append("Executing Time: ").append(getExecutingTime()).append('\n');
 		sb.append("Idle Time: ").append(getIdleTime()).append('\n');
 		sb.append("Misc Tasks Executed: ").append(getMiscTasksExecuted()).append('\n');
 		sb.append("Misc Tasks Executing Time: ").append(getMiscTasksExecutingTime()).append('\n');
 		sb.append("Working Queue Size: ").append(getWorkingQueueSize()).append('\n');
+		sb.append("Activities Stolen: ").append(getActivitiesStolen()).append('\n');
 		return sb.toString();
 	}
 }
@@ -32,6 +32,7 @@ import org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatist
 import org.mobicents.slee.container.eventrouter.stats.EventRouterStatistics;
 import org.mobicents.slee.container.eventrouter.stats.EventTypeRoutingStatistics;
 import org.mobicents.slee.runtime.eventrouter.EventRouterImpl;
+import org.mobicents.slee.runtime.stats.LatencyHistogram;
 
 /**
  * @author martins
@@ -130,6 +131,41 @@ public class EventRouterStatisticsImpl implements EventRouterStatistics {
 		return executorStats == null ? 0 : executorStats.getAverageEventRoutingTime(eventTypeID);
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.stats.EventRouterStatistics#getEventRoutingTimePercentile(javax.slee.EventTypeID, double)
+	 */
+	public long getEventRoutingTimePercentile(EventTypeID eventTypeID,
+			double percentile) {
+		final long[] totals = new long[LatencyHistogram.BUCKETS];
+		for (int i = 0; i < getExecutors().length; i++) {
+			final EventRouterExecutorStatistics executorStats = getExecutors()[i].getStatistics();
+			if (executorStats != null) {
+				((EventRouterExecutorStatisticsImpl) executorStats).addEventRoutingTimes(eventTypeID, totals);
+			}
+		}
+		return LatencyHistogram.getPercentile(totals, percentile);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.stats.EventRouterStatistics#getEventRoutingTimePercentile(int, double)
+	 */
+	public long getEventRoutingTimePercentile(int executor, double percentile) {
+		final EventRouterExecutorStatistics executorStats = getExecutors()[executor].getStatistics();
+		return executorStats == null ? 0 : executorStats.getEventRoutingTimePercentile(percentile);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.stats.EventRouterStatistics#getEventRoutingTimePercentile(int, javax.slee.EventTypeID, double)
+	 */
+	public long getEventRoutingTimePercentile(int executor,
+			EventTypeID eventTypeID, double percentile) {
+		final EventRouterExecutorStatistics executorStats = getExecutors()[executor].getStatistics();
+		return executorStats == null ? 0 : executorStats.getEventRoutingTimePercentile(eventTypeID, percentile);
+	}
+
 	/* (non-Javadoc)
 	 * @see org.mobicents.slee.runtime.eventrouter.stats.EventRouterStatisticsMBean#getEventsRouted(javax.slee.EventTypeID)
 	 */
@@ -266,6 +302,9 @@ public class EventRouterStatisticsImpl implements EventRouterStatistics {
 			sb.append('\n');
 			sb.append(eventTypeID).append(" statistics:\n");
 			sb.append("\tAverage event routing time: ").append(getAverageEventRoutingTime(eventTypeID)).append('\n');
+			sb.append("\tEvent routing time P50: ").append(getEventRoutingTimePercentile(eventTypeID, 50)).append('\n');
+			sb.append("\tEvent routing time P99: ").append(getEventRoutingTimePercentile(eventTypeID, 99)).append('\n');
+			sb.append("\tEvent routing time P999: ").append(getEventRoutingTimePercentile(eventTypeID, 99.9)).append('\n');
 			sb.append("\tEvent routing time: ").append(getRoutingTime(eventTypeID)).append('\n');
 			sb.append("\tEvents routed: ").append(getEventsRouted(eventTypeID)).append('\n');
 		}
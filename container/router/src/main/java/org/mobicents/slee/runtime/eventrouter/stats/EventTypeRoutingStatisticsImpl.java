@@ -25,17 +25,20 @@
  */
 package org.mobicents.slee.runtime.eventrouter.stats;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import javax.slee.EventTypeID;
 
-import org.mobicents.slee.container.eventrouter.stats.EventRouterExecutorStatistics;
 import org.mobicents.slee.container.eventrouter.stats.EventTypeRoutingStatistics;
+import org.mobicents.slee.runtime.stats.LatencyHistogram;
 
 /**
- * Impl of {@link EventRouterExecutorStatistics}. This class is not thread safe
- * due to performance overhead introduced when collecting stats, i.e., errors in
- * values due to multiple threads accessing the statistics state are not
- * important. Note that stats updates are not concurrent, each instance belongs
- * and is used by a single {@link EventRouterExecutorStatisticsImpl}.
+ * Impl of {@link EventTypeRoutingStatistics}. Each instance belongs and is
+ * mostly updated by a single {@link EventRouterExecutorStatisticsImpl}, thus
+ * the atomic counters are not contended, and may be read by management
+ * threads while updated. The routing times are also recorded in a
+ * {@link LatencyHistogram}, to provide percentiles, which is only created
+ * when the first event is routed.
  * 
  * @author martins
  * 
@@ -44,8 +47,9 @@ public class EventTypeRoutingStatisticsImpl implements
 		EventTypeRoutingStatistics {
 
 	private final EventTypeID eventTypeID;
-	private long eventsRouted = 0L;
-	private long routingTime = 0L;
+	private final AtomicLong eventsRouted = new AtomicLong(0L);
+	private final AtomicLong routingTime = new AtomicLong(0L);
+	private volatile LatencyHistogram routingTimeHistogram;
 
 	/**
 	 * 
@@ -64,8 +68,41 @@ public class EventTypeRoutingStatisticsImpl implements
 	 *            the time spent to route the event, in nanos
 	 */
 	public void eventRouted(long routingTime) {
-		this.eventsRouted++;
-		this.routingTime += routingTime;
+		this.eventsRouted.incrementAndGet();
+		this.routingTime.addAndGet(routingTime);
+		LatencyHistogram routingTimeHistogram = this.routingTimeHistogram;
+		if (routingTimeHistogram == null) {
+			routingTimeHistogram = createRoutingTimeHistogram();
+		}
+		routingTimeHistogram.record(routingTime);
+	}
+
+	private synchronized LatencyHistogram createRoutingTimeHistogram() {
+		if (routingTimeHistogram == null) {
+			routingTimeHistogram = new LatencyHistogram();
+		}
+		return routingTimeHistogram;
+	}
+
+	/**
+	 * Retrieves the histogram of the routing times.
+	 * 
+	 * @return null if no event was routed yet
+	 */
+	LatencyHistogram getRoutingTimeHistogram() {
+		return routingTimeHistogram;
+	}
+
+	/**
+	 * Resets the statistics.
+	 */
+	void reset() {
+		eventsRouted.set(0L);
+		routingTime.set(0L);
+		final LatencyHistogram routingTimeHistogram = this.routingTimeHistogram;
+		if (routingTimeHistogram != null) {
+			routingTimeHistogram.reset();
+		}
 	}
 
 	/*
@@ -73,7 +110,18 @@ public class EventTypeRoutingStatisticsImpl implements
 	 * @see org.mobicents.slee.container.eventrouter.stats.EventTypeRoutingStatistics#getAverageEventRoutingTime()
 	 */
 	public long getAverageEventRoutingTime() {
-		return routingTime == 0L ? 0L : routingTime / eventsRouted;
+		final long eventsRouted = this.eventsRouted.get();
+		return eventsRouted == 0L ? 0L : routingTime.get() / eventsRouted;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.eventrouter.stats.EventTypeRoutingStatistics#getEventRoutingTimePercentile(double)
+	 */
+	public long getEventRoutingTimePercentile(double percentile) {
+		final LatencyHistogram routingTimeHistogram = this.routingTimeHistogram;
+		return routingTimeHistogram == null ? 0L : routingTimeHistogram
+				.getPercentile(percentile);
 	}
 	
 	/*
@@ -95,7 +143,7 @@ public class EventTypeRoutingStatisticsImpl implements
 	 * #getEventsRouted()
 	 */
 	public long getEventsRouted() {
-		return eventsRouted;
+		return eventsRouted.get();
 	}
 
 	/*
@@ -106,7 +154,7 @@ public class EventTypeRoutingStatisticsImpl implements
 	 * #getRoutingTime()
 	 */
 	public long getRoutingTime() {
-		return routingTime;
+		return routingTime.get();
 	}
 
 	/*
@@ -142,6 +190,7 @@ public class EventTypeRoutingStatisticsImpl implements
 	 */
 	@Override
 	public String toString() {
-		return eventTypeID+" routing statistics: EVENTS = "+eventsRouted+", TIME = "+routingTime+", AVERAGE "+getAverageEventRoutingTime();
+		return eventTypeID+" routing statistics: EVENTS = "+getEventsRouted()+", TIME = "+getRoutingTime()+", AVERAGE "+getAverageEventRoutingTime()
+				+", P50 = "+getEventRoutingTimePercentile(50)+", P99 = "+getEventRoutingTimePercentile(99)+", P999 = "+getEventRoutingTimePercentile(99.9);
 	}
 }
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter.stats;
+
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.slee.EventTypeID;
+
+import org.mobicents.slee.container.component.event.EventTypeComponent;
+
+/**
+ * Assigns dense indexes to event types, so that the event routing statistics
+ * for each event type are kept in arrays, and not maps. The index of an event
+ * type is assigned when the event type is installed, and stored in its
+ * component, which the event routing reads, and released when it is
+ * uninstalled, to be reused by the next event type installed. The index is
+ * owned by the event router.
+ */
+public class EventTypeStatisticsIndex {
+
+	private final ConcurrentHashMap<EventTypeID, Integer> indexes = new ConcurrentHashMap<EventTypeID, Integer>();
+
+	/**
+	 * the indexes released, guarded by this index
+	 */
+	private final LinkedList<Integer> releasedIndexes = new LinkedList<Integer>();
+
+	/**
+	 * the next index never assigned, guarded by this index
+	 */
+	private int nextIndex;
+
+	/**
+	 * Assigns an index to the specified event type, if it has none, and stores
+	 * it in the component.
+	 * 
+	 * @param eventTypeComponent
+	 * @return the index of the event type
+	 */
+	public synchronized int add(EventTypeComponent eventTypeComponent) {
+		final EventTypeID eventTypeID = eventTypeComponent.getEventTypeID();
+		Integer index = indexes.get(eventTypeID);
+		if (index == null) {
+			index = releasedIndexes.isEmpty() ? Integer.valueOf(nextIndex++)
+					: releasedIndexes.removeFirst();
+			indexes.put(eventTypeID, index);
+		}
+		eventTypeComponent.setStatisticsIndex(index.intValue());
+		return index.intValue();
+	}
+
+	/**
+	 * Releases the index of the specified event type, and clears it from the
+	 * component.
+	 * 
+	 * @param eventTypeComponent
+	 * @return the index released, -1 if the event type had no index
+	 */
+	public synchronized int remove(EventTypeComponent eventTypeComponent) {
+		eventTypeComponent.setStatisticsIndex(-1);
+		final Integer index = indexes.remove(eventTypeComponent
+				.getEventTypeID());
+		if (index == null) {
+			return -1;
+		}
+		releasedIndexes.addFirst(index);
+		return index.intValue();
+	}
+
+	/**
+	 * Retrieves the index of the specified event type, used by the statistics
+	 * queries, the event routing reads the index from the event type
+	 * component.
+	 * 
+	 * @param eventTypeID
+	 * @return -1 if the event type has no index
+	 */
+	public int getIndex(EventTypeID eventTypeID) {
+		if (eventTypeID == null) {
+			return -1;
+		}
+		final Integer index = indexes.get(eventTypeID);
+		return index == null ? -1 : index.intValue();
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+
+public class MpscRingBufferTest extends TestCase {
+
+	public void testCapacityIsRoundedUpToPowerOfTwo() {
+		final MpscRingBuffer ringBuffer = new MpscRingBuffer(5);
+		for (int i = 0; i < 8; i++) {
+			assertTrue(ringBuffer.offer(Integer.valueOf(i)));
+		}
+		assertFalse(ringBuffer.offer(Integer.valueOf(8)));
+		assertEquals(8, ringBuffer.size());
+	}
+
+	public void testDrainInOrder() {
+		final MpscRingBuffer ringBuffer = new MpscRingBuffer(8);
+		assertTrue(ringBuffer.isEmpty());
+		assertEquals(0, ringBuffer.drain(new Object[4]));
+		for (int i = 0; i < 6; i++) {
+			ringBuffer.offer(Integer.valueOf(i));
+		}
+		assertFalse(ringBuffer.isEmpty());
+		final Object[] batch = new Object[4];
+		assertEquals(4, ringBuffer.drain(batch));
+		for (int i = 0; i < 4; i++) {
+			assertEquals(Integer.valueOf(i), batch[i]);
+		}
+		assertEquals(2, ringBuffer.size());
+		assertEquals(2, ringBuffer.drain(batch));
+		assertEquals(Integer.valueOf(4), batch[0]);
+		assertEquals(Integer.valueOf(5), batch[1]);
+		assertTrue(ringBuffer.isEmpty());
+		assertEquals(0, ringBuffer.size());
+	}
+
+	public void testSlotsAreReusedAfterDrain() {
+		final MpscRingBuffer ringBuffer = new MpscRingBuffer(4);
+		final Object[] batch = new Object[1];
+		// several laps over the slots
+		for (int i = 0; i < 20; i++) {
+			assertTrue(ringBuffer.offer(Integer.valueOf(i)));
+			assertTrue(ringBuffer.offer(Integer.valueOf(-i)));
+			assertEquals(1, ringBuffer.drain(batch));
+			assertEquals(Integer.valueOf(i), batch[0]);
+			assertEquals(1, ringBuffer.drain(batch));
+			assertEquals(Integer.valueOf(-i), batch[0]);
+		}
+		for (int i = 0; i < 4; i++) {
+			assertTrue(ringBuffer.offer(Integer.valueOf(i)));
+		}
+		assertFalse(ringBuffer.offer(Integer.valueOf(4)));
+	}
+
+	public void testConcurrentProducers() throws Exception {
+		final int producers = 4;
+		final int elements = 10000;
+		final MpscRingBuffer ringBuffer = new MpscRingBuffer(64);
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < producers; i++) {
+			final int producer = i;
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < elements; j++) {
+						final int[] element = { producer, j };
+						while (!ringBuffer.offer(element)) {
+							Thread.yield();
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		start.countDown();
+		// the test thread is the single consumer
+		String failure = null;
+		final int[] next = new int[producers];
+		final Object[] batch = new Object[16];
+		int drained = 0;
+		final long timeout = System.currentTimeMillis() + 30000;
+		while (drained < producers * elements
+				&& System.currentTimeMillis() < timeout) {
+			final int count = ringBuffer.drain(batch);
+			for (int i = 0; i < count; i++) {
+				final int[] element = (int[]) batch[i];
+				if (element[1] != next[element[0]]++ && failure == null) {
+					failure = "producer " + element[0] + " element "
+							+ element[1] + " out of order";
+				}
+			}
+			drained += count;
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertNull(failure);
+		assertEquals(producers * elements, drained);
+		assertTrue(ringBuffer.isEmpty());
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter.routingtask;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+
+public class ConvergenceNameCacheTest extends TestCase {
+
+	private ConvergenceNameCache cache;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		cache = new ConvergenceNameCache();
+	}
+
+	public void testEqualKeysShareTheString() {
+		final String name = cache.intern(newConvergenceName("e1", "custom"));
+		assertEquals(newConvergenceName("e1", "custom").toString(), name);
+		assertSame(name, cache.intern(newConvergenceName("e1", "custom")));
+		final String otherName = cache.intern(newConvergenceName("e2",
+				"custom"));
+		assertFalse(name.equals(otherName));
+		assertSame(otherName, cache.intern(newConvergenceName("e2", "custom")));
+	}
+
+	public void testCollectedStringIsRebuilt() {
+		String name = cache.intern(newConvergenceName("e1", null));
+		final WeakReference<String> reference = new WeakReference<String>(name);
+		name = null;
+		for (int i = 0; i < 20 && reference.get() != null; i++) {
+			System.gc();
+		}
+		// either the collected entry is expunged, or the string is reused
+		name = cache.intern(newConvergenceName("e1", null));
+		assertEquals(newConvergenceName("e1", null).toString(), name);
+		assertSame(name, cache.intern(newConvergenceName("e1", null)));
+	}
+
+	public void testConcurrentIntern() throws Exception {
+		final int threads = 8;
+		final int keys = 100;
+		final String[][] names = new String[threads][keys];
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> list = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			final int thread = i;
+			list.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < keys; j++) {
+						names[thread][j] = cache.intern(newConvergenceName("e"
+								+ j, null));
+					}
+				}
+			});
+		}
+		for (Thread thread : list) {
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : list) {
+			thread.join();
+		}
+		// the strings are strongly referenced, thus all threads got the same
+		for (int j = 0; j < keys; j++) {
+			for (int i = 1; i < threads; i++) {
+				assertSame(names[0][j], names[i][j]);
+			}
+		}
+	}
+
+	private static ConvergenceName newConvergenceName(String eventID,
+			String customName) {
+		return new ConvergenceName(null, null, null, eventID, null, customName);
+	}
+
+}
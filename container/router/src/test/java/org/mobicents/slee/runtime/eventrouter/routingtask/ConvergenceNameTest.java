@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter.routingtask;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+
+public class ConvergenceNameTest extends TestCase {
+
+	public void testHandlesWithSameHashHaveDifferentNames() {
+		final ConvergenceName name1 = new ConvergenceName(
+				newActivityContextHandle("ach1"), null, null, null, null, null);
+		final ConvergenceName name2 = new ConvergenceName(
+				newActivityContextHandle("ach2"), null, null, null, null, null);
+		assertEquals(name1.hashCode(), name2.hashCode());
+		assertFalse(name1.equals(name2));
+		assertFalse(name1.toString().equals(name2.toString()));
+	}
+
+	public void testActivityContextOnly() {
+		final ActivityContextHandle ach = newActivityContextHandle("ach");
+		assertTrue(new ConvergenceName(ach, null, null, null, null, null)
+				.isActivityContextOnly());
+		assertFalse(new ConvergenceName(ach, null, null, null, null, "custom")
+				.isActivityContextOnly());
+		assertFalse(new ConvergenceName(null, null, null, "e1", null, null)
+				.isActivityContextOnly());
+	}
+
+	// --- helpers
+
+	/**
+	 * Creates a handle with identity equality, the specified string, and the
+	 * same hash code of every other handle created.
+	 */
+	private static ActivityContextHandle newActivityContextHandle(
+			final String string) {
+		return (ActivityContextHandle) Proxy.newProxyInstance(
+				ConvergenceNameTest.class.getClassLoader(),
+				new Class[] { ActivityContextHandle.class },
+				new InvocationHandler() {
+					public Object invoke(Object proxy, Method method,
+							Object[] args) throws Throwable {
+						final String name = method.getName();
+						if (name.equals("equals")) {
+							return proxy == args[0];
+						}
+						if (name.equals("hashCode")) {
+							return 1;
+						}
+						if (name.equals("toString")) {
+							return string;
+						}
+						throw new UnsupportedOperationException(name);
+					}
+				});
+	}
+
+}
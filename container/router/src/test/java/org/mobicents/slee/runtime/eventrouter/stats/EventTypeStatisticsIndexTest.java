@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.eventrouter.stats;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.slee.EventTypeID;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.component.event.EventTypeComponent;
+
+public class EventTypeStatisticsIndexTest extends TestCase {
+
+	public void testIndexStoredInComponent() {
+		final EventTypeStatisticsIndex index = new EventTypeStatisticsIndex();
+		final EventTypeComponent e1 = newEventTypeComponent("e1");
+		final EventTypeComponent e2 = newEventTypeComponent("e2");
+		assertEquals(-1, e1.getStatisticsIndex());
+		assertEquals(0, index.add(e1));
+		assertEquals(1, index.add(e2));
+		assertEquals(0, e1.getStatisticsIndex());
+		assertEquals(1, e2.getStatisticsIndex());
+		assertEquals(1, index.getIndex(e2.getEventTypeID()));
+		// adding again keeps the index
+		assertEquals(0, index.add(e1));
+	}
+
+	public void testReleasedIndexReused() {
+		final EventTypeStatisticsIndex index = new EventTypeStatisticsIndex();
+		final EventTypeComponent e1 = newEventTypeComponent("e1");
+		index.add(e1);
+		index.add(newEventTypeComponent("e2"));
+		assertEquals(0, index.remove(e1));
+		assertEquals(-1, e1.getStatisticsIndex());
+		assertEquals(-1, index.getIndex(e1.getEventTypeID()));
+		assertEquals(-1, index.remove(e1));
+		final EventTypeComponent e3 = newEventTypeComponent("e3");
+		assertEquals(0, index.add(e3));
+		assertEquals(0, e3.getStatisticsIndex());
+	}
+
+	// --- helpers
+
+	/**
+	 * Creates an event type component which only has an id and a statistics
+	 * index.
+	 */
+	private static EventTypeComponent newEventTypeComponent(String name) {
+		final EventTypeID eventTypeID = new EventTypeID(name, "vendor", "1.0");
+		return (EventTypeComponent) Proxy.newProxyInstance(
+				EventTypeStatisticsIndexTest.class.getClassLoader(),
+				new Class[] { EventTypeComponent.class },
+				new InvocationHandler() {
+					private int statisticsIndex = -1;
+
+					public Object invoke(Object proxy, Method method,
+							Object[] args) throws Throwable {
+						final String methodName = method.getName();
+						if (methodName.equals("getEventTypeID")) {
+							return eventTypeID;
+						}
+						if (methodName.equals("getStatisticsIndex")) {
+							return statisticsIndex;
+						}
+						if (methodName.equals("setStatisticsIndex")) {
+							statisticsIndex = ((Integer) args[0]).intValue();
+							return null;
+						}
+						throw new UnsupportedOperationException(methodName);
+					}
+				});
+	}
+
+}
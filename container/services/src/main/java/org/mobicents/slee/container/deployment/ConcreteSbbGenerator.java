@@ -32,6 +32,7 @@ import javassist.CtClass;
 import javassist.CtConstructor;
 import javassist.CtField;
 import javassist.CtMethod;
+import javassist.CtNewConstructor;
 import javassist.CtNewMethod;
 import javassist.Modifier;
 import javassist.NotFoundException;
@@ -51,10 +52,12 @@ import org.mobicents.slee.container.component.ClassPool;
 import org.mobicents.slee.container.component.sbb.AbstractSbbClassInfo;
 import org.mobicents.slee.container.component.sbb.CMPFieldDescriptor;
 import org.mobicents.slee.container.component.sbb.EventEntryDescriptor;
+import org.mobicents.slee.container.component.sbb.EventHandlerInvoker;
 import org.mobicents.slee.container.component.sbb.GetChildRelationMethodDescriptor;
 import org.mobicents.slee.container.component.sbb.GetProfileCMPMethodDescriptor;
 import org.mobicents.slee.container.component.sbb.SbbAbstractClassDescriptor;
 import org.mobicents.slee.container.component.sbb.SbbComponent;
+import org.mobicents.slee.container.component.sbb.SbbComponent.EventHandlerMethod;
 import org.mobicents.slee.container.sbb.SbbObjectState;
 import org.mobicents.slee.container.sbbentity.SbbEntity;
 import org.mobicents.slee.runtime.sbb.SbbAbstractMethodHandler;
@@ -113,6 +116,12 @@ public class ConcreteSbbGenerator {
 	 */
 	private final String deployDir;
 
+	/**
+	 * the suffix added to the sbb concrete class name, to name the event
+	 * handler invoker class
+	 */
+	private static final String EVENT_HANDLER_INVOKER_CLASS_NAME_SUFFIX = "EventHandlerInvoker";
+
 	static {
 		logger = Logger.getLogger(ConcreteSbbGenerator.class);
 	}
@@ -427,6 +436,8 @@ public class ConcreteSbbGenerator {
 			}
 			// set the concrete class in the descriptor
 			sbbComponent.setConcreteSbbClass(clazz);
+			// generate the invoker of the event handler methods
+			generateEventHandlerInvoker(sbbConcreteClassName);
 
 		} finally {
 			if (sbbConcreteClass != null) {
@@ -442,6 +453,81 @@ public class ConcreteSbbGenerator {
 		}
 	}
 
+	/**
+	 * Generates the {@link EventHandlerInvoker} of the concrete sbb class, which
+	 * switches on the invoker index of the event handler method, and calls it
+	 * directly.
+	 * 
+	 * @param sbbConcreteClassName
+	 * @throws DeploymentException
+	 */
+	private void generateEventHandlerInvoker(String sbbConcreteClassName)
+			throws DeploymentException {
+		final Map<EventTypeID, EventHandlerMethod> eventHandlerMethods = sbbComponent
+				.getEventHandlerMethods();
+		if (eventHandlerMethods == null || eventHandlerMethods.isEmpty()) {
+			return;
+		}
+		final String invokerClassName = sbbConcreteClassName
+				+ EVENT_HANDLER_INVOKER_CLASS_NAME_SUFFIX;
+		final CtClass invokerClass = pool.makeClass(invokerClassName);
+		try {
+			invokerClass.addInterface(pool.get(EventHandlerInvoker.class
+					.getName()));
+			invokerClass.addConstructor(CtNewConstructor
+					.defaultConstructor(invokerClass));
+			// create the invoke method, with a case per event handler method
+			final StringBuilder sb = new StringBuilder("public void invoke(int eventHandlerIndex, Object sbbConcrete, Object event, ")
+					.append(javax.slee.ActivityContextInterface.class.getName())
+					.append(" aci, ").append(EventContext.class.getName())
+					.append(" eventContext) throws Exception { switch (eventHandlerIndex) {");
+			int index = 0;
+			Method method = null;
+			Class<?>[] parameterTypes = null;
+			for (EventHandlerMethod eventHandlerMethod : eventHandlerMethods
+					.values()) {
+				method = eventHandlerMethod.getEventHandlerMethod();
+				parameterTypes = method.getParameterTypes();
+				sb.append(" case ").append(index).append(": ((")
+						.append(sbbConcreteClassName).append(")sbbConcrete).")
+						.append(method.getName()).append("((")
+						.append(parameterTypes[0].getName()).append(")event,(")
+						.append(parameterTypes[1].getName()).append(")aci");
+				if (eventHandlerMethod.getHasEventContextParam()) {
+					sb.append(",eventContext");
+				}
+				sb.append("); return;");
+				index++;
+			}
+			sb.append(" default: throw new IllegalArgumentException(\"unknown event handler index \"+eventHandlerIndex); } }");
+			if (logger.isTraceEnabled()) {
+				logger.trace("Generated method invoke , body = " + sb);
+			}
+			invokerClass.addMethod(CtNewMethod.make(sb.toString(),
+					invokerClass));
+			invokerClass.writeFile(deployDir);
+			final EventHandlerInvoker eventHandlerInvoker = (EventHandlerInvoker) Thread
+					.currentThread().getContextClassLoader().loadClass(
+							invokerClassName).newInstance();
+			// the class is ready, set the indexes
+			index = 0;
+			for (EventHandlerMethod eventHandlerMethod : eventHandlerMethods
+					.values()) {
+				eventHandlerMethod.setInvokerIndex(index++);
+			}
+			sbbComponent.setEventHandlerInvoker(eventHandlerInvoker);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Event handler invoker class " + invokerClassName
+						+ " generated in the following path " + deployDir);
+			}
+		} catch (Exception e) {
+			throw new DeploymentException(
+					"Error generating event handler invoker class", e);
+		} finally {
+			invokerClass.defrost();
+		}
+	}
+
 	/**
 	 * Generates info that indicates if a method from {@link Sbb} interface
 	 * should be invoked or not, in runtime.
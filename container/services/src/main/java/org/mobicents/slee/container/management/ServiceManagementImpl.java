@@ -416,6 +416,7 @@ public class ServiceManagementImpl extends AbstractSleeContainerModule
 				}
 			} else {
 				serviceComponent.setServiceState(ServiceState.INACTIVE);
+				sleeContainer.getEventRouter().serviceInactive(serviceID);
 				// warn ra entities about state change
 				for (String raEntityName : resourceManagement
 						.getResourceAdaptorEntities()) {
@@ -830,11 +831,9 @@ public class ServiceManagementImpl extends AbstractSleeContainerModule
 
 		try {
 			for (ActivityContextHandle ach : acf
-					.getAllActivityContextsHandles()) {
-				if (ach.getActivityType() == ActivityType.SERVICE) {
-					endServiceActivity(((ServiceActivityContextHandle) ach)
-							.getActivityHandle().getServiceID());
-				}
+					.getActivityContextsHandles(ActivityType.SERVICE)) {
+				endServiceActivity(((ServiceActivityContextHandle) ach)
+						.getActivityHandle().getServiceID());
 			}
 		} catch (Exception e) {
 			logger.error("Exception while ending all service activities", e);
@@ -846,13 +845,11 @@ public class ServiceManagementImpl extends AbstractSleeContainerModule
 			boolean noActivities = true;
 			try {
 				for (ActivityContextHandle ach : acf
-						.getAllActivityContextsHandles()) {
-					if (ach.getActivityType() == ActivityType.SERVICE) {
-						logger.info("Waiting for " + ach.getActivityHandle()
-								+ " to stop...");
-						noActivities = false;
-						break;
-					}
+						.getActivityContextsHandles(ActivityType.SERVICE)) {
+					logger.info("Waiting for " + ach.getActivityHandle()
+							+ " to stop...");
+					noActivities = false;
+					break;
 				}
 			} catch (Exception e) {
 				if (logger.isDebugEnabled()) {
@@ -1053,6 +1050,8 @@ public class ServiceManagementImpl extends AbstractSleeContainerModule
 			// force the removal of all sbb entities
 			new RootSbbEntitiesRemovalTask(serviceComponent).run();
 		}
+		// ensure no sbb entity data is left
+		sleeContainer.getSbbEntityFactory().purgeSbbEntities(serviceComponent.getServiceID());
 		// ensure service cache data is removed
 		ServiceCacheData serviceCacheData = new ServiceCacheData(serviceComponent.getServiceID(), sleeContainer
 				.getCluster().getMobicentsCache());
@@ -1061,6 +1060,7 @@ public class ServiceManagementImpl extends AbstractSleeContainerModule
 		}
 		// change state
 		serviceComponent.setServiceState(ServiceState.INACTIVE);
+		sleeContainer.getEventRouter().serviceInactive(serviceComponent.getServiceID());
 		// notifying the resource adaptors about service state change
 		final ResourceManagement resourceManagement = sleeContainer
 		.getResourceManagement();
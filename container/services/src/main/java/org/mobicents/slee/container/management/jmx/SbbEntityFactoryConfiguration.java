@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+import org.apache.log4j.Logger;
+
+/**
+ * The SLEE container configuration with respect to sbb entities.
+ */
+public class SbbEntityFactoryConfiguration implements
+		SbbEntityFactoryConfigurationMBean {
+
+	private static final Logger logger = Logger
+			.getLogger(SbbEntityFactoryConfiguration.class);
+
+	private Integer lockStripes;
+
+	private long lockTimeout = 10000;
+
+	private boolean inHeapStateStoreEnabled = false;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfigurationMBean#getLockStripes()
+	 */
+	public int getLockStripes() {
+		return lockStripes != null ? lockStripes.intValue() : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfigurationMBean#setLockStripes(int)
+	 */
+	public void setLockStripes(int value) throws IllegalArgumentException {
+		if (value < 0) {
+			throw new IllegalArgumentException(
+					"lock stripes must not be negative");
+		}
+		if (this.lockStripes != null) {
+			logger.warn("Setting lockStripes property to "
+				+ value
+				+ ". If called with server running a stop and start is need to apply changes.");
+		}
+		this.lockStripes = value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfigurationMBean#getLockTimeout()
+	 */
+	public long getLockTimeout() {
+		return lockTimeout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfigurationMBean#setLockTimeout(long)
+	 */
+	public void setLockTimeout(long value) throws IllegalArgumentException {
+		if (value < 1) {
+			throw new IllegalArgumentException(
+					"lock timeout must not be lower than 1");
+		}
+		this.lockTimeout = value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfigurationMBean#isInHeapStateStoreEnabled()
+	 */
+	public boolean isInHeapStateStoreEnabled() {
+		return inHeapStateStoreEnabled;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfigurationMBean#setInHeapStateStoreEnabled(boolean)
+	 */
+	public void setInHeapStateStoreEnabled(boolean value) {
+		if (this.inHeapStateStoreEnabled != value) {
+			logger.info("Setting inHeapStateStoreEnabled property to "
+				+ value
+				+ ". Only applied on next server boot.");
+		}
+		this.inHeapStateStoreEnabled = value;
+	}
+
+}
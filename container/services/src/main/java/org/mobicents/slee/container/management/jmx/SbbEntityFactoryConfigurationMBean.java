@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+import org.mobicents.slee.container.sbbentity.SbbEntityFactory;
+
+/**
+ * Interface to the {@link SbbEntityFactory} configuration.
+ */
+public interface SbbEntityFactoryConfigurationMBean {
+
+	public static final String OBJECT_NAME = "org.mobicents.slee:name=SbbEntityFactoryConfiguration";
+
+	/**
+	 * Retrieves the number of striped locks used to serialize the access to
+	 * sbb entities. If 0 there is a lock per sbb entity, otherwise there is a
+	 * fixed number of locks, shared by all sbb entities, and selected by the
+	 * hash of the sbb entity id, which means memory used does not depend on
+	 * the number of sbb entities. Note that with striped locks there is no
+	 * tracking of which sbb entities hold locks, the lock facility does not
+	 * report the sbb entities with locks, and locks are never removed.
+	 * 
+	 * @return
+	 */
+	public int getLockStripes();
+
+	/**
+	 * Sets the number of striped locks used to serialize the access to sbb
+	 * entities, 0 means a lock per sbb entity. A value not a power of two is
+	 * rounded up to the next power of two. If called with server running a
+	 * stop and start is need to apply changes.
+	 * 
+	 * @param lockStripes
+	 * @throws IllegalArgumentException
+	 *             if the value is negative
+	 */
+	public void setLockStripes(int lockStripes) throws IllegalArgumentException;
+
+	/**
+	 * Retrieves the max time to wait for the lock of a sbb entity, before
+	 * failing.
+	 * 
+	 * @return the timeout, in milliseconds
+	 */
+	public long getLockTimeout();
+
+	/**
+	 * Sets the max time to wait for the lock of a sbb entity, before failing.
+	 * 
+	 * @param lockTimeout
+	 *            the timeout, in milliseconds
+	 * @throws IllegalArgumentException
+	 *             if the timeout is lower than 1.
+	 */
+	public void setLockTimeout(long lockTimeout)
+			throws IllegalArgumentException;
+
+	/**
+	 * Indicates if sbb entity data is kept in an in heap state store, instead
+	 * of the cluster cache.
+	 * 
+	 * @return
+	 */
+	public boolean isInHeapStateStoreEnabled();
+
+	/**
+	 * Enables or disables the in heap state store for sbb entity data, which
+	 * is only suitable for non clustered deployments. By default the cluster
+	 * cache is used. Changes are only applied on next server boot.
+	 * 
+	 * @param value
+	 */
+	public void setInHeapStateStoreEnabled(boolean value);
+
+}
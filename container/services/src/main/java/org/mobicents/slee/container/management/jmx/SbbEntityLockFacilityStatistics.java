@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+import org.mobicents.slee.runtime.sbbentity.SbbEntityFactoryImpl;
+import org.mobicents.slee.runtime.sbbentity.SbbEntityLockFacility;
+
+public class SbbEntityLockFacilityStatistics implements
+		SbbEntityLockFacilityStatisticsMBean {
+
+	private final SbbEntityFactoryImpl sbbEntityFactory;
+
+	public SbbEntityLockFacilityStatistics(SbbEntityFactoryImpl sbbEntityFactory) {
+		this.sbbEntityFactory = sbbEntityFactory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatisticsMBean#getLocks()
+	 */
+	public int getLocks() {
+		final SbbEntityLockFacility lockFacility = sbbEntityFactory.getLockFacility();
+		return lockFacility != null ? lockFacility.getLocks() : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatisticsMBean#getLockStripes()
+	 */
+	public int getLockStripes() {
+		final SbbEntityLockFacility lockFacility = sbbEntityFactory.getLockFacility();
+		return lockFacility != null ? lockFacility.getLockStripes() : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatisticsMBean#getLockContentions()
+	 */
+	public long getLockContentions() {
+		final SbbEntityLockFacility lockFacility = sbbEntityFactory.getLockFacility();
+		return lockFacility != null ? lockFacility.getLockContentions() : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatisticsMBean#getLockTimeouts()
+	 */
+	public long getLockTimeouts() {
+		final SbbEntityLockFacility lockFacility = sbbEntityFactory.getLockFacility();
+		return lockFacility != null ? lockFacility.getLockTimeouts() : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatisticsMBean#getLockStripeContentions()
+	 */
+	public long[] getLockStripeContentions() {
+		final SbbEntityLockFacility lockFacility = sbbEntityFactory.getLockFacility();
+		return lockFacility != null ? lockFacility.getLockStripeContentions() : new long[0];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatisticsMBean#getLockWaitTimeHistogram()
+	 */
+	public long[] getLockWaitTimeHistogram() {
+		final SbbEntityLockFacility lockFacility = sbbEntityFactory.getLockFacility();
+		return lockFacility != null ? lockFacility.getLockWaitTimeHistogram() : new long[SbbEntityLockFacility.WAIT_TIME_HISTOGRAM_BUCKETS];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatisticsMBean#printLockWaitTimeHistogram()
+	 */
+	public String printLockWaitTimeHistogram() {
+		final long[] histogram = getLockWaitTimeHistogram();
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < histogram.length; i++) {
+			if (i == 0) {
+				sb.append("< 1 us");
+			}
+			else if (i == histogram.length - 1) {
+				sb.append(">= ").append(1L << (i-1)).append(" us");
+			}
+			else {
+				sb.append(1L << (i-1)).append(" - ").append(1L << i).append(" us");
+			}
+			sb.append(" : ").append(histogram[i]).append('\n');
+		}
+		return sb.toString();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.SbbEntityLockFacilityStatisticsMBean#resetStatistics()
+	 */
+	public void resetStatistics() {
+		final SbbEntityLockFacility lockFacility = sbbEntityFactory.getLockFacility();
+		if (lockFacility != null) {
+			lockFacility.resetStatistics();
+		}
+	}
+
+}
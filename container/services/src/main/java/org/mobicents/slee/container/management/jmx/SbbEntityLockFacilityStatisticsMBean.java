@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+/**
+ * Statistics of the locks used to serialize the access to sbb entities.
+ */
+public interface SbbEntityLockFacilityStatisticsMBean {
+
+	public static final String OBJECT_NAME = "org.mobicents.slee:name=SbbEntityLockFacilityStatistics";
+
+	/**
+	 * Retrieves the number of locks currently in memory.
+	 * 
+	 * @return
+	 */
+	public int getLocks();
+
+	/**
+	 * Retrieves the number of striped locks, 0 if there is a lock per sbb
+	 * entity.
+	 * 
+	 * @return
+	 */
+	public int getLockStripes();
+
+	/**
+	 * Retrieves the number of lock acquisitions which had to wait, since the
+	 * container started or the statistics were reset.
+	 * 
+	 * @return
+	 */
+	public long getLockContentions();
+
+	/**
+	 * Retrieves the number of lock acquisitions which failed due to timeout,
+	 * since the container started or the statistics were reset.
+	 * 
+	 * @return
+	 */
+	public long getLockTimeouts();
+
+	/**
+	 * Retrieves the number of contended lock acquisitions of each striped
+	 * lock.
+	 * 
+	 * @return an empty array if there is a lock per sbb entity
+	 */
+	public long[] getLockStripeContentions();
+
+	/**
+	 * Retrieves the histogram of the time waited on contended lock
+	 * acquisitions. The element at index 0 counts waits lower than 1
+	 * microsecond, and the element at index i > 0 counts waits of at least
+	 * 2^(i-1) and lower than 2^i microseconds, the last element also counts
+	 * all longer waits.
+	 * 
+	 * @return
+	 */
+	public long[] getLockWaitTimeHistogram();
+
+	/**
+	 * Retrieves the {@link #getLockWaitTimeHistogram()} in a human readable
+	 * form.
+	 * 
+	 * @return
+	 */
+	public String printLockWaitTimeHistogram();
+
+	/**
+	 * Resets the statistics.
+	 */
+	public void resetStatistics();
+
+}
@@ -131,7 +131,7 @@ public class ChildRelationImpl implements ChildRelation {
         	return false;
         }
         
-        return new SbbEntityCacheData(sbbEntityId,sleeContainer.getCluster().getMobicentsCache()).exists();
+        return ((SbbEntityFactoryImpl) sleeContainer.getSbbEntityFactory()).getSbbEntityCacheData(sbbEntityId).exists();
     }
 
     private boolean idBelongsToChildRelation(SbbEntityID sbbEntityID) {
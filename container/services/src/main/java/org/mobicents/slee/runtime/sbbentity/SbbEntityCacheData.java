@@ -34,10 +34,12 @@ import org.mobicents.cache.CacheData;
 import org.mobicents.cache.MobicentsCache;
 import org.mobicents.slee.container.activity.ActivityContextHandle;
 import org.mobicents.slee.container.sbbentity.SbbEntityID;
+import org.mobicents.slee.container.state.StateStore;
 
 /**
  * 
- * Proxy object for sbb entity data management through JBoss Cache
+ * Proxy object for sbb entity data management through JBoss Cache, or through
+ * a {@link StateStore}, if one is provided.
  * 
  * @author martins
  * 
@@ -114,6 +116,11 @@ public class SbbEntityCacheData extends CacheData {
 	
 	private final SbbEntityID sbbEntityID;
 	
+	/**
+	 * the state store used instead of the cache, if not null
+	 */
+	private final StateStore stateStore;
+	
 	private static Fqn getFqn(SbbEntityID sbbEntityID) {
 		if (sbbEntityID.isRootSbbEntity()) {
 			return Fqn.fromElements(SbbEntityFactoryCacheData.SBB_ENTITY_FACTORY_FQN_NAME,sbbEntityID.getServiceID(),sbbEntityID.getServiceConvergenceName());
@@ -128,22 +135,129 @@ public class SbbEntityCacheData extends CacheData {
 	 * @param sbbEntityId
 	 */
 	public SbbEntityCacheData(SbbEntityID sbbEntityId, MobicentsCache cache) {
+		this(sbbEntityId, cache, null);
+	}
+
+	/**
+	 * 
+	 * @param sbbEntityId
+	 * @param cache
+	 * @param stateStore
+	 *            the store of the sbb entity data, if null the cache is used
+	 */
+	public SbbEntityCacheData(SbbEntityID sbbEntityId, MobicentsCache cache, StateStore stateStore) {
 		super(getFqn(sbbEntityId), cache);
 		this.sbbEntityID = sbbEntityId;
+		this.stateStore = stateStore;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#exists()
+	 */
+	@Override
+	public boolean exists() {
+		if (stateStore != null) {
+			return stateStore.exists(sbbEntityID);
+		}
+		return super.exists();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#create()
+	 */
+	@Override
+	public boolean create() {
+		if (stateStore != null) {
+			if (!stateStore.create(sbbEntityID)) {
+				return false;
+			}
+			if (!sbbEntityID.isRootSbbEntity()) {
+				// the cache relates parent and child through the node tree,
+				// the store needs the relation explicitly in the parent record
+				stateStore.addToSet(sbbEntityID.getParentSBBEntityID(),
+						CHILD_RELATIONs_CHILD_NODE_NAME, sbbEntityID);
+			}
+			return true;
+		}
+		return super.create();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#remove()
+	 */
+	@Override
+	public boolean remove() {
+		if (stateStore != null) {
+			if (!removeFromStore(stateStore, sbbEntityID)) {
+				return false;
+			}
+			if (!sbbEntityID.isRootSbbEntity()) {
+				stateStore.removeFromSet(sbbEntityID.getParentSBBEntityID(),
+						CHILD_RELATIONs_CHILD_NODE_NAME, sbbEntityID);
+			}
+			return true;
+		}
+		return super.remove();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.cache.CacheData#isRemoved()
+	 */
+	@Override
+	public boolean isRemoved() {
+		if (stateStore != null) {
+			return !stateStore.exists(sbbEntityID);
+		}
+		return super.isRemoved();
+	}
+
+	/**
+	 * Removes the record of the specified sbb entity, and the records of its
+	 * descendants, from the store, as the cache does when removing the sbb
+	 * entity node.
+	 * 
+	 * @param stateStore
+	 * @param sbbEntityID
+	 * @return false if the record of the specified sbb entity does not exist
+	 */
+	private static boolean removeFromStore(StateStore stateStore, SbbEntityID sbbEntityID) {
+		// the set is read only, but may change with the child removals
+		final Object[] childSbbEntityIDs = stateStore.getSet(sbbEntityID,
+				CHILD_RELATIONs_CHILD_NODE_NAME).toArray();
+		for (Object childSbbEntityID : childSbbEntityIDs) {
+			removeFromStore(stateStore, (SbbEntityID) childSbbEntityID);
+		}
+		return stateStore.remove(sbbEntityID);
 	}
 
 	public void attachActivityContext(ActivityContextHandle ac) {
+		if (stateStore != null) {
+			stateStore.addToSet(sbbEntityID, ATTACHED_ACs_CHILD_NODE_NAME, ac);
+			return;
+		}
 		getAttachedACsChildNode(true).put(ac, MISC_NODE_MAP_VALUE);
 	}
 
 	public void detachActivityContext(ActivityContextHandle ac) {
+		if (stateStore != null) {
+			stateStore.removeFromSet(sbbEntityID, ATTACHED_ACs_CHILD_NODE_NAME, ac);
+			return;
+		}
 		final Node node  = getAttachedACsChildNode(false);
 		if (node != null) {
 			node.remove(ac);
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	public Set<EventTypeID> getMaskedEventTypes(ActivityContextHandle ac) {
+		if (stateStore != null) {
+			return (Set<EventTypeID>) stateStore.getFromMap(sbbEntityID, EVENT_MASKS_CHILD_NODE_NAME, ac);
+		}
 		final Node<ActivityContextHandle,Set<EventTypeID>> node = getEventMasksChildNode(false);
 		if (node == null) {
 			return null;
@@ -154,6 +268,14 @@ public class SbbEntityCacheData extends CacheData {
 	}
 
 	public void setEventMask(ActivityContextHandle ac, Set<EventTypeID> eventMask) {
+		if (stateStore != null) {
+			if (eventMask != null && !eventMask.isEmpty()) {
+				stateStore.putInMap(sbbEntityID, EVENT_MASKS_CHILD_NODE_NAME, ac, eventMask);
+			} else {
+				stateStore.removeFromMap(sbbEntityID, EVENT_MASKS_CHILD_NODE_NAME, ac);
+			}
+			return;
+		}
 		if (eventMask != null && !eventMask.isEmpty()) {
 			getEventMasksChildNode(true).put(ac,eventMask);
 		} else {
@@ -165,6 +287,17 @@ public class SbbEntityCacheData extends CacheData {
 	}
 
 	public void updateEventMask(ActivityContextHandle ac, Set<EventTypeID> maskedEvents) {
+		if (stateStore != null) {
+			// values in the store are immutable, update a copy
+			final Set<EventTypeID> currentMaskedEvents = getMaskedEventTypes(ac);
+			if (currentMaskedEvents != null) {
+				final Set<EventTypeID> updatedMaskedEvents = new HashSet<EventTypeID>(currentMaskedEvents);
+				updatedMaskedEvents.addAll(maskedEvents);
+				maskedEvents = updatedMaskedEvents;
+			}
+			stateStore.putInMap(sbbEntityID, EVENT_MASKS_CHILD_NODE_NAME, ac, maskedEvents);
+			return;
+		}
 		final Node<ActivityContextHandle,Set<EventTypeID>> eventMasksChildNode = getEventMasksChildNode(true);
 		Set<EventTypeID> currentMaskedEvents = eventMasksChildNode.get(ac);
 		if (currentMaskedEvents == null) {
@@ -175,7 +308,11 @@ public class SbbEntityCacheData extends CacheData {
 		}
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public Set<ActivityContextHandle> getActivityContexts() {
+		if (stateStore != null) {
+			return (Set) stateStore.getSet(sbbEntityID, ATTACHED_ACs_CHILD_NODE_NAME);
+		}
 		final Node node = getAttachedACsChildNode(false);
 		Set<ActivityContextHandle> result = null;
 		if (node != null) {
@@ -188,6 +325,9 @@ public class SbbEntityCacheData extends CacheData {
 	}
 
 	public boolean isAttached(ActivityContextHandle ach) {
+		if (stateStore != null) {
+			return stateStore.getSet(sbbEntityID, ATTACHED_ACs_CHILD_NODE_NAME).contains(ach);
+		}
 		final Node node = getAttachedACsChildNode(false);
 		if (node == null) {
 			return false;
@@ -198,19 +338,33 @@ public class SbbEntityCacheData extends CacheData {
 	}
 	
 	public Byte getPriority() {
+		if (stateStore != null) {
+			return (Byte) stateStore.get(sbbEntityID, PRIORITY_NODE_MAP_KEY);
+		}
 		return (Byte) getNode().get(PRIORITY_NODE_MAP_KEY);
 	}
 
 	public void setPriority(Byte priority) {
+		if (stateStore != null) {
+			stateStore.put(sbbEntityID, PRIORITY_NODE_MAP_KEY, priority);
+			return;
+		}
 		getNode().put(PRIORITY_NODE_MAP_KEY, priority);
 	}
 	
 	public void setCmpField(String cmpField, Object cmpValue) {
+		if (stateStore != null) {
+			stateStore.putInMap(sbbEntityID, CMP_FIELDS_CHILD_NODE_NAME, cmpField, cmpValue);
+			return;
+		}
 		final Node<String,Object> node = getCmpFieldsChildNode(true);
 		node.put(cmpField,cmpValue);
 	}
 
 	public Object getCmpField(String cmpField) {
+		if (stateStore != null) {
+			return stateStore.getFromMap(sbbEntityID, CMP_FIELDS_CHILD_NODE_NAME, cmpField);
+		}
 		final Node<String,Object> node = getCmpFieldsChildNode(false);
 		if (node == null) {
 			return null;
@@ -221,6 +375,17 @@ public class SbbEntityCacheData extends CacheData {
 	}
 	
 	public Set<SbbEntityID> getChildRelationSbbEntities(String getChildRelationMethod) {
+		if (stateStore != null) {
+			Set<SbbEntityID> result = new HashSet<SbbEntityID>();
+			SbbEntityID childSbbEntityID = null;
+			for (Object obj : stateStore.getSet(sbbEntityID, CHILD_RELATIONs_CHILD_NODE_NAME)) {
+				childSbbEntityID = (SbbEntityID) obj;
+				if (getChildRelationMethod.equals(childSbbEntityID.getParentChildRelation())) {
+					result.add(childSbbEntityID);
+				}
+			}
+			return result;
+		}
 		final Node node = getChildRelationsChildNode(false);
 		if (node == null) {
 			return Collections.emptySet();
@@ -238,6 +403,13 @@ public class SbbEntityCacheData extends CacheData {
 	}
 
 	public Set<SbbEntityID> getAllChildSbbEntities() {
+		if (stateStore != null) {
+			Set<SbbEntityID> result = new HashSet<SbbEntityID>();
+			for (Object obj : stateStore.getSet(sbbEntityID, CHILD_RELATIONs_CHILD_NODE_NAME)) {
+				result.add((SbbEntityID) obj);
+			}
+			return result;
+		}
 		Node childRelationsNode = getChildRelationsChildNode(false);
 		if (childRelationsNode == null || childRelationsNode.isLeaf()) {
 			return Collections.emptySet();
@@ -33,6 +33,7 @@ import org.jboss.cache.Node;
 import org.mobicents.cache.CacheData;
 import org.mobicents.cluster.MobicentsCluster;
 import org.mobicents.slee.container.sbbentity.SbbEntityID;
+import org.mobicents.slee.container.state.StateStore;
 
 /**
  * 
@@ -51,12 +52,29 @@ public class SbbEntityFactoryCacheData extends CacheData {
 	 */
 	protected static final Fqn SBB_ENTITY_FACTORY_FQN = Fqn.fromElements(SBB_ENTITY_FACTORY_FQN_NAME);
 
+	/**
+	 * the state store used instead of the cache, if not null
+	 */
+	private final StateStore stateStore;
+	
 	/**
 	 * 
 	 * @param cluster
 	 */
 	public SbbEntityFactoryCacheData(MobicentsCluster cluster) {
+		this(cluster, null);
+	}
+
+	/**
+	 * 
+	 * @param cluster
+	 * @param stateStore
+	 *            the store of the sbb entity data, if null the cluster cache
+	 *            is used
+	 */
+	public SbbEntityFactoryCacheData(MobicentsCluster cluster, StateStore stateStore) {
 		super(SBB_ENTITY_FACTORY_FQN, cluster.getMobicentsCache());
+		this.stateStore = stateStore;
 	}
 
 	/**
@@ -66,6 +84,14 @@ public class SbbEntityFactoryCacheData extends CacheData {
 	 * @return
 	 */
 	public Set<SbbEntityID> getSbbEntities() {
+		if (stateStore != null) {
+			// the store holds root and non root sbb entities at the same level
+			HashSet<SbbEntityID> result = new HashSet<SbbEntityID>();
+			for (Object obj : stateStore.getKeys()) {
+				result.add((SbbEntityID) obj);
+			}
+			return result;
+		}
 		final Node node = getNode();
 		if (node == null) {
 			return Collections.emptySet();
@@ -82,6 +108,14 @@ public class SbbEntityFactoryCacheData extends CacheData {
 		return result;
 	}
 
+	/**
+	 * Retrieves the ids of the root sbb entities of the specified service, in
+	 * the cluster cache, the factory indexes these by service when the state
+	 * store is used.
+	 * 
+	 * @param serviceID
+	 * @return
+	 */
 	public Set<SbbEntityID> getRootSbbEntityIDs(ServiceID serviceID) {
 		final Node node = getNode();
 		if (node == null) {
@@ -23,22 +23,24 @@
 package org.mobicents.slee.runtime.sbbentity;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 import javax.slee.CreateException;
-import javax.slee.SLEEException;
 import javax.slee.ServiceID;
 
 import org.apache.log4j.Logger;
 import org.mobicents.slee.container.AbstractSleeContainerModule;
+import org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfiguration;
 import org.mobicents.slee.container.sbbentity.SbbEntity;
 import org.mobicents.slee.container.sbbentity.SbbEntityFactory;
 import org.mobicents.slee.container.sbbentity.SbbEntityID;
+import org.mobicents.slee.container.state.StateStore;
 import org.mobicents.slee.container.transaction.TransactionContext;
 import org.mobicents.slee.container.transaction.TransactionalAction;
+import org.mobicents.slee.runtime.state.InHeapStateStore;
 
 /**
  * 
@@ -61,17 +63,59 @@ public class SbbEntityFactoryImpl extends AbstractSleeContainerModule implements
 	
 	protected SbbEntityLockFacility lockFacility;
 	
-	private final SbbEntityIDComparator sbbEntityIDComparator = new SbbEntityIDComparator(this); 
+	private final SbbEntityFactoryConfiguration configuration;
+	
+	/**
+	 * the store of the sbb entity data, if null the cluster cache is used
+	 */
+	private StateStore stateStore;
+	
+	/**
+	 * the ids of the root sbb entities in the state store, per service, if
+	 * null the cluster cache is used
+	 */
+	private ConcurrentHashMap<ServiceID, ConcurrentHashMap<SbbEntityID, Boolean>> rootSbbEntityIDs;
+	
+	public SbbEntityFactoryImpl() {
+		this(new SbbEntityFactoryConfiguration());
+	}
+	
+	public SbbEntityFactoryImpl(SbbEntityFactoryConfiguration configuration) {
+		this.configuration = configuration;
+	}
+	
+	/**
+	 * Creates the proxy object to manage the data of the specified sbb entity.
+	 * 
+	 * @param sbbEntityID
+	 * @return
+	 */
+	SbbEntityCacheData getSbbEntityCacheData(SbbEntityID sbbEntityID) {
+		return new SbbEntityCacheData(sbbEntityID,sleeContainer.getCluster().getMobicentsCache(),stateStore);
+	}
+	
+	public SbbEntityFactoryConfiguration getConfiguration() {
+		return configuration;
+	}
+	
+	public SbbEntityLockFacility getLockFacility() {
+		return lockFacility;
+	}
 	
 	@Override
 	public void sleeInitialization() {
-		this.lockFacility = new SbbEntityLockFacility(sleeContainer);
+		this.lockFacility = new SbbEntityLockFacility(sleeContainer,configuration);
+		if (configuration.isInHeapStateStoreEnabled()) {
+			// opt in, by default the data is kept in the cluster cache
+			stateStore = new InHeapStateStore("sbbe", sleeContainer.getTransactionManager());
+			rootSbbEntityIDs = new ConcurrentHashMap<ServiceID, ConcurrentHashMap<SbbEntityID,Boolean>>();
+		}
 	}
 	
 	@Override
 	public void sleeStarting() {
 		// init cache data
-		new SbbEntityFactoryCacheData(sleeContainer.getCluster()).create();
+		new SbbEntityFactoryCacheData(sleeContainer.getCluster(), stateStore).create();
 	}
 	
 	@Override
@@ -81,7 +125,7 @@ public class SbbEntityFactoryImpl extends AbstractSleeContainerModule implements
 		
 		// create sbb entity
 		final NonRootSbbEntityID sbbeId = new NonRootSbbEntityID(parentSbbEntityID, parentChildRelation, childName);
-		final SbbEntityCacheData cacheData = new SbbEntityCacheData(sbbeId,sleeContainer.getCluster().getMobicentsCache());
+		final SbbEntityCacheData cacheData = getSbbEntityCacheData(sbbeId);
 		if (cacheData.exists()) {
 			throw new CreateException("sbb entity with name "+childName+" already exists");
 		}
@@ -107,11 +151,11 @@ public class SbbEntityFactoryImpl extends AbstractSleeContainerModule implements
 
 		// get lock
 		final ReentrantLock lock = lockFacility.get(sbbeId);
-		lockOrFail(lock,sbbeId);
+		lockFacility.lockOrFail(lock,sbbeId);
 		// we hold the lock now
 				
 		// create sbb entity
-		final SbbEntityCacheData cacheData = new SbbEntityCacheData(sbbeId,sleeContainer.getCluster().getMobicentsCache());
+		final SbbEntityCacheData cacheData = getSbbEntityCacheData(sbbeId);
 		SbbEntityImpl sbbEntity = null;
 		if (cacheData.create()) {
 			sbbEntity = new SbbEntityImpl(sbbeId, cacheData, true, this);
@@ -131,7 +175,16 @@ public class SbbEntityFactoryImpl extends AbstractSleeContainerModule implements
 			};
 			txContext.getAfterRollbackActions().add(rollbackTxAction);
 			txContext.getAfterCommitActions().add(commitTxAction);
-			
+			if (rootSbbEntityIDs != null) {
+				// indexed right away, so the service stop waits for it too
+				addRootSbbEntityID(sbbeId);
+				txContext.getAfterRollbackActions().add(new TransactionalAction() {
+					@Override
+					public void execute() {
+						removeRootSbbEntityID(sbbeId);
+					}
+				});
+			}
 		}
 		else {
 			sbbEntity = new SbbEntityImpl(sbbeId, cacheData, false, this);
@@ -155,7 +208,14 @@ public class SbbEntityFactoryImpl extends AbstractSleeContainerModule implements
 	
 	@Override
 	public Set<SbbEntityID> getRootSbbEntityIDs(ServiceID serviceID) {
-		final SbbEntityFactoryCacheData cacheData = new SbbEntityFactoryCacheData(sleeContainer.getCluster());
+		if (rootSbbEntityIDs != null) {
+			final ConcurrentHashMap<SbbEntityID, Boolean> serviceRootSbbEntityIDs = rootSbbEntityIDs.get(serviceID);
+			if (serviceRootSbbEntityIDs == null) {
+				return Collections.emptySet();
+			}
+			return new HashSet<SbbEntityID>(serviceRootSbbEntityIDs.keySet());
+		}
+		final SbbEntityFactoryCacheData cacheData = new SbbEntityFactoryCacheData(sleeContainer.getCluster(), stateStore);
 		if (cacheData.exists()) {
 			return cacheData.getRootSbbEntityIDs(serviceID);
 		}
@@ -197,11 +257,11 @@ public class SbbEntityFactoryImpl extends AbstractSleeContainerModule implements
 			if (lockSbbEntity) {
 				lockedSbbEntityID = sbbeId.getRootSBBEntityID();
 				lock = lockFacility.get(lockedSbbEntityID);
-				lockOrFail(lock,lockedSbbEntityID);											
+				lockFacility.lockOrFail(lock,lockedSbbEntityID);											
 			}															
 						
 			// get sbb entity data from cache
-			final SbbEntityCacheData cacheData = new SbbEntityCacheData(sbbeId,sleeContainer.getCluster().getMobicentsCache());
+			final SbbEntityCacheData cacheData = getSbbEntityCacheData(sbbeId);
 			if (!cacheData.exists()) {
 				if(lock != null) {
 					lockFacility.remove(lockedSbbEntityID);
@@ -276,14 +336,61 @@ public class SbbEntityFactoryImpl extends AbstractSleeContainerModule implements
 				@Override
 				public void execute() {
 					lockFacility.remove(sbbEntityID);
+					if (rootSbbEntityIDs != null) {
+						removeRootSbbEntityID(sbbEntityID);
+					}
 				}
 			};
 			txContext.getAfterCommitActions().add(txAction);
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.sbbentity.SbbEntityFactory#purgeSbbEntities(javax.slee.ServiceID)
+	 */
+	public void purgeSbbEntities(ServiceID serviceID) {
+		if (rootSbbEntityIDs == null) {
+			// the cache data is removed with the service cache data
+			return;
+		}
+		final ConcurrentHashMap<SbbEntityID, Boolean> serviceRootSbbEntityIDs = rootSbbEntityIDs.remove(serviceID);
+		if (serviceRootSbbEntityIDs == null) {
+			return;
+		}
+		for (SbbEntityID sbbEntityID : serviceRootSbbEntityIDs.keySet()) {
+			// no tx, each record removal is committed right away
+			if (getSbbEntityCacheData(sbbEntityID).remove()) {
+				logger.warn("Purged data of sbb entity "+sbbEntityID+", left in the state store after the stop of service "+serviceID);
+			}
+			lockFacility.remove(sbbEntityID);
+		}
+	}
+	
 	// --- helpers
 
+	private void addRootSbbEntityID(SbbEntityID sbbEntityID) {
+		final ServiceID serviceID = sbbEntityID.getServiceID();
+		ConcurrentHashMap<SbbEntityID, Boolean> serviceRootSbbEntityIDs = rootSbbEntityIDs.get(serviceID);
+		if (serviceRootSbbEntityIDs == null) {
+			final ConcurrentHashMap<SbbEntityID, Boolean> newServiceRootSbbEntityIDs = new ConcurrentHashMap<SbbEntityID, Boolean>();
+			serviceRootSbbEntityIDs = rootSbbEntityIDs.putIfAbsent(serviceID, newServiceRootSbbEntityIDs);
+			if (serviceRootSbbEntityIDs == null) {
+				serviceRootSbbEntityIDs = newServiceRootSbbEntityIDs;
+			}
+		}
+		serviceRootSbbEntityIDs.put(sbbEntityID, Boolean.TRUE);
+	}
+
+	private void removeRootSbbEntityID(SbbEntityID sbbEntityID) {
+		final ConcurrentHashMap<SbbEntityID, Boolean> serviceRootSbbEntityIDs = rootSbbEntityIDs.get(sbbEntityID.getServiceID());
+		if (serviceRootSbbEntityIDs != null) {
+			// the empty map is kept, the service will most likely create more
+			serviceRootSbbEntityIDs.remove(sbbEntityID);
+		}
+	}
+
+
 	/**
 	 * 
 	 * @param sbbEntity
@@ -309,34 +416,9 @@ public class SbbEntityFactoryImpl extends AbstractSleeContainerModule implements
 					sbbeId) : null;		
 	}
 	
-	/**
-	 * 
-	 * @param lock
-	 * @param sbbeId
-	 * @throws SLEEException
-	 */
-	private static void lockOrFail(ReentrantLock lock, SbbEntityID sbbeId) throws SLEEException {
-		if (doTraceLogs) {
-			logger.trace(Thread.currentThread()+" trying to acquire lock "+lock+" for sbb entity with id "+sbbeId);
-		}
-		boolean locked;
-		try { 
-			locked = lock.tryLock(10, TimeUnit.SECONDS);
-		}
-		catch (Throwable e) {
-			throw new SLEEException(e.getMessage(),e);
-		}
-		if (!locked) {
-			throw new SLEEException("timeout while acquiring lock "+lock+" for sbb entity with id "+sbbeId);
-		}
-		if (doTraceLogs) {
-			logger.trace(Thread.currentThread()+" acquired lock "+lock+" for sbb entity with id "+sbbeId);
-		}
-	}
-	
 	@Override
 	public Set<SbbEntityID> getSbbEntityIDs() {
-		final SbbEntityFactoryCacheData cacheData = new SbbEntityFactoryCacheData(sleeContainer.getCluster());
+		final SbbEntityFactoryCacheData cacheData = new SbbEntityFactoryCacheData(sleeContainer.getCluster(), stateStore);
 		if (cacheData.exists()) {
 			return cacheData.getSbbEntities();
 		}
@@ -345,10 +427,32 @@ public class SbbEntityFactoryImpl extends AbstractSleeContainerModule implements
 		}
 	}
 	
-	@Override
-	public Set<SbbEntityID> sortByPriority(Set<SbbEntityID> ids) {
-		final Set<SbbEntityID> orderSbbSet = new TreeSet<SbbEntityID>(sbbEntityIDComparator);
-		orderSbbSet.addAll(ids);
-		return orderSbbSet;
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.sbbentity.SbbEntityFactory#getPriorityPath(org.mobicents.slee.container.sbbentity.SbbEntityID)
+	 */
+	public byte[] getPriorityPath(SbbEntityID sbbEntityID) {
+		// find depth
+		int depth = 1;
+		SbbEntityID ancestor = sbbEntityID;
+		while (!ancestor.isRootSbbEntity()) {
+			ancestor = ancestor.getParentSBBEntityID();
+			depth++;
+		}
+		// fill priorities, from the sbb entity up to the root
+		final byte[] path = new byte[depth];
+		SbbEntityCacheData sbbEntityCacheData = null;
+		Byte priority = null;
+		for (int i = depth - 1; i >= 0; i--) {
+			sbbEntityCacheData = getSbbEntityCacheData(sbbEntityID);
+			if(!sbbEntityCacheData.exists()) {
+				// edge case where a sbb entity was concurrently removed
+				return null;
+			}
+			priority = sbbEntityCacheData.getPriority();
+			path[i] = priority != null ? priority.byteValue() : 0;
+			sbbEntityID = sbbEntityID.getParentSBBEntityID();
+		}
+		return path;
 	}
 }
\ No newline at end of file
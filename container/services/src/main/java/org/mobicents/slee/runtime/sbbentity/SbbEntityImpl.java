@@ -45,6 +45,7 @@ import org.mobicents.slee.container.SleeThreadLocals;
 import org.mobicents.slee.container.activity.ActivityContext;
 import org.mobicents.slee.container.activity.ActivityContextHandle;
 import org.mobicents.slee.container.component.sbb.EventEntryDescriptor;
+import org.mobicents.slee.container.component.sbb.EventHandlerInvoker;
 import org.mobicents.slee.container.component.sbb.GetChildRelationMethodDescriptor;
 import org.mobicents.slee.container.component.sbb.SbbComponent;
 import org.mobicents.slee.container.component.sbb.SbbComponent.EventHandlerMethod;
@@ -289,13 +290,38 @@ public class SbbEntityImpl implements SbbEntity {
 	 * @see org.mobicents.slee.runtime.sbbentity.SbbEntity#setPriority(byte)
 	 */
 	public void setPriority(byte value) {
+		final Byte oldPriority = cacheData.getPriority();
 		priority = Byte.valueOf(value);
 		cacheData.setPriority(priority);
+		if (oldPriority != null && oldPriority.byteValue() != value) {
+			// the order of the sbb entities attached to the acs of this sbb
+			// entity, and of its descendants, is no longer valid
+			priorityChanged();
+		}
 		if (log.isDebugEnabled()) {
 			log.debug("Sbb entity "+getSbbEntityId()+" priority set to " + priority);
 		}
 	}
 
+	/**
+	 * Notifies the acs this sbb entity, and its descendants, are attached,
+	 * that the priority of the sbb entity changed.
+	 */
+	private void priorityChanged() {
+		for (ActivityContextHandle ach : getActivityContexts()) {
+			final ActivityContext ac = sleeContainer.getActivityContextFactory().getActivityContext(ach);
+			if (ac != null) {
+				ac.sbbEntityPriorityChanged();
+			}
+		}
+		for (SbbEntityID sbbEntityId : cacheData.getAllChildSbbEntities()) {
+			SbbEntityImpl childSbbEntity = (SbbEntityImpl) sbbEntityFactory.getSbbEntity(sbbEntityId, false);
+			if (childSbbEntity != null) {
+				childSbbEntity.priorityChanged();
+			}
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.mobicents.slee.runtime.sbbentity.SbbEntity#remove()
@@ -432,8 +458,8 @@ public class SbbEntityImpl implements SbbEntity {
 	 * (non-Javadoc)
 	 * @see org.mobicents.slee.runtime.sbbentity.SbbEntity#invokeEventHandler(org.mobicents.slee.core.event.SleeEvent, org.mobicents.slee.runtime.activity.ActivityContext, org.mobicents.slee.core.event.EventContext)
 	 */
-	public void invokeEventHandler(EventContext sleeEvent, ActivityContext ac,
-			EventContext eventContextImpl) throws Exception {
+	public void invokeEventHandler(final EventContext sleeEvent, ActivityContext ac,
+			final EventContext eventContextImpl) throws Exception {
 
 		
 		// get event handler method
@@ -441,10 +467,14 @@ public class SbbEntityImpl implements SbbEntity {
 		final EventHandlerMethod eventHandlerMethod = sbbComponent
 				.getEventHandlerMethods().get(sleeEvent.getEventTypeId());
 		// build aci
-		ActivityContextInterface aci = asSbbActivityContextInterface(ac.getActivityContextInterface());
-		// now build the param array
+		final ActivityContextInterface aci = asSbbActivityContextInterface(ac.getActivityContextInterface());
+		// the generated invoker, if available, calls the method directly
+		final EventHandlerInvoker eventHandlerInvoker = eventHandlerMethod.getInvokerIndex() < 0 ? null : sbbComponent.getEventHandlerInvoker();
+		// now build the param array, if the method is invoked through reflection
 		final Object[] parameters ;
-		if (eventHandlerMethod.getHasEventContextParam()) {
+		if (eventHandlerInvoker != null) {
+			parameters = null;
+		} else if (eventHandlerMethod.getHasEventContextParam()) {
 			parameters = new Object[] { sleeEvent.getEvent(),
 					aci, eventContextImpl };
 		} else {
@@ -473,11 +503,19 @@ public class SbbEntityImpl implements SbbEntity {
 			if(System.getSecurityManager()!=null) {
 				AccessController.doPrivileged(new PrivilegedExceptionAction<Object>(){
 				public Object run() throws IllegalAccessException, InvocationTargetException{
-					eventHandlerMethod.getEventHandlerMethod().invoke(
-							sbbObject.getSbbConcrete(), parameters);
+					if (eventHandlerInvoker != null) {
+						invokeEventHandler(eventHandlerInvoker, eventHandlerMethod.getInvokerIndex(), sbbObject.getSbbConcrete(), sleeEvent.getEvent(), aci, eventContextImpl);
+					}
+					else {
+						eventHandlerMethod.getEventHandlerMethod().invoke(
+								sbbObject.getSbbConcrete(), parameters);
+					}
 					return null;
 				}});
 			}
+			else if (eventHandlerInvoker != null) {
+				invokeEventHandler(eventHandlerInvoker, eventHandlerMethod.getInvokerIndex(), sbbObject.getSbbConcrete(), sleeEvent.getEvent(), aci, eventContextImpl);
+			}
 			else {
 				eventHandlerMethod.getEventHandlerMethod().invoke(
 						sbbObject.getSbbConcrete(), parameters);
@@ -533,6 +571,22 @@ public class SbbEntityImpl implements SbbEntity {
 		
 	}
 
+	/**
+	 * Invokes an event handler method through the sbb component generated
+	 * invoker, exceptions thrown by the method are wrapped, as done when
+	 * invoking through reflection.
+	 * 
+	 * @throws InvocationTargetException
+	 */
+	private static void invokeEventHandler(EventHandlerInvoker eventHandlerInvoker, int eventHandlerIndex, Object sbbConcrete, Object event, ActivityContextInterface aci, EventContext eventContext) throws InvocationTargetException {
+		try {
+			eventHandlerInvoker.invoke(eventHandlerIndex, sbbConcrete, event, aci, eventContext);
+		}
+		catch (Exception e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+	
 	public ActivityContextInterface asSbbActivityContextInterface(
 			ActivityContextInterface aci) {
 		final SbbComponent sbbComponent = getSbbComponent();
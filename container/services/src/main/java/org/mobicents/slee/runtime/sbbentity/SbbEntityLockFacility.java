@@ -22,10 +22,15 @@
 
 package org.mobicents.slee.runtime.sbbentity;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.slee.SLEEException;
 import javax.slee.ServiceID;
 
 import org.apache.log4j.Logger;
@@ -35,9 +40,16 @@ import org.jboss.cache.notifications.annotation.NodeRemoved;
 import org.jboss.cache.notifications.event.NodeRemovedEvent;
 import org.mobicents.cache.MobicentsCache;
 import org.mobicents.slee.container.SleeContainer;
+import org.mobicents.slee.container.management.jmx.SbbEntityFactoryConfiguration;
 import org.mobicents.slee.container.sbbentity.SbbEntityID;
 
 /**
+ * The locks used to serialize the access to sbb entities. By default there is
+ * a lock per root sbb entity, removed when the sbb entity is removed. If
+ * configured with lock stripes there is instead a fixed array of locks,
+ * selected by the sbb entity id hash, and the memory used does not depend on
+ * how many sbb entities exist, with the trade off that unrelated sbb entities
+ * may share a lock.
  * 
  * @author martins
  *
@@ -48,19 +60,71 @@ public class SbbEntityLockFacility {
 	private static final Logger logger = Logger.getLogger(SbbEntityLockFacility.class);
 	private boolean doTraceLogs = logger.isTraceEnabled();
 	
+	/**
+	 * the number of buckets in the lock wait time histogram
+	 */
+	public static final int WAIT_TIME_HISTOGRAM_BUCKETS = 26;
+	
+	/**
+	 * the locks per sbb entity, null if striped
+	 */
+	private final ConcurrentHashMap<SbbEntityID,ReentrantLock> locks;
+	
+	/**
+	 * the striped locks, null if there is a lock per sbb entity
+	 */
+	private final ReentrantLock[] stripes;
+	
 	/**
 	 * 
 	 */
-	private final ConcurrentHashMap<SbbEntityID,ReentrantLock> locks = new ConcurrentHashMap<SbbEntityID, ReentrantLock>();
+	private final SbbEntityFactoryConfiguration configuration;
+	
+	// statistics
+	
+	private final AtomicLong contentions = new AtomicLong(0);
+	
+	private final AtomicLong timeouts = new AtomicLong(0);
+	
+	private final AtomicLongArray stripeContentions;
+	
+	private final AtomicLongArray waitTimeHistogram = new AtomicLongArray(WAIT_TIME_HISTOGRAM_BUCKETS);
 	
 	/**
 	 * 
 	 */
 	public SbbEntityLockFacility(SleeContainer container) {
-		//container.getCluster().addDataRemovalListener(new DataRemovaClusterListener());
-		MobicentsCache cache = container.getCluster().getMobicentsCache();
-		if (!cache.isLocalMode()) {
-			cache.getJBossCache().addCacheListener(this);
+		this(container, new SbbEntityFactoryConfiguration());
+	}
+	
+	/**
+	 * 
+	 */
+	public SbbEntityLockFacility(SleeContainer container, SbbEntityFactoryConfiguration configuration) {
+		this.configuration = configuration;
+		final int lockStripes = configuration.getLockStripes();
+		if (lockStripes > 0) {
+			// round up to power of two, so the stripe index is a mask of the hash
+			int size = 1;
+			while (size < lockStripes) {
+				size <<= 1;
+			}
+			locks = null;
+			stripes = new ReentrantLock[size];
+			for (int i = 0; i < size; i++) {
+				stripes[i] = new ReentrantLock();
+			}
+			stripeContentions = new AtomicLongArray(size);
+		}
+		else {
+			locks = new ConcurrentHashMap<SbbEntityID, ReentrantLock>();
+			stripes = null;
+			stripeContentions = new AtomicLongArray(0);
+			//container.getCluster().addDataRemovalListener(new DataRemovaClusterListener());
+			MobicentsCache cache = container.getCluster().getMobicentsCache();
+			if (!cache.isLocalMode()) {
+				cache.getJBossCache().addCacheListener(this);
+			}
 		}
 	}
 	
@@ -70,6 +134,9 @@ public class SbbEntityLockFacility {
 	 * @return
 	 */
 	public ReentrantLock get(SbbEntityID sbbEntityId) {
+		if (stripes != null) {
+			return stripes[stripeIndex(sbbEntityId)];
+		}
 		ReentrantLock lock = locks.get(sbbEntityId);
 		if (lock == null) {
 			final ReentrantLock newLock = new ReentrantLock();
@@ -85,11 +152,18 @@ public class SbbEntityLockFacility {
 	}
 	
 	/**
+	 * Removes the lock of the specified sbb entity. If locks are striped
+	 * nothing is removed, since the lock may be shared with other sbb
+	 * entities, and null is returned.
 	 * 
 	 * @param sbbEntityId
-	 * @return
+	 * @return the removed lock, null if there was none or locks are striped
 	 */
 	public ReentrantLock remove(SbbEntityID sbbEntityId) {
+		if (stripes != null) {
+			// striped locks are never removed
+			return null;
+		}
 		if(doTraceLogs) {
 			logger.trace(Thread.currentThread()+" removed lock for "+sbbEntityId);
 		}
@@ -97,13 +171,123 @@ public class SbbEntityLockFacility {
 	}
 	
 	/**
+	 * Retrieves the ids of the sbb entities with locks. If locks are striped
+	 * the holders are not tracked, and the set is always empty.
 	 * 
 	 * @return
 	 */
 	public Set<SbbEntityID> getSbbEntitiesWithLocks() {
+		if (stripes != null) {
+			return Collections.emptySet();
+		}
 		return locks.keySet();
 	}
 	
+	/**
+	 * Acquires the specified lock, retrieved for the specified sbb entity,
+	 * waiting at most the configured lock timeout.
+	 * 
+	 * @param lock
+	 * @param sbbeId
+	 * @throws SLEEException
+	 *             if the lock was not acquired
+	 */
+	public void lockOrFail(ReentrantLock lock, SbbEntityID sbbeId) throws SLEEException {
+		if (doTraceLogs) {
+			logger.trace(Thread.currentThread()+" trying to acquire lock "+lock+" for sbb entity with id "+sbbeId);
+		}
+		if (!lock.tryLock()) {
+			// contended
+			contentions.incrementAndGet();
+			if (stripes != null) {
+				stripeContentions.incrementAndGet(stripeIndex(sbbeId));
+			}
+			boolean locked;
+			final long start = System.nanoTime();
+			try { 
+				locked = lock.tryLock(configuration.getLockTimeout(), TimeUnit.MILLISECONDS);
+			}
+			catch (Throwable e) {
+				throw new SLEEException(e.getMessage(),e);
+			}
+			waitTimeHistogram.incrementAndGet(waitTimeHistogramBucket(System.nanoTime() - start));
+			if (!locked) {
+				timeouts.incrementAndGet();
+				throw new SLEEException("timeout while acquiring lock "+lock+" for sbb entity with id "+sbbeId);
+			}
+		}
+		if (doTraceLogs) {
+			logger.trace(Thread.currentThread()+" acquired lock "+lock+" for sbb entity with id "+sbbeId);
+		}
+	}
+	
+	private int stripeIndex(SbbEntityID sbbEntityId) {
+		int h = sbbEntityId.hashCode();
+		// spread the hash bits, since the index masks the lower ones
+		h ^= (h >>> 20) ^ (h >>> 12);
+		h ^= (h >>> 7) ^ (h >>> 4);
+		return h & (stripes.length - 1);
+	}
+	
+	private static int waitTimeHistogramBucket(long waitTimeNanos) {
+		final long waitTimeMicros = waitTimeNanos / 1000;
+		final int bucket = 64 - Long.numberOfLeadingZeros(waitTimeMicros);
+		return bucket < WAIT_TIME_HISTOGRAM_BUCKETS ? bucket : WAIT_TIME_HISTOGRAM_BUCKETS - 1;
+	}
+	
+	// statistics
+	
+	/**
+	 * 
+	 * @return the number of locks in memory
+	 */
+	public int getLocks() {
+		return stripes != null ? stripes.length : locks.size();
+	}
+	
+	/**
+	 * 
+	 * @return the number of striped locks, 0 if there is a lock per sbb entity
+	 */
+	public int getLockStripes() {
+		return stripes != null ? stripes.length : 0;
+	}
+	
+	public long getLockContentions() {
+		return contentions.get();
+	}
+	
+	public long getLockTimeouts() {
+		return timeouts.get();
+	}
+	
+	public long[] getLockStripeContentions() {
+		final long[] result = new long[stripeContentions.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = stripeContentions.get(i);
+		}
+		return result;
+	}
+	
+	public long[] getLockWaitTimeHistogram() {
+		final long[] result = new long[WAIT_TIME_HISTOGRAM_BUCKETS];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = waitTimeHistogram.get(i);
+		}
+		return result;
+	}
+	
+	public void resetStatistics() {
+		contentions.set(0);
+		timeouts.set(0);
+		for (int i = 0; i < stripeContentions.length(); i++) {
+			stripeContentions.set(i, 0);
+		}
+		for (int i = 0; i < WAIT_TIME_HISTOGRAM_BUCKETS; i++) {
+			waitTimeHistogram.set(i, 0);
+		}
+	}
+	
 	// FIXME this does not work in the new sbbe tree model, ensure cluster framework gets such feature
 	/*
 	private class DataRemovaClusterListener implements DataRemovalListener {
@@ -129,7 +313,7 @@ public class SbbEntityLockFacility {
 	
 	@NodeRemoved
 	public void onNodeRemovedEvent(NodeRemovedEvent event) {
-		if(!event.isOriginLocal() && !event.isPre()) {			
+		if(locks != null && !event.isOriginLocal() && !event.isPre()) {			
 			// remote node removal
 			Fqn<?> fqn = event.getFqn();
 			if(doTraceLogs) {
@@ -0,0 +1,193 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * A compact 128 bit identifier, made of two longs, created by the
+ * {@link MobicentsUUIDGenerator}. Equality, hashing and serialization only
+ * deal with the two longs, the {@link String} form is only built, and then
+ * cached, when {@link #toString()} is invoked.
+ */
+public final class MobicentsUUID implements Externalizable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private long hi;
+	private long lo;
+
+	/**
+	 * lazy string form
+	 */
+	private transient volatile String string;
+
+	/**
+	 * needed for externalizable, do not use elsewhere
+	 */
+	public MobicentsUUID() {
+
+	}
+
+	/**
+	 * 
+	 * @param hi
+	 * @param lo
+	 */
+	public MobicentsUUID(long hi, long lo) {
+		this.hi = hi;
+		this.lo = lo;
+	}
+
+	/**
+	 * Retrieves the most significant 64 bits of the id.
+	 * 
+	 * @return
+	 */
+	public long getHi() {
+		return hi;
+	}
+
+	/**
+	 * Retrieves the least significant 64 bits of the id.
+	 * 
+	 * @return
+	 */
+	public long getLo() {
+		return lo;
+	}
+
+	/**
+	 * Writes the id, as two longs, to the specified output.
+	 * 
+	 * @param out
+	 * @throws IOException
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeLong(hi);
+		out.writeLong(lo);
+	}
+
+	/**
+	 * Reads an id, written with {@link #write(DataOutput)}, from the
+	 * specified input.
+	 * 
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	public static MobicentsUUID read(DataInput in) throws IOException {
+		return new MobicentsUUID(in.readLong(), in.readLong());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		// ids of different threads have close his and equal los, so these
+		// are combined with an odd multiplier, and all bits are then mixed
+		// with the 64 bit finalizer of murmur3, instead of just xored
+		long h = hi * 0x9E3779B97F4A7C15L + lo;
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return (int) h;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final MobicentsUUID other = (MobicentsUUID) obj;
+		return this.lo == other.lo && this.hi == other.hi;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		String result = string;
+		if (result == null) {
+			final char[] chars = new char[33];
+			toHex(hi, chars, 0);
+			chars[16] = '-';
+			toHex(lo, chars, 17);
+			result = new String(chars);
+			string = result;
+		}
+		return result;
+	}
+
+	private static void toHex(long value, char[] chars, int offset) {
+		for (int i = offset + 15; i >= offset; i--) {
+			chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+			value >>>= 4;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Externalizable#readExternal(java.io.ObjectInput)
+	 */
+	@Override
+	public void readExternal(ObjectInput in) throws IOException,
+			ClassNotFoundException {
+		hi = in.readLong();
+		lo = in.readLong();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Externalizable#writeExternal(java.io.ObjectOutput)
+	 */
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		write(out);
+	}
+}
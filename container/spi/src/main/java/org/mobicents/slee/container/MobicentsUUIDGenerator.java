@@ -22,25 +22,76 @@
 
 package org.mobicents.slee.container;
 
-import java.rmi.server.UID;
-import java.util.UUID;
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Generator of the container's unique identifiers.
+ * 
+ * Ids are 128 bit {@link MobicentsUUID}s, the most significant long is a block
+ * assigned once per thread, made of a random node prefix (40 bits) and a block
+ * sequence (24 bits), while the least significant long is a counter private
+ * to the thread, which means that creating an id needs no synchronization,
+ * entropy or string formatting.
+ * 
+ * @author martins
+ * 
+ */
 public class MobicentsUUIDGenerator {
 
-	private final boolean localMode; 
-	
+	private static final int BLOCK_BITS = 24;
+
+	/**
+	 * the next block to assign to a thread, starts at the node prefix
+	 */
+	private final AtomicLong blocks;
+
+	private final ThreadLocal<Sequence> sequences = new ThreadLocal<Sequence>() {
+		@Override
+		protected Sequence initialValue() {
+			return new Sequence(blocks.getAndIncrement());
+		}
+	};
+
+	private static class Sequence {
+
+		private final long hi;
+		private long lo;
+
+		private Sequence(long hi) {
+			this.hi = hi;
+		}
+	}
+
+	/**
+	 * 
+	 * @param localMode
+	 *            if true ids only need to be unique in this JVM, and the node
+	 *            prefix is not taken from a secure random source
+	 */
 	public MobicentsUUIDGenerator(boolean localMode) {
-		this.localMode = localMode;
-		// some id generators initialize on fist call
-		createUUID();
+		final Random random = localMode ? new Random() : new SecureRandom();
+		final long prefix = random.nextLong() >>> BLOCK_BITS;
+		this.blocks = new AtomicLong(prefix << BLOCK_BITS);
+	}
+
+	/**
+	 * Creates a new unique id, in its binary form.
+	 * 
+	 * @return
+	 */
+	public MobicentsUUID createBinaryUUID() {
+		final Sequence sequence = sequences.get();
+		return new MobicentsUUID(sequence.hi, sequence.lo++);
+	}
+
+	/**
+	 * Creates a new unique id, in its string form.
+	 * 
+	 * @return
+	 */
+	public String createUUID() {
+		return createBinaryUUID().toString();
 	}
-	    
-    public String createUUID() {
-    	if (localMode) {
-    		return new UID().toString();
-    	}
-    	else {
-    		return UUID.randomUUID().toString();
-    	}
-    }
 }
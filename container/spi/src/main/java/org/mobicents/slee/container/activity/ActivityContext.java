@@ -183,13 +183,19 @@ public interface ActivityContext {
 	public Set<SbbEntityID> getSbbAttachmentSet();
 
 	/**
-	 * get an ordered copy of the set of SBBs attached to this ac. The ordering
-	 * is by SBB priority.
-	 * 
-	 * @return list of SbbEIDs
+	 * Retrieves the sbb entities attached to this ac, ordered by priority. The
+	 * array returned is shared by all callers, and must not be modified.
 	 * 
+	 * @return
+	 */
+	public SbbEntityID[] getSortedSbbAttachments();
+
+	/**
+	 * Indicates the priority of an sbb entity attached to this ac, or of one of
+	 * its ancestors, was changed in the current tx, and thus the order of the
+	 * sbb entities attached may be no longer valid.
 	 */
-	public Set<SbbEntityID> getSortedSbbAttachmentSet(Set<SbbEntityID> excludeSet);
+	public void sbbEntityPriorityChanged();
 
 	/**
 	 * test if the activity context is ending.
@@ -103,6 +103,42 @@ public interface ActivityContextFactory extends SleeContainerModule {
 	 */
 	public int getActivityContextCount();
 
+	/**
+	 * Retrieves the handles of all activity contexts of the specified type.
+	 * 
+	 * @param activityType
+	 * @return a read only set
+	 */
+	public Set<ActivityContextHandle> getActivityContextsHandles(
+			ActivityType activityType);
+
+	/**
+	 * Retrieves the number of activity contexts of the specified type.
+	 * 
+	 * @param activityType
+	 * @return
+	 */
+	public int getActivityContextCount(ActivityType activityType);
+
+	/**
+	 * Retrieves the handles of all activity contexts of the resource adaptor
+	 * entity with the specified name.
+	 * 
+	 * @param raEntityName
+	 * @return a read only set
+	 */
+	public Set<ActivityContextHandle> getResourceAdaptorEntityActivityContextsHandles(
+			String raEntityName);
+
+	/**
+	 * Retrieves the number of activity contexts of the resource adaptor
+	 * entity with the specified name.
+	 * 
+	 * @param raEntityName
+	 * @return
+	 */
+	public int getResourceAdaptorEntityActivityContextCount(String raEntityName);
+
 	/**
 	 * Indicates if the activity context exists in SLEE.
 	 * 
@@ -28,6 +28,7 @@ package org.mobicents.slee.container.activity;
 import javax.transaction.Transaction;
 
 import org.mobicents.slee.container.event.EventContext;
+import org.mobicents.slee.container.transaction.TransactionContext;
 
 /**
  * @author martins
@@ -41,6 +42,15 @@ public interface ActivityEventQueueManager {
 	 * @param ef
 	 */
 	public void pending(EventContext ef);
+
+	/**
+	 * Defines that the specified event is now pending, and adds the actions
+	 * to commit or rollback it to the specified tx context.
+	 * 
+	 * @param ef
+	 * @param txContext
+	 */
+	public void pending(EventContext ef, TransactionContext txContext);
 	
 	/**
 	 * Signals the manager that the event was committed, and thus can be routed.
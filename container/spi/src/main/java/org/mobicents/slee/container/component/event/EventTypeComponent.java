@@ -87,4 +87,16 @@ public interface EventTypeComponent extends SleeComponent {
 	 */
 	public void deactivatedServiceWhichDefineEventAsInitial(ServiceComponent serviceComponent);
 	
+	/**
+	 * Retrieves the dense index of the event type, assigned by the event router when the component is installed, which the event routing uses to access the event type statistics
+	 * @return -1 if the event type has no index
+	 */
+	public int getStatisticsIndex();
+	
+	/**
+	 * Sets the dense index of the event type, see {@link #getStatisticsIndex()}
+	 * @param statisticsIndex
+	 */
+	public void setStatisticsIndex(int statisticsIndex);
+	
 }
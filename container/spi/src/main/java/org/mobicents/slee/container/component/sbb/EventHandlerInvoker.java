@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.component.sbb;
+
+import javax.slee.ActivityContextInterface;
+import javax.slee.EventContext;
+
+/**
+ * Invoker of the event handler methods of an sbb component, generated by the
+ * SLEE for each sbb concrete class, which calls the event handler methods
+ * directly, instead of using reflection.
+ */
+public interface EventHandlerInvoker {
+
+	/**
+	 * Invokes an event handler method.
+	 * 
+	 * @param eventHandlerIndex
+	 *            the invoker index of the event handler method, see
+	 *            {@link SbbComponent.EventHandlerMethod#getInvokerIndex()}
+	 * @param sbbConcrete
+	 *            the sbb concrete object
+	 * @param event
+	 * @param aci
+	 * @param eventContext
+	 *            only passed to event handler methods which declare the event
+	 *            context param
+	 * @throws Exception
+	 *             the exception thrown by the event handler method
+	 */
+	public void invoke(int eventHandlerIndex, Object sbbConcrete,
+			Object event, ActivityContextInterface aci,
+			EventContext eventContext) throws Exception;
+
+}
@@ -172,6 +172,20 @@ public interface SbbComponent extends SleeComponentWithUsageParametersInterface
 	 */
 	public AbstractSbbClassInfo getAbstractSbbClassInfo();
 	
+	/**
+	 * Retrieves the SLEE generated invoker of the sbb event handler methods.
+	 * 
+	 * @return null if the invoker was not generated
+	 */
+	public EventHandlerInvoker getEventHandlerInvoker();
+
+	/**
+	 * Sets the SLEE generated invoker of the sbb event handler methods.
+	 * 
+	 * @param eventHandlerInvoker
+	 */
+	public void setEventHandlerInvoker(EventHandlerInvoker eventHandlerInvoker);
+	
 	/**
 	 * Sbb event handler method wrapper to deliver an event to the sbb
 	 * component.
@@ -183,6 +197,7 @@ public interface SbbComponent extends SleeComponentWithUsageParametersInterface
 
 		private final Method eventHandlerMethod;
 		private boolean hasEventContextParam;
+		private int invokerIndex = -1;
 
 		public EventHandlerMethod(Method eventHandlerMethod) {
 			this.eventHandlerMethod = eventHandlerMethod;
@@ -199,6 +214,21 @@ public interface SbbComponent extends SleeComponentWithUsageParametersInterface
 		public void setHasEventContextParam(boolean hasEventContextParam) {
 			this.hasEventContextParam = hasEventContextParam;
 		}
+
+		/**
+		 * Retrieves the index of the method in the sbb component
+		 * {@link EventHandlerInvoker}.
+		 * 
+		 * @return -1 if the method is not invoked through an
+		 *         {@link EventHandlerInvoker}
+		 */
+		public int getInvokerIndex() {
+			return invokerIndex;
+		}
+
+		public void setInvokerIndex(int invokerIndex) {
+			this.invokerIndex = invokerIndex;
+		}
 	}
 
 	/**
@@ -46,10 +46,14 @@ import org.mobicents.slee.container.sbbentity.SbbEntityID;
 public interface EventContext extends javax.slee.EventContext {
 
 	/**
+	 * Bars the specified event, routed on the same activity, till this
+	 * suspended context is resumed.
 	 * 
 	 * @param event
+	 * @return false if this context is not suspended anymore, and the event
+	 *         was not barred
 	 */
-	public void barrierEvent(EventContext event);
+	public boolean barrierEvent(EventContext event);
 
 	/**
 	 * 
@@ -22,7 +22,10 @@
 
 package org.mobicents.slee.container.eventrouter;
 
+import javax.slee.ServiceID;
+
 import org.mobicents.slee.container.SleeContainerModule;
+import org.mobicents.slee.container.component.event.EventTypeComponent;
 import org.mobicents.slee.container.eventrouter.stats.EventRouterStatistics;
 
 /**
@@ -54,4 +57,37 @@ public interface EventRouter extends SleeContainerModule {
 	 */
 	public EventRouterExecutor[] getExecutors();
 
+	/**
+	 * Retrieves the handoff which groups the tasks submitted to the
+	 * executors, by a thread firing a batch of events.
+	 * 
+	 * @return
+	 */
+	public EventRouterExecutorHandoff getExecutorHandoff();
+
+	/**
+	 * Indicates the specified service is now inactive, the router drops any
+	 * runtime data it keeps for the service.
+	 * 
+	 * @param serviceID
+	 */
+	public void serviceInactive(ServiceID serviceID);
+
+	/**
+	 * Indicates the specified event type was installed, the router assigns
+	 * the statistics index of the event type component, and prepares the
+	 * routing statistics of the event type.
+	 * 
+	 * @param eventTypeComponent
+	 */
+	public void eventTypeInstalled(EventTypeComponent eventTypeComponent);
+
+	/**
+	 * Indicates the specified event type was uninstalled, the router drops
+	 * the routing statistics of the event type.
+	 * 
+	 * @param eventTypeComponent
+	 */
+	public void eventTypeUninstalled(EventTypeComponent eventTypeComponent);
+
 }
@@ -86,6 +86,14 @@ public interface EventRouterExecutor {
 	 */
 	public void routeEvent(EventContext event);
 
+	/**
+	 * Routes the specified event in the invoking thread, which must be
+	 * executing a task submitted to this executor.
+	 * 
+	 * @param event
+	 */
+	public void routeEventNow(EventContext event);
+
 	/**
 	 * Shuts down the executor.
 	 */
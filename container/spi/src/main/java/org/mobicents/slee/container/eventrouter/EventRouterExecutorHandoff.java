@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.eventrouter;
+
+/**
+ * Groups the {@link Runnable} tasks submitted to {@link EventRouterExecutor}s
+ * by a thread, while it has a batch open, and hands off each group to its
+ * executor as a single task, when the batch is closed. The tasks in a group
+ * are executed in the order these were submitted.
+ * 
+ * Used to fire a batch of events with a single handoff per executor. The
+ * handoff is owned by the {@link EventRouter}, see
+ * {@link EventRouter#getExecutorHandoff()}.
+ */
+public interface EventRouterExecutorHandoff {
+
+	/**
+	 * Opens a batch in the invoking thread. If a batch is already open
+	 * nothing is done.
+	 * 
+	 * @return true if the batch was opened, and thus the invoking thread must
+	 *         close it, in a finally block, see {@link #closeBatch()}
+	 */
+	public boolean openBatch();
+
+	/**
+	 * Closes the batch open in the invoking thread, handing off the tasks
+	 * grouped for each executor. If the invoking thread has no batch open
+	 * nothing is done.
+	 */
+	public void closeBatch();
+
+	/**
+	 * Executes the specified task in the specified executor, or adds it to
+	 * the executor's group, if the invoking thread has a batch open.
+	 * 
+	 * @param executor
+	 * @param task
+	 */
+	public void execute(EventRouterExecutor executor, Runnable task);
+
+}
@@ -136,6 +136,31 @@ public interface EventRouterExecutorStatistics {
 	 * @return
 	 */
 	public long getAverageEventRoutingTime(EventTypeID eventTypeID);
+
+	/**
+	 * Retrieves the specified percentile of the time spent to route one
+	 * event, e.g. 99.9 for the p999.
+	 * 
+	 * @param percentile
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             if the percentile is not in ]0,100]
+	 */
+	public long getEventRoutingTimePercentile(double percentile)
+			throws IllegalArgumentException;
+
+	/**
+	 * Retrieves the specified percentile of the time spent to route one event
+	 * of the specified type, e.g. 99.9 for the p999.
+	 * 
+	 * @param eventTypeID
+	 * @param percentile
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             if the percentile is not in ]0,100]
+	 */
+	public long getEventRoutingTimePercentile(EventTypeID eventTypeID,
+			double percentile) throws IllegalArgumentException;
 	
 	/**
 	 * Retrieves the size of the executor's working queue. 
@@ -143,4 +168,11 @@ public interface EventRouterExecutorStatistics {
 	 */
 	public int getWorkingQueueSize();
 	
+	/**
+	 * Retrieves the number of activities the executor took from other
+	 * executors, which is only possible with executors which steal work.
+	 * @return
+	 */
+	public long getActivitiesStolen();
+	
 }
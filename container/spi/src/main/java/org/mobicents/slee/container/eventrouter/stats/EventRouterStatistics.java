@@ -83,6 +83,47 @@ public interface EventRouterStatistics {
 	 */
 	public long getAverageEventRoutingTime(int executor, EventTypeID eventTypeID);
 
+	/**
+	 * Retrieves the specified percentile of the time spent to route one event
+	 * of the specified type, e.g. 99.9 for the p999.
+	 * 
+	 * @param eventTypeID
+	 * @param percentile
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             if the percentile is not in ]0,100]
+	 */
+	public long getEventRoutingTimePercentile(EventTypeID eventTypeID,
+			double percentile) throws IllegalArgumentException;
+
+	/**
+	 * Retrieves the specified percentile of the time spent to route one
+	 * event, for the specified event router executor.
+	 * 
+	 * @param executor
+	 * @param percentile
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             if the percentile is not in ]0,100]
+	 */
+	public long getEventRoutingTimePercentile(int executor, double percentile)
+			throws IllegalArgumentException;
+
+	/**
+	 * Retrieves the specified percentile of the time spent to route one event
+	 * of the specified type, for the specified event router executor.
+	 * 
+	 * @param executor
+	 * @param eventTypeID
+	 * @param percentile
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             if the percentile is not in ]0,100]
+	 */
+	public long getEventRoutingTimePercentile(int executor,
+			EventTypeID eventTypeID, double percentile)
+			throws IllegalArgumentException;
+
 	/**
 	 * Retrieves the statistics for the specified event router executor.
 	 * 
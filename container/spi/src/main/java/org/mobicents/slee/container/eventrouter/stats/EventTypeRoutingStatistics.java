@@ -41,6 +41,18 @@ public interface EventTypeRoutingStatistics {
 	 */
 	public long getAverageEventRoutingTime();
 
+	/**
+	 * Retrieves the specified percentile of the time spent to route one
+	 * event, e.g. 99.9 for the p999.
+	 * 
+	 * @param percentile
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             if the percentile is not in ]0,100]
+	 */
+	public long getEventRoutingTimePercentile(double percentile)
+			throws IllegalArgumentException;
+
 	/**
 	 * Retrieves the number of events routed
 	 * 
@@ -29,6 +29,7 @@ import javax.slee.facilities.TimerID;
 
 import org.mobicents.slee.container.SleeContainerModule;
 import org.mobicents.slee.container.activity.ActivityContext;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
 
 /**
  * @author martins
@@ -46,4 +47,15 @@ public interface TimerFacility extends javax.slee.facilities.TimerFacility,
 	 */
 	public void cancelTimer(TimerID timerID, boolean detachAC);
 	
+	/**
+	 * Cancels all timers of the {@link ActivityContext} with the specified
+	 * handle, without detaching them from the {@link ActivityContext}. The
+	 * timers are retrieved from an index kept by the timer scheduler, not
+	 * from the activity context state. There is no validation of the
+	 * transaction context.
+	 * 
+	 * @param ach
+	 */
+	public void cancelTimers(ActivityContextHandle ach);
+	
 }
@@ -33,6 +33,8 @@ import javax.slee.resource.IllegalEventException;
 import javax.slee.resource.ReceivableService;
 import javax.slee.resource.UnrecognizedActivityHandleException;
 
+import org.mobicents.slee.SleeEndpointExt;
+
 /**
  * An extension to {@link javax.slee.resource.SleeEndpoint} that provides custom
  * functionality.
@@ -40,7 +42,7 @@ import javax.slee.resource.UnrecognizedActivityHandleException;
  * @author martins
  * 
  */
-public interface SleeEndpoint extends javax.slee.resource.SleeEndpoint {
+public interface SleeEndpoint extends SleeEndpointExt {
 
 	/**
 	 * Indicates if the activity exists in SLEE.
@@ -97,12 +97,23 @@ public interface SbbEntityFactory extends SleeContainerModule {
 			boolean useCurrentClassLoader);
 
 	/**
-	 * Orders the specified set of {@link SbbEntityID}, according to priority of
-	 * related Sbb Entities. In case 2 Sbb Entities have same priority, order is
-	 * defined by comparing the toString() of the IDs.
+	 * Removes the data of all sbb entities of the specified service, which is
+	 * stopped, without invoking the sbb entities. Used to clean up the data
+	 * left after the sbb entities removal on service stop.
 	 * 
-	 * @param ids
-	 * @return
+	 * @param serviceID
+	 */
+	public void purgeSbbEntities(ServiceID serviceID);
+
+	/**
+	 * Retrieves the priority path of the specified sbb entity, that is, the
+	 * priorities of its root sbb entity and of all descendants down to the
+	 * specified one, in this order. Sbb entities are ordered by comparing their
+	 * priority paths, the higher priority at the first differing level comes
+	 * first, and an ancestor comes before its descendants.
+	 * 
+	 * @param sbbEntityID
+	 * @return null if the sbb entity, or one of its ancestors, does not exists
 	 */
-	public Set<SbbEntityID> sortByPriority(Set<SbbEntityID> ids);
+	public byte[] getPriorityPath(SbbEntityID sbbEntityID);
 }
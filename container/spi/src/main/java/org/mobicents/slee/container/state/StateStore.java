@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.state;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A transactional store of container state, an alternative to the JBoss Cache
+ * node trees managed through cache data objects. Each key identifies a flat
+ * record, which holds values mapped to field keys. A field may hold a single
+ * value, a set or a map, the last two managed only through the set and map
+ * operations.
+ * 
+ * Changes done in the context of a SLEE transaction are only visible to the
+ * transaction, until it commits. Outside of a transaction each change is
+ * immediately applied.
+ * 
+ * Values must not be changed after being put in the store, and sets and maps
+ * retrieved are read only.
+ */
+public interface StateStore {
+
+	/**
+	 * Indicates if the record with the specified key exists.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public boolean exists(Object key);
+
+	/**
+	 * Creates the record with the specified key.
+	 * 
+	 * @param key
+	 * @return false if the record already exists
+	 */
+	public boolean create(Object key);
+
+	/**
+	 * Removes the record with the specified key.
+	 * 
+	 * @param key
+	 * @return false if the record does not exists
+	 */
+	public boolean remove(Object key);
+
+	/**
+	 * Retrieves the keys of all records.
+	 * 
+	 * @return
+	 */
+	public Set<Object> getKeys();
+
+	/**
+	 * Retrieves the value of the specified field of the specified record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @return null if the record or the field do not exist
+	 */
+	public Object get(Object key, Object field);
+
+	/**
+	 * Sets the value of the specified field of the specified record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @param value
+	 * @return the previous value of the field
+	 * @throws IllegalStateException
+	 *             if the record does not exists
+	 */
+	public Object put(Object key, Object field, Object value)
+			throws IllegalStateException;
+
+	/**
+	 * Removes the specified field of the specified record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @return the previous value of the field
+	 */
+	public Object remove(Object key, Object field);
+
+	/**
+	 * Adds an element to the set held by the specified field of the specified
+	 * record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @param element
+	 * @return false if the set already contained the element
+	 * @throws IllegalStateException
+	 *             if the record does not exists
+	 */
+	public boolean addToSet(Object key, Object field, Object element)
+			throws IllegalStateException;
+
+	/**
+	 * Removes an element from the set held by the specified field of the
+	 * specified record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @param element
+	 * @return false if the set did not contain the element
+	 */
+	public boolean removeFromSet(Object key, Object field, Object element);
+
+	/**
+	 * Retrieves the set held by the specified field of the specified record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @return a read only set, empty if the record or the field do not exist
+	 */
+	public Set<Object> getSet(Object key, Object field);
+
+	/**
+	 * Maps a value in the map held by the specified field of the specified
+	 * record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @param mapKey
+	 * @param value
+	 * @return the value previously mapped
+	 * @throws IllegalStateException
+	 *             if the record does not exists
+	 */
+	public Object putInMap(Object key, Object field, Object mapKey,
+			Object value) throws IllegalStateException;
+
+	/**
+	 * Retrieves a value from the map held by the specified field of the
+	 * specified record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @param mapKey
+	 * @return
+	 */
+	public Object getFromMap(Object key, Object field, Object mapKey);
+
+	/**
+	 * Removes a value from the map held by the specified field of the
+	 * specified record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @param mapKey
+	 * @return the value removed
+	 */
+	public Object removeFromMap(Object key, Object field, Object mapKey);
+
+	/**
+	 * Retrieves the map held by the specified field of the specified record.
+	 * 
+	 * @param key
+	 * @param field
+	 * @return a read only map, empty if the record or the field do not exist
+	 */
+	public Map<Object, Object> getMap(Object key, Object field);
+
+}
@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+
+public class MobicentsUUIDGeneratorTest extends TestCase {
+
+	public void testIdsOfAThreadShareTheBlock() {
+		final MobicentsUUIDGenerator generator = new MobicentsUUIDGenerator(
+				true);
+		final MobicentsUUID first = generator.createBinaryUUID();
+		final MobicentsUUID second = generator.createBinaryUUID();
+		assertEquals(first.getHi(), second.getHi());
+		assertEquals(first.getLo() + 1, second.getLo());
+		assertFalse(first.equals(second));
+	}
+
+	public void testIdsAreUniqueAcrossThreads() throws Exception {
+		final MobicentsUUIDGenerator generator = new MobicentsUUIDGenerator(
+				true);
+		final int threads = 8;
+		final int ids = 10000;
+		final List<Set<MobicentsUUID>> created = new ArrayList<Set<MobicentsUUID>>();
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> list = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			final Set<MobicentsUUID> set = new HashSet<MobicentsUUID>();
+			created.add(set);
+			list.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < ids; j++) {
+						set.add(generator.createBinaryUUID());
+					}
+				}
+			});
+		}
+		for (Thread thread : list) {
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : list) {
+			thread.join();
+		}
+		final Set<MobicentsUUID> all = new HashSet<MobicentsUUID>();
+		final Set<Long> blocks = new HashSet<Long>();
+		for (Set<MobicentsUUID> set : created) {
+			assertEquals(ids, set.size());
+			all.addAll(set);
+			blocks.add(set.iterator().next().getHi());
+		}
+		assertEquals(threads * ids, all.size());
+		// each thread has its own block
+		assertEquals(threads, blocks.size());
+	}
+
+	public void testFewHashCollisionsAcrossThreads() throws Exception {
+		final MobicentsUUIDGenerator generator = new MobicentsUUIDGenerator(
+				true);
+		final int threads = 8;
+		final int ids = 10000;
+		final List<MobicentsUUID> created = new ArrayList<MobicentsUUID>();
+		final List<Thread> list = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			list.add(new Thread() {
+				@Override
+				public void run() {
+					final List<MobicentsUUID> thread = new ArrayList<MobicentsUUID>();
+					for (int j = 0; j < ids; j++) {
+						thread.add(generator.createBinaryUUID());
+					}
+					synchronized (created) {
+						created.addAll(thread);
+					}
+				}
+			});
+		}
+		for (Thread thread : list) {
+			thread.start();
+		}
+		for (Thread thread : list) {
+			thread.join();
+		}
+		final Set<Integer> hashes = new HashSet<Integer>();
+		final Set<Integer> buckets = new HashSet<Integer>();
+		for (MobicentsUUID id : created) {
+			hashes.add(id.hashCode());
+			buckets.add(id.hashCode() & 0xFFFF);
+		}
+		// 80000 random 32 bit hashes have about one collision
+		assertTrue(threads * ids - hashes.size() < 10);
+		// and fill most of the 65536 buckets of a table indexed by the low
+		// bits
+		assertTrue(buckets.size() > 40000);
+	}
+
+	public void testGeneratorsUseDifferentBlocks() {
+		final MobicentsUUID id1 = new MobicentsUUIDGenerator(false)
+				.createBinaryUUID();
+		final MobicentsUUID id2 = new MobicentsUUIDGenerator(false)
+				.createBinaryUUID();
+		assertFalse(id1.getHi() == id2.getHi());
+	}
+
+	public void testStringForm() {
+		final MobicentsUUIDGenerator generator = new MobicentsUUIDGenerator(
+				true);
+		final Set<String> ids = new HashSet<String>();
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(ids.add(generator.createUUID()));
+		}
+		final MobicentsUUID id = generator.createBinaryUUID();
+		assertEquals(new MobicentsUUID(id.getHi(), id.getLo()).toString(), id
+				.toString());
+	}
+
+	public void testWriteAndRead() throws Exception {
+		final MobicentsUUID id = new MobicentsUUIDGenerator(true)
+				.createBinaryUUID();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		id.write(out);
+		out.flush();
+		final MobicentsUUID copy = MobicentsUUID.read(new DataInputStream(
+				new ByteArrayInputStream(bytes.toByteArray())));
+		assertEquals(id, copy);
+		assertEquals(id.hashCode(), copy.hashCode());
+	}
+
+}
@@ -26,6 +26,7 @@
 package org.mobicents.slee.container.management.jmx;
 
 import org.apache.log4j.Logger;
+import org.mobicents.slee.runtime.stats.LatencyHistogram;
 
 /**
  * @author martins
@@ -43,6 +44,10 @@ public class TimerFacilityConfiguration implements
 	
 	private boolean taskExecutionWaitsForTxCommitConfirmation = true;
 	
+	private boolean timingWheelInLocalMode = false;
+	
+	private final LatencyHistogram timerFiringLatencyHistogram = new LatencyHistogram();
+	
 	@Override
 	public boolean getTaskExecutionWaitsForTxCommitConfirmation() {
 		return taskExecutionWaitsForTxCommitConfirmation;
@@ -53,6 +58,22 @@ public class TimerFacilityConfiguration implements
 		taskExecutionWaitsForTxCommitConfirmation = value;
 	}
 	
+	@Override
+	public boolean getTimingWheelInLocalMode() {
+		return timingWheelInLocalMode;
+	}
+	
+	@Override
+	public void setTimingWheelInLocalMode(boolean value) {
+		if (this.timingWheelInLocalMode != value) {
+			logger
+			.info("Setting timer facility timing wheel in local mode to "
+					+ value
+					+ ". If called with server running a stop and start is need to apply changes.");
+		}
+		this.timingWheelInLocalMode = value;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -108,4 +129,39 @@ public class TimerFacilityConfiguration implements
 		}
 		this.purgePeriod = value;
 	}
+	
+	/**
+	 * Retrieves the histogram where the timer facility records the timer
+	 * firing latency.
+	 * 
+	 * @return
+	 */
+	public LatencyHistogram getTimerFiringLatencyHistogram() {
+		return timerFiringLatencyHistogram;
+	}
+	
+	@Override
+	public long getTimerFiringLatencyPercentile(double percentile) {
+		return timerFiringLatencyHistogram.getPercentile(percentile);
+	}
+	
+	@Override
+	public long getTimerFiringLatencyP50() {
+		return getTimerFiringLatencyPercentile(50);
+	}
+	
+	@Override
+	public long getTimerFiringLatencyP99() {
+		return getTimerFiringLatencyPercentile(99);
+	}
+	
+	@Override
+	public long getTimerFiringLatencyP999() {
+		return getTimerFiringLatencyPercentile(99.9);
+	}
+	
+	@Override
+	public void resetTimerFiringLatency() {
+		timerFiringLatencyHistogram.reset();
+	}
 }
@@ -62,22 +62,94 @@ public interface TimerFacilityConfigurationMBean {
 	public void setPurgePeriod(int value);
 	
 	/**
-	 * Indicates if the timer task should wait for confirmation that the tx,
-	 * which set the timer, finished commit. This confirmation is the only
-	 * guarantee that short timers (such as the ones with 0 delay), set on new
-	 * tx aware activities, will not execute before all state (such as the actual AC), is committed.
+	 * Indicates if the timer task is only scheduled after the tx, which set
+	 * the timer, finished commit, and dropped if it rolls back. This is the
+	 * only guarantee that short timers (such as the ones with 0 delay), set
+	 * on new tx aware activities, will not execute before all state (such as
+	 * the actual AC), is committed. Timer threads never wait for the tx.
+	 * 
+	 * Note that, with the fault tolerant scheduler, the timer is then only
+	 * persisted in the cluster cache after the tx commits, outside of it, so
+	 * a timer set by a tx which commits right before the cluster node
+	 * crashes may be lost, and not recovered by other nodes.
 	 * 
 	 * @return
 	 */
 	public boolean getTaskExecutionWaitsForTxCommitConfirmation();
 	
 	/**
-	 * Defines if the timer task should wait for confirmation that the tx,
-	 * which set the timer, finished commit. This confirmation is the only
-	 * guarantee that short timers (such as the ones with 0 delay), set on new
-	 * tx aware activities, will not execute before all state (such as the actual AC), is committed.
+	 * Defines if the timer task is only scheduled after the tx, which set
+	 * the timer, finished commit, and dropped if it rolls back. This is the
+	 * only guarantee that short timers (such as the ones with 0 delay), set
+	 * on new tx aware activities, will not execute before all state (such as
+	 * the actual AC), is committed. Timer threads never wait for the tx.
+	 * 
+	 * Note that, with the fault tolerant scheduler, the timer is then only
+	 * persisted in the cluster cache after the tx commits, outside of it, so
+	 * a timer set by a tx which commits right before the cluster node
+	 * crashes may be lost, and not recovered by other nodes.
+	 * 
 	 * @param value
 	 */
 	public void setTaskExecutionWaitsForTxCommitConfirmation(boolean value);
 	
+	/**
+	 * Indicates if, when the SLEE cache runs in local mode, timers are
+	 * scheduled on an in memory hierarchical timing wheel, which ticks at the
+	 * timer facility resolution, instead of the fault tolerant scheduler.
+	 * 
+	 * @return
+	 */
+	public boolean getTimingWheelInLocalMode();
+	
+	/**
+	 * Defines if, when the SLEE cache runs in local mode, timers are
+	 * scheduled on an in memory hierarchical timing wheel, which ticks at the
+	 * timer facility resolution, instead of the fault tolerant scheduler.
+	 * 
+	 * Note that setting a different value for this method will only be effective on server (re)start.
+	 * 
+	 * @param value
+	 */
+	public void setTimingWheelInLocalMode(boolean value);
+	
+	/**
+	 * Retrieves the specified percentile of the timer firing latency, i.e.,
+	 * the time between the scheduled time of a timer and the execution of
+	 * its task, in milliseconds.
+	 * 
+	 * @param percentile
+	 *            the percentile, e.g. 99.9
+	 * @return
+	 */
+	public long getTimerFiringLatencyPercentile(double percentile);
+	
+	/**
+	 * Retrieves the median timer firing latency, in milliseconds.
+	 * 
+	 * @return
+	 */
+	public long getTimerFiringLatencyP50();
+	
+	/**
+	 * Retrieves the 99th percentile of the timer firing latency, in
+	 * milliseconds.
+	 * 
+	 * @return
+	 */
+	public long getTimerFiringLatencyP99();
+	
+	/**
+	 * Retrieves the 99.9th percentile of the timer firing latency, in
+	 * milliseconds.
+	 * 
+	 * @return
+	 */
+	public long getTimerFiringLatencyP999();
+	
+	/**
+	 * Resets the timer firing latency percentiles.
+	 */
+	public void resetTimerFiringLatency();
+	
 }
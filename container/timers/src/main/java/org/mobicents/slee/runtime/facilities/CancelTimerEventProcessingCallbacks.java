@@ -34,13 +34,13 @@ import org.mobicents.slee.container.event.EventUnreferencedCallback;
  */
 public class CancelTimerEventProcessingCallbacks implements EventUnreferencedCallback {
 
-	final TimerFacilityTimerTask  task;
+	final TimerFacilityTask  task;
 		
 	/**
 	 * @param timerFacilityImpl
 	 * @param timerID
 	 */
-	public CancelTimerEventProcessingCallbacks(TimerFacilityTimerTask  task) {
+	public CancelTimerEventProcessingCallbacks(TimerFacilityTask  task) {
 		this.task = task;
 	}
 
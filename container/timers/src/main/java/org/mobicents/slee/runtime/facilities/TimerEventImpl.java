@@ -55,12 +55,12 @@ public class TimerEventImpl implements TimerEvent {
 
     private int missedRepetitions;
 
-    private TimerFacilityTimerTask timerTask;
+    private TimerFacilityTask timerTask;
      
     TimerEventImpl(TimerID timerId, long scheduledTime, long expiryTime,
             long period, int numRepetitions, int remainingRepetitions,
             int missedRepetitions,  
-            TimerFacilityTimerTask timerTask) {
+            TimerFacilityTask timerTask) {
         this.timerId = timerId;
         this.scheduledTime = scheduledTime;
         this.expiryTime = expiryTime;
@@ -71,7 +71,7 @@ public class TimerEventImpl implements TimerEvent {
         this.timerTask = timerTask;
     }
 
-    public TimerFacilityTimerTask getTimerTask ( ) {
+    public TimerFacilityTask getTimerTask ( ) {
         return this.timerTask;
     }
     
@@ -22,7 +22,11 @@
 
 package org.mobicents.slee.runtime.facilities;
 
-import java.util.concurrent.CountDownLatch;
+import java.util.Collection;
+
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
 
 import javax.slee.ActivityContextInterface;
 import javax.slee.Address;
@@ -35,6 +39,7 @@ import javax.slee.facilities.TimerOptions;
 import org.apache.log4j.Logger;
 import org.mobicents.slee.container.AbstractSleeContainerModule;
 import org.mobicents.slee.container.activity.ActivityContext;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
 import org.mobicents.slee.container.facilities.TimerFacility;
 import org.mobicents.slee.container.management.jmx.TimerFacilityConfiguration;
 import org.mobicents.slee.container.transaction.SleeTransactionManager;
@@ -71,6 +76,13 @@ public class TimerFacilityImpl extends AbstractSleeContainerModule implements Ti
 			
 	private FaultTolerantScheduler scheduler;
 	
+	private TimingWheelScheduler timingWheel;
+	
+	/**
+	 * the index of the tasks scheduled in the fault tolerant scheduler, by activity context
+	 */
+	private final TimerFacilityTimersIndex<TimerFacilityTimerTask> timersIndex = new TimerFacilityTimersIndex<TimerFacilityTimerTask>();
+	
 	private final TimerFacilityConfiguration configuration;
 	
 	/**
@@ -88,8 +100,20 @@ public class TimerFacilityImpl extends AbstractSleeContainerModule implements Ti
 	public void sleeStarting() {
 		if (scheduler != null) {
 			scheduler.shutdownNow();
+			scheduler = null;
+		}
+		if (timingWheel != null) {
+			timingWheel.shutdownNow();
+			timingWheel = null;
+		}
+		timersIndex.clear();
+		if (configuration.getTimingWheelInLocalMode() && sleeContainer.getCluster().getMobicentsCache().isLocalMode()) {
+			// no need for fault tolerance, timers are kept in a timing wheel which ticks at the timer resolution
+			timingWheel = new TimingWheelScheduler("TimerFacility", timerResolution, configuration.getTimerThreads(), sleeContainer.getTransactionManager());
+			timingWheel.start();
+			return;
 		}
-		scheduler = new FaultTolerantScheduler("timer-facility",configuration.getTimerThreads(),sleeContainer.getCluster(),(byte)10, sleeContainer.getTransactionManager().getRealTransactionManager(),new TimerFacilityTimerTaskFactory(),configuration.getPurgePeriod());
+		scheduler = new FaultTolerantScheduler("timer-facility",configuration.getTimerThreads(),sleeContainer.getCluster(),(byte)10, sleeContainer.getTransactionManager().getRealTransactionManager(),new TimerFacilityTimerTaskFactory(timersIndex),configuration.getPurgePeriod());
 	}
 	
 	/**
@@ -100,6 +124,41 @@ public class TimerFacilityImpl extends AbstractSleeContainerModule implements Ti
 		return scheduler;
 	}
 	
+	/**
+	 * Retrieves the timing wheel scheduler, only used if the SLEE cache runs in local mode and the configuration enables it.
+	 * @return the timing wheel scheduler, null if timers are scheduled in the fault tolerant scheduler
+	 */
+	public TimingWheelScheduler getTimingWheel() {
+		return timingWheel;
+	}
+	
+	/**
+	 * Removes the specified task from the index, after the current tx commits, if there is one.
+	 * @param task
+	 */
+	void removeFromTimersIndex(final TimerFacilityTimerTask task) {
+		final TransactionContext txContext = sleeContainer.getTransactionManager().getTransactionContext();
+		if (txContext != null) {
+			txContext.getAfterCommitActions().add(new TransactionalAction() {
+				@Override
+				public void execute() {
+					timersIndex.remove(task);
+				}
+			});
+		}
+		else {
+			timersIndex.remove(task);
+		}
+	}
+	
+	/**
+	 * Records the firing latency of a timer task execution.
+	 * @param latency the time, in milliseconds, between the scheduled time and the actual execution of the task
+	 */
+	void timerFired(long latency) {
+		configuration.getTimerFiringLatencyHistogram().record(latency > 0 ? latency : 0);
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see javax.slee.facilities.TimerFacility#setTimer(javax.slee.ActivityContextInterface, javax.slee.Address, long, javax.slee.facilities.TimerOptions)
@@ -149,7 +208,7 @@ public class TimerFacilityImpl extends AbstractSleeContainerModule implements Ti
 		SleeTransactionManager txMgr = sleeContainer.getTransactionManager();
 		boolean startedTx = txMgr.requireTransaction();
 
-		TimerIDImpl timerID = new TimerIDImpl(sleeContainer.getUuidGenerator().createUUID());
+		final TimerIDImpl timerID = new TimerIDImpl(sleeContainer.getUuidGenerator().createBinaryUUID());
 		
 		if (logger.isDebugEnabled()) {
 			logger.debug("setTimer: timerID = "+timerID+" , startTime = " + startTime + " period = "
@@ -163,21 +222,40 @@ public class TimerFacilityImpl extends AbstractSleeContainerModule implements Ti
 		
 		// schedule timer task
 		TimerFacilityTimerTaskData taskData = new TimerFacilityTimerTaskData(timerID, aciImpl.getActivityContext().getActivityContextHandle(), address, startTime, period, numRepetitions, timerOptions);
-    	final TimerFacilityTimerTask task = new TimerFacilityTimerTask(taskData);
-    	if(configuration.getTaskExecutionWaitsForTxCommitConfirmation()) {
-    		final CountDownLatch countDownLatch = new CountDownLatch(1);
-    		task.setCountDownLatch(countDownLatch);
-    		TransactionalAction action = new TransactionalAction() {			
-    			@Override
-    			public void execute() {
-    				countDownLatch.countDown();				
-    			}
-    		};
-    		TransactionContext txContext = txMgr.getTransactionContext();
-    		txContext.getAfterCommitActions().add(action);
-    		txContext.getAfterRollbackActions().add(action);
-    	}
-		scheduler.schedule(task);				
+		if (timingWheel != null) {
+			// the wheel only arms the task after the tx commits, no need to wait for it
+			timingWheel.schedule(new TimingWheelTimerTask(taskData, timingWheel));
+		}
+		else {
+			final TimerFacilityTimerTask task = new TimerFacilityTimerTask(taskData);
+			timersIndex.add(task);
+			txMgr.getTransactionContext().getAfterRollbackActions().add(new TransactionalAction() {
+				@Override
+				public void execute() {
+					timersIndex.remove(task);
+				}
+			});
+			if(configuration.getTaskExecutionWaitsForTxCommitConfirmation()) {
+				// the task is only scheduled after the tx commits, and
+				// dropped if it rolls back, thus timer threads never wait for
+				// the tx which set the timer
+				final TransactionContext txContext = txMgr.getTransactionContext();
+				txContext.getData().put(timerID, task);
+				TransactionalAction action = new TransactionalAction() {			
+					@Override
+					public void execute() {
+						// the timer may have been canceled in the same tx
+						if (txContext.getData().remove(timerID) != null) {
+							scheduleAfterCommit(task);
+						}
+					}
+				};
+				txContext.getAfterCommitActions().add(action);
+			}
+			else {
+				scheduler.schedule(task);
+			}
+		}
 
 		// If we started a tx for this operation, we commit it now
 		if (startedTx) {
@@ -222,9 +300,54 @@ public class TimerFacilityImpl extends AbstractSleeContainerModule implements Ti
 		}
 	}
 	
+	/**
+	 * Schedules a task in the fault tolerant scheduler, after the tx which
+	 * set the timer committed. The committed tx may still be associated with
+	 * the thread, so it is suspended, otherwise the scheduler would try to
+	 * enlist in it. The task is thus persisted outside of the tx which set
+	 * the timer, and lost if the node fails before, as documented in the
+	 * configuration.
+	 * 
+	 * @param task
+	 */
+	private void scheduleAfterCommit(TimerFacilityTimerTask task) {
+		final TransactionManager txManager = sleeContainer.getTransactionManager().getRealTransactionManager();
+		Transaction tx = null;
+		try {
+			tx = txManager.suspend();
+		} catch (SystemException e) {
+			logger.error("Failed to suspend committed transaction, before scheduling timer "+task.getTimerFacilityTimerTaskData().getTimerID(), e);
+		}
+		try {
+			scheduler.schedule(task);
+		}
+		finally {
+			if (tx != null) {
+				try {
+					txManager.resume(tx);
+				} catch (Exception e) {
+					logger.error("Failed to resume committed transaction, after scheduling timer "+task.getTimerFacilityTimerTaskData().getTimerID(), e);
+				}
+			}
+		}
+	}
+	
 	public void cancelTimer(TimerID timerID, boolean detachAC) {
-		// cancel task in scheduler
-		final TimerFacilityTimerTask task = (TimerFacilityTimerTask) scheduler.cancel(timerID);
+		TimerFacilityTask task = null;
+		if (timingWheel == null) {
+			// a timer set in the current tx is only scheduled after commit
+			final TransactionContext txContext = sleeContainer.getTransactionManager().getTransactionContext();
+			if (txContext != null) {
+				task = (TimerFacilityTask) txContext.getData().remove(timerID);
+			}
+		}
+		if (task == null) {
+			// cancel task in scheduler
+			task = timingWheel != null ? timingWheel.cancel(timerID) : (TimerFacilityTimerTask) scheduler.cancel(timerID);
+		}
+		if (timingWheel == null && task != null) {
+			removeFromTimersIndex((TimerFacilityTimerTask) task);
+		}
 		if (detachAC && task != null) {
 			// detach this timer from the ac
 			ActivityContext ac = sleeContainer.getActivityContextFactory()
@@ -235,6 +358,24 @@ public class TimerFacilityImpl extends AbstractSleeContainerModule implements Ti
 		}
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.facilities.TimerFacility#cancelTimers(org.mobicents.slee.container.activity.ActivityContextHandle)
+	 */
+	public void cancelTimers(ActivityContextHandle ach) {
+		if (timingWheel != null) {
+			timingWheel.cancel(ach);
+			return;
+		}
+		// each task leaves the index once the tx commits
+		final Collection<TimerFacilityTimerTask> tasks = timersIndex.get(ach);
+		if (tasks != null) {
+			for (TimerFacilityTimerTask task : tasks) {
+				cancelTimer(task.getTimerFacilityTimerTaskData().getTimerID(), false);
+			}
+		}
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see javax.slee.facilities.TimerFacility#getResolution()
@@ -264,7 +405,15 @@ public class TimerFacilityImpl extends AbstractSleeContainerModule implements Ti
 		
 		sleeContainer.getTransactionManager().mandateTransaction();
 		
-		TimerFacilityTimerTaskData taskData = (TimerFacilityTimerTaskData) scheduler.getTimerTaskData(timerID);
+		TimerFacilityTimerTaskData taskData = null;
+		if (timingWheel != null) {
+			taskData = timingWheel.getTimerTaskData(timerID);
+		}
+		else {
+			// a timer set in the current tx is only scheduled after commit
+			final TimerFacilityTask task = (TimerFacilityTask) sleeContainer.getTransactionManager().getTransactionContext().getData().get(timerID);
+			taskData = task != null ? task.getTimerFacilityTimerTaskData() : (TimerFacilityTimerTaskData) scheduler.getTimerTaskData(timerID);
+		}
 		if (taskData != null) {
 			try {
 				return sleeContainer.getActivityContextFactory().getActivityContext(taskData.getActivityContextHandle()).getActivityContextInterface();
@@ -280,6 +429,6 @@ public class TimerFacilityImpl extends AbstractSleeContainerModule implements Ti
 	@Override
 	public String toString() {
 		return 	"Timer Facility: " +
-				"\n+-- " + scheduler.toDetailedString();
+				"\n+-- " + (timingWheel != null ? timingWheel.toDetailedString() : scheduler.toDetailedString());
 	}
 }
@@ -22,8 +22,6 @@
 
 package org.mobicents.slee.runtime.facilities;
 
-import java.util.concurrent.CountDownLatch;
-
 import javax.slee.facilities.TimerOptions;
 import javax.slee.facilities.TimerPreserveMissed;
 
@@ -34,7 +32,7 @@ import org.mobicents.slee.container.activity.ActivityContextFactory;
 import org.mobicents.slee.container.facilities.TimerFacility;
 import org.mobicents.timers.TimerTask;
 
-public class TimerFacilityTimerTask extends TimerTask {
+public class TimerFacilityTimerTask extends TimerTask implements TimerFacilityTask {
 
 	private static final Logger logger = Logger
 			.getLogger(TimerFacilityTimerTask.class);
@@ -44,8 +42,6 @@ public class TimerFacilityTimerTask extends TimerTask {
 	private final static SleeContainer sleeContainer = SleeContainer
 			.lookupFromJndi();
 
-	private CountDownLatch countDownLatch = null;
-	
 	public TimerFacilityTimerTask(TimerFacilityTimerTaskData data) {
 		super(data);
 		this.data = data;
@@ -56,28 +52,24 @@ public class TimerFacilityTimerTask extends TimerTask {
 		return data;
 	}
 
-	public void setCountDownLatch(CountDownLatch countDownLatch) {
-		this.countDownLatch = countDownLatch;
-	}
-	
 	public void runTask() {
-
-		if(countDownLatch != null) {
-			try {
-				countDownLatch.await();
-			} catch (InterruptedException e) {
-				logger.error("failed to wait on tx commit confirmation", e);
-			}
-		}
-		runInternal();
-			
+		runInternal(this);
 	}
 
-	private void runInternal() {
+	/**
+	 * Executes the specified timer task, posting the timer event, if the
+	 * timer preserve missed options allow it, and managing the ending of the
+	 * timer.
+	 * 
+	 * @param task
+	 */
+	static void runInternal(TimerFacilityTask task) {
 
+		final TimerFacilityTimerTaskData data = task.getTimerFacilityTimerTaskData();
+		
 		if (logger.isDebugEnabled()) {
 			logger.debug("Executing task with timer ID "
-				+ getData().getTaskID());
+				+ data.getTaskID());
 		}
 
 		try {
@@ -103,6 +95,7 @@ public class TimerFacilityTimerTask extends TimerTask {
 			final long period = data.getPeriod();
 			final long scheduledTime = data.getScheduledTime();
 			final long delayTillEvent = tSys - scheduledTime;
+			((TimerFacilityImpl) timerFacility).timerFired(delayTillEvent);
 
 			if (timerOptions.getPreserveMissed() == TimerPreserveMissed.ALL) {
 				/*
@@ -188,7 +181,7 @@ public class TimerFacilityTimerTask extends TimerTask {
 			boolean timerEnded = remainingRepetitions == 0;
 			if (timerEnded && period > 0) {
 				// periodic timer that ended, cancel it's execution in scheduler
-				cancel();
+				task.cancel();
 			}
 
 			if (postIt) {
@@ -198,7 +191,7 @@ public class TimerFacilityTimerTask extends TimerTask {
 						.getTimerID(), scheduledTime, tSys,
 						(period < 0 ? Long.MAX_VALUE : period), data
 								.getNumRepetitions(), remainingRepetitions,
-						data.getMissedRepetitions(), this);
+						data.getMissedRepetitions(), task);
 
 				data.setMissedRepetitions(0);
 
@@ -217,7 +210,7 @@ public class TimerFacilityTimerTask extends TimerTask {
 							+ data.getTaskID()
 							+ " , because the underlying aci with id "
 							+ data.getActivityContextHandle() + " is gone.");
-					remove();
+					task.remove();
 				} else {
 					if (logger.isTraceEnabled()) {
 						logger
@@ -229,7 +222,7 @@ public class TimerFacilityTimerTask extends TimerTask {
 					// if the timer ended we use the event processing callbacks
 					// to cancel the timer after the event is routed
 					final CancelTimerEventProcessingCallbacks cancelTimerCallback = timerEnded ? new CancelTimerEventProcessingCallbacks(
-							this)
+							task)
 							: null;
 					ac.fireEvent(TimerEventImpl.EVENT_TYPE_ID, timerEvent, data
 							.getAddress(), null, null, null,
@@ -240,7 +233,7 @@ public class TimerFacilityTimerTask extends TimerTask {
 				if (timerEnded) {
 					// if event is not posted and ended then we cancel it
 					// so it's removed
-					remove();
+					task.remove();
 				}
 			}
 		}
@@ -251,9 +244,10 @@ public class TimerFacilityTimerTask extends TimerTask {
 
 	}
 
-	protected void remove() {
+	public void remove() {
 		// remove from scheduler
 		super.removeFromScheduler();
+		((TimerFacilityImpl) sleeContainer.getTimerFacility()).removeFromTimersIndex(this);
 		// detach this timer from the ac
 		final ActivityContext ac = sleeContainer.getActivityContextFactory()
 				.getActivityContext(data.getActivityContextHandle());
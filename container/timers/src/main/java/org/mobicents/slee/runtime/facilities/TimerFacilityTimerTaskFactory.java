@@ -33,12 +33,24 @@ import org.mobicents.timers.TimerTaskFactory;
  */
 public class TimerFacilityTimerTaskFactory implements TimerTaskFactory {
 
+	private final TimerFacilityTimersIndex<TimerFacilityTimerTask> timersIndex;
+	
+	/**
+	 * 
+	 * @param timersIndex the index where recovered tasks are added
+	 */
+	public TimerFacilityTimerTaskFactory(TimerFacilityTimersIndex<TimerFacilityTimerTask> timersIndex) {
+		this.timersIndex = timersIndex;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.mobicents.timers.TimerTaskFactory#newTimerTask(org.mobicents.timers.TimerTaskData)
 	 */
 	public TimerTask newTimerTask(TimerTaskData data) {
-		return new TimerFacilityTimerTask((TimerFacilityTimerTaskData) data);
+		final TimerFacilityTimerTask task = new TimerFacilityTimerTask((TimerFacilityTimerTaskData) data);
+		timersIndex.add(task);
+		return task;
 	}
 	
 }
@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.facilities;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.slee.facilities.TimerID;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+
+/**
+ * An in memory index of the timer tasks scheduled, by activity context
+ * handle, which allows the cancellation of all timers of an activity context
+ * without reading its attached timers from the cache.
+ * 
+ * The index entry of an activity context is dropped once its last timer is
+ * removed. Adding to an entry and dropping it are done while holding the
+ * entry's monitor, and an add which finds its entry dropped retries with a
+ * new entry.
+ * 
+ * 
+ * @param <T>
+ */
+public class TimerFacilityTimersIndex<T extends TimerFacilityTask> {
+
+	private final ConcurrentHashMap<ActivityContextHandle, ConcurrentHashMap<TimerID, T>> index = new ConcurrentHashMap<ActivityContextHandle, ConcurrentHashMap<TimerID, T>>();
+
+	/**
+	 * Adds the specified task to the index.
+	 * 
+	 * @param task
+	 */
+	public void add(T task) {
+		final TimerFacilityTimerTaskData data = task
+				.getTimerFacilityTimerTaskData();
+		final ActivityContextHandle ach = data.getActivityContextHandle();
+		ConcurrentHashMap<TimerID, T> tasks = null;
+		while (true) {
+			tasks = index.get(ach);
+			if (tasks == null) {
+				final ConcurrentHashMap<TimerID, T> newTasks = new ConcurrentHashMap<TimerID, T>();
+				tasks = index.putIfAbsent(ach, newTasks);
+				if (tasks == null) {
+					tasks = newTasks;
+				}
+			}
+			synchronized (tasks) {
+				if (index.get(ach) == tasks) {
+					tasks.put(data.getTimerID(), task);
+					return;
+				}
+			}
+			// the entry was dropped meanwhile, retry
+		}
+	}
+
+	/**
+	 * Removes the specified task from the index.
+	 * 
+	 * @param task
+	 */
+	public void remove(T task) {
+		final TimerFacilityTimerTaskData data = task
+				.getTimerFacilityTimerTaskData();
+		final ActivityContextHandle ach = data.getActivityContextHandle();
+		final ConcurrentHashMap<TimerID, T> tasks = index.get(ach);
+		if (tasks != null) {
+			synchronized (tasks) {
+				if (tasks.remove(data.getTimerID(), task) && tasks.isEmpty()) {
+					index.remove(ach, tasks);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the tasks of the specified activity context.
+	 * 
+	 * @param ach
+	 * @return the tasks, null if there are none
+	 */
+	public Collection<T> get(ActivityContextHandle ach) {
+		final ConcurrentHashMap<TimerID, T> tasks = index.get(ach);
+		return tasks != null ? tasks.values() : null;
+	}
+
+	/**
+	 * Removes all tasks of the specified activity context from the index.
+	 * 
+	 * @param ach
+	 * @return the tasks removed, null if there are none
+	 */
+	public Collection<T> removeAll(ActivityContextHandle ach) {
+		final ConcurrentHashMap<TimerID, T> tasks = index.remove(ach);
+		return tasks != null ? tasks.values() : null;
+	}
+
+	/**
+	 * Retrieves the number of activity contexts in the index.
+	 * 
+	 * @return
+	 */
+	public int getActivityContextsCount() {
+		return index.size();
+	}
+
+	/**
+	 * Removes all entries of the index.
+	 */
+	public void clear() {
+		index.clear();
+	}
+}
@@ -22,23 +22,38 @@
 
 package org.mobicents.slee.runtime.facilities;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.UUID;
 
 import javax.slee.facilities.TimerID;
 
+import org.mobicents.slee.container.MobicentsUUID;
+
 /**
  * An implementation of timer ID.
  * 
+ * The id is externalized as a marker, which can't be the length of a string
+ * id, followed by the two longs of the binary id. Timer ids externalized by
+ * older versions, as a string, are still read: a {@link UUID} string is
+ * converted to the same 128 bits, any other string to a name based id.
  */
 public class TimerIDImpl implements TimerID, Externalizable {
 	/**
 	 * 
 	 */
 	private static final long serialVersionUID = -230916225922881179L;
-	private String id;
+	
+	/**
+	 * written instead of the length of a string id, to flag the binary form
+	 */
+	private static final int BINARY_FORMAT = 0xFFFF;
+	
+	private MobicentsUUID id;
 
 	/**
 	 * needed for externalizable, do not use elsewhere
@@ -51,7 +66,7 @@ public class TimerIDImpl implements TimerID, Externalizable {
 	 * 
 	 * @param id
 	 */
-	public TimerIDImpl(String id) {
+	public TimerIDImpl(MobicentsUUID id) {
 		this.id = id;
 	}
 
@@ -86,7 +101,7 @@ public class TimerIDImpl implements TimerID, Externalizable {
 	 */
 	@Override
 	public String toString() {
-		return id;
+		return id.toString();
 	}
 
 	/*
@@ -97,7 +112,40 @@ public class TimerIDImpl implements TimerID, Externalizable {
 	@Override
 	public void readExternal(ObjectInput in) throws IOException,
 			ClassNotFoundException {
-		id = in.readUTF();
+		final int length = in.readUnsignedShort();
+		if (length == BINARY_FORMAT) {
+			id = MobicentsUUID.read(in);
+		}
+		else {
+			id = fromString(readUTF(in, length));
+		}
+	}
+
+	/**
+	 * Reads the rest of a string written with writeUTF, which length was
+	 * already read.
+	 */
+	private static String readUTF(ObjectInput in, int length)
+			throws IOException {
+		final byte[] bytes = new byte[length + 2];
+		bytes[0] = (byte) (length >>> 8);
+		bytes[1] = (byte) length;
+		in.readFully(bytes, 2, length);
+		return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+	}
+
+	/**
+	 * Converts a timer id string, created by older versions, to a binary id.
+	 */
+	private static MobicentsUUID fromString(String s) {
+		UUID uuid;
+		try {
+			uuid = UUID.fromString(s);
+		} catch (IllegalArgumentException e) {
+			uuid = UUID.nameUUIDFromBytes(s.getBytes());
+		}
+		return new MobicentsUUID(uuid.getMostSignificantBits(), uuid
+				.getLeastSignificantBits());
 	}
 
 	/*
@@ -107,6 +155,7 @@ public class TimerIDImpl implements TimerID, Externalizable {
 	 */
 	@Override
 	public void writeExternal(ObjectOutput out) throws IOException {
-		out.writeUTF(id);
+		out.writeShort(BINARY_FORMAT);
+		id.write(out);
 	}
 }
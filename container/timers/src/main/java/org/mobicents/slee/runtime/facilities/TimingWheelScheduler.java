@@ -0,0 +1,520 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.facilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.slee.facilities.TimerID;
+
+import org.apache.log4j.Logger;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.transaction.SleeTransactionManager;
+import org.mobicents.slee.container.transaction.TransactionContext;
+import org.mobicents.slee.container.transaction.TransactionalAction;
+
+/**
+ * A hierarchical hashed timing wheel, which schedules SLEE timers of non
+ * clustered deployments in memory.
+ * 
+ * The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots, a slot of level
+ * 0 spans one tick, a slot of level n spans all the level n-1 wheel. Setting
+ * or canceling a timer only queues the operation, which the wheel thread
+ * applies in O(1) on the next tick, when it also moves the tasks of the
+ * higher level slots that are due to the lower levels, and hands each task
+ * expiring in the tick to the timer executor.
+ * 
+ * The wheel ticks on {@link System#nanoTime()}, thus changes to the system
+ * clock do not affect it, the timer times, which are system clock times, are
+ * converted to wheel ticks when armed, relative to the current time.
+ * 
+ * Timers set or canceled in a transaction are only armed or canceled in the
+ * wheel after the transaction commits, thus a timer never executes before the
+ * state it depends on is committed.
+ * 
+ * The scheduler also keeps an index of the timers by activity context, which
+ * allows canceling all timers of an activity context in one operation.
+ */
+public class TimingWheelScheduler {
+
+	private static final Logger logger = Logger
+			.getLogger(TimingWheelScheduler.class);
+
+	private static final int SLOT_BITS = 8;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+
+	/**
+	 * a doubly linked list of tasks, only accessed by the wheel thread
+	 */
+	static class Bucket {
+
+		private TimingWheelTimerTask head;
+
+		void add(TimingWheelTimerTask task) {
+			task.bucket = this;
+			task.previous = null;
+			task.next = head;
+			if (head != null) {
+				head.previous = task;
+			}
+			head = task;
+		}
+
+		void remove(TimingWheelTimerTask task) {
+			if (task.previous != null) {
+				task.previous.next = task.next;
+			} else {
+				head = task.next;
+			}
+			if (task.next != null) {
+				task.next.previous = task.previous;
+			}
+			task.bucket = null;
+			task.previous = null;
+			task.next = null;
+		}
+
+		/**
+		 * removes all tasks, returning the first one, the others can be
+		 * retrieved through the next field of each task
+		 */
+		TimingWheelTimerTask clear() {
+			final TimingWheelTimerTask result = head;
+			head = null;
+			return result;
+		}
+	}
+
+	private final String name;
+
+	private final long tickDuration;
+
+	private final int threads;
+
+	private final SleeTransactionManager txManager;
+
+	/**
+	 * all timers set and not removed, by timer id
+	 */
+	private final ConcurrentHashMap<TimerID, TimingWheelTimerTask> tasks = new ConcurrentHashMap<TimerID, TimingWheelTimerTask>();
+
+	/**
+	 * all timers set and not removed, by activity context handle
+	 */
+	private final TimerFacilityTimersIndex<TimingWheelTimerTask> timersIndex = new TimerFacilityTimersIndex<TimingWheelTimerTask>();
+
+	private final ConcurrentLinkedQueue<TimingWheelTimerTask> pendingArms = new ConcurrentLinkedQueue<TimingWheelTimerTask>();
+
+	private final ConcurrentLinkedQueue<TimingWheelTimerTask> pendingCancels = new ConcurrentLinkedQueue<TimingWheelTimerTask>();
+
+	private final Bucket[][] wheels;
+
+	private final long tickDurationNanos;
+
+	/**
+	 * the {@link System#nanoTime()} of tick 0
+	 */
+	private volatile long startNanos;
+
+	private volatile long currentTick;
+
+	private volatile boolean running;
+
+	private Thread wheelThread;
+
+	private ExecutorService executor;
+
+	/**
+	 * 
+	 * @param name
+	 * @param tickDuration
+	 *            the duration of a tick, in milliseconds
+	 * @param threads
+	 *            the number of threads executing expired tasks
+	 * @param txManager
+	 */
+	public TimingWheelScheduler(String name, long tickDuration, int threads,
+			SleeTransactionManager txManager) {
+		if (tickDuration < 1) {
+			throw new IllegalArgumentException("tickDuration < 1");
+		}
+		this.name = name;
+		this.tickDuration = tickDuration;
+		this.tickDurationNanos = tickDuration * 1000000L;
+		this.threads = threads > 0 ? threads : 1;
+		this.txManager = txManager;
+		this.wheels = new Bucket[LEVELS][SLOTS];
+		for (int i = 0; i < LEVELS; i++) {
+			for (int j = 0; j < SLOTS; j++) {
+				wheels[i][j] = new Bucket();
+			}
+		}
+	}
+
+	/**
+	 * Starts the wheel thread and the timer executor.
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		startNanos = System.nanoTime();
+		currentTick = 0;
+		final AtomicInteger threadNumber = new AtomicInteger(0);
+		executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "SLEE-" + name + "-"
+						+ threadNumber.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		running = true;
+		wheelThread = new Thread(new Runnable() {
+			public void run() {
+				runWheel();
+			}
+		}, "SLEE-" + name + "-wheel");
+		wheelThread.setDaemon(true);
+		wheelThread.start();
+	}
+
+	/**
+	 * Stops the wheel thread and the timer executor, all timers are dropped,
+	 * thus the scheduler should not be started again.
+	 */
+	public synchronized void shutdownNow() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		wheelThread.interrupt();
+		wheelThread = null;
+		executor.shutdownNow();
+		executor = null;
+		tasks.clear();
+		timersIndex.clear();
+		pendingArms.clear();
+		pendingCancels.clear();
+	}
+
+	/**
+	 * Schedules the specified task, if there is a transaction the task is
+	 * only armed in the wheel after commit.
+	 * 
+	 * @param task
+	 */
+	public void schedule(final TimingWheelTimerTask task) {
+		final TimerFacilityTimerTaskData data = task
+				.getTimerFacilityTimerTaskData();
+		final TimerID timerID = data.getTimerID();
+		tasks.put(timerID, task);
+		timersIndex.add(task);
+		final TransactionContext txContext = txManager.getTransactionContext();
+		if (txContext != null) {
+			txContext.getAfterCommitActions().add(new TransactionalAction() {
+				public void execute() {
+					arm(task, data.getStartTime());
+				}
+			});
+			txContext.getAfterRollbackActions().add(new TransactionalAction() {
+				public void execute() {
+					tasks.remove(timerID, task);
+					timersIndex.remove(task);
+				}
+			});
+		} else {
+			arm(task, data.getStartTime());
+		}
+	}
+
+	/**
+	 * Cancels the task with the specified timer id, if there is a
+	 * transaction the task is only canceled after commit.
+	 * 
+	 * @param timerID
+	 * @return the task canceled, null if there is no such task
+	 */
+	public TimingWheelTimerTask cancel(TimerID timerID) {
+		final TimingWheelTimerTask task = tasks.get(timerID);
+		if (task != null) {
+			final TransactionContext txContext = txManager
+					.getTransactionContext();
+			if (txContext != null) {
+				txContext.getAfterCommitActions().add(
+						new TransactionalAction() {
+							public void execute() {
+								remove(task);
+							}
+						});
+			} else {
+				remove(task);
+			}
+		}
+		return task;
+	}
+
+	/**
+	 * Cancels all tasks of the activity context with the specified handle, if
+	 * there is a transaction the tasks are only canceled after commit.
+	 * 
+	 * @param ach
+	 */
+	public void cancel(final ActivityContextHandle ach) {
+		final TransactionContext txContext = txManager.getTransactionContext();
+		if (txContext != null) {
+			txContext.getAfterCommitActions().add(new TransactionalAction() {
+				public void execute() {
+					removeAll(ach);
+				}
+			});
+		} else {
+			removeAll(ach);
+		}
+	}
+
+	private void removeAll(ActivityContextHandle ach) {
+		final Collection<TimingWheelTimerTask> tasks = timersIndex
+				.removeAll(ach);
+		if (tasks != null) {
+			for (TimingWheelTimerTask task : tasks) {
+				remove(task);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the data of the task with the specified timer id.
+	 * 
+	 * @param timerID
+	 * @return null if there is no such task
+	 */
+	public TimerFacilityTimerTaskData getTimerTaskData(TimerID timerID) {
+		final TimingWheelTimerTask task = tasks.get(timerID);
+		return task != null ? task.getTimerFacilityTimerTaskData() : null;
+	}
+
+	/**
+	 * Arms the specified task, to expire at the specified time.
+	 * 
+	 * @param task
+	 * @param time
+	 */
+	void arm(TimingWheelTimerTask task, long time) {
+		if (task.isCancelled()) {
+			return;
+		}
+		// the time elapsed since tick 0, in ms, when the task expires, all
+		// rounded up, a timer never expires before its time
+		final long expiration = (System.nanoTime() - startNanos + 999999L)
+				/ 1000000L + time - System.currentTimeMillis();
+		task.expirationTick = expiration > 0 ? (expiration + tickDuration - 1)
+				/ tickDuration : 0;
+		pendingArms.offer(task);
+	}
+
+	/**
+	 * Stops further executions of the specified task, keeping it till it is
+	 * removed.
+	 * 
+	 * @param task
+	 */
+	void cancel(TimingWheelTimerTask task) {
+		if (task.markCancelled()) {
+			pendingCancels.offer(task);
+		}
+	}
+
+	/**
+	 * Removes the specified task from the scheduler.
+	 * 
+	 * @param task
+	 */
+	void remove(TimingWheelTimerTask task) {
+		tasks.remove(task.getTimerFacilityTimerTaskData().getTimerID(), task);
+		timersIndex.remove(task);
+		cancel(task);
+	}
+
+	private void runWheel() {
+		List<TimingWheelTimerTask> expired = new ArrayList<TimingWheelTimerTask>();
+		while (running) {
+			final long tickNanos = startNanos + (currentTick + 1)
+					* tickDurationNanos;
+			final long sleep = tickNanos - System.nanoTime();
+			if (sleep > 0) {
+				try {
+					Thread.sleep(sleep / 1000000L, (int) (sleep % 1000000L));
+				} catch (InterruptedException e) {
+					continue;
+				}
+				continue;
+			}
+			try {
+				tick(expired);
+				if (!expired.isEmpty()) {
+					execute(expired);
+					expired.clear();
+				}
+			} catch (Throwable e) {
+				logger.error("Failure in timer wheel tick " + currentTick, e);
+			}
+		}
+	}
+
+	/**
+	 * Advances the wheel one tick, collecting the tasks that expired.
+	 * 
+	 * @param expired
+	 */
+	private void tick(List<TimingWheelTimerTask> expired) {
+		final long tick = currentTick + 1;
+		currentTick = tick;
+		// apply pending cancels and arms
+		TimingWheelTimerTask task = null;
+		while ((task = pendingCancels.poll()) != null) {
+			if (task.bucket != null) {
+				task.bucket.remove(task);
+			}
+		}
+		while ((task = pendingArms.poll()) != null) {
+			if (!task.isCancelled() && task.bucket == null) {
+				place(task, tick, expired);
+			}
+		}
+		// cascade the higher level slots which are due
+		for (int level = 1; level < LEVELS; level++) {
+			final int shift = SLOT_BITS * level;
+			if ((tick & ((1L << shift) - 1)) != 0) {
+				break;
+			}
+			task = wheels[level][(int) ((tick >>> shift) & SLOT_MASK)].clear();
+			while (task != null) {
+				final TimingWheelTimerTask next = task.next;
+				task.bucket = null;
+				task.previous = null;
+				task.next = null;
+				place(task, tick, expired);
+				task = next;
+			}
+		}
+		// expire the tick's slot
+		task = wheels[0][(int) (tick & SLOT_MASK)].clear();
+		while (task != null) {
+			final TimingWheelTimerTask next = task.next;
+			task.bucket = null;
+			task.previous = null;
+			task.next = null;
+			expired.add(task);
+			task = next;
+		}
+	}
+
+	/**
+	 * Places the specified task in the lowest level where its expiration
+	 * fits, or in the expired list if its expiration tick was reached.
+	 * 
+	 * @param task
+	 * @param tick
+	 * @param expired
+	 */
+	private void place(TimingWheelTimerTask task, long tick,
+			List<TimingWheelTimerTask> expired) {
+		final long delta = task.expirationTick - tick;
+		if (delta <= 0) {
+			expired.add(task);
+			return;
+		}
+		for (int level = 0; level < LEVELS; level++) {
+			final int shift = SLOT_BITS * level;
+			if (delta < (1L << (shift + SLOT_BITS))) {
+				wheels[level][(int) ((task.expirationTick >>> shift) & SLOT_MASK)]
+						.add(task);
+				return;
+			}
+		}
+		// beyond the wheel range, park it in the top level slot cascaded
+		// last, from there it will be placed again
+		final int shift = SLOT_BITS * (LEVELS - 1);
+		wheels[LEVELS - 1][(int) (((tick >>> shift) - 1) & SLOT_MASK)]
+				.add(task);
+	}
+
+	/**
+	 * Hands each expired task to the timer executor, so the tasks of a tick
+	 * are spread over all its threads.
+	 * 
+	 * @param expired
+	 */
+	private void execute(List<TimingWheelTimerTask> expired) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing " + expired.size()
+					+ " expired timer(s) in tick " + currentTick);
+		}
+		final ExecutorService executor = this.executor;
+		if (executor == null) {
+			return;
+		}
+		for (final TimingWheelTimerTask task : expired) {
+			executor.execute(new Runnable() {
+				public void run() {
+					try {
+						task.expire();
+					} catch (Throwable e) {
+						logger.error("Failure executing timer task " + task,
+								e);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Retrieves the number of timers set and not removed.
+	 * 
+	 * @return
+	 */
+	public int getTimersCount() {
+		return tasks.size();
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public String toDetailedString() {
+		return "TimingWheelScheduler[ name = " + name + " , tickDuration = "
+				+ tickDuration + " , threads = " + threads
+				+ " , currentTick = " + currentTick + " , timers = "
+				+ tasks.size() + " ]";
+	}
+}
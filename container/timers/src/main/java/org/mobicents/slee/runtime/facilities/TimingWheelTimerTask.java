@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.facilities;
+
+import org.mobicents.slee.container.SleeContainer;
+import org.mobicents.slee.container.activity.ActivityContext;
+
+/**
+ * A SLEE timer task scheduled in a {@link TimingWheelScheduler}.
+ */
+public class TimingWheelTimerTask implements TimerFacilityTask {
+
+	private final static SleeContainer sleeContainer = SleeContainer
+			.lookupFromJndi();
+
+	private final TimerFacilityTimerTaskData data;
+
+	private final TimingWheelScheduler scheduler;
+
+	/**
+	 * if true the task will not be executed (again)
+	 */
+	private volatile boolean cancelled;
+
+	/**
+	 * the wheel tick where the task expires, only changed before arming
+	 */
+	long expirationTick;
+
+	/**
+	 * the wheel bucket where the task is, and its neighbours in the bucket,
+	 * only accessed by the wheel thread
+	 */
+	TimingWheelScheduler.Bucket bucket;
+	TimingWheelTimerTask previous;
+	TimingWheelTimerTask next;
+
+	/**
+	 * 
+	 * @param data
+	 * @param scheduler
+	 */
+	public TimingWheelTimerTask(TimerFacilityTimerTaskData data,
+			TimingWheelScheduler scheduler) {
+		this.data = data;
+		this.scheduler = scheduler;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.runtime.facilities.TimerFacilityTask#getTimerFacilityTimerTaskData()
+	 */
+	public TimerFacilityTimerTaskData getTimerFacilityTimerTaskData() {
+		return data;
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.runtime.facilities.TimerFacilityTask#cancel()
+	 */
+	public void cancel() {
+		scheduler.cancel(this);
+	}
+
+	/**
+	 * Marks the task as cancelled.
+	 * 
+	 * @return false if the task was already cancelled
+	 */
+	boolean markCancelled() {
+		if (cancelled) {
+			return false;
+		}
+		cancelled = true;
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.runtime.facilities.TimerFacilityTask#remove()
+	 */
+	public void remove() {
+		// remove from scheduler
+		scheduler.remove(this);
+		// detach this timer from the ac
+		final ActivityContext ac = sleeContainer.getActivityContextFactory()
+				.getActivityContext(data.getActivityContextHandle());
+		if (ac != null) {
+			ac.detachTimer(data.getTimerID());
+		}
+	}
+
+	/**
+	 * Executes the task, in a thread of the scheduler's executor, arming it
+	 * again if it is periodic and did not end.
+	 */
+	void expire() {
+		if (cancelled) {
+			return;
+		}
+		TimerFacilityTimerTask.runInternal(this);
+		if (!cancelled && data.getPeriod() > 0
+				&& data.getRemainingRepetitions() > 0) {
+			// fixed rate, next execution is relative to the scheduled time
+			scheduler.arm(this, data.getScheduledTime());
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TimingWheelTimerTask[ " + data + " , expirationTick = "
+				+ expirationTick + " , cancelled = " + cancelled + " ]";
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.facilities;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import javax.slee.resource.ActivityHandle;
+
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.activity.ActivityType;
+
+/**
+ * An activity context handle with identity equality, for the tests which
+ * only need distinct activity contexts to attach timers.
+ */
+class TestActivityContextHandle implements ActivityContextHandle {
+
+	private static final long serialVersionUID = 1L;
+
+	public ActivityHandle getActivityHandle() {
+		return null;
+	}
+
+	public Object getActivityObject() {
+		return null;
+	}
+
+	public ActivityType getActivityType() {
+		return ActivityType.NULL;
+	}
+
+	public void readExternal(ObjectInput in) throws IOException,
+			ClassNotFoundException {
+		throw new UnsupportedOperationException();
+	}
+
+	public void writeExternal(ObjectOutput out) throws IOException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String toString() {
+		return "ach" + System.identityHashCode(this);
+	}
+
+}
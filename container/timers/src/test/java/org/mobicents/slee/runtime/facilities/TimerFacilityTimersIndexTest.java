@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.facilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.slee.facilities.TimerOptions;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.MobicentsUUID;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+
+public class TimerFacilityTimersIndexTest extends TestCase {
+
+	private static final AtomicInteger ids = new AtomicInteger();
+
+	private TimerFacilityTimersIndex<TestTask> index;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		index = new TimerFacilityTimersIndex<TestTask>();
+	}
+
+	public void testAddAndRemove() {
+		final ActivityContextHandle ach = new TestActivityContextHandle();
+		final TestTask task1 = new TestTask(ach);
+		final TestTask task2 = new TestTask(ach);
+		final TestTask otherTask = new TestTask(new TestActivityContextHandle());
+		assertNull(index.get(ach));
+		index.add(task1);
+		index.add(task2);
+		index.add(otherTask);
+		assertEquals(2, index.getActivityContextsCount());
+		final Collection<TestTask> tasks = index.get(ach);
+		assertEquals(2, tasks.size());
+		assertTrue(tasks.contains(task1));
+		assertTrue(tasks.contains(task2));
+		index.remove(task1);
+		assertEquals(1, index.get(ach).size());
+		index.remove(task2);
+		// the entry is dropped with its last task
+		assertNull(index.get(ach));
+		assertEquals(1, index.getActivityContextsCount());
+		// removing a task not in the index is a noop
+		index.remove(task1);
+		assertEquals(1, index.getActivityContextsCount());
+	}
+
+	public void testRemoveAll() {
+		final ActivityContextHandle ach = new TestActivityContextHandle();
+		index.add(new TestTask(ach));
+		index.add(new TestTask(ach));
+		assertEquals(2, index.removeAll(ach).size());
+		assertNull(index.get(ach));
+		assertNull(index.removeAll(ach));
+		assertEquals(0, index.getActivityContextsCount());
+		index.add(new TestTask(ach));
+		index.clear();
+		assertEquals(0, index.getActivityContextsCount());
+	}
+
+	public void testConcurrentAddAndRemove() throws Exception {
+		final ActivityContextHandle ach = new TestActivityContextHandle();
+		final int threads = 8;
+		final int iterations = 5000;
+		final List<TestTask> kept = new ArrayList<TestTask>();
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> list = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			final TestTask keptTask = new TestTask(ach);
+			kept.add(keptTask);
+			list.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < iterations; j++) {
+						final TestTask task = new TestTask(ach);
+						index.add(task);
+						index.remove(task);
+						if (j == iterations / 2) {
+							// added while other threads drop the entry
+							index.add(keptTask);
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : list) {
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : list) {
+			thread.join();
+		}
+		// no task added was lost, and no task removed was left behind
+		final Collection<TestTask> tasks = index.get(ach);
+		assertNotNull(tasks);
+		assertEquals(threads, tasks.size());
+		assertTrue(tasks.containsAll(kept));
+		for (TestTask task : kept) {
+			index.remove(task);
+		}
+		assertEquals(0, index.getActivityContextsCount());
+	}
+
+	// --- helpers
+
+	private static class TestTask implements TimerFacilityTask {
+
+		private final TimerFacilityTimerTaskData data;
+
+		TestTask(ActivityContextHandle ach) {
+			this.data = new TimerFacilityTimerTaskData(new TimerIDImpl(
+					new MobicentsUUID(0, ids.incrementAndGet())), ach, null,
+					System.currentTimeMillis(), -1, 1, new TimerOptions());
+		}
+
+		public TimerFacilityTimerTaskData getTimerFacilityTimerTaskData() {
+			return data;
+		}
+
+		public void cancel() {
+		}
+
+		public void remove() {
+		}
+	}
+
+}
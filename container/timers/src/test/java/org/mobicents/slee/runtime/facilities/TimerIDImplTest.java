@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.facilities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.MobicentsUUID;
+
+public class TimerIDImplTest extends TestCase {
+
+	public void testWriteAndRead() throws Exception {
+		final TimerIDImpl timerID = new TimerIDImpl(new MobicentsUUID(1, 2));
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final ObjectOutputStream out = new ObjectOutputStream(bytes);
+		timerID.writeExternal(out);
+		out.close();
+		assertEquals(timerID, read(bytes.toByteArray()));
+	}
+
+	public void testReadOfStringForm() throws Exception {
+		final UUID uuid = UUID.randomUUID();
+		assertEquals(new TimerIDImpl(new MobicentsUUID(uuid
+				.getMostSignificantBits(), uuid.getLeastSignificantBits())),
+				read(writeString(uuid.toString())));
+		// ids which are not uuids, e.g. created in local mode
+		final String id = "-3c2a1f:12ab34cd:-7fff";
+		assertEquals(read(writeString(id)), read(writeString(id)));
+		assertFalse(read(writeString(id)).equals(
+				read(writeString(id + "1"))));
+	}
+
+	// --- helpers
+
+	private static byte[] writeString(String id) throws Exception {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeUTF(id);
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	private static TimerIDImpl read(byte[] bytes) throws Exception {
+		final ObjectInputStream in = new ObjectInputStream(
+				new ByteArrayInputStream(bytes));
+		final TimerIDImpl timerID = new TimerIDImpl();
+		timerID.readExternal(in);
+		return timerID;
+	}
+
+}
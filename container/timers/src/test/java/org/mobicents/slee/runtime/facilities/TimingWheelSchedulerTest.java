@@ -0,0 +1,190 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.facilities;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.slee.facilities.TimerOptions;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.MobicentsUUID;
+import org.mobicents.slee.container.activity.ActivityContextHandle;
+import org.mobicents.slee.container.transaction.SleeTransactionManager;
+
+public class TimingWheelSchedulerTest extends TestCase {
+
+	private static final long TICK = 5;
+
+	private static final AtomicInteger ids = new AtomicInteger();
+
+	private TimingWheelScheduler scheduler;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		// no tx, tasks are armed and canceled right away
+		final SleeTransactionManager txManager = (SleeTransactionManager) Proxy
+				.newProxyInstance(getClass().getClassLoader(),
+						new Class[] { SleeTransactionManager.class },
+						new InvocationHandler() {
+							public Object invoke(Object proxy, Method method,
+									Object[] args) throws Throwable {
+								if (method.getName().equals(
+										"getTransactionContext")) {
+									return null;
+								}
+								throw new UnsupportedOperationException(
+										method.getName());
+							}
+						});
+		scheduler = new TimingWheelScheduler("test", TICK, 2, txManager);
+		scheduler.start();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		scheduler.shutdownNow();
+		super.tearDown();
+	}
+
+	public void testTimerNeverExpiresBeforeItsTime() throws Exception {
+		final ActivityContextHandle ach = new TestActivityContextHandle();
+		final TestTask[] tasks = new TestTask[20];
+		final CountDownLatch latch = new CountDownLatch(tasks.length);
+		final long now = System.currentTimeMillis();
+		for (int i = 0; i < tasks.length; i++) {
+			tasks[i] = new TestTask(ach, now + i * 7, latch);
+			scheduler.schedule(tasks[i]);
+		}
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		for (TestTask task : tasks) {
+			assertTrue(task + " expired early",
+					task.expiredAt >= task.getTimerFacilityTimerTaskData()
+							.getStartTime());
+		}
+	}
+
+	public void testTimerBeyondFirstLevelExpires() throws Exception {
+		// more than 256 ticks, the task is cascaded from level 1
+		final long delay = TICK * 300;
+		final CountDownLatch latch = new CountDownLatch(1);
+		final long now = System.currentTimeMillis();
+		final TestTask task = new TestTask(new TestActivityContextHandle(), now
+				+ delay, latch);
+		scheduler.schedule(task);
+		assertTrue(latch.await(delay + 5000, TimeUnit.MILLISECONDS));
+		assertTrue(task.expiredAt - now >= delay);
+	}
+
+	public void testCancel() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final TestTask task = new TestTask(new TestActivityContextHandle(),
+				System.currentTimeMillis() + 50, latch);
+		scheduler.schedule(task);
+		assertEquals(1, scheduler.getTimersCount());
+		assertSame(task, scheduler.cancel(task.getTimerFacilityTimerTaskData()
+				.getTimerID()));
+		assertEquals(0, scheduler.getTimersCount());
+		assertNull(scheduler.getTimerTaskData(task
+				.getTimerFacilityTimerTaskData().getTimerID()));
+		assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+	}
+
+	public void testCancelActivityContextTimers() throws Exception {
+		final ActivityContextHandle ach = new TestActivityContextHandle();
+		final CountDownLatch canceledLatch = new CountDownLatch(3);
+		final long time = System.currentTimeMillis() + 50;
+		for (int i = 0; i < 3; i++) {
+			scheduler.schedule(new TestTask(ach, time, canceledLatch));
+		}
+		final CountDownLatch otherLatch = new CountDownLatch(1);
+		scheduler.schedule(new TestTask(new TestActivityContextHandle(), time,
+				otherLatch));
+		scheduler.cancel(ach);
+		assertEquals(1, scheduler.getTimersCount());
+		assertTrue(otherLatch.await(5, TimeUnit.SECONDS));
+		assertFalse(canceledLatch.await(100, TimeUnit.MILLISECONDS));
+		assertEquals(3, canceledLatch.getCount());
+	}
+
+	public void testTasksOfATickRunConcurrently() throws Exception {
+		// each task waits for the other, which only completes if these are
+		// executed by different threads
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+		final CountDownLatch latch = new CountDownLatch(2);
+		final long time = System.currentTimeMillis() + 20;
+		final ActivityContextHandle ach = new TestActivityContextHandle();
+		for (int i = 0; i < 2; i++) {
+			scheduler.schedule(new TestTask(ach, time, latch) {
+				@Override
+				void expire() {
+					try {
+						barrier.await(5, TimeUnit.SECONDS);
+					} catch (Exception e) {
+						return;
+					}
+					super.expire();
+				}
+			});
+		}
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+	}
+
+	// --- helpers
+
+	/**
+	 * A non periodic task which records its expiration instead of firing a
+	 * timer event.
+	 */
+	private class TestTask extends TimingWheelTimerTask {
+
+		private final CountDownLatch latch;
+
+		volatile long expiredAt;
+
+		TestTask(ActivityContextHandle ach, long time, CountDownLatch latch) {
+			super(new TimerFacilityTimerTaskData(new TimerIDImpl(
+					new MobicentsUUID(0, ids.incrementAndGet())), ach, null,
+					time, -1, 1, new TimerOptions()), scheduler);
+			this.latch = latch;
+		}
+
+		@Override
+		void expire() {
+			if (isCancelled()) {
+				return;
+			}
+			expiredAt = System.currentTimeMillis();
+			latch.countDown();
+		}
+
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+import org.apache.log4j.Logger;
+
+/**
+ * The configuration of the SLEE transaction manager async commit and rollback
+ * stage.
+ */
+public class AsyncTransactionConfiguration implements
+		AsyncTransactionConfigurationMBean {
+
+	private static final Logger logger = Logger
+			.getLogger(AsyncTransactionConfiguration.class);
+
+	public static final int DEFAULT_ASYNC_THREADS = 4;
+
+	public static final int DEFAULT_ASYNC_QUEUE_SIZE = 10000;
+
+	public static final boolean DEFAULT_GROUP_COMMIT = false;
+
+	public static final int DEFAULT_MAX_GROUP_SIZE = 32;
+
+	private Integer asyncThreads;
+
+	private Integer asyncQueueSize;
+
+	private volatile boolean groupCommit = DEFAULT_GROUP_COMMIT;
+
+	private volatile int maxGroupSize = DEFAULT_MAX_GROUP_SIZE;
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionConfigurationMBean
+	 * #getAsyncThreads()
+	 */
+	public int getAsyncThreads() {
+		return asyncThreads != null ? asyncThreads.intValue()
+				: DEFAULT_ASYNC_THREADS;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionConfigurationMBean
+	 * #setAsyncThreads(int)
+	 */
+	public void setAsyncThreads(int value) throws IllegalArgumentException {
+		if (value < 1) {
+			throw new IllegalArgumentException(
+					"async threads must not be lower than 1");
+		}
+		if (this.asyncThreads == null) {
+			logger.info("SLEE transaction manager async stage initiated with "
+					+ value + " threads.");
+		} else {
+			logger
+					.warn("Setting transaction manager async threads to "
+							+ value
+							+ ". If called with server running a stop and start is need to apply changes.");
+		}
+		this.asyncThreads = value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionConfigurationMBean
+	 * #getAsyncQueueSize()
+	 */
+	public int getAsyncQueueSize() {
+		return asyncQueueSize != null ? asyncQueueSize.intValue()
+				: DEFAULT_ASYNC_QUEUE_SIZE;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionConfigurationMBean
+	 * #setAsyncQueueSize(int)
+	 */
+	public void setAsyncQueueSize(int value) throws IllegalArgumentException {
+		if (value < 1) {
+			throw new IllegalArgumentException(
+					"async queue size must not be lower than 1");
+		}
+		if (this.asyncQueueSize == null) {
+			logger.info("SLEE transaction manager async stage initiated with "
+					+ value + " for queue size.");
+		} else {
+			logger
+					.warn("Setting transaction manager async queue size to "
+							+ value
+							+ ". If called with server running a stop and start is need to apply changes.");
+		}
+		this.asyncQueueSize = value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionConfigurationMBean
+	 * #isGroupCommit()
+	 */
+	public boolean isGroupCommit() {
+		return groupCommit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionConfigurationMBean
+	 * #setGroupCommit(boolean)
+	 */
+	public void setGroupCommit(boolean value) {
+		this.groupCommit = value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionConfigurationMBean
+	 * #getMaxGroupSize()
+	 */
+	public int getMaxGroupSize() {
+		return maxGroupSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionConfigurationMBean
+	 * #setMaxGroupSize(int)
+	 */
+	public void setMaxGroupSize(int value) throws IllegalArgumentException {
+		if (value < 1) {
+			throw new IllegalArgumentException(
+					"max group size must not be lower than 1");
+		}
+		this.maxGroupSize = value;
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+/**
+ * JMX interface for the configuration of the SLEE transaction manager async
+ * commit and rollback stage.
+ */
+public interface AsyncTransactionConfigurationMBean {
+
+	public static final String OBJECT_NAME = "org.mobicents.slee:name=AsyncTransactionConfiguration";
+
+	/**
+	 * Retrieves the number of threads which execute async commits and
+	 * rollbacks.
+	 * 
+	 * @return
+	 */
+	public int getAsyncThreads();
+
+	/**
+	 * Sets the number of threads which execute async commits and rollbacks.
+	 * 
+	 * Note that setting a different value for this method will only be
+	 * effective on server (re)start.
+	 * 
+	 * @param value
+	 * @throws IllegalArgumentException
+	 *             if the value is lower than 1
+	 */
+	public void setAsyncThreads(int value) throws IllegalArgumentException;
+
+	/**
+	 * Retrieves the max number of async commits and rollbacks queued. When
+	 * the queue is full the operation is executed by the invoking thread.
+	 * 
+	 * @return
+	 */
+	public int getAsyncQueueSize();
+
+	/**
+	 * Sets the max number of async commits and rollbacks queued. When the
+	 * queue is full the operation is executed by the invoking thread.
+	 * 
+	 * Note that setting a different value for this method will only be
+	 * effective on server (re)start.
+	 * 
+	 * @param value
+	 * @throws IllegalArgumentException
+	 *             if the value is lower than 1
+	 */
+	public void setAsyncQueueSize(int value) throws IllegalArgumentException;
+
+	/**
+	 * Indicates if the async operations queued are executed in groups, and
+	 * the tasks submitted to the event router executors by the transactional
+	 * actions of a group are handed off together. Disabled by default, since
+	 * the events of an operation are only routed once the whole group is
+	 * executed.
+	 * 
+	 * @return
+	 */
+	public boolean isGroupCommit();
+
+	/**
+	 * Defines if the async operations queued are executed in groups, and the
+	 * tasks submitted to the event router executors by the transactional
+	 * actions of a group are handed off together.
+	 * 
+	 * @param value
+	 */
+	public void setGroupCommit(boolean value);
+
+	/**
+	 * Retrieves the max number of async operations in a group.
+	 * 
+	 * @return
+	 */
+	public int getMaxGroupSize();
+
+	/**
+	 * Sets the max number of async operations in a group.
+	 * 
+	 * @param value
+	 * @throws IllegalArgumentException
+	 *             if the value is lower than 1
+	 */
+	public void setMaxGroupSize(int value) throws IllegalArgumentException;
+
+}
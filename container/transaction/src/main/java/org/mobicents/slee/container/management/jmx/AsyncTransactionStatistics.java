@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+import org.mobicents.slee.runtime.transaction.AsyncTransactionExecutor;
+
+/**
+ * The statistics of the SLEE transaction manager async commit and rollback
+ * stage.
+ */
+public class AsyncTransactionStatistics implements
+		AsyncTransactionStatisticsMBean {
+
+	private final AsyncTransactionExecutor executor;
+
+	/**
+	 * 
+	 * @param executor
+	 */
+	public AsyncTransactionStatistics(AsyncTransactionExecutor executor) {
+		this.executor = executor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionStatisticsMBean
+	 * #getQueueSize()
+	 */
+	public int getQueueSize() {
+		return executor.getQueueSize();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionStatisticsMBean
+	 * #getExecutedTasks()
+	 */
+	public long getExecutedTasks() {
+		return executor.getExecutedTasks();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionStatisticsMBean
+	 * #getCallerExecutedTasks()
+	 */
+	public long getCallerExecutedTasks() {
+		return executor.getCallerExecutedTasks();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionStatisticsMBean
+	 * #getExecutedGroups()
+	 */
+	public long getExecutedGroups() {
+		return executor.getExecutedGroups();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionStatisticsMBean
+	 * #getAverageGroupSize()
+	 */
+	public long getAverageGroupSize() {
+		final long groups = executor.getExecutedGroups();
+		if (groups == 0) {
+			return 0;
+		}
+		return (executor.getExecutedTasks() - executor
+				.getCallerExecutedTasks())
+				/ groups;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionStatisticsMBean
+	 * #getAverageLatency()
+	 */
+	public long getAverageLatency() {
+		return executor.getAverageLatency();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionStatisticsMBean
+	 * #getMaxLatency()
+	 */
+	public long getMaxLatency() {
+		return executor.getMaxLatency();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mobicents.slee.container.management.jmx.AsyncTransactionStatisticsMBean
+	 * #resetStatistics()
+	 */
+	public void resetStatistics() {
+		executor.resetStatistics();
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+/**
+ * JMX interface for the statistics of the SLEE transaction manager async
+ * commit and rollback stage.
+ */
+public interface AsyncTransactionStatisticsMBean {
+
+	public static final String OBJECT_NAME = "org.mobicents.slee:name=AsyncTransactionStatistics";
+
+	/**
+	 * Return number of async commits and rollbacks waiting in the queue.
+	 */
+	public int getQueueSize();
+
+	/**
+	 * Return number of async commits and rollbacks executed, this includes
+	 * the ones executed by invoking threads.
+	 */
+	public long getExecutedTasks();
+
+	/**
+	 * Return number of async commits and rollbacks executed by invoking
+	 * threads, due to a full queue.
+	 */
+	public long getCallerExecutedTasks();
+
+	/**
+	 * Return number of groups of async commits and rollbacks executed.
+	 */
+	public long getExecutedGroups();
+
+	/**
+	 * Return avg number of async commits and rollbacks executed in a group.
+	 */
+	public long getAverageGroupSize();
+
+	/**
+	 * Return avg time, in nanoseconds, between the submission of an async
+	 * commit or rollback and the end of its execution.
+	 */
+	public long getAverageLatency();
+
+	/**
+	 * Return max time, in nanoseconds, between the submission of an async
+	 * commit or rollback and the end of its execution.
+	 */
+	public long getMaxLatency();
+
+	/**
+	 * Resets all statistics.
+	 */
+	public void resetStatistics();
+
+}
@@ -45,9 +45,18 @@ public class AsyncTransactionCommitRunnable implements Runnable {
 		this.transaction = transaction;
 	}
 
+	/**
+	 * Commits the transaction.
+	 */
+	protected void commitTransaction() throws RollbackException,
+			HeuristicMixedException, HeuristicRollbackException,
+			SecurityException, IllegalStateException, SystemException {
+		transaction.commit();
+	}
+
 	public void run() {
 		try {
-			transaction.commit();
+			commitTransaction();
 			if (commitListener != null) {
 				commitListener.committed();
 			}
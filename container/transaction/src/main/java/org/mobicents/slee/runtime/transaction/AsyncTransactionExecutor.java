@@ -0,0 +1,306 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.transaction;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.mobicents.slee.container.eventrouter.EventRouterExecutorHandoff;
+import org.mobicents.slee.container.management.jmx.AsyncTransactionConfiguration;
+
+/**
+ * Bounded executor for the async commits and rollbacks of SLEE transactions.
+ * A fixed number of threads serve a bounded queue, when the queue is full the
+ * operation is executed by the invoking thread, which throttles producers
+ * instead of growing the number of threads without limit. If group commit is
+ * enabled a worker drains the operations queued and executes them in a
+ * single turn, with the tasks submitted by their transactional actions to
+ * each event router executor handed off together.
+ * 
+ * The worker threads are only started on first use, and stopped on
+ * {@link #shutdown()}, after that all operations are executed by the invoking
+ * thread.
+ */
+public class AsyncTransactionExecutor {
+
+	private static final Logger logger = Logger
+			.getLogger(AsyncTransactionExecutor.class);
+
+	private static final long POLL_TIMEOUT = 1000;
+
+	private final AsyncTransactionConfiguration configuration;
+
+	private volatile ArrayBlockingQueue<QueuedTask> queue;
+
+	private Worker[] workers;
+
+	private volatile boolean shutdown;
+
+	private volatile EventRouterExecutorHandoff executorHandoff;
+
+	private final AtomicLong executedTasks = new AtomicLong(0);
+
+	private final AtomicLong callerExecutedTasks = new AtomicLong(0);
+
+	private final AtomicLong executedGroups = new AtomicLong(0);
+
+	private final AtomicLong totalLatency = new AtomicLong(0);
+
+	private final AtomicLong maxLatency = new AtomicLong(0);
+
+	/**
+	 * 
+	 * @param configuration
+	 */
+	public AsyncTransactionExecutor(AsyncTransactionConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Executes the specified async commit or rollback task, if the queue is
+	 * full or the executor was shutdown the task is executed by the invoking
+	 * thread.
+	 * 
+	 * @param task
+	 */
+	public void execute(Runnable task) {
+		final QueuedTask queuedTask = new QueuedTask(task);
+		ArrayBlockingQueue<QueuedTask> queue = this.queue;
+		if (queue == null) {
+			queue = start();
+		}
+		if (queue == null || !queue.offer(queuedTask)
+				|| (shutdown && queue.remove(queuedTask))) {
+			// no queue, full queue, or the executor was shutdown after the
+			// task was queued, and the workers may have already left
+			callerExecutedTasks.incrementAndGet();
+			run(queuedTask);
+		}
+	}
+
+	/**
+	 * Sets the handoff used to group the tasks submitted to the event router
+	 * executors, by the operations of a group.
+	 * 
+	 * @param executorHandoff
+	 */
+	public void setExecutorHandoff(EventRouterExecutorHandoff executorHandoff) {
+		this.executorHandoff = executorHandoff;
+	}
+
+	/**
+	 * Starts the worker threads, unless the executor was shutdown.
+	 * 
+	 * @return the queue served by the workers, null if the executor was
+	 *         shutdown
+	 */
+	private synchronized ArrayBlockingQueue<QueuedTask> start() {
+		if (queue == null && !shutdown) {
+			final ArrayBlockingQueue<QueuedTask> queue = new ArrayBlockingQueue<QueuedTask>(
+					configuration.getAsyncQueueSize());
+			workers = new Worker[configuration.getAsyncThreads()];
+			for (int i = 0; i < workers.length; i++) {
+				workers[i] = new Worker("SLEE-AsyncTransactionExecutor-" + i,
+						queue);
+				workers[i].start();
+			}
+			this.queue = queue;
+		}
+		return queue;
+	}
+
+	private void run(QueuedTask queuedTask) {
+		try {
+			queuedTask.task.run();
+		} catch (Throwable e) {
+			logger.error("Failure executing async transaction task", e);
+		}
+		final long latency = System.nanoTime() - queuedTask.submitNanos;
+		executedTasks.incrementAndGet();
+		totalLatency.addAndGet(latency);
+		long max = maxLatency.get();
+		while (latency > max) {
+			if (maxLatency.compareAndSet(max, latency)) {
+				break;
+			}
+			max = maxLatency.get();
+		}
+	}
+
+	/**
+	 * Stops the worker threads, after executing the tasks still queued.
+	 */
+	public synchronized void shutdown() {
+		// set before stopping the workers, so a task queued concurrently is
+		// either seen by a worker or taken back by the invoking thread
+		shutdown = true;
+		if (queue != null) {
+			queue = null;
+			for (Worker worker : workers) {
+				worker.running = false;
+				worker.interrupt();
+			}
+			workers = null;
+		}
+	}
+
+	// STATS
+
+	/**
+	 * 
+	 * @return the number of tasks waiting in the queue
+	 */
+	public int getQueueSize() {
+		final ArrayBlockingQueue<QueuedTask> queue = this.queue;
+		return queue == null ? 0 : queue.size();
+	}
+
+	/**
+	 * 
+	 * @return the number of tasks executed, including the ones executed by
+	 *         invoking threads
+	 */
+	public long getExecutedTasks() {
+		return executedTasks.get();
+	}
+
+	/**
+	 * 
+	 * @return the number of tasks executed by invoking threads, due to a full
+	 *         queue
+	 */
+	public long getCallerExecutedTasks() {
+		return callerExecutedTasks.get();
+	}
+
+	/**
+	 * 
+	 * @return the number of groups executed by the worker threads
+	 */
+	public long getExecutedGroups() {
+		return executedGroups.get();
+	}
+
+	/**
+	 * 
+	 * @return the average time in nanoseconds between the submission of a task
+	 *         and the end of its execution
+	 */
+	public long getAverageLatency() {
+		final long tasks = executedTasks.get();
+		return tasks == 0 ? 0 : totalLatency.get() / tasks;
+	}
+
+	/**
+	 * 
+	 * @return the max time in nanoseconds between the submission of a task and
+	 *         the end of its execution
+	 */
+	public long getMaxLatency() {
+		return maxLatency.get();
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public void resetStatistics() {
+		executedTasks.set(0);
+		callerExecutedTasks.set(0);
+		executedGroups.set(0);
+		totalLatency.set(0);
+		maxLatency.set(0);
+	}
+
+	private static class QueuedTask {
+
+		private final Runnable task;
+
+		private final long submitNanos;
+
+		public QueuedTask(Runnable task) {
+			this.task = task;
+			this.submitNanos = System.nanoTime();
+		}
+
+	}
+
+	private class Worker extends Thread {
+
+		private final ArrayBlockingQueue<QueuedTask> queue;
+
+		private final ArrayList<QueuedTask> group = new ArrayList<QueuedTask>();
+
+		private volatile boolean running = true;
+
+		public Worker(String name, ArrayBlockingQueue<QueuedTask> queue) {
+			super(name);
+			this.queue = queue;
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			while (running || !queue.isEmpty()) {
+				QueuedTask queuedTask = null;
+				try {
+					queuedTask = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					// shutdown, drain what is left
+					queuedTask = queue.poll();
+				}
+				if (queuedTask == null) {
+					continue;
+				}
+				if (configuration.isGroupCommit()) {
+					group.add(queuedTask);
+					queue.drainTo(group, configuration.getMaxGroupSize() - 1);
+					runGroup();
+				} else {
+					AsyncTransactionExecutor.this.run(queuedTask);
+				}
+			}
+		}
+
+		private void runGroup() {
+			final EventRouterExecutorHandoff executorHandoff = AsyncTransactionExecutor.this.executorHandoff;
+			final boolean opened = executorHandoff != null
+					&& executorHandoff.openBatch();
+			try {
+				for (int i = 0; i < group.size(); i++) {
+					AsyncTransactionExecutor.this.run(group.get(i));
+				}
+			} finally {
+				if (opened) {
+					executorHandoff.closeBatch();
+				}
+				group.clear();
+				executedGroups.incrementAndGet();
+			}
+		}
+
+	}
+
+}
@@ -42,9 +42,17 @@ public class AsyncTransactionRollbackRunnable implements Runnable {
 		this.transaction = transaction;
 	}
 
+	/**
+	 * Rolls back the transaction.
+	 */
+	protected void rollbackTransaction() throws IllegalStateException,
+			SystemException {
+		transaction.rollback();
+	}
+
 	public void run() {
 		try {
-			transaction.rollback();
+			rollbackTransaction();
 			if (rollbackListener != null) {
 				rollbackListener.rolledBack();
 			}
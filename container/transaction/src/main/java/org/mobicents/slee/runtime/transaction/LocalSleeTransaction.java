@@ -0,0 +1,376 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.slee.transaction.CommitListener;
+import javax.slee.transaction.RollbackListener;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.xa.XAResource;
+
+import org.apache.log4j.Logger;
+import org.mobicents.slee.container.transaction.SleeTransaction;
+import org.mobicents.slee.container.transaction.TransactionContext;
+
+/**
+ * A {@link SleeTransaction} of the {@link LocalSleeTransactionManagerImpl}.
+ * There is no wrapped JTA transaction, this object is both the SLEE and the
+ * JTA view of the transaction, and its {@link TransactionContextImpl} actions
+ * are executed directly on completion, instead of through a registered
+ * {@link Synchronization}.
+ * 
+ * Only {@link Synchronization}s are supported, which is all the SLEE and a
+ * local mode cache need, XA resources can not be enlisted.
+ */
+public class LocalSleeTransaction implements SleeTransaction {
+
+	private static final Logger logger = Logger
+			.getLogger(LocalSleeTransaction.class);
+
+	private static final AtomicLong idGenerator = new AtomicLong(0);
+
+	/**
+	 * the transaction manager
+	 */
+	private final LocalSleeTransactionManagerImpl transactionManager;
+
+	/**
+	 * the tx context
+	 */
+	private final TransactionContextImpl txContext = new TransactionContextImpl();
+
+	/**
+	 * the tx id, only used for logging and equality
+	 */
+	private final long id = idGenerator.incrementAndGet();
+
+	/**
+	 * the time, in ms, after which the tx can't commit, 0 if there is no
+	 * timeout
+	 */
+	private final long timeout;
+
+	/**
+	 * the synchronizations registered, created on demand
+	 */
+	private List<Synchronization> synchronizations;
+
+	/**
+	 * the status of the tx
+	 */
+	private volatile int status = Status.STATUS_ACTIVE;
+
+	/**
+	 * controls thread access safety
+	 */
+	private volatile boolean asyncOperationInitiated;
+
+	/**
+	 * 
+	 * @param transactionManager
+	 * @param timeout
+	 */
+	LocalSleeTransaction(LocalSleeTransactionManagerImpl transactionManager,
+			long timeout) {
+		this.transactionManager = transactionManager;
+		this.timeout = timeout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.transaction.SleeTransaction#getTransactionContext()
+	 */
+	public TransactionContext getTransactionContext() {
+		return txContext;
+	}
+
+	/**
+	 * Verifies if the transaction is active and dissociates it from the
+	 * thread if needed
+	 * 
+	 * @throws IllegalStateException
+	 */
+	private synchronized void beforeAsyncOperation()
+			throws IllegalStateException {
+		final int status = this.status;
+		if (asyncOperationInitiated
+				|| (status != Status.STATUS_ACTIVE && status != Status.STATUS_MARKED_ROLLBACK)) {
+			throw new IllegalStateException(
+					"There is no active tx, tx is in state: " + status);
+		}
+		asyncOperationInitiated = true;
+		transactionManager.disassociate(this);
+	}
+
+	private void beforeSyncOperation()
+			throws IllegalStateException {
+		if (asyncOperationInitiated) {
+			throw new IllegalStateException();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.slee.transaction.SleeTransaction#asyncCommit(javax.slee.transaction.CommitListener)
+	 */
+	public void asyncCommit(CommitListener commitListener)
+			throws IllegalStateException, SecurityException {
+		beforeAsyncOperation();
+		transactionManager.getAsyncTransactionExecutor().execute(
+				new AsyncTransactionCommitRunnable(commitListener, this) {
+					@Override
+					protected void commitTransaction()
+							throws RollbackException, SystemException {
+						doCommit();
+					}
+				});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.slee.transaction.SleeTransaction#asyncRollback(javax.slee.transaction.RollbackListener)
+	 */
+	public void asyncRollback(RollbackListener rollbackListener)
+			throws IllegalStateException, SecurityException {
+		beforeAsyncOperation();
+		transactionManager.getAsyncTransactionExecutor().execute(
+				new AsyncTransactionRollbackRunnable(rollbackListener, this) {
+					@Override
+					protected void rollbackTransaction()
+							throws IllegalStateException {
+						doRollback();
+					}
+				});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#delistResource(javax.transaction.xa.XAResource, int)
+	 */
+	public boolean delistResource(XAResource xaRes, int flag)
+			throws IllegalStateException, SystemException {
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#enlistResource(javax.transaction.xa.XAResource)
+	 */
+	public boolean enlistResource(XAResource xaRes) throws RollbackException,
+			IllegalStateException, SystemException {
+		throw new SystemException(
+				"XA resources are not supported by the SLEE local transaction manager");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#commit()
+	 */
+	public void commit() throws RollbackException, SecurityException,
+			IllegalStateException, SystemException {
+		beforeSyncOperation();
+		doCommit();
+	}
+
+	/**
+	 * Commits the tx, executing the before commit actions and
+	 * synchronizations, and then the after commit ones.
+	 * 
+	 * @throws RollbackException
+	 *             if the tx was marked for rollback, timed out, or the before
+	 *             commit actions or synchronizations failed
+	 */
+	void doCommit() throws RollbackException, IllegalStateException {
+		if (status == Status.STATUS_MARKED_ROLLBACK) {
+			doRollback();
+			throw new RollbackException("transaction marked for rollback");
+		}
+		if (status != Status.STATUS_ACTIVE) {
+			throw new IllegalStateException("transaction in state " + status);
+		}
+		if (timeout > 0 && System.currentTimeMillis() > timeout) {
+			doRollback();
+			throw new RollbackException("transaction timed out");
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Starting commit of tx " + this);
+		}
+		status = Status.STATUS_PREPARING;
+		Throwable failure = null;
+		try {
+			txContext.executeBeforeCommitPriorityActions();
+			txContext.executeBeforeCommitActions();
+			if (synchronizations != null) {
+				// synchronizations may be added while running the before
+				// completion ones
+				for (int i = 0; i < synchronizations.size(); i++) {
+					synchronizations.get(i).beforeCompletion();
+				}
+			}
+		} catch (Throwable e) {
+			failure = e;
+		}
+		if (failure != null || status == Status.STATUS_MARKED_ROLLBACK) {
+			doRollback();
+			final RollbackException rollbackException = new RollbackException(
+					"transaction rolled back before completion");
+			if (failure != null) {
+				rollbackException.initCause(failure);
+			}
+			throw rollbackException;
+		}
+		status = Status.STATUS_COMMITTED;
+		afterCompletion();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#rollback()
+	 */
+	public void rollback() throws IllegalStateException, SystemException {
+		beforeSyncOperation();
+		doRollback();
+	}
+
+	/**
+	 * Rolls back the tx, executing the synchronizations and after rollback
+	 * actions.
+	 * 
+	 * @throws IllegalStateException
+	 */
+	void doRollback() throws IllegalStateException {
+		if (status != Status.STATUS_ACTIVE
+				&& status != Status.STATUS_MARKED_ROLLBACK
+				&& status != Status.STATUS_PREPARING) {
+			throw new IllegalStateException("transaction in state " + status);
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Starting rollback of tx " + this);
+		}
+		status = Status.STATUS_ROLLEDBACK;
+		afterCompletion();
+	}
+
+	private void afterCompletion() {
+		if (synchronizations != null) {
+			for (int i = 0; i < synchronizations.size(); i++) {
+				try {
+					synchronizations.get(i).afterCompletion(status);
+				} catch (Throwable e) {
+					logger.error("Failure in after completion of tx " + this,
+							e);
+				}
+			}
+		}
+		// the after actions may start other txs in this thread
+		transactionManager.disassociate(this);
+		try {
+			if (status == Status.STATUS_COMMITTED) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Completed commit of tx " + this);
+				}
+				txContext.executeAfterCommitPriorityActions();
+				txContext.executeAfterCommitActions();
+			} else {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Completed rollback of tx " + this);
+				}
+				txContext.executeAfterRollbackActions();
+			}
+		} catch (Throwable e) {
+			logger.error("Failure executing after completion actions of tx "
+					+ this, e);
+		}
+		txContext.cleanup();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#getStatus()
+	 */
+	public int getStatus() throws SystemException {
+		return status;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#registerSynchronization(javax.transaction.Synchronization)
+	 */
+	public void registerSynchronization(Synchronization sync)
+			throws RollbackException, IllegalStateException, SystemException {
+		if (status == Status.STATUS_MARKED_ROLLBACK) {
+			throw new RollbackException("transaction marked for rollback");
+		}
+		if (status != Status.STATUS_ACTIVE && status != Status.STATUS_PREPARING) {
+			throw new IllegalStateException("transaction in state " + status);
+		}
+		if (synchronizations == null) {
+			synchronizations = new ArrayList<Synchronization>(2);
+		}
+		synchronizations.add(sync);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.Transaction#setRollbackOnly()
+	 */
+	public void setRollbackOnly() throws IllegalStateException,
+			SystemException {
+		if (status == Status.STATUS_MARKED_ROLLBACK) {
+			return;
+		}
+		if (status != Status.STATUS_ACTIVE && status != Status.STATUS_PREPARING) {
+			throw new IllegalStateException("transaction in state " + status);
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Marking tx " + this + " for rollback.");
+		}
+		status = Status.STATUS_MARKED_ROLLBACK;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (id ^ (id >>> 32));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj != null && obj.getClass() == this.getClass()) {
+			return ((LocalSleeTransaction) obj).id == this.id;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LocalSleeTransaction[" + id + "]";
+	}
+
+}
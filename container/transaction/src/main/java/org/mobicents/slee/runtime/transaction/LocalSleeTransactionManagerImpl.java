@@ -0,0 +1,417 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.transaction;
+
+import javax.slee.SLEEException;
+import javax.slee.TransactionRequiredLocalException;
+import javax.slee.transaction.CommitListener;
+import javax.slee.transaction.RollbackListener;
+import javax.transaction.HeuristicMixedException;
+import javax.transaction.HeuristicRollbackException;
+import javax.transaction.InvalidTransactionException;
+import javax.transaction.NotSupportedException;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.apache.log4j.Logger;
+import org.mobicents.slee.container.AbstractSleeContainerModule;
+import org.mobicents.slee.container.management.jmx.AsyncTransactionConfiguration;
+import org.mobicents.slee.container.transaction.SleeTransaction;
+import org.mobicents.slee.container.transaction.SleeTransactionManager;
+import org.mobicents.slee.container.transaction.TransactionContext;
+
+/**
+ * Implementation of SLEE Tx Manager for non clustered deployments, which
+ * does not rely on a JTA transaction manager. Transactions are
+ * {@link LocalSleeTransaction}s, kept in memory and associated with the
+ * current thread, with the SLEE transactional actions executed directly on
+ * completion, and {@link javax.transaction.Synchronization}s supported for
+ * the local mode cache.
+ * 
+ * This tx manager is also the "real" tx manager, to be provided to the
+ * cache and other SLEE modules which require a JTA tx manager. XA resources
+ * are not supported, thus it must not be used when RAs or SBBs need to
+ * enlist those in SLEE transactions.
+ */
+public class LocalSleeTransactionManagerImpl extends AbstractSleeContainerModule implements
+		SleeTransactionManager {
+
+	private static final Logger logger = Logger
+			.getLogger(LocalSleeTransactionManagerImpl.class);
+
+	/**
+	 * the txs associated with threads
+	 */
+	private final ThreadLocal<LocalSleeTransaction> transactions = new ThreadLocal<LocalSleeTransaction>();
+
+	/**
+	 * the tx timeouts set for threads, in seconds
+	 */
+	private final ThreadLocal<Integer> transactionTimeouts = new ThreadLocal<Integer>();
+
+	/**
+	 * indicates if a tx timeout was ever set, to avoid looking up the timeout
+	 * when a tx begins
+	 */
+	private volatile boolean transactionTimeoutsSet;
+
+	/**
+	 * a bounded executor for async operations invoked on
+	 * {@link SleeTransaction}
+	 */
+	private final AsyncTransactionExecutor asyncTransactionExecutor;
+
+	/**
+	 * 
+	 * @param asyncTransactionConfiguration
+	 */
+	public LocalSleeTransactionManagerImpl(
+			AsyncTransactionConfiguration asyncTransactionConfiguration) {
+		this.asyncTransactionExecutor = new AsyncTransactionExecutor(
+				asyncTransactionConfiguration);
+	}
+
+	/**
+	 * Retrieves the executor of async operations.
+	 * 
+	 * @return
+	 */
+	public AsyncTransactionExecutor getAsyncTransactionExecutor() {
+		return asyncTransactionExecutor;
+	}
+
+	/**
+	 * Removes the association of the specified tx with the current thread, if
+	 * exists.
+	 * 
+	 * @param transaction
+	 */
+	void disassociate(LocalSleeTransaction transaction) {
+		if (transactions.get() == transaction) {
+			transactions.remove();
+		}
+	}
+
+	private LocalSleeTransaction getExistentTransaction()
+			throws IllegalStateException {
+		final LocalSleeTransaction transaction = transactions.get();
+		if (transaction == null) {
+			throw new IllegalStateException("no transaction");
+		}
+		return transaction;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.AbstractSleeContainerModule#sleeInitialization()
+	 */
+	@Override
+	public void sleeInitialization() {
+		super.sleeInitialization();
+		asyncTransactionExecutor.setExecutorHandoff(sleeContainer
+				.getEventRouter().getExecutorHandoff());
+	}
+
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.AbstractSleeContainerModule#sleeShutdown()
+	 */
+	@Override
+	public void sleeShutdown() {
+		super.sleeShutdown();
+		asyncTransactionExecutor.shutdown();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.transaction.SleeTransactionManager#getRealTransactionManager()
+	 */
+	public TransactionManager getRealTransactionManager() {
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.transaction.SleeTransactionManager#getRollbackOnly()
+	 */
+	public boolean getRollbackOnly() throws SystemException {
+		return getStatus() == Status.STATUS_MARKED_ROLLBACK;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.transaction.SleeTransactionManager#mandateTransaction()
+	 */
+	public void mandateTransaction() throws TransactionRequiredLocalException {
+		final LocalSleeTransaction tx = transactions.get();
+		if (tx == null)
+			throw new TransactionRequiredLocalException(
+					"Transaction Mandatory");
+		try {
+			final int status = tx.getStatus();
+			if (status != Status.STATUS_ACTIVE && status != Status.STATUS_MARKED_ROLLBACK) {
+				throw new IllegalStateException(
+						"There is no active tx, tx is in state: "
+						+ status);
+			}
+		} catch (SystemException e) {
+			throw new SLEEException(e.getMessage(),e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.transaction.SleeTransactionManager#requireTransaction()
+	 */
+	public boolean requireTransaction() {
+		final LocalSleeTransaction tx = transactions.get();
+		try {
+			if (tx == null) {
+				begin();
+				return true;
+			}
+			else {
+				final int status = tx.getStatus();
+				if (status != Status.STATUS_ACTIVE && status != Status.STATUS_MARKED_ROLLBACK) {
+					// a completed tx still associated, replace it
+					transactions.remove();
+					begin();
+					return true;
+				}
+			}
+		} catch (NotSupportedException e) {
+			logger.error("Exception creating transaction", e);
+		} catch (SystemException e) {
+			logger.error("Caught SystemException in checking transaction", e);
+		}
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.transaction.SleeTransactionManager#requireTransactionEnd(boolean, boolean)
+	 */
+	public void requireTransactionEnd(boolean terminateTx, boolean doRollback) throws IllegalStateException, SecurityException, SystemException, RollbackException, HeuristicMixedException, HeuristicRollbackException {
+		if (terminateTx) {
+			if (doRollback) {
+				rollback();
+			}
+			else {
+				commit();
+			}
+		}
+		else {
+			if (doRollback) {
+				setRollbackOnly();	
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.slee.transaction.SleeTransactionManager#asyncCommit(javax.slee.transaction.CommitListener)
+	 */
+	public void asyncCommit(CommitListener commitListener)
+			throws IllegalStateException, SecurityException {
+		final LocalSleeTransaction tx = transactions.get();
+		if (tx == null) {
+			throw new IllegalStateException("no transaction");
+		}
+		tx.asyncCommit(commitListener);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.slee.transaction.SleeTransactionManager#asyncRollback(javax.slee.transaction.RollbackListener)
+	 */
+	public void asyncRollback(RollbackListener rollbackListener)
+			throws IllegalStateException, SecurityException {
+		final LocalSleeTransaction tx = transactions.get();
+		if (tx == null) {
+			throw new IllegalStateException("no transaction");
+		}
+		tx.asyncRollback(rollbackListener);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#begin()
+	 */
+	public void begin() throws NotSupportedException, SystemException {
+		beginSleeTransaction();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.slee.transaction.SleeTransactionManager#beginSleeTransaction()
+	 */
+	public SleeTransaction beginSleeTransaction() throws NotSupportedException,
+			SystemException {
+		if (transactions.get() != null) {
+			throw new NotSupportedException("nested transactions not supported");
+		}
+		long timeout = 0;
+		if (transactionTimeoutsSet) {
+			final Integer seconds = transactionTimeouts.get();
+			if (seconds != null) {
+				timeout = System.currentTimeMillis() + seconds.intValue() * 1000L;
+			}
+		}
+		final LocalSleeTransaction tx = new LocalSleeTransaction(this, timeout);
+		transactions.set(tx);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Started tx "+tx);
+		}
+		return tx;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.transaction.SleeTransactionManager#getTransaction()
+	 */
+	public SleeTransaction getTransaction() throws SystemException {
+		return transactions.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.slee.transaction.SleeTransactionManager#getSleeTransaction()
+	 */
+	public SleeTransaction getSleeTransaction() throws SystemException {
+		return transactions.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.slee.transaction.SleeTransactionManager#asSleeTransaction(javax.transaction.Transaction)
+	 */
+	public SleeTransaction asSleeTransaction(Transaction transaction)
+			throws NullPointerException, IllegalArgumentException,
+			SystemException {
+		if (transaction == null) {
+			throw new NullPointerException("null transaction");
+		}
+		if (transaction.getClass() == LocalSleeTransaction.class) {
+			return (SleeTransaction) transaction;
+		}
+		throw new IllegalArgumentException("unexpected transaction class type "+transaction.getClass());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#commit()
+	 */
+	public void commit() throws RollbackException, HeuristicMixedException,
+			HeuristicRollbackException, SecurityException,
+			IllegalStateException, SystemException {
+		getExistentTransaction().commit();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#getStatus()
+	 */
+	public int getStatus() throws SystemException {
+		final LocalSleeTransaction tx = transactions.get();
+		return tx == null ? Status.STATUS_NO_TRANSACTION : tx.getStatus();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#resume(javax.transaction.Transaction)
+	 */
+	public void resume(Transaction transaction) throws InvalidTransactionException,
+			IllegalStateException, SystemException {
+		if (transaction == null || transaction.getClass() != LocalSleeTransaction.class) {
+			throw new InvalidTransactionException();
+		}
+		if (transactions.get() != null) {
+			throw new IllegalStateException("thread already associated with a transaction");
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Resuming tx "+transaction);
+		}
+		transactions.set((LocalSleeTransaction) transaction);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#rollback()
+	 */
+	public void rollback() throws IllegalStateException, SecurityException,
+			SystemException {
+		getExistentTransaction().rollback();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#setRollbackOnly()
+	 */
+	public void setRollbackOnly() throws IllegalStateException, SystemException {
+		getExistentTransaction().setRollbackOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#setTransactionTimeout(int)
+	 */
+	public void setTransactionTimeout(int seconds) throws SystemException {
+		if (seconds < 0) {
+			throw new SystemException("negative timeout");
+		}
+		if (seconds == 0) {
+			transactionTimeouts.remove();
+		}
+		else {
+			transactionTimeoutsSet = true;
+			transactionTimeouts.set(Integer.valueOf(seconds));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.transaction.TransactionManager#suspend()
+	 */
+	public Transaction suspend() throws SystemException {
+		final LocalSleeTransaction tx = transactions.get();
+		if (tx != null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Suspending tx "+tx);
+			}
+			transactions.remove();
+		}
+		return tx;
+	}
+
+	// --- TX CONTEXT AND ACTION METHODS
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.transaction.SleeTransactionManager#getTransactionContext()
+	 */
+	public TransactionContext getTransactionContext() {
+		final LocalSleeTransaction tx = transactions.get();
+		return tx == null ? null : tx.getTransactionContext();
+	}
+
+}
@@ -145,7 +145,7 @@ public class SleeTransactionImpl implements SleeTransaction {
 	public void asyncCommit(CommitListener commitListener)
 			throws IllegalStateException, SecurityException {
 		beforeAsyncOperation();
-		transactionManager.getExecutorService().submit(new AsyncTransactionCommitRunnable(
+		transactionManager.getAsyncTransactionExecutor().execute(new AsyncTransactionCommitRunnable(
 				commitListener, transaction));
 	}
 
@@ -156,7 +156,7 @@ public class SleeTransactionImpl implements SleeTransaction {
 	public void asyncRollback(RollbackListener rollbackListener)
 			throws IllegalStateException, SecurityException {
 		beforeAsyncOperation();
-		transactionManager.getExecutorService().submit(new AsyncTransactionRollbackRunnable(
+		transactionManager.getAsyncTransactionExecutor().execute(new AsyncTransactionRollbackRunnable(
 				rollbackListener, transaction));
 	}
 
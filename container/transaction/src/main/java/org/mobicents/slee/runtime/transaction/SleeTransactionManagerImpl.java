@@ -22,9 +22,6 @@
 
 package org.mobicents.slee.runtime.transaction;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 import javax.slee.SLEEException;
 import javax.slee.TransactionRequiredLocalException;
 import javax.slee.transaction.CommitListener;
@@ -41,6 +38,7 @@ import javax.transaction.TransactionManager;
 
 import org.apache.log4j.Logger;
 import org.mobicents.slee.container.AbstractSleeContainerModule;
+import org.mobicents.slee.container.management.jmx.AsyncTransactionConfiguration;
 import org.mobicents.slee.container.transaction.SleeTransaction;
 import org.mobicents.slee.container.transaction.SleeTransactionManager;
 import org.mobicents.slee.container.transaction.TransactionContext;
@@ -67,9 +65,9 @@ public class SleeTransactionManagerImpl extends AbstractSleeContainerModule impl
 	private final TransactionManager transactionManager;
 	
 	/**
-	 * an executor service for async operations invoked on {@link SleeTransaction}
+	 * a bounded executor for async operations invoked on {@link SleeTransaction}
 	 */
-	private ExecutorService executorService;
+	private final AsyncTransactionExecutor asyncTransactionExecutor;
 	
 	private static final boolean doTraceLogs = logger.isTraceEnabled();
 	
@@ -78,18 +76,46 @@ public class SleeTransactionManagerImpl extends AbstractSleeContainerModule impl
 	 * @param transactionManager
 	 */
 	public SleeTransactionManagerImpl(TransactionManager transactionManager) {		
+		this(transactionManager, new AsyncTransactionConfiguration());
+	}
+
+	/**
+	 * 
+	 * @param transactionManager
+	 * @param asyncTransactionConfiguration
+	 */
+	public SleeTransactionManagerImpl(TransactionManager transactionManager,
+			AsyncTransactionConfiguration asyncTransactionConfiguration) {
 		this.transactionManager = transactionManager;
+		this.asyncTransactionExecutor = new AsyncTransactionExecutor(asyncTransactionConfiguration);
 	}
 
 	/**
+	 * Retrieves the executor of async operations.
 	 * 
 	 * @return
 	 */
-	ExecutorService getExecutorService() {
-		if (executorService == null) {
-			executorService = Executors.newCachedThreadPool();
-		}
-		return executorService;
+	public AsyncTransactionExecutor getAsyncTransactionExecutor() {
+		return asyncTransactionExecutor;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.AbstractSleeContainerModule#sleeInitialization()
+	 */
+	@Override
+	public void sleeInitialization() {
+		super.sleeInitialization();
+		asyncTransactionExecutor.setExecutorHandoff(sleeContainer
+				.getEventRouter().getExecutorHandoff());
+	}
+
+	/* (non-Javadoc)
+	 * @see org.mobicents.slee.container.AbstractSleeContainerModule#sleeShutdown()
+	 */
+	@Override
+	public void sleeShutdown() {
+		super.sleeShutdown();
+		asyncTransactionExecutor.shutdown();
 	}
 	
 	/* (non-Javadoc)
@@ -0,0 +1,286 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.slee.transaction.CommitListener;
+import javax.transaction.HeuristicMixedException;
+import javax.transaction.HeuristicRollbackException;
+import javax.transaction.NotSupportedException;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+
+import junit.framework.TestCase;
+
+import org.mobicents.slee.container.management.jmx.AsyncTransactionConfiguration;
+import org.mobicents.slee.container.transaction.SleeTransaction;
+import org.mobicents.slee.container.transaction.TransactionContext;
+import org.mobicents.slee.container.transaction.TransactionalAction;
+
+public class LocalSleeTransactionTest extends TestCase {
+
+	private LocalSleeTransactionManagerImpl txManager;
+
+	/**
+	 * the actions and synchronization callbacks executed, in order
+	 */
+	private final List<String> executed = new ArrayList<String>();
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		txManager = new LocalSleeTransactionManagerImpl(
+				new AsyncTransactionConfiguration());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (txManager.getTransaction() != null) {
+			txManager.suspend();
+		}
+		txManager.getAsyncTransactionExecutor().shutdown();
+		super.tearDown();
+	}
+
+	public void testCommit() throws Exception {
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		assertSame(tx, txManager.getTransaction());
+		addActions(tx);
+		txManager.commit();
+		assertEquals(Status.STATUS_COMMITTED, tx.getStatus());
+		assertNull(txManager.getTransaction());
+		assertEquals(Status.STATUS_NO_TRANSACTION, txManager.getStatus());
+		assertExecuted("beforeCommitPriority", "beforeCommit",
+				"beforeCompletion", "afterCompletion " + Status.STATUS_COMMITTED,
+				"afterCommitPriority", "afterCommit");
+	}
+
+	public void testRollback() throws Exception {
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		addActions(tx);
+		txManager.rollback();
+		assertEquals(Status.STATUS_ROLLEDBACK, tx.getStatus());
+		assertNull(txManager.getTransaction());
+		assertExecuted("afterCompletion " + Status.STATUS_ROLLEDBACK,
+				"afterRollback");
+		try {
+			tx.commit();
+			fail("commit of a rolled back tx");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	public void testCommitOfTxMarkedForRollback() throws Exception {
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		addActions(tx);
+		txManager.setRollbackOnly();
+		assertTrue(txManager.getRollbackOnly());
+		try {
+			txManager.commit();
+			fail("commit of a tx marked for rollback");
+		} catch (RollbackException e) {
+			// expected
+		}
+		assertEquals(Status.STATUS_ROLLEDBACK, tx.getStatus());
+		assertExecuted("afterCompletion " + Status.STATUS_ROLLEDBACK,
+				"afterRollback");
+	}
+
+	public void testBeforeCommitFailureRollsBack() throws Exception {
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		final RuntimeException failure = new RuntimeException();
+		tx.getTransactionContext().getBeforeCommitActions().add(
+				new TransactionalAction() {
+					public void execute() {
+						throw failure;
+					}
+				});
+		addActions(tx);
+		try {
+			txManager.commit();
+			fail("commit with a failing before commit action");
+		} catch (RollbackException e) {
+			assertSame(failure, e.getCause());
+		}
+		assertEquals(Status.STATUS_ROLLEDBACK, tx.getStatus());
+		assertExecuted("beforeCommitPriority",
+				"afterCompletion " + Status.STATUS_ROLLEDBACK, "afterRollback");
+	}
+
+	public void testTimeout() throws Exception {
+		txManager.setTransactionTimeout(1);
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		txManager.setTransactionTimeout(0);
+		Thread.sleep(1100);
+		try {
+			txManager.commit();
+			fail("commit of a tx timed out");
+		} catch (RollbackException e) {
+			// expected
+		}
+		assertEquals(Status.STATUS_ROLLEDBACK, tx.getStatus());
+		// the timeout is not applied to next txs
+		txManager.begin();
+		txManager.commit();
+	}
+
+	public void testAfterCommitActionMayBeginTx() throws Exception {
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		final List<Transaction> txs = new ArrayList<Transaction>();
+		tx.getTransactionContext().getAfterCommitActions().add(
+				new TransactionalAction() {
+					public void execute() {
+						try {
+							txs.add(txManager.beginSleeTransaction());
+							txManager.commit();
+						} catch (Exception e) {
+							throw new RuntimeException(e);
+						}
+					}
+				});
+		txManager.commit();
+		assertEquals(1, txs.size());
+		assertNotSame(tx, txs.get(0));
+		assertEquals(Status.STATUS_COMMITTED, txs.get(0).getStatus());
+	}
+
+	public void testSuspendAndResume() throws Exception {
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		try {
+			txManager.begin();
+			fail("nested tx");
+		} catch (NotSupportedException e) {
+			// expected
+		}
+		assertSame(tx, txManager.suspend());
+		assertNull(txManager.getTransactionContext());
+		txManager.resume(tx);
+		assertSame(tx.getTransactionContext(), txManager
+				.getTransactionContext());
+		assertSame(tx, txManager.asSleeTransaction(tx));
+		txManager.commit();
+	}
+
+	public void testXAResourcesAreNotSupported() throws Exception {
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		try {
+			tx.enlistResource(null);
+			fail("XA resource enlisted");
+		} catch (SystemException e) {
+			// expected
+		}
+		txManager.rollback();
+	}
+
+	public void testEquality() throws Exception {
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		txManager.suspend();
+		final SleeTransaction otherTx = txManager.beginSleeTransaction();
+		assertEquals(tx, tx);
+		assertEquals(tx.hashCode(), tx.hashCode());
+		assertFalse(tx.equals(otherTx));
+		assertFalse(tx.equals(null));
+		txManager.rollback();
+		txManager.resume(tx);
+		txManager.rollback();
+	}
+
+	public void testAsyncCommit() throws Exception {
+		final SleeTransaction tx = txManager.beginSleeTransaction();
+		addActions(tx);
+		final CountDownLatch latch = new CountDownLatch(1);
+		tx.asyncCommit(new CommitListener() {
+			public void committed() {
+				latch.countDown();
+			}
+
+			public void heuristicMixed(HeuristicMixedException e) {
+			}
+
+			public void heuristicRollback(HeuristicRollbackException e) {
+			}
+
+			public void rolledBack(RollbackException e) {
+			}
+
+			public void systemException(SystemException e) {
+			}
+		});
+		// the tx is no longer associated with the thread
+		assertNull(txManager.getTransaction());
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertEquals(Status.STATUS_COMMITTED, tx.getStatus());
+		try {
+			tx.commit();
+			fail("sync commit after async one");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	// --- helpers
+
+	private void addActions(SleeTransaction tx) throws Exception {
+		final TransactionContext txContext = tx.getTransactionContext();
+		txContext.getBeforeCommitPriorityActions().add(
+				newAction("beforeCommitPriority"));
+		txContext.getBeforeCommitActions().add(newAction("beforeCommit"));
+		txContext.getAfterCommitPriorityActions().add(
+				newAction("afterCommitPriority"));
+		txContext.getAfterCommitActions().add(newAction("afterCommit"));
+		txContext.getAfterRollbackActions().add(newAction("afterRollback"));
+		tx.registerSynchronization(new Synchronization() {
+			public void beforeCompletion() {
+				executed.add("beforeCompletion");
+			}
+
+			public void afterCompletion(int status) {
+				executed.add("afterCompletion " + status);
+			}
+		});
+	}
+
+	private TransactionalAction newAction(final String name) {
+		return new TransactionalAction() {
+			public void execute() {
+				executed.add(name);
+			}
+		};
+	}
+
+	private void assertExecuted(String... names) {
+		assertEquals(names.length, executed.size());
+		for (int i = 0; i < names.length; i++) {
+			assertEquals(names[i], executed.get(i));
+		}
+	}
+
+}
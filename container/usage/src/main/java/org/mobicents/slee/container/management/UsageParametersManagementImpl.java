@@ -35,6 +35,8 @@ import org.mobicents.slee.container.management.jmx.ResourceUsageMBean;
 import org.mobicents.slee.container.management.jmx.ResourceUsageMBeanImpl;
 import org.mobicents.slee.container.management.jmx.ServiceUsageMBean;
 import org.mobicents.slee.container.management.jmx.ServiceUsageMBeanImpl;
+import org.mobicents.slee.container.management.jmx.UsageNotificationDispatcher;
+import org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfiguration;
 
 /**
  * @author martins
@@ -43,6 +45,44 @@ import org.mobicents.slee.container.management.jmx.ServiceUsageMBeanImpl;
 public class UsageParametersManagementImpl extends AbstractSleeContainerModule
 		implements UsageParametersManagement {
 
+	private final UsageNotificationDispatcher usageNotificationDispatcher;
+
+	/**
+	 * 
+	 */
+	public UsageParametersManagementImpl() {
+		this(new UsageNotificationDispatcherConfiguration());
+	}
+
+	/**
+	 * 
+	 * @param usageNotificationDispatcherConfiguration
+	 */
+	public UsageParametersManagementImpl(
+			UsageNotificationDispatcherConfiguration usageNotificationDispatcherConfiguration) {
+		this.usageNotificationDispatcher = new UsageNotificationDispatcher(
+				usageNotificationDispatcherConfiguration);
+	}
+
+	/**
+	 * Retrieves the dispatcher of usage notifications.
+	 * 
+	 * @return
+	 */
+	public UsageNotificationDispatcher getUsageNotificationDispatcher() {
+		return usageNotificationDispatcher;
+	}
+
+	@Override
+	public void sleeStarting() {
+		usageNotificationDispatcher.start();
+	}
+
+	@Override
+	public void sleeStopped() {
+		usageNotificationDispatcher.stop();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
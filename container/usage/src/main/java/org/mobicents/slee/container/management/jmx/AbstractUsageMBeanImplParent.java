@@ -44,6 +44,7 @@ import javax.slee.usage.UsageNotificationManagerMBean;
 import org.apache.log4j.Logger;
 import org.mobicents.slee.container.SleeContainer;
 import org.mobicents.slee.container.component.SleeComponentWithUsageParametersInterface;
+import org.mobicents.slee.container.management.UsageParametersManagementImpl;
 import org.mobicents.slee.runtime.usage.AbstractUsageParameterSet;
 
 /**
@@ -609,6 +610,16 @@ public abstract class AbstractUsageMBeanImplParent extends StandardMBean impleme
 		return notificationManager;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageMBeanImplParent#getUsageNotificationDispatcher()
+	 */
+	public UsageNotificationDispatcher getUsageNotificationDispatcher() {
+		return ((UsageParametersManagementImpl) sleeContainer
+				.getUsageParametersManagement())
+				.getUsageNotificationDispatcher();
+	}
+
 	/**
 	 * Convenience method to retrieve the default
 	 * {@link AbstractUsageParameterSet}
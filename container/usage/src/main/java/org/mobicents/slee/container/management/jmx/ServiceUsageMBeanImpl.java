@@ -52,6 +52,7 @@ import org.mobicents.slee.container.SleeContainer;
 import org.mobicents.slee.container.component.SleeComponentWithUsageParametersInterface;
 import org.mobicents.slee.container.component.sbb.SbbComponent;
 import org.mobicents.slee.container.component.service.ServiceComponent;
+import org.mobicents.slee.container.management.UsageParametersManagementImpl;
 import org.mobicents.slee.runtime.usage.AbstractUsageParameterSet;
 
 /**
@@ -831,6 +832,16 @@ public class ServiceUsageMBeanImpl extends StandardMBean implements
 				.getSbb());
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageMBeanImplParent#getUsageNotificationDispatcher()
+	 */
+	public UsageNotificationDispatcher getUsageNotificationDispatcher() {
+		return ((UsageParametersManagementImpl) sleeContainer
+				.getUsageParametersManagement())
+				.getUsageNotificationDispatcher();
+	}
+
 	public void removeChild(UsageMBeanImpl usageMBeanImpl) {
 		try {
 			removeUsageParameterSet(((SbbNotification) usageMBeanImpl
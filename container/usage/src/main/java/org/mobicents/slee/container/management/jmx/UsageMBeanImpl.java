@@ -72,6 +72,7 @@ public class UsageMBeanImpl extends StandardMBean implements UsageMBean,
 	private UsageMBeanImplParent parent;
 	private final NotificationSource notificationSource;
 	private ObjectName objectName;
+	private final ConcurrentHashMap<String, UsageNotificationDispatcher.PendingUsageNotification> pendingUsageNotifications = new ConcurrentHashMap<String, UsageNotificationDispatcher.PendingUsageNotification>();
 	
 	public UsageMBeanImpl(Class<?> mbeanInterface, NotificationSource notificationSource) throws NotCompliantMBeanException,
 			ClassNotFoundException {
@@ -169,6 +170,10 @@ public class UsageMBeanImpl extends StandardMBean implements UsageMBean,
 	public void sendUsageNotification(long value, long seqno,
 			String usageParameterSetName, String usageParameterName,
 			boolean isCounter) {
+		if (listeners.isEmpty()) {
+			// nobody to notify
+			return;
+		}
 		UsageNotificationManagerMBeanImpl notificationManager = parent
 				.getUsageNotificationManagerMBean(notificationSource);
 		if (notificationManager == null
@@ -176,19 +181,53 @@ public class UsageMBeanImpl extends StandardMBean implements UsageMBean,
 						.getNotificationsEnabled(usageParameterName)) {
 			// if the notification manager is null we consider the notification
 			// can be sent
-			UsageNotification notification = createUsageNotification(value,
-					seqno, usageParameterSetName, usageParameterName, isCounter);
-			for (ListenerFilterHandbackTriplet triplet : listeners.values()) {
-				if (triplet.notificationFilter == null
-						|| triplet.notificationFilter
-								.isNotificationEnabled(notification)) {
-					triplet.notificationListener.handleNotification(
-							notification, triplet.handbackObject);
-				}
+			final UsageNotificationDispatcher dispatcher = parent
+					.getUsageNotificationDispatcher();
+			if (dispatcher == null
+					|| !dispatcher.dispatch(this, value, seqno,
+							usageParameterSetName, usageParameterName,
+							isCounter)) {
+				deliverUsageNotification(value, seqno, usageParameterSetName,
+						usageParameterName, isCounter);
 			}
 		}
 	}
 
+	/**
+	 * Delivers the notification to the listeners.
+	 * 
+	 * @param value
+	 * @param seqno
+	 * @param usageParameterSetName
+	 * @param usageParameterName
+	 * @param isCounter
+	 */
+	void deliverUsageNotification(long value, long seqno,
+			String usageParameterSetName, String usageParameterName,
+			boolean isCounter) {
+		UsageNotification notification = createUsageNotification(value,
+				seqno, usageParameterSetName, usageParameterName, isCounter);
+		for (ListenerFilterHandbackTriplet triplet : listeners.values()) {
+			if (triplet.notificationFilter == null
+					|| triplet.notificationFilter
+							.isNotificationEnabled(notification)) {
+				triplet.notificationListener.handleNotification(
+						notification, triplet.handbackObject);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the notifications of this mbean, per usage parameter name,
+	 * waiting in the {@link UsageNotificationDispatcher} queue, when
+	 * coalescing.
+	 * 
+	 * @return
+	 */
+	ConcurrentHashMap<String, UsageNotificationDispatcher.PendingUsageNotification> getPendingUsageNotifications() {
+		return pendingUsageNotifications;
+	}
+
 	/**
 	 * Creates an instance of an {@link UsageNotification} for the specified
 	 * args. This operation is exposed to allow it be overriden by
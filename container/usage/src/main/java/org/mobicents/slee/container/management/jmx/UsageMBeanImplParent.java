@@ -39,4 +39,12 @@ public interface UsageMBeanImplParent {
 	 * @return
 	 */
 	public UsageNotificationManagerMBeanImpl getUsageNotificationManagerMBean(NotificationSource notificationSource);
+
+	/**
+	 * Retrieves the dispatcher of usage notifications. It may return null, in
+	 * such case notifications are delivered synchronously.
+	 * 
+	 * @return
+	 */
+	public UsageNotificationDispatcher getUsageNotificationDispatcher();
 }
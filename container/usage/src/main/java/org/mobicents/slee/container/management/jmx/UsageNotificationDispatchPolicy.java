@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+/**
+ * The policies available to the usage notification dispatcher, when
+ * asynchronous.
+ */
+public enum UsageNotificationDispatchPolicy {
+
+	/**
+	 * Every notification is queued, notifications are only dropped if the
+	 * queue is full.
+	 */
+	QUEUE,
+
+	/**
+	 * A notification for a counter usage parameter which already has a
+	 * notification waiting in the queue replaces the value and sequence number
+	 * of the one queued, instead of being queued too. Notifications for sample
+	 * usage parameters are queued as with {@link #QUEUE}, since each sample is
+	 * a distinct value.
+	 */
+	COALESCE,
+
+	/**
+	 * Only one notification of each N notifications of an usage parameter is
+	 * queued, N being the configured sampling rate, the selection is done by
+	 * the notification sequence number.
+	 */
+	SAMPLE
+
+}
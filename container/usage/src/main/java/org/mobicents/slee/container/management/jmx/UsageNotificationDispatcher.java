@@ -0,0 +1,369 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Delivers usage notifications to the listeners of usage mbeans, in a
+ * dedicated thread, so that the threads updating usage parameters, such as
+ * the event router ones, do not wait for the listeners. The notifications wait
+ * in a bounded queue, and the configured
+ * {@link UsageNotificationDispatchPolicy} defines which notifications are
+ * queued.
+ * 
+ * When the dispatcher is not started, or not configured as asynchronous, the
+ * usage mbeans deliver notifications synchronously.
+ */
+public class UsageNotificationDispatcher {
+
+	private static final Logger logger = Logger
+			.getLogger(UsageNotificationDispatcher.class);
+
+	private final UsageNotificationDispatcherConfiguration configuration;
+
+	private volatile ThreadPoolExecutor executor;
+
+	private final AtomicLong dispatchedNotifications = new AtomicLong();
+	private final AtomicLong coalescedNotifications = new AtomicLong();
+	private final AtomicLong sampledOutNotifications = new AtomicLong();
+	private final AtomicLong droppedNotifications = new AtomicLong();
+
+	private final ThreadFactory threadFactory = new ThreadFactory() {
+		public Thread newThread(Runnable r) {
+			final Thread thread = new Thread(r,
+					"SLEE-UsageNotificationDispatcher");
+			thread.setDaemon(true);
+			return thread;
+		}
+	};
+
+	private final RejectedExecutionHandler rejectedExecutionHandler = new RejectedExecutionHandler() {
+		public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+			if (executor.isShutdown()) {
+				// the dispatcher was stopped meanwhile, deliver in the caller
+				// thread
+				r.run();
+			} else {
+				((PendingUsageNotification) r).discard();
+				droppedNotifications.incrementAndGet();
+				if (logger.isDebugEnabled()) {
+					logger.debug("Usage notification dropped, queue is full: "
+							+ r);
+				}
+			}
+		}
+	};
+
+	/**
+	 * 
+	 * @param configuration
+	 */
+	public UsageNotificationDispatcher(
+			UsageNotificationDispatcherConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public UsageNotificationDispatcherConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Starts the dispatcher thread, if the dispatcher is configured as
+	 * asynchronous.
+	 */
+	public synchronized void start() {
+		if (executor == null && configuration.getAsynchronous()) {
+			executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<Runnable>(configuration
+							.getQueueSize()), threadFactory,
+					rejectedExecutionHandler);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Started usage notification dispatcher, queue size "
+						+ configuration.getQueueSize()
+						+ ", policy "
+						+ configuration.getPolicy());
+			}
+		}
+	}
+
+	/**
+	 * Stops the dispatcher thread, notifications already queued are still
+	 * delivered.
+	 */
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+			if (logger.isDebugEnabled()) {
+				logger.debug("Stopped usage notification dispatcher");
+			}
+		}
+	}
+
+	/**
+	 * Dispatches an usage notification for the specified usage mbean.
+	 * 
+	 * @param usageMBean
+	 * @param value
+	 * @param seqno
+	 * @param usageParameterSetName
+	 * @param usageParameterName
+	 * @param isCounter
+	 * @return false if the dispatcher is not running, and the notification
+	 *         must be delivered by the caller
+	 */
+	boolean dispatch(UsageMBeanImpl usageMBean, long value, long seqno,
+			String usageParameterSetName, String usageParameterName,
+			boolean isCounter) {
+		final ThreadPoolExecutor executor = this.executor;
+		if (executor == null) {
+			return false;
+		}
+		switch (configuration.getDispatchPolicy()) {
+		case SAMPLE:
+			if (seqno % configuration.getSamplingRate() != 0) {
+				sampledOutNotifications.incrementAndGet();
+				return true;
+			}
+			break;
+
+		case COALESCE:
+			if (isCounter) {
+				coalesce(executor, usageMBean, value, seqno,
+						usageParameterSetName, usageParameterName);
+				return true;
+			}
+			// each sample is a distinct value, which can't be replaced by
+			// the next one, queue it
+			break;
+
+		default:
+			break;
+		}
+		executor.execute(new PendingUsageNotification(usageMBean, value,
+				seqno, usageParameterSetName, usageParameterName, isCounter,
+				false));
+		return true;
+	}
+
+	/**
+	 * Coalesces a counter usage notification with the one of the same usage
+	 * parameter waiting in the queue, or queues it if there is none. The value
+	 * of a counter notification is the counter value, thus the one with the
+	 * highest sequence number supersedes the others.
+	 * 
+	 * @param executor
+	 * @param usageMBean
+	 * @param value
+	 * @param seqno
+	 * @param usageParameterSetName
+	 * @param usageParameterName
+	 */
+	private void coalesce(ThreadPoolExecutor executor,
+			UsageMBeanImpl usageMBean, long value, long seqno,
+			String usageParameterSetName, String usageParameterName) {
+		final ConcurrentHashMap<String, PendingUsageNotification> pendingNotifications = usageMBean
+				.getPendingUsageNotifications();
+		final PendingUsageNotification notification = new PendingUsageNotification(
+				usageMBean, value, seqno, usageParameterSetName,
+				usageParameterName, true, true);
+		PendingUsageNotification pendingNotification = pendingNotifications
+				.putIfAbsent(usageParameterName, notification);
+		while (pendingNotification != null) {
+			if (pendingNotification.coalesce(value, seqno)) {
+				coalescedNotifications.incrementAndGet();
+				return;
+			}
+			// the pending one is being delivered, replace it
+			if (pendingNotifications.replace(usageParameterName,
+					pendingNotification, notification)) {
+				break;
+			}
+			pendingNotification = pendingNotifications.putIfAbsent(
+					usageParameterName, notification);
+		}
+		executor.execute(notification);
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public long getDispatchedNotifications() {
+		return dispatchedNotifications.get();
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public long getCoalescedNotifications() {
+		return coalescedNotifications.get();
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public long getSampledOutNotifications() {
+		return sampledOutNotifications.get();
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public long getDroppedNotifications() {
+		return droppedNotifications.get();
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public int getQueuedNotifications() {
+		final ThreadPoolExecutor executor = this.executor;
+		return executor != null ? executor.getQueue().size() : 0;
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public void resetStatistics() {
+		dispatchedNotifications.set(0);
+		coalescedNotifications.set(0);
+		sampledOutNotifications.set(0);
+		droppedNotifications.set(0);
+	}
+
+	/**
+	 * An usage notification waiting in the queue. If coalescing its value and
+	 * sequence number may be updated until the dispatcher thread picks it.
+	 */
+	class PendingUsageNotification implements Runnable {
+
+		private final UsageMBeanImpl usageMBean;
+		private final String usageParameterSetName;
+		private final String usageParameterName;
+		private final boolean isCounter;
+		private final boolean coalescing;
+
+		private long value;
+		private long seqno;
+		private boolean taken;
+
+		PendingUsageNotification(UsageMBeanImpl usageMBean, long value,
+				long seqno, String usageParameterSetName,
+				String usageParameterName, boolean isCounter,
+				boolean coalescing) {
+			this.usageMBean = usageMBean;
+			this.value = value;
+			this.seqno = seqno;
+			this.usageParameterSetName = usageParameterSetName;
+			this.usageParameterName = usageParameterName;
+			this.isCounter = isCounter;
+			this.coalescing = coalescing;
+		}
+
+		/**
+		 * Replaces the value and sequence number of the notification, unless
+		 * it was already taken for delivery.
+		 * 
+		 * @param value
+		 * @param seqno
+		 * @return false if the notification was already taken
+		 */
+		synchronized boolean coalesce(long value, long seqno) {
+			if (taken) {
+				return false;
+			}
+			if (seqno >= this.seqno) {
+				this.value = value;
+				this.seqno = seqno;
+			}
+			return true;
+		}
+
+		/**
+		 * Marks the notification as taken, without delivering it.
+		 */
+		void discard() {
+			synchronized (this) {
+				taken = true;
+			}
+			if (coalescing) {
+				usageMBean.getPendingUsageNotifications().remove(
+						usageParameterName, this);
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		public void run() {
+			final long value;
+			final long seqno;
+			synchronized (this) {
+				taken = true;
+				value = this.value;
+				seqno = this.seqno;
+			}
+			if (coalescing) {
+				usageMBean.getPendingUsageNotifications().remove(
+						usageParameterName, this);
+			}
+			try {
+				usageMBean.deliverUsageNotification(value, seqno,
+						usageParameterSetName, usageParameterName, isCounter);
+				dispatchedNotifications.incrementAndGet();
+			} catch (Throwable e) {
+				logger.error("Failure delivering usage notification " + this,
+						e);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "PendingUsageNotification[ usageMBean = "
+					+ usageMBean.getObjectName() + " , parameterSet = "
+					+ usageParameterSetName + " , parameter = "
+					+ usageParameterName + " ]";
+		}
+
+	}
+
+}
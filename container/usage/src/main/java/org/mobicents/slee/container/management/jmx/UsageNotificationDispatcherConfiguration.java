@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+import org.apache.log4j.Logger;
+
+/**
+ * The SLEE container configuration with respect to the delivery of usage
+ * notifications.
+ */
+public class UsageNotificationDispatcherConfiguration implements
+		UsageNotificationDispatcherConfigurationMBean {
+
+	private static final Logger logger = Logger
+			.getLogger(UsageNotificationDispatcherConfiguration.class);
+
+	private Boolean asynchronous;
+
+	private Integer queueSize;
+
+	private volatile UsageNotificationDispatchPolicy policy = UsageNotificationDispatchPolicy.QUEUE;
+
+	private volatile int samplingRate = 10;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfigurationMBean#getAsynchronous()
+	 */
+	public boolean getAsynchronous() {
+		return asynchronous != null ? asynchronous.booleanValue() : false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfigurationMBean#setAsynchronous(boolean)
+	 */
+	public void setAsynchronous(boolean value) {
+		if (this.asynchronous != null) {
+			logger.warn("Setting asynchronous property to "
+				+ value
+				+ ". If called with server running a stop and start is need to apply changes.");
+		}
+		this.asynchronous = value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfigurationMBean#getQueueSize()
+	 */
+	public int getQueueSize() {
+		return queueSize != null ? queueSize.intValue() : 10000;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfigurationMBean#setQueueSize(int)
+	 */
+	public void setQueueSize(int value) throws IllegalArgumentException {
+		if (value < 1) {
+			throw new IllegalArgumentException(
+					"queue size must not be lower than 1");
+		}
+		if (this.queueSize != null) {
+			logger.warn("Setting queueSize property to "
+				+ value
+				+ ". If called with server running a stop and start is need to apply changes.");
+		}
+		this.queueSize = value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfigurationMBean#getPolicy()
+	 */
+	public String getPolicy() {
+		return policy.name();
+	}
+
+	/**
+	 * Retrieves the dispatch policy.
+	 * 
+	 * @return
+	 */
+	public UsageNotificationDispatchPolicy getDispatchPolicy() {
+		return policy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfigurationMBean#setPolicy(java.lang.String)
+	 */
+	public void setPolicy(String value) throws IllegalArgumentException {
+		if (value == null) {
+			throw new IllegalArgumentException("policy must not be null");
+		}
+		this.policy = UsageNotificationDispatchPolicy.valueOf(value
+				.toUpperCase());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfigurationMBean#getSamplingRate()
+	 */
+	public int getSamplingRate() {
+		return samplingRate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherConfigurationMBean#setSamplingRate(int)
+	 */
+	public void setSamplingRate(int value) throws IllegalArgumentException {
+		if (value < 1) {
+			throw new IllegalArgumentException(
+					"sampling rate must not be lower than 1");
+		}
+		this.samplingRate = value;
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+/**
+ * JMX Configuration of the SLEE usage notification dispatcher.
+ */
+public interface UsageNotificationDispatcherConfigurationMBean {
+
+	public static final String OBJECT_NAME = "org.mobicents.slee:name=UsageNotificationDispatcherConfiguration";
+
+	/**
+	 * Indicates if usage notifications are delivered to listeners by a
+	 * dedicated thread, instead of the thread updating the usage parameter.
+	 * Disabled by default, notifications are delivered synchronously.
+	 * 
+	 * @return
+	 */
+	public boolean getAsynchronous();
+
+	/**
+	 * Sets if usage notifications are delivered to listeners by a dedicated
+	 * thread, instead of the thread updating the usage parameter.
+	 * 
+	 * @param value
+	 */
+	public void setAsynchronous(boolean value);
+
+	/**
+	 * Retrieves the maximum number of usage notifications waiting to be
+	 * delivered, when asynchronous. Further notifications are dropped.
+	 * 
+	 * @return
+	 */
+	public int getQueueSize();
+
+	/**
+	 * Sets the maximum number of usage notifications waiting to be delivered,
+	 * when asynchronous. Further notifications are dropped.
+	 * 
+	 * @param value
+	 * @throws IllegalArgumentException
+	 *             if the value is lower than 1
+	 */
+	public void setQueueSize(int value) throws IllegalArgumentException;
+
+	/**
+	 * Retrieves the name of the {@link UsageNotificationDispatchPolicy} used
+	 * when asynchronous.
+	 * 
+	 * @return
+	 */
+	public String getPolicy();
+
+	/**
+	 * Sets the name of the {@link UsageNotificationDispatchPolicy} used when
+	 * asynchronous, either QUEUE, COALESCE or SAMPLE. COALESCE only applies to
+	 * counter usage parameters, notifications for sample usage parameters are
+	 * queued.
+	 * 
+	 * @param value
+	 * @throws IllegalArgumentException
+	 *             if the value is not a valid policy name
+	 */
+	public void setPolicy(String value) throws IllegalArgumentException;
+
+	/**
+	 * Retrieves the N in the one of each N notifications of an usage
+	 * parameter which is delivered, when the policy is SAMPLE.
+	 * 
+	 * @return
+	 */
+	public int getSamplingRate();
+
+	/**
+	 * Sets the N in the one of each N notifications of an usage parameter
+	 * which is delivered, when the policy is SAMPLE.
+	 * 
+	 * @param value
+	 * @throws IllegalArgumentException
+	 *             if the value is lower than 1
+	 */
+	public void setSamplingRate(int value) throws IllegalArgumentException;
+
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+/**
+ * JMX view of the SLEE usage notification dispatcher statistics.
+ */
+public class UsageNotificationDispatcherStatistics implements
+		UsageNotificationDispatcherStatisticsMBean {
+
+	private final UsageNotificationDispatcher dispatcher;
+
+	/**
+	 * 
+	 * @param dispatcher
+	 */
+	public UsageNotificationDispatcherStatistics(
+			UsageNotificationDispatcher dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherStatisticsMBean#getDispatchedNotifications()
+	 */
+	public long getDispatchedNotifications() {
+		return dispatcher.getDispatchedNotifications();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherStatisticsMBean#getCoalescedNotifications()
+	 */
+	public long getCoalescedNotifications() {
+		return dispatcher.getCoalescedNotifications();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherStatisticsMBean#getSampledOutNotifications()
+	 */
+	public long getSampledOutNotifications() {
+		return dispatcher.getSampledOutNotifications();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherStatisticsMBean#getDroppedNotifications()
+	 */
+	public long getDroppedNotifications() {
+		return dispatcher.getDroppedNotifications();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherStatisticsMBean#getQueuedNotifications()
+	 */
+	public int getQueuedNotifications() {
+		return dispatcher.getQueuedNotifications();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.mobicents.slee.container.management.jmx.UsageNotificationDispatcherStatisticsMBean#resetStatistics()
+	 */
+	public void resetStatistics() {
+		dispatcher.resetStatistics();
+	}
+
+}
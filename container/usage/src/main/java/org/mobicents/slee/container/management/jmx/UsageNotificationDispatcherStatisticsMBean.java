@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.container.management.jmx;
+
+/**
+ * Statistics of the SLEE usage notification dispatcher.
+ */
+public interface UsageNotificationDispatcherStatisticsMBean {
+
+	public static final String OBJECT_NAME = "org.mobicents.slee:name=UsageNotificationDispatcherStatistics";
+
+	/**
+	 * Retrieves the number of usage notifications delivered by the dispatcher
+	 * thread, since the container started or the statistics were reset.
+	 * 
+	 * @return
+	 */
+	public long getDispatchedNotifications();
+
+	/**
+	 * Retrieves the number of usage notifications which were merged into a
+	 * notification already queued, since the container started or the
+	 * statistics were reset.
+	 * 
+	 * @return
+	 */
+	public long getCoalescedNotifications();
+
+	/**
+	 * Retrieves the number of usage notifications which were not queued due to
+	 * sampling, since the container started or the statistics were reset.
+	 * 
+	 * @return
+	 */
+	public long getSampledOutNotifications();
+
+	/**
+	 * Retrieves the number of usage notifications which were dropped due to a
+	 * full queue, since the container started or the statistics were reset.
+	 * 
+	 * @return
+	 */
+	public long getDroppedNotifications();
+
+	/**
+	 * Retrieves the number of usage notifications currently waiting to be
+	 * delivered.
+	 * 
+	 * @return
+	 */
+	public int getQueuedNotifications();
+
+	/**
+	 * Resets all counters.
+	 */
+	public void resetStatistics();
+
+}
@@ -120,34 +120,25 @@ public abstract class AbstractUsageParameterSet {
 		UsageParameter parameter = this.usageMbeanData.getParameter(parameterName);
 		if (parameter != null) {
 			parameter.reset();
-			this.usageMbeanData.setParameter(parameterName, parameter);
-
 		}
 
 	}
 
 	public void incrementParameter(String parameterName, long incValue) {
 		UsageParameter usageParameter = this.usageMbeanData.getParameter(parameterName);
+		// the parameter is updated in place, it is thread safe
 		usageParameter.increment(incValue);
-		this.usageMbeanData.setParameter(parameterName, usageParameter);
 		this.usageMBean.sendUsageNotification(usageParameter.getValue(), usageParameter.getCount(), getParameterSetName(), parameterName, true);
 	}
 
 	public long getParameter(String parameterName, boolean reset) {
 		UsageParameter usageParameter = this.usageMbeanData.getParameter(parameterName);
-
-		long tmpValue = usageParameter.getValue();
-		if (reset) {
-			usageParameter.reset();
-			this.usageMbeanData.setParameter(parameterName, usageParameter);
-		}
-		return tmpValue;
+		return reset ? usageParameter.getValueThenReset() : usageParameter.getValue();
 	}
 
 	public void sampleParameter(String parameterName, long sample) {
 		UsageParameter usageParameter = this.usageMbeanData.getParameter(parameterName);
 		usageParameter.sample(sample);
-		this.usageMbeanData.setParameter(parameterName, usageParameter);
 		this.usageMBean.sendUsageNotification(sample, usageParameter.getCount(), getParameterSetName(), parameterName, false);
 	}
 
@@ -155,12 +146,7 @@ public abstract class AbstractUsageParameterSet {
 
 		UsageParameter usageParameter = this.usageMbeanData.getParameter(parameterName);
 
-		SampleStatistics ss = new SampleStatistics(usageParameter.getCount(), usageParameter.getMin(), usageParameter.getMax(), usageParameter.getMean());
-		if (reset) {
-			usageParameter.reset();
-			this.usageMbeanData.setParameter(parameterName, usageParameter);
-		}
-		return ss;
+		return usageParameter.getSampleStatistics(reset);
 
 	}
 
@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.usage;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe long accumulator, which starts as a single atomic value and,
+ * once concurrent updates collide, spreads further updates through a set of
+ * cells, each in its own cache line, selected by the updating thread. Reads
+ * sum the base value and all cells, thus are not an atomic snapshot when
+ * updates are concurrent.
+ */
+class StripedLong implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * the number of longs between two cells, 8 longs are 64 bytes, the most
+	 * common cache line size
+	 */
+	private static final int CELL_PADDING = 8;
+
+	/**
+	 * the number of cells, the smaller power of two not less than the number of
+	 * processors, limited to 64
+	 */
+	private static final int CELLS;
+
+	static {
+		final int processors = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+		int cells = 1;
+		while (cells < processors) {
+			cells <<= 1;
+		}
+		CELLS = cells;
+	}
+
+	private final AtomicLong base = new AtomicLong();
+
+	/**
+	 * created only once contention is detected on the base value
+	 */
+	private volatile AtomicLongArray cells;
+
+	/**
+	 * Adds the specified value.
+	 * 
+	 * @param x
+	 */
+	public void add(long x) {
+		AtomicLongArray cells = this.cells;
+		if (cells == null) {
+			final long b = base.get();
+			if (base.compareAndSet(b, b + x)) {
+				return;
+			}
+			cells = initCells();
+		}
+		cells.addAndGet(cellIndex(), x);
+	}
+
+	/**
+	 * Retrieves the current sum.
+	 * 
+	 * @return
+	 */
+	public long sum() {
+		long sum = base.get();
+		final AtomicLongArray cells = this.cells;
+		if (cells != null) {
+			for (int i = 0; i < cells.length(); i += CELL_PADDING) {
+				sum += cells.get(i);
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Retrieves the current sum and resets it to zero, with each update
+	 * accounted exactly once, either in the value returned or after the reset.
+	 * 
+	 * @return
+	 */
+	public long sumThenReset() {
+		long sum = base.getAndSet(0);
+		final AtomicLongArray cells = this.cells;
+		if (cells != null) {
+			for (int i = 0; i < cells.length(); i += CELL_PADDING) {
+				sum += cells.getAndSet(i, 0);
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Resets the sum to zero.
+	 */
+	public void reset() {
+		sumThenReset();
+	}
+
+	private synchronized AtomicLongArray initCells() {
+		if (cells == null) {
+			cells = new AtomicLongArray(CELLS * CELL_PADDING);
+		}
+		return cells;
+	}
+
+	private static int cellIndex() {
+		// spread the thread id bits, ids are usually sequential
+		long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+		return ((int) (h >>> 32) & (CELLS - 1)) * CELL_PADDING;
+	}
+
+}
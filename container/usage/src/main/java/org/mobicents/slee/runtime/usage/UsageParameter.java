@@ -26,12 +26,20 @@
 package org.mobicents.slee.runtime.usage;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.slee.usage.SampleStatistics;
 
 import org.apache.log4j.Logger;
 
 /**
- * Simple pojo which holds param state.
+ * Simple pojo which holds param state. Updates are thread safe, the value and
+ * count are striped accumulators, min and max are updated with compare and
+ * set, and the mean is derived from value and count when read. Samples are
+ * added holding a shared lock, so that the sample statistics are read, and
+ * reset, consistently, holding the exclusive lock.
  * 
  * @author baranowb
  */
@@ -40,18 +48,20 @@ public class UsageParameter implements Serializable {
 	/**
 	 * 
 	 */
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 2L;
 
 	private static final Logger logger = Logger.getLogger(UsageParameter.class);
 
-	// NOTE: it seems that javassit does some sort of magic here - cause with
-	// generated code and "long" tck passes ... 
-	// private long value;
-	private BigDecimal value;
-	private long min;
-	private long max;
-	private long count;
-	private double mean;
+	private final StripedLong value = new StripedLong();
+	private final StripedLong count = new StripedLong();
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * the read lock is held when adding a sample, the write lock when reading
+	 * the sample statistics or resetting
+	 */
+	private final ReentrantReadWriteLock sampleLock = new ReentrantReadWriteLock();
 
 	private Serializable parentId;
 	private String parameterName;
@@ -65,66 +75,137 @@ public class UsageParameter implements Serializable {
 	public UsageParameter(Serializable parentId, String parameterName) {
 		this.parentId = parentId;
 		this.parameterName = parameterName;
-		reset();
 	}
 
 	public long getValue() {
-		return value.longValue();
+		return value.sum();
+	}
+
+	/**
+	 * Retrieves the value and resets the parameter, without loosing
+	 * concurrent increments of the value.
+	 * 
+	 * @return
+	 */
+	public long getValueThenReset() {
+		final long tmpValue = value.sumThenReset();
+		count.reset();
+		min.set(Long.MAX_VALUE);
+		max.set(Long.MIN_VALUE);
+		return tmpValue;
 	}
 
 	public void setValue(long value) {
-		// this.value = value;
-		this.value = new BigDecimal(value);
+		this.value.reset();
+		this.value.add(value);
 	}
 
 	public long getMin() {
-		return min;
+		return min.get();
 	}
 
 	public void setMin(long min) {
-		this.min = min;
+		this.min.set(min);
 	}
 
 	public long getMax() {
-		return max;
+		return max.get();
 	}
 
 	public void setMax(long max) {
-		this.max = max;
+		this.max.set(max);
 	}
 
 	public long getCount() {
-		return count;
+		return count.sum();
 	}
 
 	public void setCount(long count) {
-		this.count = count;
+		this.count.reset();
+		this.count.add(count);
 	}
 
+	/**
+	 * Retrieves the mean of the samples, that is the sum of samples divided by
+	 * the number of samples, rounded half up to an integer, or 0 if there are
+	 * no samples.
+	 * 
+	 * @return
+	 */
 	public double getMean() {
-		return mean;
+		if (min.get() > max.get()) {
+			// no samples
+			return 0;
+		}
+		final long count = this.count.sum();
+		if (count == 0) {
+			return 0;
+		}
+		return divideRoundHalfUp(value.sum(), count);
 	}
 
-	public void setMean(double mean) {
-		this.mean = mean;
+	/**
+	 * Integer division with the rounding of
+	 * {@link java.math.BigDecimal#ROUND_HALF_UP}, i.e. ties are rounded away
+	 * from zero.
+	 * 
+	 * @param dividend
+	 * @param divisor
+	 *            a positive long
+	 * @return
+	 */
+	private static long divideRoundHalfUp(long dividend, long divisor) {
+		long quotient = dividend / divisor;
+		final long remainder = Math.abs(dividend % divisor);
+		if (remainder != 0 && remainder >= divisor - remainder) {
+			quotient += dividend < 0 ? -1 : 1;
+		}
+		return quotient;
 	}
 
-	public void reset() {
+	/**
+	 * Retrieves the sample statistics, consistent with each other, i.e. no
+	 * sample added concurrently is partially accounted.
+	 * 
+	 * @param reset
+	 *            if true the parameter is reset, no sample added concurrently
+	 *            is lost
+	 * @return
+	 */
+	public SampleStatistics getSampleStatistics(boolean reset) {
+		final Lock lock = sampleLock.writeLock();
+		lock.lock();
+		try {
+			final SampleStatistics sampleStatistics = new SampleStatistics(
+					getCount(), getMin(), getMax(), getMean());
+			if (reset) {
+				reset();
+			}
+			return sampleStatistics;
+		} finally {
+			lock.unlock();
+		}
+	}
 
-		value = new BigDecimal(0);
-		min = Long.MAX_VALUE;
-		max = Long.MIN_VALUE;
-		count = 0;
-		mean = 0;
+	public void reset() {
+		final Lock lock = sampleLock.writeLock();
+		lock.lock();
+		try {
+			value.reset();
+			count.reset();
+			min.set(Long.MAX_VALUE);
+			max.set(Long.MIN_VALUE);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	public void increment(long incValue) {
 		if (logger.isTraceEnabled()) {
 			logger.trace("Before increment: " + incValue + ". " + this);
 		}
-		this.count++;
-		// this.value+=incValue;
-		this.value = this.value.add(new BigDecimal(incValue));
+		this.count.add(1);
+		this.value.add(incValue);
 		if (logger.isDebugEnabled()) {
 			logger.debug("After increment: " + this);
 		}
@@ -135,15 +216,25 @@ public class UsageParameter implements Serializable {
 		if (logger.isTraceEnabled()) {
 			logger.trace("Before sample: " + sample + ". " + this);
 		}
-		// this.value+=sample;
-		this.value = this.value.add(new BigDecimal(sample));
-		this.count++;
-		if (this.max < sample)
-			this.max = sample;
-		if (this.min > sample)
-			this.min = sample;
-		// this.mean = (this.value)/this.count;
-		this.mean = this.value.divide(new BigDecimal(this.count), BigDecimal.ROUND_HALF_UP).longValue();
+		final Lock lock = sampleLock.readLock();
+		lock.lock();
+		try {
+			this.value.add(sample);
+			this.count.add(1);
+			long current;
+			while ((current = this.max.get()) < sample) {
+				if (this.max.compareAndSet(current, sample)) {
+					break;
+				}
+			}
+			while ((current = this.min.get()) > sample) {
+				if (this.min.compareAndSet(current, sample)) {
+					break;
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
 		if (logger.isDebugEnabled()) {
 			logger.debug("After sample: " + this);
 		}
@@ -151,7 +242,7 @@ public class UsageParameter implements Serializable {
 	}
 
 	public String toString() {
-		return super.toString() + ":" + this.parentId + ":" + this.parameterName + ":" + count + ":" + value + ":" + min + ":" + max + ":" + mean;
+		return super.toString() + ":" + this.parentId + ":" + this.parameterName + ":" + getCount() + ":" + getValue() + ":" + getMin() + ":" + getMax() + ":" + getMean();
 	}
 
 }
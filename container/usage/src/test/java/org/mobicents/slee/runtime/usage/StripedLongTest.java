@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.usage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+
+public class StripedLongTest extends TestCase {
+
+	public void testAddAndReset() {
+		final StripedLong value = new StripedLong();
+		assertEquals(0, value.sum());
+		value.add(5);
+		value.add(-2);
+		assertEquals(3, value.sum());
+		assertEquals(3, value.sumThenReset());
+		assertEquals(0, value.sum());
+		value.add(7);
+		value.reset();
+		assertEquals(0, value.sum());
+	}
+
+	public void testConcurrentAdds() throws Exception {
+		final StripedLong value = new StripedLong();
+		final int threads = 8;
+		final int iterations = 100000;
+		final List<Thread> list = newAdders(value, threads, iterations);
+		for (Thread thread : list) {
+			thread.join();
+		}
+		assertEquals((long) threads * iterations, value.sum());
+	}
+
+	public void testConcurrentSumThenResetLosesNoUpdate() throws Exception {
+		final StripedLong value = new StripedLong();
+		final int threads = 8;
+		final int iterations = 100000;
+		final List<Thread> list = newAdders(value, threads, iterations);
+		long total = 0;
+		for (Thread thread : list) {
+			while (thread.isAlive()) {
+				total += value.sumThenReset();
+			}
+			thread.join();
+		}
+		total += value.sumThenReset();
+		assertEquals((long) threads * iterations, total);
+		assertEquals(0, value.sum());
+	}
+
+	/**
+	 * Starts the specified number of threads, each adding 1 the specified
+	 * number of times.
+	 */
+	private static List<Thread> newAdders(final StripedLong value,
+			int threads, final int iterations) {
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> list = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			list.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < iterations; j++) {
+						value.add(1);
+					}
+				}
+			});
+		}
+		for (Thread thread : list) {
+			thread.start();
+		}
+		start.countDown();
+		return list;
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat, Inc. and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.mobicents.slee.runtime.usage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.slee.usage.SampleStatistics;
+
+import junit.framework.TestCase;
+
+public class UsageParameterTest extends TestCase {
+
+	public void testSampleStatistics() {
+		final UsageParameter parameter = new UsageParameter("set", "p");
+		parameter.sample(2);
+		parameter.sample(7);
+		parameter.sample(3);
+		SampleStatistics statistics = parameter.getSampleStatistics(true);
+		assertEquals(3, statistics.getSampleCount());
+		assertEquals(2, statistics.getMinimum());
+		assertEquals(7, statistics.getMaximum());
+		assertEquals(4.0, statistics.getMean());
+		statistics = parameter.getSampleStatistics(false);
+		assertEquals(0, statistics.getSampleCount());
+		assertEquals(0.0, statistics.getMean());
+	}
+
+	public void testConcurrentResetsLoseNoSample() throws Exception {
+		final UsageParameter parameter = new UsageParameter("set", "p");
+		final int threads = 4;
+		final int iterations = 100000;
+		final long sample = 5;
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> list = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			final Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < iterations; j++) {
+						parameter.sample(sample);
+					}
+				}
+			};
+			thread.start();
+			list.add(thread);
+		}
+		start.countDown();
+		long count = 0;
+		boolean running = true;
+		while (running) {
+			running = false;
+			for (Thread thread : list) {
+				if (thread.isAlive()) {
+					running = true;
+				}
+			}
+			final SampleStatistics statistics = parameter
+					.getSampleStatistics(true);
+			if (statistics.getSampleCount() > 0) {
+				// a consistent snapshot of equal samples
+				assertEquals(sample, statistics.getMinimum());
+				assertEquals(sample, statistics.getMaximum());
+				assertEquals((double) sample, statistics.getMean());
+			}
+			count += statistics.getSampleCount();
+		}
+		assertEquals((long) threads * iterations, count);
+	}
+
+}